@@ -0,0 +1,8 @@
+"""A multi-producer, multi-consumer queue."""
+
+# Jython: the queues are Java types of the _queue module, which keep their
+# items in the blocking queues of java.util.concurrent. A subclass may still
+# override _init, _qsize, _put and _get to implement another organization.
+from _queue import Empty, Full, Queue, PriorityQueue, LifoQueue
+
+__all__ = ['Empty', 'Full', 'Queue', 'PriorityQueue', 'LifoQueue']
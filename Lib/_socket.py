@@ -9,11 +9,8 @@ import struct
 import sys
 import time
 import _google_ipaddr_r234
-from collections import namedtuple, Iterable
-from contextlib import contextmanager
+from collections import Iterable
 from functools import partial, wraps
-from itertools import chain
-from jythonlib import MapMaker, dict_builder
 from numbers import Number
 from StringIO import StringIO
 from threading import Condition, Lock
@@ -21,13 +18,16 @@ from types import MethodType, NoneType
 
 import java
 from java.io import IOException, InterruptedIOException
-from java.lang import Thread, ArrayIndexOutOfBoundsException, IllegalStateException
+from java.lang import Thread, IllegalStateException
 from java.net import InetAddress, InetSocketAddress, ConnectException, NoRouteToHostException
 from java.nio.channels import ClosedChannelException
 from java.security.cert import CertificateException
+from java.nio import ByteBuffer
+from org.python.core.io import FileIO
+from org.python.modules._socket import Poll as _JavaPoll, Select as _JavaSelect, SocketReadiness
 from java.util import NoSuchElementException
 from java.util.concurrent import (
-    ArrayBlockingQueue, CopyOnWriteArrayList, CountDownLatch, LinkedBlockingQueue,
+    ArrayBlockingQueue, CountDownLatch, LinkedBlockingQueue,
     ExecutionException, RejectedExecutionException, ThreadFactory,
     TimeoutException, TimeUnit)
 from java.util.concurrent.atomic import AtomicBoolean, AtomicLong
@@ -37,21 +37,23 @@ try:
     # jarjar-ed version
     from org.python.netty.bootstrap import Bootstrap, ChannelFactory, ServerBootstrap
     from org.python.netty.buffer import PooledByteBufAllocator, Unpooled
-    from org.python.netty.channel import ChannelException as NettyChannelException, ChannelInboundHandlerAdapter, ChannelInitializer, ChannelOption
+    from org.python.netty.channel import ChannelException as NettyChannelException, ChannelInboundHandlerAdapter, ChannelInitializer, ChannelOption, DefaultFileRegion
     from org.python.netty.channel.nio import NioEventLoopGroup
     from org.python.netty.channel.socket import DatagramPacket
     from org.python.netty.channel.socket.nio import NioDatagramChannel, NioSocketChannel, NioServerSocketChannel
     from org.python.netty.handler.ssl import NotSslRecordException
+    _NETTY_PACKAGE = "org.python.netty"
 
 except ImportError:
     # dev version from extlibs
     from io.netty.bootstrap import Bootstrap, ChannelFactory, ServerBootstrap
     from io.netty.buffer import PooledByteBufAllocator, Unpooled
-    from io.netty.channel import ChannelException as NettyChannelException, ChannelInboundHandlerAdapter, ChannelInitializer, ChannelOption
+    from io.netty.channel import ChannelException as NettyChannelException, ChannelInboundHandlerAdapter, ChannelInitializer, ChannelOption, DefaultFileRegion
     from io.netty.channel.nio import NioEventLoopGroup
     from io.netty.channel.socket import DatagramPacket
     from io.netty.channel.socket.nio import NioDatagramChannel, NioSocketChannel, NioServerSocketChannel
     from io.netty.handler.ssl import NotSslRecordException
+    _NETTY_PACKAGE = "io.netty"
 
 log = logging.getLogger("_socket")
 log.setLevel(level=logging.WARNING)
@@ -193,6 +195,30 @@ _PEER_CLOSED = object()
 # Event loop management
 #######################
 
+# The registry setting python.socket.transport chooses the Netty
+# transport: "nio" (the default), or "epoll" for Netty's native epoll
+# transport on Linux. The latter is not shipped with Jython: the
+# netty-transport-native-epoll jar of the same Netty version (relocated
+# like the rest of Netty, in the standalone jar) must be on the
+# classpath, otherwise we fall back to NIO.
+
+def _get_transport(name):
+    if name == "epoll":
+        try:
+            epoll = __import__(_NETTY_PACKAGE + ".channel.epoll", fromlist=["Epoll"])
+            if not epoll.Epoll.isAvailable():
+                raise ImportError(str(epoll.Epoll.unavailabilityCause()))
+            return (epoll.EpollEventLoopGroup, epoll.EpollSocketChannel,
+                    epoll.EpollServerSocketChannel, epoll.EpollDatagramChannel)
+        except (ImportError, AttributeError) as e:
+            log.warning("Netty epoll transport is not available, using NIO: %s", e, extra={"sock": "*"})
+    elif name != "nio":
+        log.warning("Unknown python.socket.transport %r, using NIO", name, extra={"sock": "*"})
+    return NioEventLoopGroup, NioSocketChannel, NioServerSocketChannel, NioDatagramChannel
+
+_EventLoopGroup, _SocketChannel, _ServerSocketChannel, _DatagramChannel = _get_transport(
+    sys.registry.getProperty("python.socket.transport", "nio").strip().lower())
+
 _NUM_THREADS = 10
 
 # Use daemon threads for the event loop group. This is just fine
@@ -214,7 +240,7 @@ class DaemonThreadFactory(ThreadFactory):
         return t
 
 
-NIO_GROUP = NioEventLoopGroup(_NUM_THREADS, DaemonThreadFactory("Jython-Netty-Client-%s"))
+NIO_GROUP = _EventLoopGroup(_NUM_THREADS, DaemonThreadFactory("Jython-Netty-Client-%s"))
 
 
 def _check_threadpool_for_pending_threads(group):
@@ -412,195 +438,70 @@ def _fsdecode(name):
 # select support
 ################
 
-class _Select(object):
-
-    def __init__(self, rlist, wlist, xlist):
-        self.cv = Condition()
-        self.rlist = frozenset(rlist)
-        self.wlist = frozenset(wlist)
-        self.xlist = frozenset(xlist)
+# Readiness of each socket is tracked in Java (see
+# org.python.modules._socket.SocketReadiness), so that select and poll
+# test many sockets on each wakeup without running Python code per socket.
 
-    def _normalize_sockets(self, socks):
-        # Get underlying socket, via fileno lookup
-        _socks = []
-        for sock in socks:
-            try:
-                _sock = sock.fileno()
-                _sock._register_selector  # double check our API requirements
-                _socks.append(_sock)
-            except AttributeError:
-                raise error(errno.EBADF, "Bad file descriptor: %s" % (sock,))
-        return _socks
-
-    def notify(self, sock, **_):
-        with self.cv:
-            self.cv.notify()
-
-    def __str__(self):
-        return "_Select(r={},w={},x={})".format(list(self.rlist), list(self.wlist), list(self.xlist))
-
-    @contextmanager
-    def _register_sockets(self, socks):
-        socks = self._normalize_sockets(socks)
-        for sock in socks:
-            sock._register_selector(self)
-        yield self
-        for sock in socks:
-            sock._unregister_selector(self)
-
-    def __call__(self, timeout):
-        started = time.time()
-        with self.cv, self._register_sockets(chain(self.rlist, self.wlist, self.xlist)):
-            while True:
-                # Checking if sockets are ready (readable OR writable)
-                # converts selection from detecting edges to detecting levels
-                selected_rlist = set(sock for sock in self.rlist if sock.fileno()._readable())
-                selected_wlist = set(sock for sock in self.wlist if sock.fileno()._writable())
-                # FIXME add support for exceptions
-                selected_xlist = []
-
-                # As usual with condition variables, we need to ensure
-                # there's not a spurious wakeup; this test also ensures
-                # shortcircuiting if the socket was in fact ready for
-                # reading/writing/exception before the select call
-                if selected_rlist or selected_wlist:
-                    completed = sorted(selected_rlist), sorted(selected_wlist), sorted(selected_xlist)
-                    log.debug("Completed select %s", completed, extra={"sock": "*"})
-                    return completed
-                elif timeout is not None and time.time() - started >= timeout:
-                    return [], [], []
-                self.cv.wait(timeout)
+def _get_readiness(sock, selector):
+    # Get underlying socket, via fileno lookup, and register the selector
+    try:
+        return sock.fileno()._register_selector(selector)
+    except AttributeError:
+        raise error(errno.EBADF, "Bad file descriptor: %s" % (sock,))
 
 
 # poll support
 ##############
 
-_PollNotification = namedtuple(
-    "_PollNotification",
-    ["sock",  # the real socket
-     "fd",    # could be the real socket (as returned by fileno) or a wrapping socket object
-     "exception",
-     "hangup"])
-
-
 class poll(object):
 
     def __init__(self):
-        self.queue = LinkedBlockingQueue()
-        self.registered = dict()  # fd -> eventmask
-        self.socks2fd = dict_builder(MapMaker().weakKeys().makeMap)()  # sock -> fd
-
-    def notify(self, sock, exception=None, hangup=False):
-        notification = _PollNotification(
-            sock=sock,
-            fd=self.socks2fd.get(sock),
-            exception=exception,
-            hangup=hangup)
-        log.debug("Notify %s", notification, extra={"sock": "*"})
-
-        self.queue.put(notification)
+        self._poll = _JavaPoll()
 
     def register(self, fd, eventmask=POLLIN|POLLPRI|POLLOUT):
         if not hasattr(fd, "fileno"):
             raise TypeError("argument must have a fileno() method")
-        sock = fd.fileno()
-        log.debug("Register fd=%s eventmask=%s", fd, eventmask, extra={"sock": sock})
-        self.registered[fd] = eventmask
-        self.socks2fd[sock] = fd
-        sock._register_selector(self)
-        self.notify(sock)  # Ensure we get an initial notification
+        log.debug("Register fd=%s eventmask=%s", fd, eventmask, extra={"sock": fd.fileno()})
+        self._poll.register(fd, _get_readiness(fd, self._poll), eventmask)
 
     def modify(self, fd, eventmask):
         if not hasattr(fd, "fileno"):
             raise TypeError("argument must have a fileno() method")
-        if fd not in self.registered:
+        if not self._poll.modify(fd, eventmask):
             raise error(errno.ENOENT, "No such file or directory")
-        self.registered[fd] = eventmask
 
     def unregister(self, fd):
         if not hasattr(fd, "fileno"):
             raise TypeError("argument must have a fileno() method")
         log.debug("Unregister socket fd=%s", fd, extra={"sock": fd.fileno()})
-        del self.registered[fd]
-        sock = fd.fileno()
-        sock._unregister_selector(self)
-
-    def _event_test(self, notification):
-        # Performs standard edge vs event polling, except that we get
-        # edges around errors and hangup
-        if notification is None:
-            return None, 0
-        mask = self.registered.get(notification.fd, 0)   # handle if concurrently removed, by simply ignoring
-        log.debug("Testing notification=%s mask=%s", notification, mask, extra={"sock": "*"})
-        event = 0
-        if mask & POLLIN and notification.sock._readable():
-            event |= POLLIN
-        if mask & POLLOUT and notification.sock._writable():
-            event |= POLLOUT
-        if mask & POLLERR and notification.exception:
-            event |= POLLERR
-        if mask & POLLHUP and (notification.hangup or not notification.sock.channel):
-            event |= POLLHUP
-        if mask & POLLNVAL and not notification.sock.peer_closed:
-            event |= POLLNVAL
-        log.debug("Tested notification=%s event=%s", notification, event, extra={"sock": "*"})
-        return notification.fd, event
-
-    def _handle_poll(self, poller):
-        notification = poller()
-        if notification is None:
-            return []
-
-        # Pull as many outstanding notifications as possible out
-        # of the queue
-        notifications = [notification]
-        self.queue.drainTo(notifications)
-        log.debug("Got notification(s) %s", notifications, extra={"sock": "MODULE"})
-        result = []
-        socks = set()
-
-        # But given how we notify, it's possible to see possible
-        # multiple notifications. Just return one (fd, event) for a
-        # given socket
-        for notification in notifications:
-            if notification.sock not in socks:
-                fd, event = self._event_test(notification)
-                if event:
-                    result.append((fd, event))
-                    socks.add(notification.sock)
-
-        # Repump sockets to pick up a subsequent level change
-        for sock in socks:
-            self.notify(sock)
-
-        return result
+        if not self._poll.unregister(fd):
+            raise KeyError(fd)
 
     def poll(self, timeout=None):
         if not (timeout is None or isinstance(timeout, numbers.Real)):
             raise TypeError("timeout must be a number or None, got %r" % (timeout,))
-        if timeout < 0:
-            timeout = None
-        log.debug("Polling timeout=%s", timeout, extra={"sock": "*"})
-        if timeout is None:
-            return self._handle_poll(self.queue.take)
-        elif timeout == 0:
-            return self._handle_poll(self.queue.poll)
+        if timeout is None or timeout < 0:
+            timeout = -1
         else:
-            timeout = float(timeout) / 1000.  # convert from milliseconds to seconds
-            while timeout > 0:
-                started = time.time()
-                timeout_in_ns = int(timeout * _TO_NANOSECONDS)
-                result = self._handle_poll(partial(self.queue.poll, timeout_in_ns, TimeUnit.NANOSECONDS))
-                if result:
-                    return result
-                timeout -= time.time() - started
-                log.debug("Spurious wakeup, retrying with timeout=%s", timeout, extra={"sock": "*"})
-            return []
+            # convert from milliseconds to nanoseconds
+            timeout = int(float(timeout) * (_TO_NANOSECONDS / 1000))
+        log.debug("Polling timeout=%s", timeout, extra={"sock": "*"})
+        return list(self._poll.poll(timeout))
 
 
 # integration with Netty
 ########################
 
+class _FileRegion(DefaultFileRegion):
+    """A region of a file channel that the socket does not own.
+
+    DefaultFileRegion closes its channel when it is finally released, but
+    the channel belongs to the file being sent, which stays open."""
+
+    def deallocate(self):
+        pass
+
+
 class PythonInboundHandler(ChannelInboundHandlerAdapter):
 
     def __init__(self, sock):
@@ -752,6 +653,15 @@ _socket_options = {
     }
 }
 
+def _readiness_property(getter, setter, doc):
+    # Attribute of the socket kept in its Java readiness tracker, so that
+    # select and poll can see it
+    return property(
+        lambda self: getattr(self._readiness, getter)(),
+        lambda self, value: getattr(self._readiness, setter)(value),
+        doc=doc)
+
+
 def _socktuple(addr):
     port = addr.getPort()
     inet_addr = addr.getAddress()
@@ -765,8 +675,17 @@ def _socktuple(addr):
 
 class _realsocket(object):
 
+    socket_type = _readiness_property("getKind", "setKind", "UNKNOWN_SOCKET, CLIENT_SOCKET, etc.")
+    channel = _readiness_property("getChannel", "setChannel", "Netty channel, once set up")
+    channel_closed = _readiness_property("isChannelClosed", "setChannelClosed", "channel closed by the peer")
+    peer_closed = _readiness_property("isPeerClosed", "setPeerClosed", "end of input returned by recv")
+    incoming = _readiness_property("getIncoming", "setIncoming", "queue of read buffers")
+    incoming_head = _readiness_property("getHead", "setHead", "read buffer partly consumed")
+    child_queue = _readiness_property("getChildQueue", "setChildQueue", "queue of children to accept")
+
     def __init__(self, family=None, type=None, proto=0):
         # FIXME verify args are correct
+        self._readiness = SocketReadiness()
         self.family = family
         self.type = type
         if not proto:
@@ -782,7 +701,6 @@ class _realsocket(object):
         self.timeout = _defaulttimeout
         self.channel = None
         self.bind_addr = _EPHEMERAL_ADDRESS
-        self.selectors = CopyOnWriteArrayList()
         self.options = {}  # deferred options until bootstrap
         self.peer_closed = False
         self.channel_closed = False
@@ -808,20 +726,15 @@ class _realsocket(object):
         pass
 
     def _register_selector(self, selector):
+        # selector is a ReadinessListener; returns the SocketReadiness it may test
         self._make_active()  # attempting to poll/select on a socket means waiting for wrap intent is done
-        self.selectors.addIfAbsent(selector)
+        return self._readiness.register(selector)
 
     def _unregister_selector(self, selector):
-        try:
-            return self.selectors.remove(selector)
-        except ValueError:
-            return None
-        except ArrayIndexOutOfBoundsException:
-            return None
+        return self._readiness.unregister(selector)
 
     def _notify_selectors(self, exception=None, hangup=False):
-        for selector in self.selectors:
-            selector.notify(self, exception=exception, hangup=hangup)
+        self._readiness.notifyListeners(exception, hangup)
 
     @raises_java_exception
     def _handle_channel_future(self, future, reason):
@@ -903,7 +816,7 @@ class _realsocket(object):
         self._init_client_mode()
         self.connected = True
         self.python_inbound_handler = PythonInboundHandler(self)
-        bootstrap = Bootstrap().group(NIO_GROUP).channel(NioSocketChannel)
+        bootstrap = Bootstrap().group(NIO_GROUP).channel(_SocketChannel)
         for option, value in self.options.iteritems():
             _set_option(bootstrap.option, option, value)
 
@@ -1002,12 +915,12 @@ class _realsocket(object):
 
         b = ServerBootstrap()
         try:
-            self.parent_group = NioEventLoopGroup(_NUM_THREADS, DaemonThreadFactory("Jython-Netty-Parent-%s"))
-            self.child_group = NioEventLoopGroup(_NUM_THREADS, DaemonThreadFactory("Jython-Netty-Child-%s"))
+            self.parent_group = _EventLoopGroup(_NUM_THREADS, DaemonThreadFactory("Jython-Netty-Parent-%s"))
+            self.child_group = _EventLoopGroup(_NUM_THREADS, DaemonThreadFactory("Jython-Netty-Child-%s"))
         except IllegalStateException:
             raise error(errno.EMFILE, "Cannot allocate thread pool for server socket")
         b.group(self.parent_group, self.child_group)
-        b.channel(NioServerSocketChannel)
+        b.channel(_ServerSocketChannel)
         b.option(ChannelOption.SO_BACKLOG, backlog)
         for option, value in self.options.iteritems():
             _set_option(b.option, option, value)
@@ -1053,7 +966,7 @@ class _realsocket(object):
             log.debug("Binding datagram socket to %s", self.bind_addr, extra={"sock": self})
             self.connected = True
             self.python_inbound_handler = PythonInboundHandler(self)
-            bootstrap = Bootstrap().group(NIO_GROUP).channel(NioDatagramChannel)
+            bootstrap = Bootstrap().group(NIO_GROUP).channel(_DatagramChannel)
             bootstrap.handler(self.python_inbound_handler)
             for option, value in self.options.iteritems():
                 _set_option(bootstrap.option, option, value)
@@ -1152,15 +1065,7 @@ class _realsocket(object):
             self._can_write = False
 
     def _readable(self):
-        if self.socket_type == CLIENT_SOCKET or self.socket_type == DATAGRAM_SOCKET:
-            log.debug("Incoming head=%s queue=%s", self.incoming_head, self.incoming, extra={"sock": self})
-            return bool(
-                (self.incoming_head is not None and self.incoming_head.readableBytes()) or
-                self.incoming.peek())
-        elif self.socket_type == SERVER_SOCKET:
-            return bool(self.child_queue.peek())
-        else:
-            return False
+        return self._readiness.isReadable()
 
     def _pending(self):
         # Used by ssl.py for an undocumented function used in tests
@@ -1180,7 +1085,7 @@ class _realsocket(object):
         return 0
 
     def _writable(self):
-        return self.channel_closed or (self.channel and self.channel.isActive() and self.channel.isWritable())
+        return self._readiness.isWritable()
 
     can_write = _writable
 
@@ -1222,6 +1127,105 @@ class _realsocket(object):
             while k < n:
                 k += self.send(buf[k:k+L], flags)
 
+    def sendfile(self, file, offset=0, count=None):
+        """sendfile(file[, offset[, count]]) -> sent
+
+        Send a file until EOF is reached, or count bytes have been sent,
+        starting at offset, and return the number of bytes sent. A file on
+        disk is transferred directly to the connection, without passing its
+        content through the heap; other file-like objects, and connections
+        using SSL, are read and sent in the usual way. The file position is
+        left after the last byte sent. The socket must be of SOCK_STREAM
+        type, and in blocking mode (possibly with a timeout)."""
+        if self.socket_type == DATAGRAM_SOCKET:
+            raise ValueError("only SOCK_STREAM type sockets are supported")
+        if self.timeout == 0:
+            raise ValueError("non-blocking sockets are not supported")
+        if count is not None:
+            if not isinstance(count, (int, long)):
+                raise TypeError(
+                    "count must be a positive integer (got {!r})".format(count))
+            if count <= 0:
+                raise ValueError(
+                    "count must be a positive integer (got {!r})".format(count))
+        if 'b' not in getattr(file, 'mode', 'b'):
+            raise ValueError("file should be opened in binary mode")
+        if offset < 0:
+            raise ValueError("negative offset")
+
+        try:
+            fio = file.fileno()
+        except (AttributeError, IOError, ValueError):
+            fio = None
+        if not isinstance(fio, FileIO) or not fio.readable():
+            return self._sendfile_use_send(file, offset, count)
+
+        if count is None:
+            count = fio.getChannel().size() - offset
+        sent = self._transfer_from(fio, offset, max(count, 0))
+        file.seek(offset + sent)
+        return sent
+
+    def _sendfile_use_send(self, file, offset, count):
+        if offset:
+            file.seek(offset)
+        blocksize = min(count, 8192) if count else 8192
+        total_sent = 0
+        try:
+            while True:
+                if count:
+                    blocksize = min(count - total_sent, blocksize)
+                    if blocksize <= 0:
+                        break
+                data = file.read(blocksize)
+                if not data:
+                    break
+                self.sendall(data)
+                total_sent += len(data)
+            return total_sent
+        finally:
+            if total_sent > 0 and hasattr(file, 'seek'):
+                file.seek(offset + total_sent)
+
+    @raises_java_exception
+    def _transfer_from(self, fio, offset, count):
+        # Support for sendfile: send up to count bytes from the FileIO fio,
+        # starting at offset, without changing its position.
+        self._verify_channel()
+        if not self._can_write:
+            raise error(errno.ENOTCONN, 'Socket not connected')
+        count = max(0, min(count, fio.getChannel().size() - offset))
+        if not count:
+            return 0
+
+        if self.channel.pipeline().get("ssl") is None:
+            # Netty writes a file region with FileChannel.transferTo, and
+            # releases it when written; our reference is released however
+            # the write ends.
+            region = _FileRegion(fio.getChannel(), offset, count)
+            region.retain()
+            try:
+                future = self.channel.writeAndFlush(region)
+                self._handle_channel_future(future, "sendfile")
+            finally:
+                region.release()
+            log.debug("Sent %s bytes from %s", count, fio, extra={"sock": self})
+            return count
+
+        # SSL must encrypt the content, so it has to be read into the heap
+        channel = fio.getChannel()
+        buf = ByteBuffer.allocate(min(count, 65536))
+        sent = 0
+        while sent < count:
+            buf.clear()
+            buf.limit(min(count - sent, buf.capacity()))
+            n = channel.read(buf, offset + sent)
+            if n <= 0:
+                break
+            self.sendall(buf.array()[:n].tostring())
+            sent += n
+        return sent
+
     def _get_incoming_msg(self, reason):
         log.debug("head=%s incoming=%s" % (self.incoming_head, self.incoming), extra={"sock": self})
         if self.incoming_head is None:
@@ -1438,6 +1442,10 @@ class _socketobject(object):
             self._sock.open_count += 1
             return _socketobject(_sock=self._sock)
 
+    def sendfile(self, file, offset=0, count=None):
+        return self._sock.sendfile(file, offset, count)
+    sendfile.__doc__ = _realsocket.sendfile.__doc__
+
     def makefile(self, mode='r', bufsize=-1):
         """makefile([mode[, bufsize]]) -> file object
 
@@ -1509,6 +1517,10 @@ class ChildSocket(_realsocket):
             while k < n:
                 k += self.send(buf[k:k+L])
 
+    def _transfer_from(self, fio, offset, count):
+        self._make_active()
+        return super(ChildSocket, self)._transfer_from(fio, offset, count)
+
     def recv(self, bufsize, flags=0):
         self._make_active()
         return super(ChildSocket, self).recv(bufsize, flags)
@@ -1558,7 +1570,17 @@ def select(rlist, wlist, xlist, timeout=None):
         raise TypeError("timeout must be a float or None")
     if timeout is not None and timeout < 0:
         raise error(errno.EINVAL, "Invalid argument")
-    return _Select(rlist, wlist, xlist)(timeout)
+    selector = _JavaSelect()
+    try:
+        for sock in rlist:
+            selector.addReader(sock, _get_readiness(sock, selector))
+        for sock in wlist:
+            selector.addWriter(sock, _get_readiness(sock, selector))
+        for sock in xlist:
+            selector.addExceptional(sock, _get_readiness(sock, selector))
+        return selector.select(-1.0 if timeout is None else timeout)
+    finally:
+        selector.close()
 
 
 def create_connection(address, timeout=_GLOBAL_DEFAULT_TIMEOUT,
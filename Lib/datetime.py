@@ -2243,3 +2243,10 @@ small dst() may get within its bounds; and it doesn't even matter if some
 perverse time zone returns a negative dst()).  So a breaking case must be
 pretty bizarre, and a tzinfo subclass can override fromutc() if it is.
 """
+
+# The types implemented in Java replace those above, which remain as the
+# definition of their behaviour.
+try:
+    from _datetime import *
+except ImportError:
+    pass
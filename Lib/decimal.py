@@ -548,6 +548,8 @@ class Decimal(object):
         # From a string
         # REs insist on real strings, so we can too.
         if isinstance(value, basestring):
+            if _arithmetic is not None and _arithmetic.parse(self, value):
+                return self
             m = _parser(value.strip())
             if m is None:
                 if context is None:
@@ -776,10 +778,10 @@ class Decimal(object):
         Return 0 if neither operand is a NaN.
 
         """
-        if context is None:
-            context = getcontext()
-
         if self._is_special or other._is_special:
+            if context is None:
+                context = getcontext()
+
             if self.is_snan():
                 return context._raise_error(InvalidOperation,
                                             'comparison involving sNaN',
@@ -811,6 +813,11 @@ class Decimal(object):
         Returns -1 if self < other, 0 if self == other and 1
         if self > other.  This routine is for internal use only."""
 
+        if _arithmetic is not None:
+            ans = _arithmetic.compare(self, other)
+            if ans is not None:
+                return ans
+
         if self._is_special or other._is_special:
             self_inf = self._isinfinity()
             other_inf = other._isinfinity()
@@ -1134,6 +1141,11 @@ class Decimal(object):
         if context is None:
             context = getcontext()
 
+        if _arithmetic is not None:
+            ans = _arithmetic.add(self, other, context)
+            if ans is not None:
+                return ans
+
         if self._is_special or other._is_special:
             ans = self._check_nans(other, context)
             if ans:
@@ -1216,6 +1228,14 @@ class Decimal(object):
         if other is NotImplemented:
             return other
 
+        if context is None:
+            context = getcontext()
+
+        if _arithmetic is not None:
+            ans = _arithmetic.subtract(self, other, context)
+            if ans is not None:
+                return ans
+
         if self._is_special or other._is_special:
             ans = self._check_nans(other, context=context)
             if ans:
@@ -1244,6 +1264,11 @@ class Decimal(object):
         if context is None:
             context = getcontext()
 
+        if _arithmetic is not None:
+            ans = _arithmetic.multiply(self, other, context)
+            if ans is not None:
+                return ans
+
         resultsign = self._sign ^ other._sign
 
         if self._is_special or other._is_special:
@@ -2399,6 +2424,11 @@ class Decimal(object):
         if rounding is None:
             rounding = context.rounding
 
+        if _arithmetic is not None and watchexp:
+            ans = _arithmetic.quantize(self, exp, rounding, context)
+            if ans is not None:
+                return ans
+
         if self._is_special or exp._is_special:
             ans = self._check_nans(exp, context)
             if ans:
@@ -3715,6 +3745,15 @@ def _dec_from_triple(sign, coefficient, exponent, special=False):
 
     return self
 
+# The arithmetic of finite Decimals in Java, which the methods above try first
+try:
+    from _decimal import Arithmetic as _Arithmetic
+except ImportError:
+    _arithmetic = None
+else:
+    _arithmetic = _Arithmetic(Decimal, Inexact, Rounded)
+    del _Arithmetic
+
 # Register Decimal as a kind of Number (an abstract base class).
 # However, do not register it as Real (because Decimals are not
 # interoperable with floats).
@@ -0,0 +1,107 @@
+import array
+import io
+from StringIO import StringIO
+from collections import OrderedDict
+from json.tests import CTest
+
+try:
+    from _json import iterarray, iterparse
+except ImportError:
+    iterarray = iterparse = None
+
+import unittest
+
+
+DOC = ('[{"a": 1, "b": [true, false, null], "c": "h\\u00e9llo \xc3\xa9\\ud83d\\ude00"},\n'
+       ' 2.5, -3, 12345678901234567890, "x", [], {}, 1e5, [[1], {"d": {}}]]')
+
+
+@unittest.skipUnless(iterparse, 'requires _json.iterparse')
+class TestIterparse(CTest):
+
+    def test_events(self):
+        self.assertEqual(list(iterparse('{"a": [1, "x", true, null]}')), [
+            ('start_map', None), ('map_key', u'a'), ('start_array', None),
+            ('number', 1), ('string', u'x'), ('boolean', True), ('null', None),
+            ('end_array', None), ('end_map', None)])
+        self.assertEqual(list(iterparse(' 5 ')), [('number', 5)])
+
+    def test_iterarray(self):
+        expected = self.loads(DOC)
+        for bufsize in (1, 2, 3, 7, 64, 65536):
+            self.assertEqual(list(iterarray(StringIO(DOC), bufsize=bufsize)),
+                             expected)
+
+    def test_sources(self):
+        expected = self.loads(DOC)
+        self.assertEqual(list(iterarray(DOC)), expected)
+        self.assertEqual(list(iterarray(DOC.decode('utf-8'))), expected)
+        self.assertEqual(list(iterarray(bytearray(DOC), bufsize=5)), expected)
+        self.assertEqual(list(iterarray(buffer(DOC), bufsize=5)), expected)
+        self.assertEqual(list(iterarray(memoryview(DOC), bufsize=5)), expected)
+        self.assertEqual(list(iterarray(array.array('b', DOC), bufsize=5)),
+                         expected)
+        self.assertEqual(list(iterarray(io.BytesIO(DOC), bufsize=3)), expected)
+        self.assertEqual(
+            list(iterarray(io.StringIO(DOC.decode('utf-8')), bufsize=3)),
+            expected)
+        self.assertRaises(TypeError, iterparse, 5)
+
+    def test_encoding(self):
+        doc = u'["h\xe9llo", {"\xe9": 1}]'
+        self.assertEqual(list(iterarray(doc.encode('latin-1'), encoding='latin-1')),
+                         [u'h\xe9llo', {u'\xe9': 1}])
+
+    def test_hooks(self):
+        doc = '[{"b": 1, "a": 2.5}, NaN, -Infinity]'
+        self.assertEqual(
+            list(iterarray(doc, object_pairs_hook=OrderedDict, parse_float=str,
+                           parse_int=str, parse_constant=lambda c: c)),
+            [OrderedDict([(u'b', '1'), (u'a', '2.5')]), 'NaN', '-Infinity'])
+        self.assertEqual(list(iterarray(doc, object_hook=len))[0], 2)
+        self.assertRaises(TypeError, iterparse, doc, object_hook=dict)
+
+    def test_strict(self):
+        self.assertRaises(ValueError, list, iterarray('["a\x01"]'))
+        self.assertEqual(list(iterarray('["a\x01"]', strict=False)), [u'a\x01'])
+
+    def test_errors(self):
+        for doc, msg in [
+                ('', 'No JSON object could be decoded'),
+                ('[1 2]', 'Expecting , delimiter: line 1 column 4 (char 3)'),
+                ('[1,\n {"a" 1}]', 'Expecting : delimiter: line 2 column 7 (char 10)'),
+                ('[1] x', 'Extra data: line 1 column 5 (char 4)'),
+                ('["abc', 'Unterminated string starting at: line 1 column 2 (char 1)'),
+                ('["a\\x"]', 'Invalid \\escape: line 1 column 4 (char 3)'),
+                ('{"a": 1}', 'Expecting array: line 1 column 1 (char 0)')]:
+            with self.assertRaises(ValueError) as cm:
+                list(iterarray(StringIO(doc), bufsize=2))
+            self.assertEqual(str(cm.exception), msg)
+
+    def test_errors_differ_from_loads(self):
+        # Where json.loads reports a span, or an error against an enclosing
+        # container, iterparse reports where it stopped
+        for doc, msg in [
+                ('[1] x', 'Extra data: line 1 column 5 (char 4)'),
+                ('[1,]', 'Expecting object: line 1 column 4 (char 3)'),
+                ('[', 'Expecting object: line 1 column 2 (char 1)'),
+                ('"\\ud800"', 'Unpaired high surrogate: line 1 column 2 (char 1)')]:
+            with self.assertRaises(ValueError) as cm:
+                list(iterparse(doc))
+            self.assertEqual(str(cm.exception), msg)
+            with self.assertRaises(ValueError) as cm:
+                self.loads(doc)
+            self.assertNotEqual(str(cm.exception), msg)
+
+    def test_lazy(self):
+        # Elements are produced before the rest of the document is read
+        it = iterarray('[1, {"a": [2]}, oops]')
+        self.assertEqual(next(it), 1)
+        self.assertEqual(next(it), {u'a': [2]})
+        self.assertRaises(ValueError, next, it)
+
+    def test_close(self):
+        it = iterarray(bytearray('[1, 2, 3]'))
+        self.assertEqual(next(it), 1)
+        it.close()
+        self.assertEqual(list(it), [])
@@ -0,0 +1,88 @@
+from StringIO import StringIO
+from json.tests import PyTest, CTest
+
+
+class RecordingFile(object):
+
+    def __init__(self):
+        self.chunks = []
+
+    def write(self, s):
+        self.chunks.append(s)
+
+    def getvalue(self):
+        return ''.join(self.chunks)
+
+
+class TestStreamDump(object):
+
+    big = [{"id": i, "name": "item %d" % i, "tags": ["a", "b"],
+            "score": i * 1.5, "ok": i % 2 == 0, "nested": {"y": None}}
+           for i in range(2000)]
+
+    def check_dump(self, obj, **kw):
+        f = RecordingFile()
+        self.json.dump(obj, f, **kw)
+        self.assertEqual(f.getvalue(), self.dumps(obj, **kw))
+        return f
+
+    def test_dump_matches_dumps(self):
+        obj = {"a": [1, 2.5, None, True, False, u"h\xe9llo", {"z": 1, "b": []}],
+               "c": {}, 3: "x", True: 1, 1.5: 3}
+        for kw in [{}, {"indent": 2}, {"indent": 0}, {"sort_keys": True},
+                   {"indent": 4, "sort_keys": True},
+                   {"separators": (",", ":")}, {"ensure_ascii": False}]:
+            self.check_dump(obj, **kw)
+            self.check_dump([[], {}, [[]], obj], **kw)
+
+    def test_large_dump_is_chunked(self):
+        f = self.check_dump(self.big)
+        self.assertGreater(len(f.chunks), 1)
+        f = self.check_dump(self.big, indent=2, sort_keys=True)
+        self.assertGreater(len(f.chunks), 1)
+
+    def test_same_as_python_encoder(self):
+        # The accelerated encoder handles indent and sort_keys too
+        obj = {"b": [1, {"d": [], "c": {}}], "a": u"\u2603", False: None}
+        for kw in [{"indent": 2}, {"sort_keys": True},
+                   {"indent": 3, "sort_keys": True, "separators": (",", ": ")}]:
+            self.assertEqual(self.dumps(obj, **kw), self.pyjson_dumps(obj, **kw))
+            f = StringIO()
+            self.json.dump(obj, f, **kw)
+            self.assertEqual(f.getvalue(), self.pyjson_dumps(obj, **kw))
+
+    def test_bool_and_none_keys(self):
+        self.assertEqual(self.dumps({True: 1}), '{"true": 1}')
+        self.assertEqual(self.dumps({None: 1}), '{"null": 1}')
+
+    def test_overridden_iterencode(self):
+        class Encoder(self.json.JSONEncoder):
+            def iterencode(self, o, _one_shot=False):
+                yield '"overridden"'
+        f = StringIO()
+        self.json.dump([1, 2], f, cls=Encoder)
+        self.assertEqual(f.getvalue(), '"overridden"')
+
+    def test_duck_typed_encoder(self):
+        # A cls need not derive from JSONEncoder, only have iterencode
+        class Encoder(object):
+            def __init__(self, **kw):
+                pass
+            def iterencode(self, o):
+                yield '"duck'
+                yield '"'
+        f = RecordingFile()
+        self.json.dump([1, 2], f, cls=Encoder)
+        self.assertEqual(f.chunks, ['"duck', '"'])
+
+    def test_circular(self):
+        lst = []
+        lst.append(lst)
+        self.assertRaises(ValueError, self.json.dump, lst, RecordingFile())
+
+
+class TestPyStreamDump(TestStreamDump, PyTest):
+    pyjson_dumps = staticmethod(PyTest.dumps)
+
+class TestCStreamDump(TestStreamDump, CTest):
+    pyjson_dumps = staticmethod(PyTest.dumps)
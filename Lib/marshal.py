@@ -1,14 +1,13 @@
-"""Marshal module written in Python.
+"""Marshal module, implemented in Java by _marshal.
 
-This doesn't marshal code objects, but supports everything else.
-Performance or careful error checking is not an issue.
+This doesn't marshal Java code objects, but supports everything else,
+including the code objects of CPython bytecode.
 
 """
 
-import cStringIO
-from _marshal import Marshaller, Unmarshaller
+from _marshal import Marshaller, Unmarshaller, dumps, loads, version
 
-def dump(x, f, version=2):
+def dump(x, f, version=version):
     Marshaller(f, version).dump(x)
 
 # XXX - added just for debugging. remove!
@@ -17,12 +16,3 @@ def load(f, debug=False):
     if debug:
         u._debug()
     return u.load()
-
-def dumps(x, version=2):
-    f = cStringIO.StringIO()
-    dump(x, f, version)
-    return f.getvalue()
-
-def loads(s):
-    f = cStringIO.StringIO(s)
-    return load(f)
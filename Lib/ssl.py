@@ -739,6 +739,10 @@ class SSLSocket(object):
         self._ensure_handshake()
         return self.sock.sendall(data)
 
+    def sendfile(self, file, offset=0, count=None):
+        self._ensure_handshake()
+        return self.sock.sendfile(file, offset, count)
+
     def recv(self, bufsize, flags=0):
         self._ensure_handshake()
         return self.sock.recv(bufsize, flags)
@@ -815,7 +819,7 @@ class SSLSocket(object):
         return self._sock._writable()
 
     def _register_selector(self, selector):
-        self._sock._register_selector(selector)
+        return self._sock._register_selector(selector)
 
     def _unregister_selector(self, selector):
         return self._sock._unregister_selector(selector)
@@ -45,3 +45,8 @@ class NT(tuple):
                 self.__dict__ == other.__dict__)
     def __ne__(self, other):
         return not (self == other)
+
+class S(object):
+    __slots__ = ('a', 'b')
+    def __init__(self, a):
+        self.a = a
@@ -65,8 +65,44 @@ class UnicodeBinASCIITest(BinASCIITest):
         self.assertEqual(binascii.a2b_base64(self.type2test(fillers)), '')
 
 
+class BulkBinASCIITest(unittest.TestCase):
+    """Test the conversions made in bulk on the bytes of the argument."""
+
+    data = "".join(map(chr, xrange(256))) * 3
+
+    def test_crc32_continued(self):
+        # java.util.zip.CRC32 is brought to the starting value by a prefix
+        crc = 0
+        for i in xrange(0, len(self.data), 7):
+            crc = binascii.crc32(self.data[i:i+7], crc)
+        self.assertEqual(crc, binascii.crc32(self.data))
+        self.assertEqual(binascii.crc32(" world", binascii.crc32("hello")),
+                         binascii.crc32("hello world"))
+        for start in (1, -1, 0xffffffff, -2**31, 0x7fffffff):
+            self.assertEqual(binascii.crc32("", start), start if start < 2**31 else -1)
+
+    def test_buffer_types(self):
+        for data in (bytearray(self.data), buffer(self.data), memoryview(self.data)):
+            self.assertEqual(binascii.crc32(data), binascii.crc32(self.data))
+            self.assertEqual(binascii.b2a_base64(data), binascii.b2a_base64(self.data))
+            self.assertEqual(binascii.hexlify(data), binascii.hexlify(self.data))
+
+    def test_base64_unaligned(self):
+        # Quads broken by whitespace leave the fast path and rejoin it
+        encoded = binascii.b2a_base64(self.data)
+        for gap in (1, 3, 5, 76):
+            spaced = "\n ".join(encoded[i:i+gap] for i in xrange(0, len(encoded), gap))
+            self.assertEqual(binascii.a2b_base64(spaced), self.data)
+
+    def test_hex_round_trip(self):
+        hexed = binascii.hexlify(self.data)
+        self.assertEqual(hexed[:8], "00010203")
+        self.assertEqual(binascii.unhexlify(hexed.upper()), self.data)
+        self.assertRaises(TypeError, binascii.unhexlify, "0g")
+
+
 def test_main():
-    test_support.run_unittest(UnicodeBinASCIITest)
+    test_support.run_unittest(UnicodeBinASCIITest, BulkBinASCIITest)
 
 if __name__ == "__main__":
     test_main()
@@ -0,0 +1,88 @@
+"""Tests for the multi-threaded mode of the Jython bz2 module."""
+
+import os
+import random
+import unittest
+from test import test_support
+
+import bz2
+
+
+class ParallelBZ2Test(unittest.TestCase):
+
+    # Enough for several blocks at compresslevel 1 (100000 bytes each)
+    def setUp(self):
+        rng = random.Random(1234)
+        words = ["alpha", "beta", "gamma", "delta", "\x00\xff", "\n"]
+        self.data = "".join(rng.choice(words) for _ in xrange(150000))
+        self.filename = test_support.TESTFN
+
+    def tearDown(self):
+        if os.path.isfile(self.filename):
+            os.unlink(self.filename)
+
+    def test_compress_roundtrip(self):
+        compressed = bz2.compress(self.data, 1, 4)
+        # One stream per block, each readable by the single-threaded decompressor
+        self.assertGreater(compressed.count("BZh1"), 1)
+        self.assertEqual(bz2.decompress(compressed), self.data)
+        self.assertEqual(bz2.decompress(compressed, 4), self.data)
+
+    def test_compress_empty(self):
+        compressed = bz2.compress("", 9, 4)
+        self.assertEqual(bz2.decompress(compressed), "")
+        self.assertEqual(bz2.decompress(compressed, 4), "")
+
+    def test_decompress_single_stream(self):
+        compressed = bz2.compress(self.data, 9)
+        self.assertEqual(bz2.decompress(compressed, 4), self.data)
+
+    def test_decompress_truncated(self):
+        compressed = bz2.compress(self.data, 1, 4)
+        self.assertRaises(ValueError, bz2.decompress, compressed[:-10], 4)
+
+    def test_compressor(self):
+        compressor = bz2.BZ2Compressor(1, threads=4)
+        chunks = []
+        for i in xrange(0, len(self.data), 30000):
+            chunks.append(compressor.compress(self.data[i:i + 30000]))
+        chunks.append(compressor.flush())
+        self.assertEqual(bz2.decompress("".join(chunks), 2), self.data)
+
+    def test_keywords(self):
+        compressed = bz2.compress(self.data, compresslevel=1, threads=4)
+        self.assertGreater(compressed.count("BZh1"), 1)
+        self.assertEqual(bz2.decompress(compressed, threads=4), self.data)
+        self.assertEqual(bz2.decompress(data=compressed, threads=1), self.data)
+
+    def test_one_thread_is_serial(self):
+        compressed = bz2.compress(self.data, 1, 1)
+        self.assertEqual(compressed, bz2.compress(self.data, 1))
+        self.assertEqual(compressed.count("BZh1"), 1)
+        # The serial decoder reports truncation as the parallel one does
+        self.assertRaises(ValueError, bz2.decompress, compressed[:-10], 1)
+
+    def test_bad_threads(self):
+        self.assertRaises(ValueError, bz2.compress, self.data, 9, 0)
+        self.assertRaises(ValueError, bz2.decompress, bz2.compress(self.data), 0)
+        self.assertRaises(ValueError, bz2.BZ2Compressor, 9, 0)
+        self.assertRaises(ValueError, bz2.BZ2File, self.filename, "w", 0, 9, 0)
+
+    def test_file_roundtrip(self):
+        with bz2.BZ2File(self.filename, "w", compresslevel=1, threads=4) as f:
+            f.write(self.data)
+        with bz2.BZ2File(self.filename) as f:
+            self.assertEqual(f.read(), self.data)
+        with bz2.BZ2File(self.filename, threads=4) as f:
+            self.assertEqual(f.read(), self.data)
+        with bz2.BZ2File(self.filename, threads=3) as f:
+            lines = f.readlines()
+        self.assertEqual("".join(lines), self.data)
+
+
+def test_main():
+    test_support.run_unittest(ParallelBZ2Test)
+
+
+if __name__ == "__main__":
+    test_main()
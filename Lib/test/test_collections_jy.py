@@ -6,7 +6,11 @@ from collections import (
     Set, MutableSet,
     Mapping, MutableMapping,
     Sequence, MutableSequence)
+from collections import Counter, OrderedDict, namedtuple
+import inspect
+import threading
 import sys
+import unittest
 
 import java
 
@@ -117,8 +121,135 @@ class TestJavaInterfaces(ABCTestCase):
             self.assertTrue(issubclass(type(x), MutableSet), repr(type(x)))
 
 
+class TestJavaOrderedDict(unittest.TestCase):
+
+    def test_java_type(self):
+        import _collections
+        self.assertIs(OrderedDict, _collections.OrderedDict)
+
+    def test_delete_during_iteration(self):
+        od = OrderedDict((i, i) for i in range(10))
+        seen = []
+        for k in od:
+            seen.append(k)
+            if k % 2 == 0:
+                del od[k + 1]
+        self.assertEqual(seen, [0, 2, 4, 6, 8])
+        self.assertEqual(od.keys(), [0, 2, 4, 6, 8])
+
+    def test_reversed_after_popitem(self):
+        od = OrderedDict.fromkeys('abcde')
+        self.assertEqual(od.popitem(), ('e', None))
+        self.assertEqual(od.popitem(last=False), ('a', None))
+        self.assertEqual(list(reversed(od)), ['d', 'c', 'b'])
+
+    def test_concurrent_insertion(self):
+        od = OrderedDict()
+        def insert(n):
+            for i in xrange(1000):
+                od[n, i] = i
+        threads = [threading.Thread(target=insert, args=(n,)) for n in range(4)]
+        for t in threads:
+            t.start()
+        for t in threads:
+            t.join()
+        self.assertEqual(len(od), 4000)
+        self.assertEqual(len(list(od)), 4000)
+        for n in range(4):
+            keys = [k for k in od if k[0] == n]
+            self.assertEqual(keys, [(n, i) for i in xrange(1000)])
+
+    def test_subclass_setitem(self):
+        class Doubling(OrderedDict):
+            def __setitem__(self, key, value):
+                OrderedDict.__setitem__(self, key, 2 * value)
+        self.assertEqual(Doubling([('a', 1)], b=2).items(), [('a', 2), ('b', 4)])
+
+
+class TestCountElements(unittest.TestCase):
+
+    def test_counter(self):
+        c = Counter('abracadabra')
+        self.assertEqual(c, {'a': 5, 'b': 2, 'r': 2, 'c': 1, 'd': 1})
+        c.update(['a', 'z'])
+        self.assertEqual(c['a'], 6)
+        self.assertEqual(c['z'], 1)
+
+    def test_overridden_setitem(self):
+        class Recording(dict):
+            def __setitem__(self, key, value):
+                dict.__setitem__(self, key, value * 10)
+        from _collections import _count_elements
+        d = Recording()
+        _count_elements(d, 'aab')
+        self.assertEqual(d, {'a': 110, 'b': 10})
+
+    def test_other_mapping(self):
+        from _collections import _count_elements
+        od = OrderedDict()
+        _count_elements(od, 'cabbage')
+        self.assertEqual(od.items(), [('c', 1), ('a', 2), ('b', 2), ('g', 1), ('e', 1)])
+
+
+class TestJavaNamedTuple(unittest.TestCase):
+
+    def test_java_accessors(self):
+        from _collections import _tuplegetter
+        Point = namedtuple('Point', 'x y')
+        self.assertIsInstance(Point.x, _tuplegetter)
+        self.assertEqual(Point.y.__doc__, 'Alias for field number 1')
+        p = Point(1, y=2)
+        self.assertEqual((p.x, p.y), (1, 2))
+        with self.assertRaises(AttributeError):
+            p.x = 3
+        with self.assertRaises(TypeError):
+            Point.x.__get__([1, 2])
+
+    def test_new_arguments(self):
+        Point = namedtuple('Point', 'x y')
+        self.assertEqual(Point(y=2, x=1), (1, 2))
+        self.assertRaises(TypeError, Point, 1)
+        self.assertRaises(TypeError, Point, 1, 2, 3)
+        self.assertRaises(TypeError, Point, 1, x=2)
+        self.assertRaises(TypeError, Point, 1, z=2)
+        self.assertEqual(namedtuple('Empty', '')(), ())
+
+    def test_new_is_a_function(self):
+        # __new__ keeps the argument names and defaults of the Python template
+        Point = namedtuple('Point', 'x y')
+        self.assertEqual(inspect.getargspec(Point.__new__),
+                         (['_cls', 'x', 'y'], None, None, None))
+        Point.__new__.__defaults__ = (None, None)
+        self.assertEqual(Point(), (None, None))
+        self.assertEqual(Point(1), (1, None))
+        self.assertEqual(Point(y=2), (None, 2))
+        self.assertEqual(Point.__new__.__doc__, 'Create new instance of Point(x, y)')
+
+    def test_tuplenew(self):
+        from _collections import _tuplenew
+        Point = namedtuple('Point', 'a b c d e')
+        for n in range(6):
+            items = tuple(range(n))
+            self.assertEqual(_tuplenew(tuple, *items), items)
+        self.assertIs(type(_tuplenew(Point, 1, 2, 3, 4, 5)), Point)
+        self.assertRaises(TypeError, _tuplenew)
+        self.assertRaises(TypeError, _tuplenew, tuple, x=1)
+
+    def test_subclass_new(self):
+        Point = namedtuple('Point', 'x y')
+        class OnAxis(Point):
+            def __new__(cls, x):
+                return Point.__new__(cls, x, 0)
+        p = OnAxis(7)
+        self.assertIs(type(p), OnAxis)
+        self.assertEqual((p.x, p.y), (7, 0))
+        self.assertEqual(Point.__new__(tuple, 1, 2), (1, 2))
+        self.assertRaises(TypeError, Point.__new__, int, 1, 2)
+
+
 def test_main():
-    test_classes = [TestJavaInterfaces]
+    test_classes = [TestJavaInterfaces, TestJavaOrderedDict, TestCountElements,
+                    TestJavaNamedTuple]
     test_support.run_unittest(*test_classes)
 
 if __name__ == "__main__":
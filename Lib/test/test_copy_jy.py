@@ -0,0 +1,93 @@
+"""Tests of the Java engine of copy.deepcopy"""
+import copy
+import unittest
+from test import test_support
+
+
+class Plain(object):
+    def __init__(self, value):
+        self.value = value
+
+
+class Hooked(object):
+    def __init__(self, value):
+        self.value = value
+    def __deepcopy__(self, memo):
+        return Hooked(copy.deepcopy(self.value, memo))
+
+
+class Slotted(object):
+    __slots__ = ('value',)
+    def __init__(self, value):
+        self.value = value
+
+
+class DeepCopyTestCase(unittest.TestCase):
+
+    def test_java_engine(self):
+        self.assertIsNot(copy.deepcopy, copy._python_deepcopy)
+
+    def test_shared_and_cyclic(self):
+        shared = [1, 2]
+        x = {'a': shared, 'b': (shared, 'text'), 'c': set([1, 2]),
+             'd': frozenset('ab')}
+        x['self'] = x
+        y = copy.deepcopy(x)
+        self.assertEqual(y['a'], shared)
+        self.assertIsNot(y['a'], shared)
+        self.assertIs(y['b'][0], y['a'])
+        self.assertIs(y['self'], y)
+        self.assertEqual(y['c'], set([1, 2]))
+        self.assertEqual(y['d'], frozenset('ab'))
+
+    def test_unchanged_tuple(self):
+        x = (1, 'a', (2.5, None))
+        self.assertIs(copy.deepcopy(x), x)
+
+    def test_plain_instance(self):
+        x = Plain([1, 2])
+        x.me = x
+        y = copy.deepcopy(x)
+        self.assertIs(type(y), Plain)
+        self.assertEqual(y.value, [1, 2])
+        self.assertIsNot(y.value, x.value)
+        self.assertIs(y.me, y)
+
+    def test_hooks_shared_memo(self):
+        shared = [1]
+        x = [shared, Hooked(shared), Slotted(shared), shared]
+        y = copy.deepcopy(x)
+        self.assertIsNot(y[0], shared)
+        self.assertIs(y[1].value, y[0])
+        self.assertIs(y[2].value, y[0])
+        self.assertIs(y[3], y[0])
+
+    def test_instance_deepcopy_attribute(self):
+        x = Plain(1)
+        x.__deepcopy__ = lambda memo: 'copied'
+        self.assertEqual(copy.deepcopy(x), 'copied')
+
+    def test_subclasses(self):
+        class L(list):
+            pass
+        x = L([[1]])
+        x.attr = 'a'
+        y = copy.deepcopy(x)
+        self.assertIs(type(y), L)
+        self.assertEqual(y.attr, 'a')
+        self.assertIsNot(y[0], x[0])
+
+    def test_given_memo(self):
+        memo = {}
+        x = [[1]]
+        y = copy.deepcopy(x, memo)
+        self.assertIs(memo[id(x)], y)
+        self.assertIs(memo[id(x[0])], y[0])
+        self.assertIs(copy.deepcopy(x, memo), y)
+
+
+def test_main():
+    test_support.run_unittest(DeepCopyTestCase)
+
+if __name__ == "__main__":
+    test_main()
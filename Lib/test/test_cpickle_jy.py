@@ -3,9 +3,13 @@
 Made for Jython.
 """
 import __builtin__
+import io
+import os
 import sys
 import cPickle
+import cStringIO
 import pickle
+import struct
 import unittest
 from StringIO import StringIO
 from test import test_support
@@ -91,8 +95,234 @@ class CPickleTestCase(unittest.TestCase):
 
 
 
+class ReadOnly(object):
+    """A file-like object that cannot seek, so must be read exactly."""
+
+    def __init__(self, data):
+        self.f = StringIO(data)
+        self.read = self.f.read
+        self.readline = self.f.readline
+
+
+class BufferedIOTestCase(unittest.TestCase):
+    """Pickles written through the output buffer and read from a window."""
+
+    data = [{'key %d' % i: (i, float(i), u'value %d' % i, [None] * (i % 5))}
+            for i in range(5000)]
+
+    def setUp(self):
+        self.addCleanup(test_support.unlink, test_support.TESTFN)
+
+    def round_trip(self, open_write, open_read):
+        # Several pickles, then plain data, which the unpickler must leave unread
+        for proto in range(3):
+            f = open_write()
+            for obj in (self.data, "small", self.data[:10]):
+                cPickle.dump(obj, f, proto)
+            f.write("tail\n")
+            f.flush()
+
+            g = open_read(f)
+            try:
+                self.assertEqual(cPickle.load(g), self.data)
+                unpickler = cPickle.Unpickler(g)
+                self.assertEqual(unpickler.load(), "small")
+                self.assertEqual(unpickler.load(), self.data[:10])
+                self.assertEqual(g.read(), "tail\n")
+            finally:
+                g.close()
+                f.close()
+
+    def test_file(self):
+        self.round_trip(lambda: open(test_support.TESTFN, "wb"),
+                        lambda f: open(test_support.TESTFN, "rb"))
+
+    def test_fileio(self):
+        self.round_trip(lambda: io.FileIO(test_support.TESTFN, "w"),
+                        lambda f: io.FileIO(test_support.TESTFN, "r"))
+
+    def test_buffered(self):
+        self.round_trip(lambda: io.open(test_support.TESTFN, "wb"),
+                        lambda f: io.open(test_support.TESTFN, "rb"))
+
+    def test_cstringio(self):
+        self.round_trip(cStringIO.StringIO,
+                        lambda f: cStringIO.StringIO(f.getvalue()))
+
+    def test_unseekable(self):
+        for proto in range(3):
+            out = StringIO()
+            cPickle.dump(self.data, out, proto)
+            cPickle.dump("small", out, proto)
+            out.write("tail\n")
+            f = ReadOnly(out.getvalue())
+            self.assertEqual(cPickle.load(f), self.data)
+            self.assertEqual(cPickle.load(f), "small")
+            self.assertEqual(f.read(), "tail\n")
+
+    def test_dumps(self):
+        for proto in range(3):
+            s = cPickle.dumps(self.data, proto)
+            out = cStringIO.StringIO()
+            cPickle.dump(self.data, out, proto)
+            self.assertEqual(s, out.getvalue())
+            self.assertEqual(cPickle.loads(s + "junk"), self.data)
+
+    def test_large_string(self):
+        big = os.urandom(200000)
+        for proto in range(3):
+            self.assertEqual(cPickle.loads(cPickle.dumps([big, big[:10]], proto)),
+                             [big, big[:10]])
+
+    def test_truncated(self):
+        s = cPickle.dumps(self.data, 2)
+        self.assertRaises(EOFError, cPickle.loads, s[:-100])
+
+    def test_error_gives_back_input(self):
+        # A failed load leaves the file just past the bad opcode, not a buffer further on
+        s = cPickle.dumps([1, 2, 3], 2)[:5] + '\xff' + 'x' * 10000
+        for f in (cStringIO.StringIO(s), StringIO(s)):
+            self.assertRaises(cPickle.UnpicklingError, cPickle.load, f)
+            self.assertEqual(f.tell(), 6)
+        with open(test_support.TESTFN, "wb") as f:
+            f.write(s)
+        with open(test_support.TESTFN, "rb") as f:
+            self.assertRaises(cPickle.UnpicklingError, cPickle.load, f)
+            self.assertEqual(f.tell(), 6)
+
+
+class MemoTestCase(unittest.TestCase):
+
+    def test_shared_references(self):
+        # Enough objects to need LONG_BINPUT and LONG_BINGET, and resizing
+        items = [MyClass() for i in range(100000)]
+        data = [items, items[::-1], items[::7]]
+        for proto in range(3):
+            copy = cPickle.loads(cPickle.dumps(data, proto))
+            self.assertEqual(len(copy[0]), len(items))
+            self.assertTrue(all(a is b for a, b in zip(copy[0], reversed(copy[1]))))
+            self.assertTrue(all(a is b for a, b in zip(copy[0][::7], copy[2])))
+
+    def test_memo_across_dumps(self):
+        obj = MyClass()
+        for proto in range(3):
+            f = StringIO()
+            pickler = cPickle.Pickler(f, proto)
+            pickler.dump(obj)
+            pickler.dump(obj)
+            pickler.clear_memo()
+            pickler.dump(obj)
+            f.seek(0)
+            unpickler = cPickle.Unpickler(f)
+            first = unpickler.load()
+            # The second pickle is only a reference to the first
+            self.assertIs(unpickler.load(), first)
+            self.assertIsNot(unpickler.load(), first)
+
+    def test_memo_attribute(self):
+        obj = MyClass()
+        f = StringIO(cPickle.dumps([obj, obj], 2) + 'g7\n.')
+        unpickler = cPickle.Unpickler(f)
+        self.assertEqual(unpickler.memo, {})
+        loaded = unpickler.load()
+        memo = unpickler.memo
+        self.assertIs(memo['1'], loaded)
+        self.assertTrue(any(v is loaded[0] for v in memo.values()))
+        # The memo read is a copy, while one assigned is used by later loads
+        size = len(memo)
+        memo.clear()
+        self.assertEqual(len(unpickler.memo), size)
+        unpickler.memo = {7: 'seven'}
+        self.assertEqual(unpickler.memo, {'7': 'seven'})
+        self.assertEqual(unpickler.load(), 'seven')
+        self.assertRaises(ValueError, setattr, unpickler, 'memo', {'x': 1})
+        self.assertEqual(unpickler.memo, {'7': 'seven'})
+
+    def test_huge_memo_key(self):
+        # The memo is not sized from a position in the pickle
+        for key in (10**9, 2**31 - 1):
+            put = 'r' + struct.pack('<i', key)
+            get = 'j' + struct.pack('<i', key)
+            self.assertIsNone(cPickle.loads('\x80\x02N' + put + '.'))
+            self.assertEqual(cPickle.loads('\x80\x02(K\x01' + put + get + 'l.'), [1, 1])
+            unpickler = cPickle.Unpickler(StringIO('\x80\x02N' + put + '.'))
+            unpickler.load()
+            self.assertEqual(unpickler.memo, {str(key): None})
+        # Positions that come to be covered by the array as it grows are kept
+        pickle = '(' + ''.join('K%sq%s' % (chr(i), chr(i)) for i in range(150))
+        pickle = pickle.replace('q\x00', 'q\xc8', 1) + 'h\xc8l.'
+        self.assertEqual(cPickle.loads(pickle), range(150) + [0])
+
+    def test_bad_memo_key(self):
+        self.assertRaises(cPickle.BadPickleGet, cPickle.loads, 'h\x05.')
+        self.assertRaises(cPickle.BadPickleGet, cPickle.loads, 'gx\n.')
+        self.assertRaises(cPickle.UnpicklingError, cPickle.loads, 'Np-1\n.')
+
+
+class Plain(object):
+
+    def __init__(self, x):
+        self.x = x
+
+    def __eq__(self, other):
+        return type(other) is type(self) and other.__dict__ == self.__dict__
+
+
+class Point(Plain):
+    pass
+
+
+class SaveStrategyTestCase(unittest.TestCase):
+    """Instances saved without calling __reduce_ex__ must pickle as if it were called."""
+
+    def test_plain_instances(self):
+        data = [Plain(i) for i in range(10)] + [Plain({'a': Plain(None)}), Plain(set([1, 2]))]
+        data.append(data[0])
+        for proto in range(3):
+            copy = cPickle.loads(cPickle.dumps(data, proto))
+            self.assertEqual(copy, data)
+            self.assertIs(copy[0], copy[-1])
+
+    def test_instance_overrides(self):
+        a, b = Plain(1), Plain(2)
+        b.__getstate__ = lambda: {'x': 'state'}
+        copy = cPickle.loads(cPickle.dumps([a, b, Plain(3)], 2))
+        self.assertEqual([p.x for p in copy], [1, 'state', 3])
+
+    def test_sets(self):
+        data = [set([1, 2, 3]), frozenset(['a']), set()]
+        for proto in range(3):
+            copy = cPickle.loads(cPickle.dumps(data, proto))
+            self.assertEqual(copy, data)
+            self.assertEqual([type(c) for c in copy], [set, frozenset, set])
+
+    def test_dicts(self):
+        d = dict((i, str(i)) for i in range(3000))
+        for proto in range(3):
+            self.assertEqual(cPickle.loads(cPickle.dumps(d, proto)), d)
+            # The __dict__ of an instance is a string map
+            self.assertEqual(cPickle.loads(cPickle.dumps(Plain(d), proto)), Plain(d))
+
+    def test_copy_reg_change(self):
+        # Reducers registered between dumps are used by the same pickler
+        import copy_reg
+        f = StringIO()
+        pickler = cPickle.Pickler(f, 2)
+        pickler.dump(Point(1))
+        copy_reg.pickle(Point, lambda p: (Point, ('reduced',)))
+        try:
+            pickler.dump(Point(2))
+        finally:
+            del copy_reg.dispatch_table[Point]
+        f.seek(0)
+        unpickler = cPickle.Unpickler(f)
+        self.assertEqual(unpickler.load(), Point(1))
+        self.assertEqual(unpickler.load(), Point('reduced'))
+
+
 def test_main():
-    test_support.run_unittest(CPickleTestCase)
+    test_support.run_unittest(CPickleTestCase, BufferedIOTestCase, MemoTestCase,
+                              SaveStrategyTestCase)
 
 
 if __name__ == '__main__':
@@ -81,12 +81,106 @@ class TestUnicode(unittest.TestCase):
                 self.assertEqual(fileobj.read().decode(), expected)
 
 
+class TestFileReader(unittest.TestCase):
+    # A reader on a FileIO reads it in blocks, not a line at a time
+
+    rows = [['a', 'b c', ''], ['"q"', 'x,y', 'multi\nline\r\nfield'], [],
+            ['z' * 70000, 'end']]
+
+    def write_rows(self, fileobj, **kw):
+        csv.writer(fileobj, **kw).writerows(self.rows)
+        fileobj.write('\n')  # an empty line
+        fileobj.write('last,line')
+        fileobj.seek(0)
+
+    def check_rows(self, reader):
+        self.assertEqual(reader.next(), self.rows[0])
+        self.assertEqual(reader.line_num, 1)
+        self.assertEqual(reader.next(), self.rows[1])
+        self.assertEqual(reader.line_num, 4)
+        self.assertEqual(list(reader), self.rows[2:] + [[], ['last', 'line']])
+        self.assertEqual(reader.line_num, 8)
+
+    def test_file(self):
+        with TemporaryFile("w+b") as fileobj:
+            self.write_rows(fileobj)
+            self.check_rows(csv.reader(fileobj))
+            # The same result as reading lines
+            fileobj.seek(0)
+            self.check_rows(csv.reader(iter(fileobj.readline, '')))
+
+    def test_fileio(self):
+        with TemporaryFile("w+b") as fileobj:
+            self.write_rows(fileobj)
+            with io.FileIO(fileobj.fileno(), closefd=False) as raw:
+                self.check_rows(csv.reader(raw))
+                # The file is left at the end of each row, as by iteration
+                raw.seek(0)
+                reader = csv.reader(raw)
+                reader.next()
+                self.assertEqual(raw.tell(), len('a,b c,\r\n'))
+                self.assertEqual(raw.read(8), '"""q""",')
+                self.assertEqual(reader.next(), ['x,y', 'multi\nline\r\nfield'])
+                self.assertEqual(csv.reader(raw).next(), [])
+
+    def test_fieldnames_from_fileio(self):
+        # As test_csv.test_read_dict_fieldnames_from_file
+        with TemporaryFile("w+b") as fileobj:
+            fileobj.write("f1,f2,f3\r\n1,2,abc\r\n")
+            fileobj.seek(0)
+            with io.FileIO(fileobj.fileno(), closefd=False) as f:
+                reader = csv.DictReader(f, fieldnames=csv.reader(f).next())
+                self.assertEqual(reader.fieldnames, ["f1", "f2", "f3"])
+                self.assertEqual(reader.next(),
+                                 {"f1": '1', "f2": '2', "f3": 'abc'})
+
+    def test_dialect(self):
+        with TemporaryFile("w+b") as fileobj:
+            self.write_rows(fileobj, delimiter=';', quoting=csv.QUOTE_ALL)
+            rows = list(csv.reader(fileobj, delimiter=';'))
+            self.assertEqual(rows[:-1], self.rows + [[]])
+
+    def test_tuples(self):
+        with TemporaryFile("w+b") as fileobj:
+            self.write_rows(fileobj)
+            rows = list(csv.reader(fileobj, tuples=True))
+            self.assertEqual(rows[0], ('a', 'b c', ''))
+            self.assertEqual(rows[2], ())
+        self.assertEqual(list(csv.reader(['1,2\r\n'], 'excel', tuples=1)),
+                         [('1', '2')])
+
+    def test_errors(self):
+        with TemporaryFile("w+b") as fileobj:
+            fileobj.write('a,b\nc,\0d\n')
+            fileobj.seek(0)
+            reader = csv.reader(fileobj)
+            self.assertEqual(reader.next(), ['a', 'b'])
+            self.assertRaises(csv.Error, reader.next)
+        with TemporaryFile("w+b") as fileobj:
+            fileobj.write('"abc\n')
+            fileobj.seek(0)
+            self.assertRaises(csv.Error, list, csv.reader(fileobj, strict=True))
+            fileobj.seek(0)
+            self.assertEqual(list(csv.reader(fileobj)), [['abc\n']])
+        limit = csv.field_size_limit(10)
+        try:
+            with TemporaryFile("w+b") as fileobj:
+                fileobj.write('0123456789,\n01234567890\n')
+                fileobj.seek(0)
+                reader = csv.reader(fileobj)
+                self.assertEqual(reader.next(), ['0123456789', ''])
+                self.assertRaises(csv.Error, reader.next)
+        finally:
+            csv.field_size_limit(limit)
+
+
 def test_main():
     # We'll be enabling sys.setdefaultencoding so remember to disable
     had_set = hasattr(sys, "setdefaultencoding")
     try:
         test_support.run_unittest(
             TestUnicode,
+            TestFileReader,
         )
     finally:
         if not had_set:
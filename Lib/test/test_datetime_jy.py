@@ -1,3 +1,5 @@
+import cPickle
+import pickle
 import unittest
 from test import test_support
 
@@ -126,11 +128,114 @@ class TestSQL(unittest.TestCase):
         self.assertEqual(epoch % 3600, 180)  # 3 minutes
 
 
+class TestKeywords(unittest.TestCase):
+    """The keywords of the pure Python classes work with the Java types."""
+
+    def test_methods(self):
+        dt = datetime(2021, 3, 4, 5, 6, 7)
+        self.assertEqual(dt.isoformat(sep=' '), '2021-03-04 05:06:07')
+        self.assertEqual(dt.isoformat(), '2021-03-04T05:06:07')
+        self.assertEqual(dt.strftime(fmt='%Y %H'), '2021 05')
+        self.assertEqual(date(2021, 3, 4).strftime(fmt='%m/%d'), '03/04')
+        self.assertEqual(time(5, 6).strftime(fmt='%H:%M'), '05:06')
+        self.assertEqual(dt.replace(day=5, hour=1), datetime(2021, 3, 5, 1, 6, 7))
+        self.assertRaises(TypeError, dt.isoformat, separator=' ')
+        self.assertRaises(TypeError, dt.isoformat, sep='--')
+
+    def test_class_methods(self):
+        self.assertEqual(date.fromordinal(n=1), date(1, 1, 1))
+        self.assertEqual(date.fromtimestamp(t=0), date.fromtimestamp(0))
+        self.assertEqual(datetime.utcfromtimestamp(t=0), datetime(1970, 1, 1))
+        self.assertEqual(datetime.fromtimestamp(t=0, tz=None), datetime.fromtimestamp(0))
+        self.assertEqual(datetime.strptime(date_string='2021-03', format='%Y-%m'),
+                         datetime(2021, 3, 1))
+        self.assertEqual(datetime.combine(date=date(2021, 3, 4), time=time(5)),
+                         datetime(2021, 3, 4, 5))
+
+
+class MyDate(date):
+    pass
+
+class MyDateTime(datetime):
+    def timetuple(self):
+        # strftime goes through timetuple, so this moves the year
+        return self.replace(year=1999).timetuple()
+
+
+class TestSubclass(unittest.TestCase):
+
+    def test_construct(self):
+        d = MyDate(2021, 3, 4)
+        self.assertIs(type(d), MyDate)
+        self.assertIs(type(MyDate.fromordinal(n=d.toordinal())), MyDate)
+        self.assertIs(type(MyDateTime.strptime('2021', '%Y')), MyDateTime)
+        self.assertIs(type(MyDateTime.combine(d, time(1))), MyDateTime)
+        self.assertEqual(repr(d), 'datetime.MyDate(2021, 3, 4)')
+
+    def test_overridden_method(self):
+        dt = MyDateTime(2021, 3, 4)
+        self.assertEqual(dt.strftime(fmt='%Y-%m'), '1999-03')
+        self.assertEqual(dt.isoformat(sep=' '), '2021-03-04 00:00:00')
+
+    def test_pickle(self):
+        dt = MyDateTime(2021, 3, 4, 5, 6, 7, 8)
+        for module in (pickle, cPickle):
+            for proto in range(3):
+                copy = module.loads(module.dumps(dt, proto))
+                self.assertIs(type(copy), MyDateTime)
+                self.assertEqual(copy, dt)
+
+
+class TestPurePickles(unittest.TestCase):
+    """Pickles made by the pure Python classes of earlier versions load as Java types."""
+
+    objects = [date(2021, 3, 4), time(5, 6, 7, 8), datetime(2021, 3, 4, 5, 6, 7, 8),
+               timedelta(1, 2, 3)]
+
+    pickles = [
+        # Protocol 0
+        "cdatetime\ndate\np0\n(S'\\x07\\xe5\\x03\\x04'\np1\ntp2\nRp3\n.",
+        "cdatetime\ntime\np0\n(S'\\x05\\x06\\x07\\x00\\x00\\x08'\np1\ntp2\nRp3\n.",
+        "cdatetime\ndatetime\np0\n(S'\\x07\\xe5\\x03\\x04\\x05\\x06\\x07\\x00\\x00"
+        "\\x08'\np1\ntp2\nRp3\n.",
+        "cdatetime\ntimedelta\np0\n(I1\nI2\nI3\ntp1\nRp2\n.",
+        # Protocol 1
+        "cdatetime\ndate\nq\x00(U\x04\x07\xe5\x03\x04q\x01tq\x02Rq\x03.",
+        "cdatetime\ntime\nq\x00(U\x06\x05\x06\x07\x00\x00\x08q\x01tq\x02Rq\x03.",
+        "cdatetime\ndatetime\nq\x00(U\n\x07\xe5\x03\x04\x05\x06\x07\x00\x00\x08q\x01tq"
+        "\x02Rq\x03.",
+        "cdatetime\ntimedelta\nq\x00(K\x01K\x02K\x03tq\x01Rq\x02.",
+        # Protocol 2
+        "\x80\x02cdatetime\ndate\nq\x00U\x04\x07\xe5\x03\x04q\x01\x85q\x02Rq\x03.",
+        "\x80\x02cdatetime\ntime\nq\x00U\x06\x05\x06\x07\x00\x00\x08q\x01\x85q\x02Rq\x03.",
+        "\x80\x02cdatetime\ndatetime\nq\x00U\n\x07\xe5\x03\x04\x05\x06\x07\x00\x00\x08q"
+        "\x01\x85q\x02Rq\x03.",
+        "\x80\x02cdatetime\ntimedelta\nq\x00K\x01K\x02K\x03\x87q\x01Rq\x02.",
+    ]
+
+    def test_load(self):
+        for i, s in enumerate(self.pickles):
+            expected = self.objects[i % len(self.objects)]
+            for module in (pickle, cPickle):
+                obj = module.loads(s)
+                self.assertIs(type(obj), type(expected))
+                self.assertEqual(obj, expected)
+
+    def test_same_pickles(self):
+        # And the Java types pickle as the pure classes did
+        for i, s in enumerate(self.pickles):
+            obj = self.objects[i % len(self.objects)]
+            self.assertEqual(pickle.dumps(obj, i // len(self.objects)), s)
+
+
 def test_main():
     test_support.run_unittest(
         TestCalendar,
         TestSQL,
-        TestTimezone)
+        TestTimezone,
+        TestKeywords,
+        TestSubclass,
+        TestPurePickles)
 
 
 if __name__ == '__main__':
@@ -1,6 +1,8 @@
+import random
 import unittest
 from test import test_support
 
+import decimal
 from decimal import Decimal
 
 from java.lang import Float, Double, Object
@@ -30,5 +32,93 @@ class TestJavaDecimal(unittest.TestCase):
         self.assertTrue(isinstance(y, Double))
 
 
+class TestJavaArithmetic(unittest.TestCase):
+    """The Java arithmetic gives the results and flags the Python does."""
+
+    roundings = [decimal.ROUND_DOWN, decimal.ROUND_HALF_UP, decimal.ROUND_HALF_EVEN,
+                 decimal.ROUND_CEILING, decimal.ROUND_FLOOR, decimal.ROUND_UP,
+                 decimal.ROUND_HALF_DOWN, decimal.ROUND_05UP]
+
+    def setUp(self):
+        self.arithmetic = decimal._arithmetic
+        self.assertIsNotNone(self.arithmetic)
+        rnd = random.Random(41)
+        digits = lambda: str(rnd.randint(0, 10 ** rnd.randint(0, 30)))
+        self.values = [Decimal("%s%s.%sE%d" % (rnd.choice("+-"), digits(), digits(),
+                                               rnd.randint(-12, 12)))
+                       for i in range(60)]
+        self.values += [Decimal(0), Decimal("-0.00"), Decimal("1E+2")]
+
+    def tearDown(self):
+        decimal._arithmetic = self.arithmetic
+
+    def results(self, arithmetic, op, rounding):
+        decimal._arithmetic = arithmetic
+        context = decimal.Context(prec=9, rounding=rounding, traps=[])
+        results = []
+        for x in self.values:
+            for y in self.values[::7]:
+                context.clear_flags()
+                r = op(context, x, y)
+                flags = sorted(s.__name__ for s, v in context.flags.items() if v)
+                results.append((str(r), flags))
+        return results
+
+    def check(self, op):
+        for rounding in self.roundings:
+            self.assertEqual(self.results(self.arithmetic, op, rounding),
+                             self.results(None, op, rounding), rounding)
+
+    def test_add(self):
+        self.check(lambda c, x, y: c.add(x, y))
+
+    def test_subtract(self):
+        self.check(lambda c, x, y: c.subtract(x, y))
+
+    def test_multiply(self):
+        self.check(lambda c, x, y: c.multiply(x, y))
+
+    def test_quantize(self):
+        self.check(lambda c, x, y: c.quantize(x, y))
+
+    def test_compare(self):
+        self.check(lambda c, x, y: c.compare(x, y))
+
+    def test_parse(self):
+        for s in ["1", "-0", "+0.000", "  12.50\n", "1E+3", "-.5e-2", "007", "00.0100",
+                  "1.", ".", "", "1e", "e3", "1e1.5", "+-1", "1,0", "Inf", "NaN12",
+                  u"12.5", u"\u0661", "1e999999999", "1e1000000000"]:
+            try:
+                decimal._arithmetic = None
+                expected = repr(Decimal(s))
+            except decimal.InvalidOperation, e:
+                expected = type(e)
+            finally:
+                decimal._arithmetic = self.arithmetic
+            try:
+                actual = repr(Decimal(s))
+            except decimal.InvalidOperation, e:
+                actual = type(e)
+            self.assertEqual(actual, expected, repr(s))
+
+    def test_traps(self):
+        context = decimal.Context(prec=3, traps=[decimal.Inexact])
+        self.assertEqual(context.add(Decimal("1.23"), Decimal("4.56")), Decimal("5.79"))
+        self.assertRaises(decimal.Inexact, context.add, Decimal("1.234"), Decimal(1))
+        self.assertRaises(decimal.Inexact, context.multiply, Decimal("1.55"), Decimal("1.55"))
+        context = decimal.Context(prec=3, traps=[decimal.Rounded])
+        self.assertRaises(decimal.Rounded, context.quantize, Decimal("1.20"), Decimal("0.1"))
+
+    def test_subclass(self):
+        class MyDecimal(Decimal):
+            pass
+        self.assertEqual(type(MyDecimal("1.5") + MyDecimal("2.5")), Decimal)
+        self.assertEqual(MyDecimal("1.5") * 2, Decimal("3.0"))
+
+
+def test_main():
+    test_support.run_unittest(TestJavaDecimal, TestJavaArithmetic)
+
+
 if __name__ == '__main__':
-    unittest.main()
+    test_main()
@@ -1,4 +1,6 @@
 from functools import partial
+import functools
+import threading
 import unittest
 
 from test import test_support
@@ -13,8 +15,124 @@ class PartialDictTest(unittest.TestCase):
         A(lambda: None).somevar = 1
 
 
+class LruCacheTest(unittest.TestCase):
+
+    def test_lru(self):
+        def orig(x, y):
+            return 3 * x + y
+        f = functools.lru_cache(maxsize=20)(orig)
+        hits, misses, maxsize, currsize = f.cache_info()
+        self.assertEqual(maxsize, 20)
+        self.assertEqual((hits, misses, currsize), (0, 0, 0))
+
+        for i in range(1000):
+            x, y = divmod(i % 20, 5)
+            self.assertEqual(f(x, y), orig(x, y))
+        hits, misses, maxsize, currsize = f.cache_info()
+        self.assertEqual(misses, 20)
+        self.assertEqual(hits, 980)
+        self.assertEqual(currsize, 20)
+
+        f.cache_clear()
+        self.assertEqual(f.cache_info(), (0, 0, 20, 0))
+        self.assertIs(f.__wrapped__, orig)
+        self.assertEqual(f.__name__, 'orig')
+
+    def test_eviction_order(self):
+        calls = []
+        @functools.lru_cache(maxsize=2)
+        def f(x):
+            calls.append(x)
+            return x
+        for x in 1, 2, 1, 3, 2, 1:
+            f(x)
+        # 3 evicts 2, the least recently used; then 2 evicts 1
+        self.assertEqual(calls, [1, 2, 3, 2, 1])
+        self.assertEqual(f.cache_info(), (1, 5, 2, 2))
+
+    def test_maxsize_zero_and_none(self):
+        @functools.lru_cache(maxsize=0)
+        def f():
+            return 1
+        f(); f()
+        self.assertEqual(f.cache_info(), (0, 2, 0, 0))
+
+        @functools.lru_cache(maxsize=None)
+        def fib(n):
+            return n if n < 2 else fib(n - 1) + fib(n - 2)
+        self.assertEqual(fib(80), 23416728348467685)
+        self.assertEqual(fib.cache_info(), (78, 81, None, 81))
+
+    def test_typed_and_keywords(self):
+        @functools.lru_cache(typed=True)
+        def square(x):
+            return x * x
+        self.assertEqual(square(3), 9)
+        self.assertEqual(type(square(3.0)), float)
+        self.assertEqual(square.cache_info().misses, 2)
+
+        @functools.lru_cache()
+        def add(a, b=0):
+            return a + b
+        self.assertEqual(add(1, b=2), 3)
+        self.assertEqual(add(1, b=2), 3)
+        self.assertEqual(add(1, 2), 3)
+        self.assertEqual(add.cache_info()[:2], (1, 2))
+
+    def test_unhashable(self):
+        @functools.lru_cache()
+        def f(x):
+            return x
+        self.assertRaises(TypeError, f, [])
+
+    def test_exception_not_cached(self):
+        calls = []
+        @functools.lru_cache()
+        def f(x):
+            calls.append(x)
+            raise ValueError(x)
+        self.assertRaises(ValueError, f, 1)
+        self.assertRaises(ValueError, f, 1)
+        self.assertEqual(calls, [1, 1])
+
+    def test_method(self):
+        class C(object):
+            @functools.lru_cache()
+            def double(self, x):
+                return (self, 2 * x)
+        a, b = C(), C()
+        self.assertEqual(a.double(2), (a, 4))
+        self.assertEqual(b.double(2), (b, 4))
+        self.assertEqual(a.double(2), (a, 4))
+        self.assertEqual(C.double.cache_info()[:2], (1, 2))
+
+    def test_decorator_without_call(self):
+        @functools.lru_cache
+        def f(x):
+            return -x
+        self.assertEqual(f(2), -2)
+        self.assertEqual(f.cache_info().maxsize, 128)
+        self.assertRaises(TypeError, functools.lru_cache, 'size')
+
+    def test_threads(self):
+        @functools.lru_cache(maxsize=100)
+        def f(x):
+            return x * 2
+        def call():
+            for i in range(1000):
+                self.assertEqual(f(i % 150), i % 150 * 2)
+        threads = [threading.Thread(target=call) for _ in range(4)]
+        for t in threads:
+            t.start()
+        for t in threads:
+            t.join()
+        hits, misses, maxsize, currsize = f.cache_info()
+        self.assertEqual(hits + misses, 4000)
+        self.assertLessEqual(currsize, 100)
+
+
 def test_main():
-    test_support.run_unittest(PartialDictTest)
+    test_support.run_unittest(PartialDictTest, LruCacheTest)
 
 if __name__ == "__main__":
     test_main()
@@ -1,8 +1,11 @@
 import unittest
 from test import test_support
 
+import array
 import io
 import _io
+import os
+import threading
 
 from os import pipe
 
@@ -29,8 +32,126 @@ class PipeTestCase(unittest.TestCase):
         self.assertFalse(io.open(r).seekable())
 
 
+class FileIOReadTestCase(unittest.TestCase):
+
+    # Large enough to be read in several chunks through the direct buffers
+    DATA = os.urandom(1024 * 1024 + 17)
+
+    def setUp(self):
+        with open(test_support.TESTFN, "wb") as f:
+            f.write(self.DATA)
+
+    def tearDown(self):
+        test_support.unlink(test_support.TESTFN)
+
+    def test_readall(self):
+        with io.open(test_support.TESTFN, "rb", buffering=0) as f:
+            self.assertEqual(f.read(5), self.DATA[:5])
+            self.assertEqual(f.readall(), self.DATA[5:])
+            self.assertEqual(f.readall(), b"")
+
+    def test_readall_proc(self):
+        # Files in /proc report a size of 0 but have content
+        if not os.path.exists("/proc/self/status"):
+            self.skipTest("needs /proc")
+        with io.open("/proc/self/status", "rb", buffering=0) as f:
+            self.assertIn(b"Name:", f.readall())
+
+    def test_readinto_bytearray(self):
+        b = bytearray(len(self.DATA) + 100)
+        with io.open(test_support.TESTFN, "rb", buffering=0) as f:
+            self.assertEqual(f.readinto(b), len(self.DATA))
+        self.assertEqual(b[:len(self.DATA)], self.DATA)
+
+    def test_readinto_array(self):
+        with io.open(test_support.TESTFN, "rb", buffering=0) as f:
+            a = array.array("B", [0] * 1000)
+            self.assertEqual(f.readinto(a), 1000)
+            self.assertEqual(a.tostring(), self.DATA[:1000])
+            # Other item types still read whole items
+            a = array.array("i", [0] * 10)
+            self.assertEqual(f.readinto(a), 40)
+            self.assertEqual(a.tostring(), self.DATA[1000:1040])
+
+    def test_write_large(self):
+        with io.open(test_support.TESTFN, "wb", buffering=0) as f:
+            self.assertEqual(f.write(bytearray(self.DATA)), len(self.DATA))
+        with io.open(test_support.TESTFN, "rb") as f:
+            self.assertEqual(f.read(), self.DATA)
+
+
+class FileIOAsyncTestCase(unittest.TestCase):
+
+    DATA = b"".join(chr(i % 251) for i in xrange(100000))
+
+    def setUp(self):
+        with open(test_support.TESTFN, "wb") as f:
+            f.write(self.DATA)
+
+    def tearDown(self):
+        test_support.unlink(test_support.TESTFN)
+
+    def test_read_async(self):
+        with io.open(test_support.TESTFN, "rb", buffering=0) as f:
+            future = f.read_async(1000, 20)
+            self.assertEqual(future.result(), self.DATA[1000:1020])
+            self.assertTrue(future.done())
+            self.assertIsNone(future.exception())
+            # The file position is not used or changed
+            self.assertEqual(f.tell(), 0)
+            self.assertEqual(f.read_async(99990, 100).result(), self.DATA[-10:])
+            self.assertEqual(f.read_async(200000, 10).result(), b"")
+
+    def test_many_reads(self):
+        with io.open(test_support.TESTFN, "rb", buffering=0) as f:
+            futures = [f.read_async(i * 100, 100) for i in xrange(1000)]
+            self.assertEqual(b"".join(future.result(10) for future in futures), self.DATA)
+
+    def test_write_async(self):
+        with io.open(test_support.TESTFN, "rb+", buffering=0) as f:
+            self.assertEqual(f.write_async(10, bytearray(b"hello")).result(), 5)
+            self.assertEqual(f.tell(), 0)
+            self.assertEqual(f.read(15), self.DATA[:10] + b"hello")
+
+    def test_callback(self):
+        done = threading.Event()
+        results = []
+
+        def callback(future):
+            results.append(future.result())
+            done.set()
+
+        with io.open(test_support.TESTFN, "rb", buffering=0) as f:
+            future = f.read_async(0, 5, callback)
+            self.assertTrue(done.wait(10))
+            self.assertEqual(results, [self.DATA[:5]])
+            # A callback added after completion is called at once
+            future.add_done_callback(callback)
+            self.assertEqual(len(results), 2)
+
+    def test_errors(self):
+        with io.open(test_support.TESTFN, "rb", buffering=0) as f:
+            self.assertRaises(ValueError, f.write_async, 0, b"x")
+            self.assertRaises(ValueError, f.read_async, -1, 5)
+        self.assertRaises(ValueError, f.read_async, 0, 5)
+
+    def test_renamed_or_replaced(self):
+        # The operations are on the open file, whatever its name now names
+        other = test_support.TESTFN + "2"
+        self.addCleanup(test_support.unlink, other)
+        with io.open(test_support.TESTFN, "rb+", buffering=0) as f:
+            os.rename(test_support.TESTFN, other)
+            with open(test_support.TESTFN, "wb") as g:
+                g.write(b"replaced")
+            self.assertEqual(f.read_async(0, 5).result(), self.DATA[:5])
+            self.assertEqual(f.write_async(0, b"hello").result(), 5)
+            os.unlink(other)
+            self.assertEqual(f.read_async(0, 10).result(), b"hello" + self.DATA[5:10])
+        with open(test_support.TESTFN, "rb") as g:
+            self.assertEqual(g.read(), b"replaced")
+
 def test_main():
-    test_support.run_unittest(NameTest, PipeTestCase)
+    test_support.run_unittest(NameTest, PipeTestCase, FileIOReadTestCase, FileIOAsyncTestCase)
 
 
 if __name__ == "__main__":
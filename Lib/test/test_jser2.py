@@ -14,7 +14,7 @@ def serialize(o, special=False):
     objs = OIS(ByteArrayInputStream(b.toByteArray()))
     return objs.readObject()
 
-from jser2_classes import A, AJ, N, NL, NT
+from jser2_classes import A, AJ, N, NL, NT, S
 
 class TestJavaSerialisation(unittest.TestCase):
 
@@ -70,6 +70,73 @@ class TestJavaSerialisation(unittest.TestCase):
     def test_newstyle_tuple(self):
         self.serialize_and_check(NT('x',1,2,3))
 
+    def test_scalars(self):
+        for v in (0, -7, 2**31 - 1, -2**31, 0L, 2**70, -2**100, 1.5, float('inf'),
+                  '', 'abc\xff', u'', u'caf\xe9', u'\U0001f600', frozenset([1, 'a'])):
+            # (Strings and numbers alone are converted to Java objects)
+            for obj in ([v], (v,), {v: v}):
+                obj1 = serialize(obj)
+                self.assertEqual(obj, obj1)
+                for v1 in list(obj1) + list(getattr(obj1, 'values', list)()):
+                    self.assertIs(type(v), type(v1))
+
+    def test_bool(self):
+        for v in (True, False):
+            self.assertIs(serialize(v), v)
+            self.assertIs(serialize([v])[0], v)
+
+    def test_nested(self):
+        self.serialize_and_check({'a': [1, (2, u'x', None), {3: set([4])}],
+                                  (1, 2): frozenset(['b']), 2**64: N([1.5])})
+
+    def test_shared(self):
+        inner = [1]
+        n = N(inner)
+        obj = serialize([inner, inner, n, n, (inner,)])
+        self.assertIs(obj[0], obj[1])
+        self.assertIs(obj[2], obj[3])
+        self.assertIs(obj[2].a, obj[0])
+        self.assertIs(obj[4][0], obj[0])
+        # Tuples and frozensets keep their identity too
+        t = (1, 'a')
+        s = frozenset([t])
+        obj = serialize([t, t, s, {'s': s, 't': t}, ()])
+        self.assertIs(obj[0], obj[1])
+        self.assertIs(obj[2], obj[3]['s'])
+        self.assertIs(obj[3]['t'], obj[0])
+        self.assertIs(iter(obj[2]).next(), obj[0])
+        self.assertIs(obj[4], tuple())
+
+    def test_cycles(self):
+        lst = []
+        lst.append(lst)
+        lst1 = serialize(lst)
+        self.assertIs(lst1[0], lst1)
+        d = {}
+        d['self'] = d
+        d1 = serialize(d)
+        self.assertIs(d1['self'], d1)
+        n = N(None)
+        n.a = [n]
+        n1 = serialize(n)
+        self.assertIs(n1.a[0], n1)
+        t = ([],)
+        t[0].append(t)
+        t1 = serialize(t)
+        self.assertIs(t1[0][0], t1)
+
+    def test_slots(self):
+        s = serialize(S([1]))
+        self.assertIs(type(s), S)
+        self.assertEqual(s.a, [1])
+        self.assertFalse(hasattr(s, 'b'))
+
+    def test_subclasses(self):
+        # Subclasses of the core types keep their type and attributes
+        class_ = serialize(NL('x', 1)).__class__
+        self.assertIs(class_, NL)
+        self.serialize_and_check([NL('x', 1), NT('y', 2)])
+
 def test_main():
     test_support.run_unittest(TestJavaSerialisation)
 
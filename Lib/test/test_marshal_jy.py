@@ -0,0 +1,115 @@
+"""Misc marshal tests.
+
+Made for Jython.
+"""
+import array
+import io
+import marshal
+import unittest
+from StringIO import StringIO
+from test import test_support
+
+
+class MarshalTestCase(unittest.TestCase):
+
+    def test_cpython_format(self):
+        # As written by CPython 2.7
+        self.assertEqual(marshal.dumps(1), 'i\x01\x00\x00\x00')
+        self.assertEqual(marshal.dumps(-(2 ** 40)),
+                         'l\xfd\xff\xff\xff\x00\x00\x00\x00\x00\x04')
+        self.assertEqual(marshal.dumps(1.5, 1), 'f\x031.5')
+        self.assertEqual(marshal.dumps(u'\xe9'), 'u\x02\x00\x00\x00\xc3\xa9')
+        self.assertEqual(marshal.loads('t\x01\x00\x00\x00a(\x02\x00\x00\x00'
+                                       'R\x00\x00\x00\x00R\x00\x00\x00\x00'),
+                         'a')
+        self.assertEqual(marshal.loads('(\x02\x00\x00\x00t\x01\x00\x00\x00a'
+                                       'R\x00\x00\x00\x00'), ('a', 'a'))
+
+    def test_longs(self):
+        for n in [0L, 1L, -1L, 2 ** 15, 2 ** 59 - 1, 2 ** 60, -(2 ** 63),
+                  2 ** 64 + 12345, 7 ** 300, -(3 ** 500)]:
+            self.assertEqual(marshal.loads(marshal.dumps(n)), n)
+        self.assertRaises(ValueError, marshal.loads,
+                          'l\x01\x00\x00\x00\x00\x00')  # unnormalized
+        self.assertRaises(ValueError, marshal.loads,
+                          'l\x01\x00\x00\x00\x00\x80')  # digit out of range
+
+    def test_repeated_keys(self):
+        # Repeated str keys of dictionaries are written once
+        rows = [{'name': i, 'value': str(i), u'u': None} for i in range(100)]
+        data = marshal.dumps(rows)
+        self.assertEqual(data.count('name'), 1)
+        self.assertEqual(marshal.loads(data), rows)
+        self.assertEqual(marshal.loads(marshal.dumps(rows, 0)), rows)
+        self.assertEqual(marshal.dumps(rows, 0).count('name'), 100)
+
+    def test_loads_buffers(self):
+        value = {'a': [1, 2.5, (3, None)], 'b': u'\u2603', 'c': frozenset([4])}
+        data = marshal.dumps(value)
+        for source in (data, bytearray(data), buffer(data), memoryview(data),
+                       array.array('b', data)):
+            self.assertEqual(marshal.loads(source), value)
+        # Data after the object is ignored
+        self.assertEqual(marshal.loads(data + 'junk'), value)
+        self.assertEqual(marshal.loads(buffer('xx' + data, 2)), value)
+        self.assertRaises(TypeError, marshal.loads, 5)
+
+    def test_truncated(self):
+        data = marshal.dumps([1, 'abc', u'def', 2 ** 70, {'k': 1.5}])
+        for i in range(len(data)):
+            self.assertRaises((EOFError, ValueError), marshal.loads, data[:i])
+        self.assertRaises(EOFError, marshal.loads, 's\xff\xff\xff\x7f')
+        self.assertRaises(EOFError, marshal.loads, '[\xff\xff\xff\x7f')
+
+    def check_file(self, f):
+        marshal.dump([1, 2], f)
+        marshal.dump('two', f)
+        f.write('rest')
+        f.seek(0)
+        self.assertEqual(marshal.load(f), [1, 2])
+        # The file is left just after the object
+        self.assertEqual(marshal.load(f), 'two')
+        self.assertEqual(f.read(), 'rest')
+        self.assertRaises(EOFError, marshal.load, f)
+
+    def test_files(self):
+        self.check_file(StringIO())
+        self.check_file(io.BytesIO())
+        with open(test_support.TESTFN, 'w+b') as f:
+            self.check_file(f)
+        with io.open(test_support.TESTFN, 'w+b', buffering=0) as f:
+            self.check_file(f)
+
+    def test_unseekable_file(self):
+        class Reader(object):
+            def __init__(self, data):
+                self.f = StringIO(data)
+            def read(self, n):
+                return self.f.read(n)
+        r = Reader(marshal.dumps(range(1000)) + marshal.dumps(u'x') + 'rest')
+        self.assertEqual(marshal.load(r), range(1000))
+        self.assertEqual(marshal.load(r), u'x')
+        self.assertEqual(r.read(10), 'rest')
+
+    def test_dump_to_writer(self):
+        # All of a long value reaches an object that only has write
+        class Writer(object):
+            def __init__(self):
+                self.chunks = []
+            def write(self, s):
+                self.chunks.append(s)
+        w = Writer()
+        value = [u'x' * 1000, range(500)]
+        marshal.dump(value, w)
+        self.assertEqual(marshal.loads(''.join(w.chunks)), value)
+
+    def tearDown(self):
+        test_support.unlink(test_support.TESTFN)
+
+
+def test_main():
+    test_support.run_unittest(MarshalTestCase)
+
+
+if __name__ == '__main__':
+    test_main()
@@ -194,6 +194,97 @@ class OSWriteTestCase(unittest.TestCase):
         # lacks buffer api:
         self.assertRaises(TypeError, self.do_write, 1.5, 4)
 
+class OSSendfileTestCase(unittest.TestCase):
+
+    DATA = b"".join(chr(i % 251) for i in xrange(100000))
+
+    def setUp(self):
+        self.src = test_support.TESTFN
+        self.dst = test_support.TESTFN + "-dst"
+        with open(self.src, "wb") as f:
+            f.write(self.DATA)
+
+    def tearDown(self):
+        test_support.unlink(self.src)
+        test_support.unlink(self.dst)
+
+    def read_dst(self):
+        with open(self.dst, "rb") as f:
+            return f.read()
+
+    def test_sendfile(self):
+        with open(self.src, "rb") as fsrc, open(self.dst, "wb") as fdst:
+            fsrc.seek(7)
+            n = os.sendfile(fdst.fileno(), fsrc.fileno(), 1000, 5000)
+            self.assertEqual(n, 5000)
+            # The position of in is unchanged, that of out has moved on
+            self.assertEqual(fsrc.tell(), 7)
+            self.assertEqual(os.sendfile(fdst.fileno(), fsrc.fileno(), 99990, 100), 10)
+        self.assertEqual(self.read_dst(), self.DATA[1000:6000] + self.DATA[-10:])
+
+    def test_sendfile_append(self):
+        with open(self.dst, "wb") as f:
+            f.write(b"head")
+        with open(self.src, "rb") as fsrc, open(self.dst, "a+b") as fdst:
+            os.sendfile(fdst.fileno(), fsrc.fileno(), 0, 10)
+        self.assertEqual(self.read_dst(), b"head" + self.DATA[:10])
+
+    def test_sendfile_bad_fd(self):
+        with open(self.src, "rb") as fsrc:
+            self.assertRaises(OSError, os.sendfile, object(), fsrc.fileno(), 0, 10)
+            self.assertRaises(OSError, os.sendfile, fsrc.fileno(), 42, 0, 10)
+
+    def test_copyfileobj(self):
+        import shutil
+        with open(self.src, "rb") as fsrc, open(self.dst, "wb") as fdst:
+            self.assertEqual(fsrc.read(3), self.DATA[:3])
+            fdst.write(b"xyz")
+            shutil.copyfileobj(fsrc, fdst)
+            self.assertEqual(fsrc.read(), b"")
+            fdst.write(b"tail")
+        self.assertEqual(self.read_dst(), b"xyz" + self.DATA[3:] + b"tail")
+
+
+class OSReadvWritevTestCase(unittest.TestCase):
+
+    def setUp(self):
+        with open(test_support.TESTFN, "wb") as f:
+            f.write(b"0123456789abcdef")
+
+    def tearDown(self):
+        test_support.unlink(test_support.TESTFN)
+
+    def test_readv(self):
+        import array
+        fd = os.open(test_support.TESTFN, os.O_RDONLY)
+        try:
+            bufs = [bytearray(3), array.array("b", [0] * 5), bytearray(100)]
+            self.assertEqual(os.readv(fd, bufs), 16)
+            self.assertEqual(bufs[0], b"012")
+            self.assertEqual(bufs[1].tostring(), b"34567")
+            self.assertEqual(bufs[2][:8], b"89abcdef")
+            self.assertEqual(os.readv(fd, [bytearray(4)]), 0)
+        finally:
+            os.close(fd)
+
+    def test_writev(self):
+        fd = os.open(test_support.TESTFN, os.O_WRONLY | os.O_TRUNC)
+        try:
+            self.assertEqual(os.writev(fd, [b"abc", bytearray(b"de"), buffer(b"fgh")]), 8)
+        finally:
+            os.close(fd)
+        with open(test_support.TESTFN, "rb") as f:
+            self.assertEqual(f.read(), b"abcdefgh")
+
+    def test_bad_buffers(self):
+        fd = os.open(test_support.TESTFN, os.O_RDWR)
+        try:
+            self.assertRaises(TypeError, os.writev, fd, [b"abc", 42])
+            self.assertRaises(TypeError, os.readv, fd, 42)
+        finally:
+            os.close(fd)
+
+
 class UnicodeTestCase(unittest.TestCase):
 
     def test_env(self):
@@ -538,6 +629,8 @@ def test_main():
     test_support.run_unittest(
         OSFileTestCase,
         OSDirTestCase,
+        OSSendfileTestCase,
+        OSReadvWritevTestCase,
         OSStatTestCase,
         OSWriteTestCase,
         UnicodeTestCase,
@@ -0,0 +1,317 @@
+"""Tests of the Java implementation of the queues of Queue"""
+import threading
+import time
+import unittest
+from collections import deque
+from test import test_support
+import Queue
+
+
+class QueueTypeTest(unittest.TestCase):
+
+    def test_java_types(self):
+        for cls in (Queue.Queue, Queue.LifoQueue, Queue.PriorityQueue):
+            self.assertEqual(cls.__module__, '_queue')
+            self.assertTrue(issubclass(cls, Queue.Queue))
+        self.assertEqual(Queue.Empty.__module__, 'Queue')
+        self.assertTrue(issubclass(Queue.Full, Exception))
+
+    def test_attributes(self):
+        q = Queue.Queue(3)
+        self.assertEqual(q.maxsize, 3)
+        q.put(1)
+        q.put(2)
+        self.assertEqual((q.qsize(), q.unfinished_tasks), (2, 2))
+        q.get()
+        q.task_done()
+        self.assertEqual((q.qsize(), q.unfinished_tasks), (1, 1))
+
+    def test_unbounded_none(self):
+        q = Queue.Queue(None)
+        for i in range(100):
+            q.put_nowait(i)
+        self.assertFalse(q.full())
+        self.assertEqual(q.qsize(), 100)
+
+    def test_queue_view(self):
+        q = Queue.Queue(5)
+        for i in range(3):
+            q.put(i)
+        items = q.queue
+        self.assertEqual((len(items), list(items)), (3, [0, 1, 2]))
+        self.assertEqual((items[0], items[-1]), (0, 2))
+        self.assertIn(1, items)
+        self.assertNotIn(3, items)
+        # The view is live
+        q.get()
+        self.assertEqual(list(items), [1, 2])
+        with q.mutex:
+            q.queue.clear()
+        self.assertTrue(q.empty())
+        q.queue.extend('abc')
+        q.queue.append('d')
+        self.assertEqual([q.get() for i in range(4)], list('abcd'))
+        for i in range(5):
+            q.put(i)
+        self.assertRaises(Queue.Full, q.queue.append, 5)
+
+    def test_other_views(self):
+        q = Queue.LifoQueue()
+        for i in range(3):
+            q.put(i)
+        self.assertEqual(list(q.queue), [0, 1, 2])
+        self.assertEqual(q.get(), 2)
+        q = Queue.PriorityQueue(2)
+        q.put(2)
+        q.put(1)
+        self.assertEqual(sorted(q.queue), [1, 2])
+        q.queue.clear()
+        q.put_nowait(3)
+        q.put_nowait(4)
+        self.assertTrue(q.full())
+
+    def test_locks(self):
+        q = Queue.Queue()
+        lock_type = type(threading.Lock())
+        self.assertIsInstance(q.mutex, lock_type)
+        for cond in (q.not_empty, q.not_full, q.all_tasks_done):
+            self.assertIsInstance(cond, type(threading.Condition()))
+            with cond:
+                self.assertTrue(q.mutex.locked())
+                cond.notify_all()
+            self.assertFalse(q.mutex.locked())
+        self.assertRaises(RuntimeError, q.not_empty.wait, 0)
+
+    def test_keywords(self):
+        q = Queue.Queue(1)
+        q.put(item=1, block=False)
+        self.assertRaises(Queue.Full, q.put, 2, timeout=0)
+        self.assertRaises(ValueError, q.put, 2, timeout=-1)
+        self.assertEqual(q.get(block=True, timeout=1), 1)
+        self.assertRaises(Queue.Empty, q.get, timeout=0.01)
+        self.assertRaises(Queue.Empty, q.get_nowait)
+
+    def test_unbounded_put_ignores_timeout(self):
+        q = Queue.Queue()
+        for i in range(1000):
+            q.put(i, timeout=-1)
+        self.assertFalse(q.full())
+        self.assertEqual([q.get() for i in range(1000)], range(1000))
+
+    def test_priority_order(self):
+        q = Queue.PriorityQueue()
+        for item in [(3, 'c'), (1, 'a'), (2, 'b'), (1, 'a')]:
+            q.put(item)
+        self.assertEqual([q.get() for i in range(4)],
+                         [(1, 'a'), (1, 'a'), (2, 'b'), (3, 'c')])
+
+    def test_priority_bounded(self):
+        q = Queue.PriorityQueue(2)
+        q.put(2)
+        q.put(1)
+        self.assertTrue(q.full())
+        self.assertRaises(Queue.Full, q.put_nowait, 0)
+        self.assertEqual(q.get(), 1)
+        q.put(0)
+        self.assertEqual([q.get(), q.get()], [0, 2])
+
+    def test_failed_put_is_not_counted(self):
+        q = Queue.Queue(1)
+        q.put(1)
+        self.assertRaises(Queue.Full, q.put_nowait, 2)
+        self.assertEqual(q.unfinished_tasks, 1)
+        q.get()
+        q.task_done()
+        q.join()
+
+    def test_reset_unfinished_tasks(self):
+        q = Queue.Queue()
+        q.put(1)
+        q.put(2)
+        with q.mutex:
+            q.unfinished_tasks = 0
+        self.assertEqual(q.unfinished_tasks, 0)
+        q.join()
+        self.assertRaises(ValueError, q.task_done)
+
+    def test_change_maxsize(self):
+        for cls in Queue.Queue, Queue.LifoQueue, Queue.PriorityQueue:
+            q = cls(1)
+            q.put(1)
+            self.assertRaises(Queue.Full, q.put_nowait, 2)
+            q.maxsize = 3
+            self.assertEqual(q.maxsize, 3)
+            q.put(2)
+            q.put(3)
+            self.assertTrue(q.full())
+            self.assertRaises(Queue.Full, q.put_nowait, 4)
+            # Lowered below the number of items, puts wait until enough are taken
+            q.maxsize = 2
+            self.assertFalse(q.full())
+            q.get()
+            self.assertRaises(Queue.Full, q.put, 4, timeout=0.01)
+            q.get()
+            q.put(4)
+            self.assertRaises(Queue.Full, q.put_nowait, 5)
+            q.maxsize = None
+            self.assertEqual(q.maxsize, 0)
+            for i in range(100):
+                q.put_nowait(i)
+            self.assertEqual(q.qsize(), 102)
+
+    def test_subclass_attributes(self):
+        class Named(Queue.LifoQueue):
+            def __init__(self, name):
+                self.name = name
+                Queue.LifoQueue.__init__(self)
+        q = Named('x')
+        q.put(1)
+        q.put(2)
+        self.assertEqual((q.name, q.get()), ('x', 2))
+
+    def test_subclass_organization(self):
+        # The hooks of the Python Queue may still be overridden
+        class RoundRobin(Queue.Queue):
+            def _init(self, maxsize):
+                self.queue = deque()
+            def _qsize(self):
+                return len(self.queue)
+            def _put(self, item):
+                self.queue.appendleft(item)
+            def _get(self):
+                self.queue.rotate(-1)
+                return self.queue.pop()
+        q = RoundRobin(2)
+        q.put(1)
+        q.put(2)
+        self.assertTrue(q.full())
+        self.assertRaises(Queue.Full, q.put, 3, timeout=0.01)
+        self.assertEqual(list(q.queue), [2, 1])
+        self.assertEqual(q.get(), 2)
+        self.assertEqual(q.get(), 1)
+        self.assertRaises(Queue.Empty, q.get, False)
+
+
+class ThreadsTest(unittest.TestCase):
+
+    def test_sentinels_for_waiting_consumers(self):
+        # What multiprocessing.pool does to stop its workers, blocked in get
+        q = Queue.Queue()
+        got = Queue.Queue()
+        workers = [threading.Thread(target=lambda: got.put(q.get())) for i in range(3)]
+        for t in workers:
+            t.start()
+        q.not_empty.acquire()
+        try:
+            q.queue.clear()
+            q.queue.extend([None] * 3)
+            q.not_empty.notify_all()
+        finally:
+            q.not_empty.release()
+        for t in workers:
+            t.join(5)
+        self.assertEqual(list(got.queue), [None] * 3)
+
+    def test_waiting_on_conditions(self):
+        # As multiprocessing.dummy.Connection.poll waits for an item
+        q = Queue.Queue(1)
+        waited = []
+        def wait_on(cond, ready):
+            with cond:
+                ready.set()
+                start = time.time()
+                cond.wait(10)
+                waited.append(time.time() - start)
+        for cond, act in [(q.not_empty, lambda: q.put(1)),
+                          (q.not_full, q.get),
+                          (q.all_tasks_done, q.task_done)]:
+            ready = threading.Event()
+            t = threading.Thread(target=wait_on, args=(cond, ready))
+            t.start()
+            ready.wait()
+            # The lock is free once the thread waits
+            with q.mutex:
+                pass
+            act()
+            t.join(10)
+        self.assertEqual(len(waited), 3)
+        self.assertTrue(all(t < 5 for t in waited), waited)
+
+    def test_raised_maxsize_wakes_put(self):
+        q = Queue.Queue(1)
+        q.put(1)
+        t = threading.Thread(target=q.put, args=(2,))
+        t.start()
+        time.sleep(0.05)
+        q.maxsize = 2
+        t.join(10)
+        self.assertFalse(t.is_alive())
+        self.assertEqual(q.qsize(), 2)
+
+    def test_waiting_for_an_item(self):
+        # The loop of a consumer that waits on not_empty itself
+        for i in range(200):
+            q = Queue.Queue()
+            got = []
+            def consume():
+                with q.not_empty:
+                    while not q.qsize():
+                        q.not_empty.wait(10)
+                    got.append(q.queue[0])
+            t = threading.Thread(target=consume)
+            t.start()
+            q.put(i)
+            t.join(10)
+            self.assertEqual(got, [i])
+
+    def test_mutex_excludes_puts_and_gets(self):
+        q = Queue.Queue()
+        q.put(1)
+        with q.mutex:
+            t = threading.Thread(target=q.put, args=(2,))
+            t.start()
+            g = threading.Thread(target=q.get)
+            g.start()
+            time.sleep(0.05)
+            self.assertEqual(list(q.queue), [1])
+        t.join(10)
+        g.join(10)
+        self.assertEqual(q.qsize(), 1)
+
+    def test_producers_and_consumers(self):
+        q = Queue.Queue(16)
+        results = Queue.Queue()
+        def produce(start):
+            for i in xrange(start, start + 1000):
+                q.put(i)
+        def consume():
+            total = 0
+            while True:
+                item = q.get()
+                if item is None:
+                    q.task_done()
+                    break
+                total += item
+                q.task_done()
+            results.put(total)
+        consumers = [threading.Thread(target=consume) for i in range(3)]
+        producers = [threading.Thread(target=produce, args=(i * 1000,))
+                     for i in range(4)]
+        for t in consumers + producers:
+            t.start()
+        for t in producers:
+            t.join()
+        q.join()
+        self.assertEqual(q.unfinished_tasks, 0)
+        for t in consumers:
+            q.put(None)
+        for t in consumers:
+            t.join()
+        self.assertEqual(sum(results.get() for t in consumers), sum(range(4000)))
+
+
+def test_main():
+    test_support.run_unittest(QueueTypeTest, ThreadsTest)
+
+if __name__ == '__main__':
+    test_main()
@@ -203,12 +203,161 @@ class TimedBasicTCPTest(SocketConnectedTest):
         self.serv_conn.sendall(big)
 
 
+class SendfileTest(SocketConnectedTest):
+
+    DATA = b"".join(chr(i % 251) for i in xrange(100000))
+
+    def setUp(self):
+        with open(test_support.TESTFN, "wb") as f:
+            f.write(self.DATA)
+        SocketConnectedTest.setUp(self)
+
+    def tearDown(self):
+        SocketConnectedTest.tearDown(self)
+        test_support.unlink(test_support.TESTFN)
+
+    def receiveAll(self):
+        msg = bytearray()
+        while 1:
+            read = self.cli_conn.recv(8192)
+            if not read:
+                break
+            msg += read
+        return str(msg)
+
+    def testSendfile(self):
+        self.assertEqual(self.receiveAll(), self.DATA)
+
+    def _testSendfile(self):
+        with open(test_support.TESTFN, "rb") as f:
+            self.assertEqual(self.serv_conn.sendfile(f), len(self.DATA))
+            self.assertEqual(f.tell(), len(self.DATA))
+
+    def testSendfileOffsetCount(self):
+        self.assertEqual(self.receiveAll(), self.DATA[1000:6000] + self.DATA[:10])
+
+    def _testSendfileOffsetCount(self):
+        with open(test_support.TESTFN, "rb") as f:
+            self.assertEqual(self.serv_conn.sendfile(f, 1000, 5000), 5000)
+            self.assertEqual(f.tell(), 6000)
+            self.assertEqual(os.sendfile(self.serv_conn.fileno(), f.fileno(), 0, 10), 10)
+            self.assertEqual(f.tell(), 6000)
+
+    def testSendfileReleasesRegion(self):
+        self.assertEqual(self.receiveAll(), self.DATA * 2)
+
+    def _testSendfileReleasesRegion(self):
+        import _socket
+        original = _socket._FileRegion
+        regions = []
+        def recording(*args):
+            region = original(*args)
+            regions.append(region)
+            return region
+        _socket._FileRegion = recording
+        try:
+            with open(test_support.TESTFN, "rb") as f:
+                for i in range(2):
+                    f.seek(0)
+                    self.assertEqual(self.serv_conn.sendfile(f), len(self.DATA))
+                # Released by both Netty and the socket, without closing the file
+                self.assertEqual([r.refCnt() for r in regions], [0, 0])
+                f.seek(0)
+                self.assertEqual(f.read(), self.DATA)
+        finally:
+            _socket._FileRegion = original
+
+    def testSendfileFileLike(self):
+        self.assertEqual(self.receiveAll(), self.DATA[10:])
+
+    def _testSendfileFileLike(self):
+        from StringIO import StringIO
+        f = StringIO(self.DATA)
+        self.assertEqual(self.serv_conn.sendfile(f, 10), len(self.DATA) - 10)
+
+    def testSendfileBadArgs(self):
+        self.assertEqual(self.receiveAll(), b"")
+
+    def _testSendfileBadArgs(self):
+        with open(test_support.TESTFN, "r") as f:
+            self.assertRaises(ValueError, self.serv_conn.sendfile, f, 0, 0)
+            self.assertRaises(ValueError, self.serv_conn.sendfile, f, -1)
+
+
+class ManySocketsSelectTest(unittest.TestCase):
+    """select and poll over many sockets, whose readiness is tracked in Java"""
+
+    COUNT = 50
+
+    def setUp(self):
+        self.server = socket.socket(socket.AF_INET, socket.SOCK_STREAM)
+        self.server.bind(("127.0.0.1", 0))
+        self.server.listen(self.COUNT)
+        self.clients = []
+        self.children = []
+        for i in xrange(self.COUNT):
+            client = socket.create_connection(self.server.getsockname())
+            self.clients.append(client)
+            child = self.server.accept()[0]
+            # Activate the child, releasing the event loop thread that waits to see if it
+            # will be wrapped for SSL
+            child.setblocking(1)
+            self.children.append(child)
+
+    def tearDown(self):
+        for sock in self.clients + self.children:
+            sock.close()
+        self.server.close()
+
+    def test_select(self):
+        import select
+        self.assertEqual(select.select(self.children, [], [], 0.1), ([], [], []))
+        self.clients[17].send(b"x")
+        self.clients[42].send(b"y")
+        deadline = time.time() + 10
+        ready = []
+        while len(ready) < 2 and time.time() < deadline:
+            ready = select.select(self.children, [], [], 1)[0]
+        self.assertEqual(ready, [self.children[17], self.children[42]])
+        r, w, x = select.select([], self.clients, [], 1)
+        self.assertEqual(w, self.clients)
+        self.assertRaises(select.error, select.select, [self.server, object()], [], [], 0)
+
+    def test_server_readable(self):
+        import select
+        self.assertEqual(select.select([self.server], [], [], 0), ([], [], []))
+        client = socket.create_connection(self.server.getsockname())
+        try:
+            self.assertEqual(select.select([self.server], [], [], 5)[0], [self.server])
+            self.server.accept()[0].close()
+        finally:
+            client.close()
+
+    def test_poll(self):
+        import select
+        poller = select.poll()
+        for child in self.children:
+            poller.register(child, select.POLLIN)
+        self.assertEqual(poller.poll(100), [])
+        self.clients[3].send(b"x")
+        self.assertEqual(poller.poll(5000), [(self.children[3], select.POLLIN)])
+        # The level persists until the data is read
+        self.assertEqual(poller.poll(5000), [(self.children[3], select.POLLIN)])
+        self.children[3].recv(1)
+        self.assertEqual(poller.poll(100), [])
+        poller.unregister(self.children[3])
+        self.assertRaises(KeyError, poller.unregister, self.children[3])
+        self.assertRaises(select.error, poller.modify, self.children[3], select.POLLIN)
+
+
 def test_main():
     test_support.run_unittest(
             SocketConnectTest,
             SSLSocketConnectTest,
             SocketOptionsTest,
             TimedBasicTCPTest,
+            SendfileTest,
+            ManySocketsSelectTest,
     )
 
 
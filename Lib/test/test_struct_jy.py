@@ -1,3 +1,4 @@
+import array
 import unittest
 from test import test_support
 import struct
@@ -149,6 +150,69 @@ class StructTests(unittest.TestCase): # (format, argument, big-endian result, li
                                                  (fmt, res, rev, arg))
 
 
+class BufferTests(unittest.TestCase):
+
+    s = struct.Struct('<IhdQ8s')
+    values = (1L, -2, 3.5, 2L**63, 'abcdefgh')
+
+    def test_pack_into(self):
+        packed = self.s.pack(*self.values)
+        for buf in (bytearray(40), array.array('b', [0] * 40),
+                    array.array('c', ' ' * 40)):
+            self.s.pack_into(buf, 3, *self.values)
+            self.assertEqual(buf[3:3 + self.s.size].tostring()
+                             if isinstance(buf, array.array)
+                             else str(buf[3:3 + self.s.size]), packed)
+            self.assertEqual(self.s.unpack_from(buf, 3), self.values)
+        buf = bytearray(40)
+        struct.pack_into('<IhdQ8s', memoryview(buf), 0, *self.values)
+        self.assertEqual(str(buf[:self.s.size]), packed)
+        # Padding is zeroed, and negative offsets count from the end
+        buf = bytearray('\xff' * 8)
+        struct.pack_into('bi', buf, -8, 1, 2)
+        self.assertEqual(struct.unpack('bi', buf), (1, 2))
+        self.assertRaises(struct.error, self.s.pack_into, bytearray(10), 0,
+                          *self.values)
+        self.assertRaises(TypeError, self.s.pack_into, 'immutable', 0,
+                          *self.values)
+
+    def test_unpack_buffers(self):
+        packed = self.s.pack(*self.values)
+        data = 'xx' + packed * 3
+        for src in (data, bytearray(data), buffer(data), memoryview(data),
+                    array.array('c', data)):
+            self.assertEqual(self.s.unpack_from(src, 2), self.values)
+            self.assertEqual(self.s.unpack_from(src, offset=-self.s.size),
+                             self.values)
+            self.assertRaises(struct.error, self.s.unpack_from, src,
+                              len(data) - self.s.size + 1)
+        self.assertEqual(self.s.unpack(bytearray(packed)), self.values)
+        self.assertEqual(struct.unpack('<IhdQ8s', memoryview(packed)),
+                         self.values)
+
+    def test_iter_unpack(self):
+        s = struct.Struct('>hc')
+        data = s.pack(1, 'a') + s.pack(-2, 'b')
+        self.assertEqual(list(s.iter_unpack(data)), [(1, 'a'), (-2, 'b')])
+        self.assertEqual(list(struct.iter_unpack('>hc', bytearray(data))),
+                         [(1, 'a'), (-2, 'b')])
+        it = s.iter_unpack(memoryview(data))
+        self.assertEqual(next(it), (1, 'a'))
+        self.assertEqual(list(it), [(-2, 'b')])
+        self.assertEqual(list(s.iter_unpack('')), [])
+        self.assertRaises(struct.error, s.iter_unpack, data + 'x')
+        self.assertRaises(struct.error, struct.Struct('').iter_unpack, '')
+
+    def test_argument_count(self):
+        self.assertRaises(struct.error, self.s.pack, 1, 2)
+        self.assertRaises(struct.error, self.s.pack, *(self.values + (1,)))
+        self.assertRaises(struct.error, struct.pack, '2s', 'a', 'b')
+        self.assertRaises(struct.error, struct.pack, '357913941c', 'a')
+
+    def test_empty_format(self):
+        self.assertEqual(struct.calcsize(''), 0)
+        self.assertEqual(struct.pack(''), '')
+        self.assertEqual(struct.unpack('', ''), ())
 
 
 def test_main():
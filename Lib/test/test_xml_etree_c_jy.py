@@ -0,0 +1,283 @@
+"""Tests of the Java implementation of xml.etree.cElementTree"""
+import copy
+import os
+import unittest
+from StringIO import StringIO
+from test import test_support
+from xml.etree import cElementTree as ET
+import xml.etree.ElementTree as PyET
+
+DOC = """\
+<root xmlns:p="urn:p" version="1">
+  <item id="a">one</item>
+  <!-- a comment -->
+  <p:item id="b">two<sub>x</sub>tail</p:item>
+  <?target some data?>
+  <item id="c"><![CDATA[<three>]]></item>
+</root>
+"""
+
+
+class ElementTest(unittest.TestCase):
+
+    def test_java_types(self):
+        e = ET.XML(DOC)
+        self.assertIs(type(e), ET.Element)
+        self.assertEqual(type(e).__module__, '_elementtree')
+        self.assertTrue(ET.iselement(e))
+
+    def test_structure(self):
+        e = ET.XML(DOC)
+        self.assertEqual(e.tag, 'root')
+        self.assertEqual(e.attrib, {'version': '1'})
+        self.assertEqual(len(e), 3)
+        self.assertEqual([c.tag for c in e], ['item', '{urn:p}item', 'item'])
+        self.assertEqual(e[0].text, 'one')
+        self.assertEqual(e[1].text, 'two')
+        self.assertEqual(e[1][0].tail, 'tail')
+        self.assertEqual(e[2].text, '<three>')
+        self.assertEqual(e[-1].get('id'), 'c')
+        self.assertRaises(IndexError, e.__getitem__, 3)
+
+    def test_unicode_text(self):
+        e = ET.XML('<a b="\xc3\xa9">\xc3\xa9</a>')
+        self.assertEqual(e.text, u'\xe9')
+        self.assertEqual(e.get('b'), u'\xe9')
+        e = ET.XML('<a>ascii</a>')
+        self.assertIs(type(e.text), str)
+
+    def test_find(self):
+        e = ET.XML(DOC)
+        self.assertEqual(e.find('item').get('id'), 'a')
+        self.assertEqual(e.find('{urn:p}item').get('id'), 'b')
+        self.assertIsNone(e.find('missing'))
+        self.assertEqual([i.get('id') for i in e.findall('item')], ['a', 'c'])
+        self.assertEqual(e.findtext('item'), 'one')
+        self.assertEqual(e.findtext('missing', 'default'), 'default')
+        # Paths go through ElementPath
+        self.assertEqual(e.find('.//sub').text, 'x')
+        self.assertEqual(e.findtext('{urn:p}item/sub'), 'x')
+        self.assertEqual(len(e.findall('*')), 3)
+        self.assertEqual(e.find('p:item', {'p': 'urn:p'}).get('id'), 'b')
+        self.assertEqual(len(list(e.iterfind('.//item'))), 2)
+
+    def test_iter(self):
+        e = ET.XML(DOC)
+        self.assertEqual([x.tag for x in e.iter()],
+                         ['root', 'item', '{urn:p}item', 'sub', 'item'])
+        self.assertEqual([x.get('id') for x in e.iter('item')], ['a', 'c'])
+        self.assertEqual(len(e.getiterator('*')), 5)
+        self.assertEqual(''.join(e.find('{urn:p}item').itertext()), 'twoxtail')
+
+    def test_itertext_skips_comments(self):
+        e = ET.Element('a')
+        e.text = 'x'
+        c = ET.Comment('hidden')
+        c.tail = 'y'
+        e.append(c)
+        self.assertEqual(list(e.itertext()), ['x', 'y'])
+
+    def test_iter_while_changing(self):
+        e = ET.XML('<a><b/><c/></a>')
+        tags = []
+        for x in e.iter():
+            tags.append(x.tag)
+            if x.tag == 'b':
+                ET.SubElement(x, 'd')
+        self.assertEqual(tags, ['a', 'b', 'd', 'c'])
+
+    def test_mutation(self):
+        e = ET.Element('a', {'k': 'v'}, x='y')
+        self.assertEqual(sorted(e.items()), [('k', 'v'), ('x', 'y')])
+        b = ET.SubElement(e, 'b')
+        c = ET.Element('c')
+        e.insert(0, c)
+        e.extend([ET.Element('d'), ET.Element('e')])
+        self.assertEqual([x.tag for x in e], ['c', 'b', 'd', 'e'])
+        e[1:3] = [ET.Element('z')]
+        self.assertEqual([x.tag for x in e], ['c', 'z', 'e'])
+        del e[::2]
+        self.assertEqual([x.tag for x in e], ['z'])
+        self.assertRaises(TypeError, e.append, 'text')
+        self.assertRaises(TypeError, ET.Element, 'a', 'not a dict')
+        self.assertRaises(ValueError, e.remove, b)
+        e.clear()
+        self.assertEqual((len(e), e.attrib, e.text), (0, {}, None))
+
+    def test_attributes_not_deletable(self):
+        e = ET.Element('a')
+        for name in ('tag', 'text', 'tail', 'attrib'):
+            self.assertRaises(AttributeError, delattr, e, name)
+
+    def test_copy(self):
+        e = ET.XML('<a k="v"><b>t</b></a>')
+        shallow = copy.copy(e)
+        self.assertIs(shallow[0], e[0])
+        shallow.set('k', 'w')
+        self.assertEqual(e.get('k'), 'v')
+        deep = copy.deepcopy(e)
+        self.assertIsNot(deep[0], e[0])
+        self.assertEqual(ET.tostring(deep), ET.tostring(e))
+
+    def test_serialize(self):
+        e = ET.XML(DOC)
+        again = ET.XML(ET.tostring(e))
+        self.assertEqual(ET.tostring(again), ET.tostring(e))
+        self.assertEqual(ET.tostring(ET.Comment('c')), '<!--c-->')
+        self.assertEqual(ET.tostring(ET.PI('t', 'd')), '<?t d?>')
+
+
+class ParserTest(unittest.TestCase):
+
+    def test_parse_file(self):
+        tree = ET.parse(StringIO(DOC))
+        self.assertIsInstance(tree, PyET.ElementTree)
+        self.assertEqual(tree.getroot().tag, 'root')
+        self.assertEqual(tree.find('item').text, 'one')
+
+    def test_parse_filename(self):
+        with open(test_support.TESTFN, 'wb') as f:
+            f.write(DOC)
+        try:
+            self.assertEqual(ET.parse(test_support.TESTFN).getroot().tag, 'root')
+            events = list(ET.iterparse(test_support.TESTFN))
+            self.assertEqual(events[-1][1].tag, 'root')
+        finally:
+            os.remove(test_support.TESTFN)
+
+    def test_feed(self):
+        parser = ET.XMLParser()
+        for piece in ('<a>', 'text', '</a>'):
+            parser.feed(piece)
+        self.assertEqual(parser.close().text, 'text')
+        self.assertEqual(ET.fromstringlist(['<a>', '</a>']).tag, 'a')
+
+    def test_custom_target(self):
+        class Target(object):
+            def __init__(self):
+                self.events = []
+            def start(self, tag, attrib):
+                self.events.append(('start', tag, attrib))
+            def end(self, tag):
+                self.events.append(('end', tag))
+            def data(self, data):
+                if data.strip():
+                    self.events.append(('data', data))
+            def comment(self, text):
+                self.events.append(('comment', text))
+            def pi(self, target, data):
+                self.events.append(('pi', target, data))
+            def close(self):
+                return self.events
+        parser = ET.XMLParser(target=Target())
+        parser.feed('<a k="v"><!--c--><?t d?>x</a>')
+        self.assertEqual(parser.close(), [
+            ('start', 'a', {'k': 'v'}), ('comment', 'c'), ('pi', 't', 'd'),
+            ('data', 'x'), ('end', 'a')])
+
+    def test_element_factory(self):
+        builder = ET.TreeBuilder(element_factory=PyET.Element)
+        parser = ET.XMLParser(target=builder)
+        parser.feed('<a><b>x</b></a>')
+        root = parser.close()
+        self.assertIs(type(root), PyET.Element)
+        self.assertEqual(root[0].text, 'x')
+
+    def test_tree_builder(self):
+        builder = ET.TreeBuilder()
+        builder.start('a', {})
+        builder.data('x')
+        builder.data('y')
+        builder.start('b', {'k': 'v'})
+        builder.end('b')
+        builder.data('tail')
+        root = builder.end('a')
+        self.assertIs(builder.close(), root)
+        self.assertEqual(ET.tostring(root), '<a>xy<b k="v" />tail</a>')
+        self.assertRaises(AssertionError, ET.TreeBuilder().close)
+
+    def test_parse_error(self):
+        with self.assertRaises(PyET.ParseError) as cm:
+            ET.XML('<a><b></a>')
+        self.assertEqual(cm.exception.position[0], 1)
+        with self.assertRaises(ET.ParseError) as cm:
+            ET.XML('<a>\n&undefined;</a>')
+        self.assertEqual(cm.exception.position, (2, 0))
+        self.assertIn('undefined entity &undefined;', str(cm.exception))
+
+    def test_entities(self):
+        e = ET.XML('<!DOCTYPE a [<!ENTITY e "ent">]><a>&e; &amp; &#65;</a>')
+        self.assertEqual(e.text, 'ent & A')
+        # An entity of an external DTD, which is not read
+        parser = ET.XMLParser()
+        parser.entity['ext'] = 'text'
+        parser.feed('<!DOCTYPE a SYSTEM "a.dtd"><a>[&ext;]</a>')
+        self.assertEqual(parser.close().text, '[text]')
+
+    def test_encoding(self):
+        e = ET.XML("<?xml version='1.0' encoding='iso-8859-1'?><a>\xe9</a>")
+        self.assertEqual(e.text, u'\xe9')
+        parser = ET.XMLParser(encoding='iso-8859-1')
+        parser.feed('<a>\xe9</a>')
+        self.assertEqual(parser.close().text, u'\xe9')
+
+
+class IterparseTest(unittest.TestCase):
+
+    def test_events(self):
+        source = StringIO('<a xmlns:p="urn:p"><p:b>x</p:b><c/></a>')
+        it = ET.iterparse(source, events=('start', 'end', 'start-ns', 'end-ns'))
+        events = [(event, getattr(value, 'tag', value)) for event, value in it]
+        self.assertEqual(events, [
+            ('start-ns', ('p', 'urn:p')), ('start', 'a'), ('start', '{urn:p}b'),
+            ('end', '{urn:p}b'), ('start', 'c'), ('end', 'c'), ('end', 'a'),
+            ('end-ns', None)])
+        self.assertEqual(it.root.tag, 'a')
+        self.assertEqual(it.root[0].text, 'x')
+
+    def test_default_events(self):
+        it = ET.iterparse(StringIO('<a><b/></a>'))
+        self.assertIsNone(it.root)
+        self.assertEqual([(e, x.tag) for e, x in it], [('end', 'b'), ('end', 'a')])
+
+    def test_unknown_event(self):
+        self.assertRaises(ValueError, ET.iterparse, StringIO('<a/>'), ['bogus'])
+
+    def test_streaming(self):
+        # Elements are returned before the rest of the document is read
+        class Source(object):
+            def __init__(self):
+                self.reads = 0
+                self.chunks = ['<feed>'] + ['<entry>%d</entry>' % i
+                                            for i in range(1000)] + ['</feed>']
+            def read(self, size):
+                self.reads += 1
+                return self.chunks.pop(0) if self.chunks else ''
+        source = Source()
+        it = ET.iterparse(source)
+        event, first = next(it)
+        self.assertEqual(first.text, '0')
+        self.assertLess(source.reads, 1000)
+        count = 1
+        for event, elem in it:
+            if elem.tag == 'entry':
+                count += 1
+                elem.clear()
+        self.assertEqual(count, 1000)
+
+    def test_error(self):
+        it = ET.iterparse(StringIO('<a><b/></c>'))
+        self.assertEqual(next(it)[1].tag, 'b')
+        self.assertRaises(ET.ParseError, next, it)
+
+    def test_python_parser(self):
+        parser = PyET.XMLParser(target=PyET.TreeBuilder())
+        events = list(ET.iterparse(StringIO('<a/>'), parser=parser))
+        self.assertIs(type(events[0][1]), PyET.Element)
+
+
+def test_main():
+    test_support.run_unittest(ElementTest, ParserTest, IterparseTest)
+
+if __name__ == '__main__':
+    test_main()
@@ -9,3 +9,89 @@ from xml.etree.ElementTree import (
     _raise_serialization_error, dump, fromstring, fromstringlist,
     iselement, iterparse, parse, re, register_namespace, sys, tostring,
     tostringlist)
+
+# Jython: the element type, the tree builder and the parser are those of
+# the Java _elementtree module; the serializer and the path language are
+# shared with ElementTree.
+import xml.etree.ElementTree as _ET
+from _elementtree import (
+    Element, SubElement, TreeBuilder, XMLParser, _IterParseIterator)
+
+_Element = _ElementInterface = Element
+XMLTreeBuilder = XMLParser
+
+def Comment(text=None):
+    # the serializer knows a comment by the tag of ElementTree
+    element = Element(_ET.Comment)
+    element.text = text
+    return element
+
+def ProcessingInstruction(target, text=None):
+    element = Element(_ET.ProcessingInstruction)
+    element.text = target
+    if text:
+        element.text = element.text + " " + text
+    return element
+
+PI = ProcessingInstruction
+
+class ElementTree(_ET.ElementTree):
+
+    def parse(self, source, parser=None):
+        if parser is not None and not isinstance(parser, XMLParser):
+            return _ET.ElementTree.parse(self, source, parser)
+        close_source = False
+        if not hasattr(source, "read"):
+            source = open(source, "rb")
+            close_source = True
+        try:
+            if parser is None:
+                parser = XMLParser()
+            self._root = parser._parse_whole(source)
+            return self._root
+        finally:
+            if close_source:
+                source.close()
+
+def parse(source, parser=None):
+    tree = ElementTree()
+    tree.parse(source, parser)
+    return tree
+
+def iterparse(source, events=None, parser=None):
+    if parser is not None and not isinstance(parser, XMLParser):
+        return _ET.iterparse(source, events, parser)
+    close_source = False
+    if not hasattr(source, "read"):
+        source = open(source, "rb")
+        close_source = True
+    try:
+        return _IterParseIterator(source, events, parser, close_source)
+    except:
+        if close_source:
+            source.close()
+        raise
+
+def XML(text, parser=None):
+    if not parser:
+        parser = XMLParser()
+    parser.feed(text)
+    return parser.close()
+
+def XMLID(text, parser=None):
+    tree = XML(text, parser)
+    ids = {}
+    for elem in tree.iter():
+        id = elem.get("id")
+        if id:
+            ids[id] = elem
+    return tree, ids
+
+fromstring = XML
+
+def fromstringlist(sequence, parser=None):
+    if not parser:
+        parser = XMLParser()
+    for text in sequence:
+        parser.feed(text)
+    return parser.close()
@@ -12,6 +12,10 @@ import fnmatch
 import collections
 import errno
 
+_is_jython = os.name == "java"
+if _is_jython:
+    from org.python.core.io import FileIO
+
 try:
     from pwd import getpwnam
 except ImportError:
@@ -43,8 +47,42 @@ try:
 except NameError:
     WindowsError = None
 
+def _copyfileobj_transfer(fsrc, fdst):
+    # Jython: where fsrc is a file on disk and fdst is a file or a socket,
+    # copy with os.sendfile, which uses FileChannel.transferTo, so that the
+    # content need not pass through the heap. The caller finishes the copy
+    # (if the file has grown, or the fast path could not be taken) by
+    # reading and writing as usual.
+    if not isinstance(fsrc, file) or 'U' in fsrc.mode:
+        return
+    if os.linesep != '\n' and 'b' not in fsrc.mode:
+        return
+    if isinstance(fdst, file):
+        if os.linesep != '\n' and 'b' not in fdst.mode:
+            return
+    elif not ('socket' in sys.modules and
+              isinstance(fdst, sys.modules['socket']._fileobject)):
+        return
+    infd, outfd = fsrc.fileno(), fdst.fileno()
+    if not isinstance(infd, FileIO) or not infd.readable():
+        return
+    if isinstance(outfd, FileIO) and not outfd.writable():
+        return
+    fdst.flush()
+    offset = fsrc.tell()
+    count = infd.getChannel().size() - offset
+    while count > 0:
+        sent = os.sendfile(outfd, infd, offset, count)
+        if not sent:
+            break
+        offset += sent
+        count -= sent
+    fsrc.seek(offset)
+
 def copyfileobj(fsrc, fdst, length=16*1024):
     """copy data from file-like object fsrc to file-like object fdst"""
+    if _is_jython:
+        _copyfileobj_transfer(fsrc, fdst)
     while 1:
         buf = fsrc.read(length)
         if not buf:
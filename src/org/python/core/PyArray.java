@@ -15,8 +15,8 @@ import java.nio.ByteBuffer;
 
 import org.python.core.PyArray.ItemType;
 import org.python.core.buffer.BaseBuffer;
-import org.python.core.buffer.SimpleBuffer;
 import org.python.core.buffer.SimpleStringBuffer;
+import org.python.core.buffer.SimpleWritableBuffer;
 import org.python.core.util.ByteSwapper;
 import org.python.core.util.StringUtil;
 import org.python.expose.ExposedGet;
@@ -2638,10 +2638,10 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
             if (pybuf == null) {
                 // No existing export we can re-use: create a new one (acts as unsigned)
                 if (itemClass == Byte.TYPE) {
-                    // This is byte data, so we can export directly
+                    // This is byte data, so we can export directly (and allow writing into it)
                     byte[] storage = (byte[]) data;
                     int size = delegate.getSize();
-                    pybuf = new SimpleBuffer(flags, this, storage, 0, size);
+                    pybuf = new SimpleWritableBuffer(flags, this, storage, 0, size);
                 } else {
                     // As the client only intends to read, fake the answer with a String
                     pybuf = new SimpleStringBuffer(flags, this, tostring());
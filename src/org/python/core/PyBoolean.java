@@ -176,4 +176,9 @@ public class PyBoolean extends PyInteger {
     final PyObject bool___abs__() {
         return Py.newInteger(getValue());
     }
+
+    /** Used when serializing this bool (but not an instance of a subclass). */
+    private Object writeReplace() {
+        return SerialForm.replace(this);
+    }
 }
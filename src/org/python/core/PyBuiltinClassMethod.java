@@ -0,0 +1,25 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.core;
+
+/**
+ * A builtin classmethod that takes any number of arguments, and keywords.
+ */
+public abstract class PyBuiltinClassMethod extends PyBuiltinMethod {
+
+    protected PyBuiltinClassMethod(String name) {
+        super(name);
+    }
+
+    protected PyBuiltinClassMethod(PyObject self, Info info) {
+        super(self, info);
+    }
+
+    protected PyBuiltinClassMethod(PyType type, PyObject self, Info info) {
+        super(type, self, info);
+    }
+
+    @Override
+    public PyMethodDescr makeDescriptor(PyType t) {
+        return new PyClassMethodDescr(t, this);
+    }
+}
@@ -1230,4 +1230,9 @@ public class PyDictionary extends AbstractDict implements ConcurrentMap, Travers
     public boolean refersDirectlyTo(PyObject ob) {
         return ob != null && (internalMap.containsKey(ob) || internalMap.containsValue(ob));
     }
+
+    /** Used when serializing this dict (but not an instance of a subclass). */
+    private Object writeReplace() {
+        return SerialForm.replace(this);
+    }
 }
@@ -1113,4 +1113,9 @@ public class PyFloat extends PyObject {
             }
         }
     }
+
+    /** Used when serializing this float (but not an instance of a subclass). */
+    private Object writeReplace() {
+        return SerialForm.replace(this);
+    }
 }
@@ -232,4 +232,9 @@ public class PyFrozenSet extends BaseSet {
             }
         };
     }
+
+    /** Used when serializing this frozenset (but not an instance of a subclass). */
+    private Object writeReplace() {
+        return SerialForm.replace(this);
+    }
 }
@@ -1148,4 +1148,9 @@ public class PyInteger extends PyObject {
     public long asLong() {
         return getValue();
     }
+
+    /** Used when serializing this int (but not an instance of a subclass). */
+    private Object writeReplace() {
+        return SerialForm.replace(this);
+    }
 }
@@ -1312,4 +1312,9 @@ public class PyList extends PySequenceList {
     public boolean refersDirectlyTo(PyObject ob) {
         return list == null ? false : list.contains(ob);
     }
+
+    /** Used when serializing this list (but not an instance of a subclass). */
+    private Object writeReplace() {
+        return SerialForm.replace(this);
+    }
 }
@@ -1138,4 +1138,9 @@ public class PyLong extends PyObject {
     public boolean isSequenceType() {
         return false;
     }
+
+    /** Used when serializing this long (but not an instance of a subclass). */
+    private Object writeReplace() {
+        return SerialForm.replace(this);
+    }
 }
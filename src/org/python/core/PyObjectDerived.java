@@ -85,6 +85,12 @@ public class PyObjectDerived extends PyObject implements Slotted,FinalizablePyOb
         return visit.visit(dict,arg);
     }
 
+    // Hand-crafted in object.derived, for instances of classes defined in Python only
+
+    private Object writeReplace() {
+        return SerialForm.replace(this);
+    }
+
     public PyString __str__() {
         PyType self_type=getType();
         PyObject impl=self_type.lookup("__str__");
@@ -357,4 +357,9 @@ public class PySet extends BaseSet {
     final String set_toString() {
         return baseset_toString();
     }
+
+    /** Used when serializing this set (but not an instance of a subclass). */
+    private Object writeReplace() {
+        return SerialForm.replace(this);
+    }
 }
@@ -4918,4 +4918,8 @@ final class StringFormatter {
         return needUnicode ? new PyUnicode(buffer) : new PyString(buffer);
     }
 
+    /** Used when serializing this str (but not an instance of a subclass). */
+    private Object writeReplace() {
+        return SerialForm.replace(this);
+    }
 }
@@ -650,4 +650,9 @@ public class PyTuple extends PySequenceList {
         }
         return false;
     }
+
+    /** Used when serializing this tuple (but not an instance of a subclass). */
+    private Object writeReplace() {
+        return SerialForm.replace(this);
+    }
 }
@@ -2445,4 +2445,9 @@ public class PyUnicode extends PyString implements Iterable<Integer> {
         }
         return sb.toString();
     }
+
+    /** Used when serializing this unicode (but not an instance of a subclass). */
+    private Object writeReplace() {
+        return SerialForm.replace(this);
+    }
 }
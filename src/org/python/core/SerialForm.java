@@ -0,0 +1,376 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.core;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The serialized form of the common core objects, which the private <code>writeReplace</code>
+ * methods of their classes (and of {@link PyObjectDerived}) substitute for them. Default
+ * serialization writes every field of every object, with a class descriptor for each class the
+ * first time it appears; this form writes a one byte type tag and then just the value.
+ * <p>
+ * Scalars (<code>None</code>, <code>bool</code>, <code>int</code>, <code>long</code>,
+ * <code>float</code>, <code>str</code> and <code>unicode</code>) are written in line wherever they
+ * appear. The text of strings goes through the stream as a Java <code>String</code>, so a string
+ * that recurs is written once and then referred to by handle. Containers (<code>tuple</code>,
+ * <code>frozenset</code>, <code>list</code>, <code>dict</code>, <code>set</code>) and instances
+ * of classes defined in Python are written with {@link ObjectOutput#writeObject(Object)}, so each
+ * gets a form of its own, and the stream keeps shared references and cycles among them. An
+ * instance is written as its type, its dictionary and its slots; its dictionary is written as
+ * part of it.
+ * <p>
+ * Subclasses of these types, and all other objects, are serialized as before.
+ */
+final class SerialForm implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final byte NULL = 0;
+    private static final byte NONE = 1;
+    private static final byte FALSE = 2;
+    private static final byte TRUE = 3;
+    private static final byte INT = 4;
+    private static final byte LONG = 5;
+    private static final byte FLOAT = 6;
+    private static final byte STR = 7;
+    private static final byte UNICODE = 8;
+    private static final byte TUPLE = 9;
+    private static final byte FROZENSET = 10;
+    private static final byte LIST = 11;
+    private static final byte DICT = 12;
+    private static final byte SET = 13;
+    private static final byte INSTANCE = 14;
+    /** Written by the stream, whether as a form of its own or by default serialization. */
+    private static final byte OBJECT = 15;
+
+    /** The tag of each class written in this form. (Booleans are told apart by value.) */
+    private static final Map<Class<?>, Byte> TAGS = new HashMap<Class<?>, Byte>();
+
+    static {
+        TAGS.put(PyNone.class, NONE);
+        TAGS.put(PyBoolean.class, TRUE);
+        TAGS.put(PyInteger.class, INT);
+        TAGS.put(PyLong.class, LONG);
+        TAGS.put(PyFloat.class, FLOAT);
+        TAGS.put(PyString.class, STR);
+        TAGS.put(PyUnicode.class, UNICODE);
+        TAGS.put(PyTuple.class, TUPLE);
+        TAGS.put(PyFrozenSet.class, FROZENSET);
+        TAGS.put(PyList.class, LIST);
+        TAGS.put(PyDictionary.class, DICT);
+        TAGS.put(PySet.class, SET);
+        TAGS.put(PyObjectDerived.class, INSTANCE);
+    }
+
+    /** The object written, or the object read (from the start, in the case of containers). */
+    private PyObject result;
+
+    /** Constructor for deserialization. */
+    public SerialForm() {}
+
+    private SerialForm(PyObject obj) {
+        result = obj;
+    }
+
+    /** The form in which to serialize <code>obj</code>, or <code>obj</code> itself. */
+    static Object replace(PyObject obj) {
+        return tagOf(obj) == OBJECT ? obj : new SerialForm(obj);
+    }
+
+    private static byte tagOf(PyObject obj) {
+        if (obj == null) {
+            return NULL;
+        }
+        Byte tag = TAGS.get(obj.getClass());
+        if (tag == null) {
+            return OBJECT;
+        } else if (tag == TRUE) {
+            return obj == Py.True ? TRUE : FALSE;
+        } else if (tag == INSTANCE && JyAttribute.hasAttr(obj, JyAttribute.JAVA_PROXY_ATTR)) {
+            // A wrapped Java object
+            return OBJECT;
+        }
+        return tag;
+    }
+
+    private Object readResolve() {
+        if (result instanceof PyTuple && result.getClass() == PyTuple.class
+                && ((PyTuple) result).size() == 0) {
+            return Py.EmptyTuple;
+        }
+        return result;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        byte tag = tagOf(result);
+        out.writeByte(tag);
+        switch (tag) {
+            case LIST:
+                writeItems(out, ((PyList) result).getList());
+                break;
+            case DICT:
+                writeEntries(out, ((PyDictionary) result).getMap());
+                break;
+            case SET:
+                writeItems(out, ((PySet) result).getSet());
+                break;
+            case INSTANCE:
+                writeInstance(out, (PyObjectDerived) result);
+                break;
+            default:
+                writeBody(out, tag, result);
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        // Containers exist before their contents are read, so that cycles may refer to them
+        byte tag = in.readByte();
+        switch (tag) {
+            case LIST: {
+                PyList list = new PyList();
+                result = list;
+                for (int n = readSize(in); n > 0; n--) {
+                    list.append(readValue(in));
+                }
+                break;
+            }
+            case DICT: {
+                PyDictionary dict = new PyDictionary();
+                result = dict;
+                readEntries(in, dict);
+                break;
+            }
+            case SET: {
+                PySet set = new PySet();
+                result = set;
+                readItems(in, set.getSet());
+                break;
+            }
+            case INSTANCE:
+                readInstance(in);
+                break;
+            case TUPLE: {
+                PyObject[] array = new PyObject[readSize(in)];
+                result = new PyTuple(array, false);
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = readValue(in);
+                }
+                break;
+            }
+            case FROZENSET: {
+                PyFrozenSet set = new PyFrozenSet();
+                result = set;
+                readItems(in, set.getSet());
+                break;
+            }
+            default:
+                result = readBody(in, tag);
+        }
+    }
+
+    /** Write a value contained in the object: scalars in line, others by the stream. */
+    private static void writeValue(ObjectOutput out, PyObject obj) throws IOException {
+        byte tag = tagOf(obj);
+        switch (tag) {
+            case TUPLE:
+            case FROZENSET:
+            case LIST:
+            case DICT:
+            case SET:
+            case INSTANCE:
+                tag = OBJECT;
+                // fall through
+            default:
+                out.writeByte(tag);
+                writeBody(out, tag, obj);
+        }
+    }
+
+    private static void writeBody(ObjectOutput out, byte tag, PyObject obj) throws IOException {
+        switch (tag) {
+            case NULL:
+            case NONE:
+            case FALSE:
+            case TRUE:
+                break;
+            case INT:
+                out.writeInt(((PyInteger) obj).getValue());
+                break;
+            case LONG: {
+                byte[] bytes = ((PyLong) obj).getValue().toByteArray();
+                out.writeInt(bytes.length);
+                out.write(bytes);
+                break;
+            }
+            case FLOAT:
+                out.writeDouble(((PyFloat) obj).getValue());
+                break;
+            case STR:
+            case UNICODE:
+                out.writeObject(((PyString) obj).getString());
+                break;
+            case TUPLE: {
+                PyObject[] array = ((PyTuple) obj).getArray();
+                out.writeInt(array.length);
+                for (PyObject item : array) {
+                    writeValue(out, item);
+                }
+                break;
+            }
+            case FROZENSET:
+                writeItems(out, ((PyFrozenSet) obj).getSet());
+                break;
+            default:
+                out.writeObject(obj);
+        }
+    }
+
+    private static void writeItems(ObjectOutput out, Collection<PyObject> items)
+            throws IOException {
+        // Copy first, so that the count and the items written agree
+        PyObject[] array = items.toArray(new PyObject[items.size()]);
+        out.writeInt(array.length);
+        for (PyObject item : array) {
+            writeValue(out, item);
+        }
+    }
+
+    private static void writeEntries(ObjectOutput out, Map<?, PyObject> map) throws IOException {
+        Object[] entries = map.entrySet().toArray();
+        out.writeInt(entries.length);
+        for (Object o : entries) {
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            Object key = entry.getKey();
+            if (key instanceof String) {
+                // A PyStringMap key
+                out.writeByte(STR);
+                out.writeObject(key);
+            } else {
+                writeValue(out, (PyObject) key);
+            }
+            writeValue(out, (PyObject) entry.getValue());
+        }
+    }
+
+    private static void writeInstance(ObjectOutput out, PyObjectDerived obj) throws IOException {
+        PyType type = obj.getType();
+        out.writeObject(type);
+        PyObject dict = obj.fastGetDict();
+        if (dict != null && dict.getClass() == PyStringMap.class) {
+            out.writeByte(DICT);
+            writeEntries(out, ((PyStringMap) dict).getMap());
+        } else {
+            writeValue(out, dict);
+        }
+        int n = type.getNumSlots();
+        out.writeInt(n);
+        for (int i = 0; i < n; i++) {
+            writeValue(out, obj.getSlot(i));
+        }
+    }
+
+    private static PyObject readValue(ObjectInput in) throws IOException, ClassNotFoundException {
+        return readBody(in, in.readByte());
+    }
+
+    private static PyObject readBody(ObjectInput in, byte tag) throws IOException,
+            ClassNotFoundException {
+        switch (tag) {
+            case NULL:
+                return null;
+            case NONE:
+                return Py.None;
+            case FALSE:
+                return Py.False;
+            case TRUE:
+                return Py.True;
+            case INT:
+                return Py.newInteger(in.readInt());
+            case LONG: {
+                byte[] bytes = new byte[readSize(in)];
+                in.readFully(bytes);
+                return new PyLong(new BigInteger(bytes));
+            }
+            case FLOAT:
+                return new PyFloat(in.readDouble());
+            case STR:
+                return new PyString((String) in.readObject());
+            case UNICODE:
+                return new PyUnicode((String) in.readObject());
+            case OBJECT: {
+                Object obj = in.readObject();
+                if (obj instanceof SerialForm) {
+                    // A reference back to a container still being read
+                    obj = ((SerialForm) obj).result;
+                }
+                if (!(obj instanceof PyObject)) {
+                    throw new InvalidObjectException("expected a Python object");
+                }
+                return (PyObject) obj;
+            }
+            default:
+                throw new InvalidObjectException("bad type tag " + tag);
+        }
+    }
+
+    private static int readSize(ObjectInput in) throws IOException {
+        int n = in.readInt();
+        if (n < 0) {
+            throw new InvalidObjectException("negative size " + n);
+        }
+        return n;
+    }
+
+    private static void readItems(ObjectInput in, Collection<PyObject> items) throws IOException,
+            ClassNotFoundException {
+        for (int n = readSize(in); n > 0; n--) {
+            items.add(readValue(in));
+        }
+    }
+
+    private static void readEntries(ObjectInput in, AbstractDict dict) throws IOException,
+            ClassNotFoundException {
+        for (int n = readSize(in); n > 0; n--) {
+            PyObject key = readValue(in);
+            dict.__setitem__(key, readValue(in));
+        }
+    }
+
+    private void readInstance(ObjectInput in) throws IOException, ClassNotFoundException {
+        Object type = in.readObject();
+        if (!(type instanceof PyType)) {
+            throw new InvalidObjectException("expected a type");
+        }
+        PyObjectDerived obj = new PyObjectDerived((PyType) type);
+        result = obj;
+        byte tag = in.readByte();
+        if (tag == DICT) {
+            PyStringMap dict = new PyStringMap();
+            readEntries(in, dict);
+            obj.setDict(dict);
+        } else {
+            PyObject dict = readBody(in, tag);
+            if (dict != null) {
+                obj.setDict(dict);
+            }
+        }
+        int n = in.readInt();
+        if (n != obj.getType().getNumSlots()) {
+            throw new InvalidObjectException("expected " + obj.getType().getNumSlots()
+                    + " slots, found " + n);
+        }
+        for (int i = 0; i < n; i++) {
+            obj.setSlot(i, readValue(in));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/* Copyright (c) Jython Developers */
+package org.python.core.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A small pool of direct ByteBuffers through which large transfers between a channel and a heap
+ * array are staged.
+ *
+ * When a channel is asked to read into (or write from) a heap buffer, the JDK allocates a
+ * temporary direct buffer as large as the request, and may cache it per thread. For the large
+ * reads made by <code>readall</code> or <code>readinto</code> on big files that is a lot of
+ * native memory, allocated and freed at the JDK's discretion. Staging the transfer through a
+ * fixed-size pooled buffer keeps the same number of copies while bounding the native memory in
+ * use, and lets the buffers be shared between threads.
+ */
+final class DirectBuffers {
+
+    /** Size of each pooled buffer. */
+    static final int BUFFER_SIZE = 256 * 1024;
+
+    /** Transfers smaller than this go directly to the channel. */
+    static final int THRESHOLD = 64 * 1024;
+
+    /** Buffers kept for re-use; more may be in use at once, but are then not retained. */
+    private static final ArrayBlockingQueue<ByteBuffer> pool =
+            new ArrayBlockingQueue<ByteBuffer>(Math.max(2, Runtime.getRuntime()
+                    .availableProcessors()));
+
+    private DirectBuffers() {}
+
+    /**
+     * Take a cleared buffer from the pool, or allocate one if the pool is empty.
+     *
+     * @return a direct ByteBuffer of capacity {@link #BUFFER_SIZE}
+     */
+    static ByteBuffer acquire() {
+        ByteBuffer buf = pool.poll();
+        if (buf == null) {
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        buf.clear();
+        return buf;
+    }
+
+    /**
+     * Return a buffer obtained from {@link #acquire()} to the pool. The buffer is dropped if the
+     * pool is already full.
+     *
+     * @param buf buffer no longer in use by the caller
+     */
+    static void release(ByteBuffer buf) {
+        pool.offer(buf);
+    }
+}
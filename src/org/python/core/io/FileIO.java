@@ -12,9 +12,13 @@ import java.io.RandomAccessFile;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.CompletionHandler;
 import java.nio.channels.FileChannel;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import jnr.constants.platform.Errno;
 import jnr.posix.util.FieldAccess;
@@ -247,18 +251,63 @@ public class FileIO extends RawIOBase {
         }
     }
 
+    /**
+     * Read bytes into the specified ByteBuffer. A large request into a heap buffer is staged
+     * through pooled direct buffers (see {@link DirectBuffers}), and continues while the file has
+     * more to give, so that a read of a large regular file is not cut short. Returns number of
+     * bytes read (0 for EOF).
+     *
+     * @param buf {@inheritDoc}
+     * @return {@inheritDoc}
+     */
     @Override
     public int readinto(ByteBuffer buf) {
         checkClosed();
         checkReadable();
         try {
-            int n = fileChannel.read(buf);
+            int n = buf.isDirect() || buf.remaining() < DirectBuffers.THRESHOLD
+                    ? fileChannel.read(buf) : readintoViaDirect(buf);
             return n > 0 ? n : 0;
         } catch (IOException ioe) {
             throw Py.IOError(ioe);
         }
     }
 
+    /**
+     * Read into a heap buffer through a pooled direct buffer, one chunk at a time. Reading stops
+     * at the first short chunk, or when the position reaches the size of the file, so a pipe or a
+     * /proc file sees no more read calls than with a single large read.
+     *
+     * @param buf heap buffer to fill
+     * @return number of bytes read, or -1 at EOF
+     */
+    private int readintoViaDirect(ByteBuffer buf) throws IOException {
+        ByteBuffer direct = DirectBuffers.acquire();
+        try {
+            int total = 0;
+            while (buf.hasRemaining()) {
+                direct.clear();
+                if (direct.capacity() > buf.remaining()) {
+                    direct.limit(buf.remaining());
+                }
+                int n = fileChannel.read(direct);
+                if (n <= 0) {
+                    return total > 0 ? total : n;
+                }
+                direct.flip();
+                buf.put(direct);
+                total += n;
+                if (direct.limit() < direct.capacity()
+                        || fileChannel.position() >= fileChannel.size()) {
+                    break;
+                }
+            }
+            return total;
+        } finally {
+            DirectBuffers.release(direct);
+        }
+    }
+
     /**
      * Read bytes into each of the specified ByteBuffers via scatter i/o. Returns number of bytes
      * read (0 for EOF).
@@ -310,40 +359,30 @@ public class FileIO extends RawIOBase {
             return readallInChunks();
         } else {
             ByteBuffer all = ByteBuffer.allocate((int) toRead);
-            readinto(all);
+            // Stop early only at EOF (the file may have been truncated meanwhile)
+            while (all.hasRemaining() && readinto(all) > 0) {}
             all.flip();
             return all;
         }
     }
 
     private ByteBuffer readallInChunks() {
-        // assumes checks have been performed
-        final List<ByteBuffer> chunks = new ArrayList<>();
-        final int MAX_CHUNK_SIZE = 8192;
-        int length = 0;
-        while (true) {
-            final ByteBuffer chunk = ByteBuffer.allocate(MAX_CHUNK_SIZE);
-            readinto(chunk);
-            int chunkSize = chunk.position();
-            length += chunkSize;
-            chunk.flip();
-            chunks.add(chunk);
-            if (chunkSize < MAX_CHUNK_SIZE) {
-                break;
+        // assumes checks have been performed. Read into one array, growing it as necessary:
+        // most files in /proc, or similar virtual filesystems, fit in the first allocation.
+        ByteBuffer all = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        while (readinto(all) > 0) {
+            if (!all.hasRemaining()) {
+                if (all.capacity() == Integer.MAX_VALUE) {
+                    throw Py.OverflowError("requested number of bytes is more than a Python "
+                                           + "string can hold");
+                }
+                ByteBuffer bigger =
+                        ByteBuffer.allocate((int) Math.min(2L * all.capacity(), Integer.MAX_VALUE));
+                all.flip();
+                bigger.put(all);
+                all = bigger;
             }
         }
-
-        // given the size of MAX_CHUNK_SIZE, perhaps most or even all files in /proc,
-        // or similar virtual filesystems, if any, might fit into one chunk
-        if (chunks.size() == 1) {
-            return chunks.get(0);
-        }
-
-        // otherwise append together into a single ByteBuffer
-        final ByteBuffer all = ByteBuffer.allocate(length);
-        for (ByteBuffer chunk : chunks) {
-            all.put(chunk);
-        }
         all.flip();
         return all;
     }
@@ -353,13 +392,50 @@ public class FileIO extends RawIOBase {
         checkClosed();
         checkWritable();
         try {
-            return emulateAppend ? appendFromByteBuffer(buf)    // use this helper function to advance the file channel's position post-write
-                                    : fileChannel.write(buf);   // this does change the file channel's position
+            if (emulateAppend) {
+                // use this helper function to advance the file channel's position post-write
+                return appendFromByteBuffer(buf);
+            } else if (buf.isDirect() || buf.remaining() < DirectBuffers.THRESHOLD) {
+                // this does change the file channel's position
+                return fileChannel.write(buf);
+            } else {
+                return writeViaDirect(buf);
+            }
         } catch (IOException ioe) {
             throw Py.IOError(ioe);
         }
     }
 
+    /**
+     * Write from a heap buffer through a pooled direct buffer, one chunk at a time.
+     *
+     * @param buf heap buffer to write
+     * @return number of bytes written
+     */
+    private int writeViaDirect(ByteBuffer buf) throws IOException {
+        ByteBuffer direct = DirectBuffers.acquire();
+        try {
+            int total = 0;
+            while (buf.hasRemaining()) {
+                direct.clear();
+                int chunk = Math.min(direct.capacity(), buf.remaining());
+                ByteBuffer slice = buf.duplicate();
+                slice.limit(slice.position() + chunk);
+                direct.put(slice);
+                direct.flip();
+                int n = fileChannel.write(direct);
+                buf.position(buf.position() + n);
+                total += n;
+                if (n < chunk) {
+                    break;
+                }
+            }
+            return total;
+        } finally {
+            DirectBuffers.release(direct);
+        }
+    }
+
     private int appendFromByteBuffer(ByteBuffer buf) throws IOException {
         int written = fileChannel.write(buf, fileChannel.position());   // this does not change the file channel's position!
         if (written > 0) {
@@ -409,6 +485,139 @@ public class FileIO extends RawIOBase {
         return count;
     }
 
+    /**
+     * Transfer up to <code>count</code> bytes from this file, starting at <code>position</code>,
+     * to the given channel, without changing the position of this file. Where the platform
+     * supports it, the bytes move directly from the file system cache to the target (as with
+     * <code>sendfile</code>), without being copied through the Java heap. Returns the number of
+     * bytes transferred, which is less than <code>count</code> only if the end of the file is
+     * reached, or if the target is a non-blocking channel that cannot take more.
+     *
+     * @param position position in this file at which to start
+     * @param count maximum number of bytes to transfer
+     * @param target channel to which the bytes are written
+     * @return the number of bytes transferred
+     */
+    public long transferTo(long position, long count, WritableByteChannel target) {
+        checkClosed();
+        checkReadable();
+        try {
+            long total = 0;
+            while (total < count) {
+                long n = fileChannel.transferTo(position + total, count - total, target);
+                if (n <= 0) {
+                    break;
+                }
+                total += n;
+            }
+            return total;
+        } catch (IOException ioe) {
+            throw Py.IOError(ioe);
+        }
+    }
+
+    /**
+     * Transfer bytes from this file to another <code>FileIO</code>, as in
+     * {@link #transferTo(long, long, WritableByteChannel)}, writing at the current position of
+     * the target (or at its end if it is in append mode), and advancing that position.
+     *
+     * @param position position in this file at which to start
+     * @param count maximum number of bytes to transfer
+     * @param target file to which the bytes are written
+     * @return the number of bytes transferred
+     */
+    public long transferTo(long position, long count, FileIO target) {
+        target.checkClosed();
+        target.checkWritable();
+        if (target.emulateAppend) {
+            try {
+                target.fileChannel.position(target.fileChannel.size());
+            } catch (IOException ioe) {
+                throw Py.IOError(ioe);
+            }
+        }
+        return transferTo(position, count, target.fileChannel);
+    }
+
+    /**
+     * Lazily created pool of daemon threads on which asynchronous reads and writes are performed.
+     * Threads that are idle for a while are retired.
+     */
+    private static class AsyncPoolHolder {
+
+        static final ExecutorService POOL = createPool();
+
+        private static ExecutorService createPool() {
+            int n = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(n, n, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), r -> {
+                        Thread t = new Thread(r, "jython-fileio-async");
+                        t.setDaemon(true);
+                        return t;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+
+    /**
+     * Start reading bytes at the given position into the buffer, without blocking and without
+     * changing the position of this file. The read is a positional read on the channel of this
+     * file, performed by a thread of a shared pool, which then calls the handler with the number
+     * of bytes read (-1 at EOF). (This is how {@link java.nio.channels.AsynchronousFileChannel}
+     * works on most platforms, but that cannot be opened on a file already open.) If the file is
+     * closed before the read is made, the handler is called with the exception.
+     *
+     * @param dst buffer into which bytes are read
+     * @param position position in the file at which to start
+     * @param attachment object passed to the handler
+     * @param handler called when the read completes or fails
+     */
+    public <A> void readAsync(final ByteBuffer dst, final long position, final A attachment,
+            final CompletionHandler<Integer, ? super A> handler) {
+        checkClosed();
+        checkReadable();
+        AsyncPoolHolder.POOL.execute(() -> {
+            int n;
+            try {
+                n = fileChannel.read(dst, position);
+            } catch (IOException | RuntimeException e) {
+                handler.failed(e, attachment);
+                return;
+            }
+            handler.completed(n, attachment);
+        });
+    }
+
+    /**
+     * Start writing bytes from the buffer at the given position, without blocking and without
+     * changing the position of this file, as {@link #readAsync(ByteBuffer, long, Object,
+     * CompletionHandler)} reads. The position is respected even in append mode, except where the
+     * file was opened by a <code>FileOutputStream</code> in append mode, when the operating system
+     * writes at the end. The handler is called with the number of bytes written, which may be
+     * fewer than requested.
+     *
+     * @param src buffer from which bytes are written
+     * @param position position in the file at which to start
+     * @param attachment object passed to the handler
+     * @param handler called when the write completes or fails
+     */
+    public <A> void writeAsync(final ByteBuffer src, final long position, final A attachment,
+            final CompletionHandler<Integer, ? super A> handler) {
+        checkClosed();
+        checkWritable();
+        AsyncPoolHolder.POOL.execute(() -> {
+            int n;
+            try {
+                n = fileChannel.write(src, position);
+            } catch (IOException | RuntimeException e) {
+                handler.failed(e, attachment);
+                return;
+            }
+            handler.completed(n, attachment);
+        });
+    }
+
     @Override
     public long seek(long pos, int whence) {
         checkClosed();
@@ -463,6 +672,7 @@ public class FileIO extends RawIOBase {
             return;
         }
         try {
+            // Outstanding asynchronous operations fail with AsynchronousCloseException
             fileChannel.close();
         } catch (IOException ioe) {
             throw Py.IOError(ioe);
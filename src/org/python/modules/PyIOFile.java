@@ -2,6 +2,8 @@
 
 package org.python.modules;
 
+import org.python.core.util.StringUtil;
+
 /**
 PyIOFiles encapsulates and optimise access to the different file
 representation. Used by cPickle and marshall.
@@ -14,6 +16,13 @@ public interface PyIOFile {
 
     public abstract void write(char str);
 
+    // Write len bytes of b from off, each as one char of a str. Saves
+    // clients that buffer their output a conversion to String, where the
+    // implementation overrides it; otherwise the bytes go through write(String).
+    public default void write(byte[] b, int off, int len) {
+        write(StringUtil.fromBytes(b, off, len));
+    }
+
     public abstract void flush();
 
     public abstract String read(int len);
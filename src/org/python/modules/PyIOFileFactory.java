@@ -1,6 +1,11 @@
 package org.python.modules;
 
+import java.nio.ByteBuffer;
+
+import jnr.constants.platform.Errno;
+
 import org.python.core.Py;
+import org.python.core.PyException;
 import org.python.core.PyFile;
 import org.python.core.PyInteger;
 import org.python.core.PyObject;
@@ -9,6 +14,8 @@ import org.python.core.PyType;
 import org.python.core.__builtin__;
 import org.python.core.Traverseproc;
 import org.python.core.Visitproc;
+import org.python.core.util.StringUtil;
+import org.python.modules._io.PyFileIO;
 
 // XXX - add support for StringIO, not just cStringIO
 
@@ -21,6 +28,8 @@ public class PyIOFileFactory {
         Object f = file.__tojava__(cStringIO.StringIO.class);
         if (f != Py.NoConversion) {
             return new cStringIOFile(file);
+        } else if (file.getType() == PyFileIO.TYPE) {
+            return new RawIOFile(file);
         } else if (__builtin__.isinstance(file, FileType)) {
             return new FileIOFile(file);
         } else {
@@ -30,6 +39,35 @@ public class PyIOFileFactory {
 
     private static PyType FileType = PyType.fromClass(PyFile.class);
 
+    /**
+     * Whether data read ahead from the file may be given back by seeking backwards relative to the
+     * current position, as cPickle and marshal do when they read the file in chunks.
+     */
+    static boolean isSeekable(PyObject file) {
+        if (file instanceof cStringIO.StringIO) {
+            return true;
+        } else if (file instanceof PyFileIO) {
+            return ((PyFileIO)file).seekable();
+        } else if (file instanceof PyFile) {
+            // Universal newlines would make the count of chars read
+            // differ from the distance to seek back.
+            PyFile f = (PyFile)file;
+            if (f.mode.indexOf('U') >= 0 || f.isatty()) {
+                return false;
+            }
+            try {
+                f.tell();
+                return true;
+            } catch (PyException e) {
+                return false;
+            }
+        } else {
+            PyObject seekable = file.__findattr__("seekable");
+            return seekable != null && file.__findattr__("seek") != null
+                    && seekable.__call__().__nonzero__();
+        }
+    }
+
     // Use a cStringIO as a file.
     static class cStringIOFile implements PyIOFile {
 
@@ -47,6 +85,10 @@ public class PyIOFileFactory {
             file.writeChar(ch);
         }
 
+        public void write(byte[] b, int off, int len) {
+            file.write(StringUtil.fromBytes(b, off, len));
+        }
+
         public void flush() {
         }
 
@@ -80,6 +122,63 @@ public class PyIOFileFactory {
             file.write(cStringIO.getString(ch));
         }
 
+        public void write(byte[] b, int off, int len) {
+            file.write(StringUtil.fromBytes(b, off, len));
+        }
+
+        public void flush() {
+        }
+
+        public String read(int len) {
+            return file.read(len).toString();
+        }
+
+        public String readlineNoNl() {
+            String line = file.readline().toString();
+            return line.substring(0, line.length() - 1);
+        }
+
+
+        /* Traverseproc implementation */
+        @Override
+        public int traverse(Visitproc visit, Object arg) {
+            return file == null ? 0 : visit.visit(file, arg);
+        }
+
+        @Override
+        public boolean refersDirectlyTo(PyObject ob) {
+            return ob != null && ob == file;
+        }
+    }
+
+
+    // Use an io.FileIO as a file, writing bytes without conversion to str.
+    static class RawIOFile implements PyIOFile, Traverseproc {
+
+        PyFileIO file;
+
+        RawIOFile(PyObject file) {
+            this.file = (PyFileIO) file;
+        }
+
+        public void write(String str) {
+            write(StringUtil.toBytes(str), 0, str.length());
+        }
+
+        public void write(char ch) {
+            file.write(new PyString(ch));
+        }
+
+        public void write(byte[] b, int off, int len) {
+            ByteBuffer buf = ByteBuffer.wrap(b, off, len);
+            while (buf.hasRemaining()) {
+                // A non-blocking file may take nothing, when we would spin forever
+                if (file.write(buf) <= 0) {
+                    throw Py.IOError(Errno.EAGAIN);
+                }
+            }
+        }
+
         public void flush() {
         }
 
@@ -142,6 +241,13 @@ public class PyIOFileFactory {
             buff.setLength(0);
         }
 
+        public void write(byte[] b, int off, int len) {
+            if (buff.length() > 0) {
+                flush();
+            }
+            write.__call__(new PyString(StringUtil.fromBytes(b, off, len)));
+        }
+
         public String read(int len) {
             return read.__call__(new PyInteger(len)).toString();
         }
@@ -1,8 +1,14 @@
 package org.python.modules;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 import org.python.core.ArgParser;
+import org.python.core.BufferProtocol;
 import org.python.core.Py;
-import org.python.core.PyArray;
+import org.python.core.PyBUF;
+import org.python.core.PyBuffer;
+import org.python.core.PyIterator;
 import org.python.core.PyNewWrapper;
 import org.python.core.PyObject;
 import org.python.core.PyString;
@@ -14,18 +20,27 @@ import org.python.expose.ExposedMethod;
 import org.python.expose.ExposedNew;
 import org.python.expose.ExposedType;
 
+/**
+ * A compiled struct format. The format is compiled once into its items, each with its offset, and
+ * the methods read and write the data in place through the buffer protocol, where the object
+ * exports a byte array (as <code>bytearray</code>, <code>array.array</code> and
+ * <code>memoryview</code> do), and otherwise copy just the bytes of the struct.
+ */
 @Untraversable
 @ExposedType(name = "struct.Struct", base = PyObject.class)
 public class PyStruct extends PyObject {
     public static final PyType TYPE = PyType.fromClass(PyStruct.class);
-    
+
     @ExposedGet
     public final String format;
-    
+
     @ExposedGet
     public final int size;
-    
-    private final struct.FormatDef[] format_def;
+
+    private final struct.FormatCode[] codes;
+
+    /** The number of values packed or unpacked. */
+    private final int nvalues;
 
     @ExposedGet(name = "__class__")
     @Override
@@ -38,10 +53,24 @@ public class PyStruct extends PyObject {
     }
 
     public PyStruct(PyType type, PyString format) {
+        this(type, format.toString());
+    }
+
+    PyStruct(String format) {
+        this(TYPE, format);
+    }
+
+    private PyStruct(PyType type, String format) {
         super(type);
-        this.format = format.toString();
-        this.format_def = struct.whichtable(this.format);
-        this.size = struct.calcsize(this.format, this.format_def);
+        this.format = format;
+        struct.FormatDef[] format_def = struct.whichtable(format);
+        this.size = struct.calcsize(format, format_def);
+        this.codes = struct.compile(format, format_def);
+        int n = 0;
+        for (struct.FormatCode code : codes) {
+            n += code.def.values(code.count);
+        }
+        this.nvalues = n;
     }
 
     @ExposedNew
@@ -59,35 +88,176 @@ public class PyStruct extends PyObject {
     }
 
     @ExposedMethod
-    public String pack(PyObject[] args, String[] kwds) {
-        return struct.pack(format, format_def, size, 0, args).toString();
+    public PyString pack(PyObject[] args, String[] kwds) {
+        return pack(args, 0);
     }
-    
+
+    /** Pack <code>args[start:]</code> into a new string. */
+    PyString pack(PyObject[] args, int start) {
+        checkArgs(args.length - start);
+        struct.ByteStream buf = new struct.ByteStream(size);
+        struct.pack(codes, buf, start, args);
+        return new PyString(buf.toString());
+    }
+
+    /** Check the number of values to pack, before making room for them. */
+    private void checkArgs(int n) {
+        if (n < nvalues) {
+            throw struct.StructError("insufficient arguments to pack");
+        } else if (n > nvalues) {
+            throw struct.StructError("too many arguments for pack format");
+        }
+    }
+
     @ExposedMethod
     final void pack_into(PyObject[] args, String[] kwds) {
-        struct.pack_into(format, format_def, size, 0, args);
+        pack_into(args, 0);
     }
-  
+
+    /**
+     * Pack <code>args[start+2:]</code> into the buffer <code>args[start]</code>, at the offset
+     * <code>args[start+1]</code>.
+     */
+    void pack_into(PyObject[] args, int start) {
+        if (args.length - start < 2) {
+            throw Py.TypeError("pack_into expected buffer and offset arguments");
+        }
+        PyObject obj = args[start];
+        if (obj instanceof PyString) {
+            throw Py.TypeError("Cannot use string as modifiable buffer");
+        } else if (!(obj instanceof BufferProtocol)) {
+            throw Py.TypeError("pack_into takes a writable buffer");
+        }
+        int offset = args[start + 1].asInt();
+        checkArgs(args.length - start - 2);
+        try (PyBuffer buf = ((BufferProtocol) obj).getBuffer(PyBUF.WRITABLE)) {
+            int len = buf.getLen();
+            if (offset < 0) {
+                offset += len;
+            }
+            if (offset < 0 || len - offset < size) {
+                throw struct.StructError("pack_into requires a buffer of at least "
+                        + (size + Math.max(offset, 0)) + " bytes, got " + len);
+            }
+            ByteBuffer bb = buf.getNIOByteBuffer();
+            if (bb.hasArray()) {
+                // Pack directly into the exporter's storage
+                byte[] data = bb.array();
+                int pos = bb.arrayOffset() + bb.position() + offset;
+                Arrays.fill(data, pos, pos + size, (byte) 0);
+                struct.pack(codes, new struct.ByteStream(data, pos), start + 2, args);
+            } else {
+                struct.ByteStream packed = new struct.ByteStream(size);
+                struct.pack(codes, packed, start + 2, args);
+                buf.copyFrom(packed.data, 0, offset, size);
+            }
+        }
+    }
+
     @ExposedMethod
     public PyTuple unpack(PyObject source) {
-        String s;
-        if (source instanceof PyString)
-            s = source.toString();
-        else if (source instanceof PyArray) 
-            s = ((PyArray)source).tostring();
-        else
-            throw Py.TypeError("unpack of a str or array");
-        if (size != s.length()) 
-            throw struct.StructError("unpack str size does not match format");
-        return struct.unpack(format_def, size, format, new struct.ByteStream(s));
-    }
-    
-    // xxx - also support byte[], java.nio.(Byte)Buffer at some point?
-    @ExposedMethod(defaults = {"0"})
-    public PyTuple unpack_from(PyObject string, int offset) {
-        String s = string.toString();
-        if (size >= (s.length() - offset + 1))
+        if (source instanceof PyString) {
+            // Includes unicode, treated as bytes in Jython
+            String s = ((PyString) source).getString();
+            if (size != s.length()) {
+                throw struct.StructError("unpack str size does not match format");
+            }
+            return struct.unpack(codes, nvalues, new struct.ByteStream(s));
+        }
+        try (PyBuffer buf = getBuffer(source, "unpack")) {
+            if (size != buf.getLen()) {
+                throw struct.StructError("unpack str size does not match format");
+            }
+            return unpack(buf, 0);
+        }
+    }
+
+    @ExposedMethod
+    public PyTuple unpack_from(PyObject[] args, String[] kwds) {
+        ArgParser ap = new ArgParser("unpack_from", args, kwds, new String[] {"buffer", "offset"},
+                1);
+        return unpack_from(ap.getPyObject(0), ap.getInt(1, 0));
+    }
+
+    public PyTuple unpack_from(PyObject source, int offset) {
+        if (source instanceof PyString) {
+            String s = ((PyString) source).getString();
+            offset = checkOffset(offset, s.length());
+            return struct.unpack(codes, nvalues, new struct.ByteStream(s, offset, size));
+        }
+        try (PyBuffer buf = getBuffer(source, "unpack_from")) {
+            return unpack(buf, checkOffset(offset, buf.getLen()));
+        }
+    }
+
+    /** Check there is a whole struct at <code>offset</code>, which may count from the end. */
+    private int checkOffset(int offset, int len) {
+        if (offset < 0) {
+            offset += len;
+        }
+        if (offset < 0 || len - offset < size) {
             throw struct.StructError("unpack_from str size does not match format");
-        return struct.unpack(format_def, size, format, new struct.ByteStream(s, offset));
+        }
+        return offset;
+    }
+
+    @ExposedMethod
+    public PyObject iter_unpack(PyObject source) {
+        if (size == 0) {
+            throw struct.StructError("cannot iteratively unpack with a struct of length 0");
+        }
+        PyBuffer buf = getBuffer(source, "iter_unpack");
+        if (buf.getLen() % size != 0) {
+            buf.release();
+            throw struct.StructError(String.format(
+                    "iterative unpacking requires a string of a length multiple of %d", size));
+        }
+        return new UnpackIterator(buf);
+    }
+
+    private static PyBuffer getBuffer(PyObject source, String name) {
+        if (!(source instanceof BufferProtocol)) {
+            throw Py.TypeError(String.format("%s() argument must be a string or buffer, not %.80s",
+                    name, source.getType().fastGetName()));
+        }
+        return ((BufferProtocol) source).getBuffer(PyBUF.SIMPLE);
+    }
+
+    /** Unpack the struct at <code>offset</code> in the buffer, in place if it has an array. */
+    private PyTuple unpack(PyBuffer buf, int offset) {
+        ByteBuffer bb = buf.getNIOByteBuffer();
+        struct.ByteStream stream;
+        if (bb.hasArray()) {
+            stream = new struct.ByteStream(bb.array(), bb.arrayOffset() + bb.position() + offset);
+        } else {
+            stream = new struct.ByteStream(size);
+            buf.copyTo(offset, stream.data, 0, size);
+        }
+        return struct.unpack(codes, nvalues, stream);
+    }
+
+    /** The structs packed one after another in a buffer, which is released at the end. */
+    private class UnpackIterator extends PyIterator {
+
+        private PyBuffer buf;
+        private int offset;
+
+        UnpackIterator(PyBuffer buf) {
+            this.buf = buf;
+        }
+
+        @Override
+        public PyObject __iternext__() {
+            if (buf == null) {
+                return null;
+            } else if (offset >= buf.getLen()) {
+                buf.release();
+                buf = null;
+                return null;
+            }
+            PyTuple result = unpack(buf, offset);
+            offset += size;
+            return result;
+        }
     }
 }
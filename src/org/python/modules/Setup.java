@@ -28,17 +28,23 @@ public class Setup
 
     public static String[] builtinModules = {
         "_ast:org.python.antlr.ast.AstModule",
+        "_bisect",
         "_bytecodetools",
         "_codecs",
         "_collections:org.python.modules._collections.Collections",
         "_csv:org.python.modules._csv._csv",
+        "_datetime:org.python.modules._datetime._datetime",
+        "_decimal:org.python.modules._decimal._decimal",
+        "_elementtree:org.python.modules._elementtree._elementtree",
         "_functools:org.python.modules._functools._functools",
         "_hashlib",
+        "_heapq",
         "_jyio:org.python.modules._io._jyio",
         "_json:org.python.modules._json._json",
         "_jythonlib:org.python.modules._jythonlib._jythonlib",
         "_marshal",
         "_py_compile",
+        "_queue:org.python.modules._queue._queue",
         "_random:org.python.modules.random.RandomModule",
         "_sre",
         "_threading:org.python.modules._threading._threading",
@@ -64,6 +70,7 @@ public class Setup
         "thread:org.python.modules.thread.thread",
         "time:org.python.modules.time.Time",
         "ucnhash",
+        "unicodedata",
         "zipimport:org.python.modules.zipimport.zipimport",
         PosixModule.getOSName() + ":org.python.modules.posix.PosixModule"
     };
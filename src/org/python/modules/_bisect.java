@@ -0,0 +1,164 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules;
+
+import org.python.core.ArgParser;
+import org.python.core.ClassDictInit;
+import org.python.core.Py;
+import org.python.core.PyBuiltinFunctionSet;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.Untraversable;
+
+/**
+ * The Python <code>_bisect</code> module: the bisection algorithms of <code>bisect</code>. A list
+ * is read directly, and its items compared with those of the most common types in Java, as in
+ * {@link _heapq}; any other sequence is indexed through <code>__getitem__</code>.
+ */
+public class _bisect implements ClassDictInit {
+
+    public static final PyString __doc__ = new PyString(
+            "Bisection algorithms.\n\n"
+                    + "This module provides support for maintaining a list in sorted order "
+                    + "without\nhaving to sort the list after each insertion. For long lists "
+                    + "of items with\nexpensive comparison operations, this can be an "
+                    + "improvement over the more\ncommon approach.\n");
+
+    public static void classDictInit(PyObject dict) {
+        dict.__setitem__("__name__", new PyString("_bisect"));
+        dict.__setitem__("__doc__", __doc__);
+        dict.__setitem__("bisect_right", new BisectFunctions("bisect_right", 0,
+                "bisect_right(a, x[, lo[, hi]]) -> index\n\n"
+                        + "Return the index where to insert item x in list a, assuming a is "
+                        + "sorted.\n\nThe return value i is such that all e in a[:i] have e <= x, "
+                        + "and all e in\na[i:] have e > x.  So if x already appears in the list, "
+                        + "i points just\nbeyond the rightmost x already there\n\n"
+                        + "Optional args lo (default 0) and hi (default len(a)) bound the\n"
+                        + "slice of a to be searched.\n"));
+        dict.__setitem__("bisect", dict.__getitem__(Py.newString("bisect_right")));
+        dict.__setitem__("bisect_left", new BisectFunctions("bisect_left", 1,
+                "bisect_left(a, x[, lo[, hi]]) -> index\n\n"
+                        + "Return the index where to insert item x in list a, assuming a is "
+                        + "sorted.\n\nThe return value i is such that all e in a[:i] have e < x, "
+                        + "and all e in\na[i:] have e >= x.  So if x already appears in the "
+                        + "list, i points just\nbefore the leftmost x already there.\n\n"
+                        + "Optional args lo (default 0) and hi (default len(a)) bound the\n"
+                        + "slice of a to be searched.\n"));
+        dict.__setitem__("insort_right", new BisectFunctions("insort_right", 2,
+                "insort_right(a, x[, lo[, hi]])\n\n"
+                        + "Insert item x in list a, and keep it sorted assuming a is sorted.\n\n"
+                        + "If x is already in a, insert it to the right of the rightmost x.\n\n"
+                        + "Optional args lo (default 0) and hi (default len(a)) bound the\n"
+                        + "slice of a to be searched.\n"));
+        dict.__setitem__("insort", dict.__getitem__(Py.newString("insort_right")));
+        dict.__setitem__("insort_left", new BisectFunctions("insort_left", 3,
+                "insort_left(a, x[, lo[, hi]])\n\n"
+                        + "Insert item x in list a, and keep it sorted assuming a is sorted.\n\n"
+                        + "If x is already in a, insert it to the left of the leftmost x.\n\n"
+                        + "Optional args lo (default 0) and hi (default len(a)) bound the\n"
+                        + "slice of a to be searched.\n"));
+
+        // Hide from Python
+        dict.__setitem__("classDictInit", null);
+    }
+
+    @Untraversable
+    private static class BisectFunctions extends PyBuiltinFunctionSet {
+
+        private static final PyObject module = Py.newString("_bisect");
+        private static final String[] names = {"a", "x", "lo", "hi"};
+
+        BisectFunctions(String name, int index, String doc) {
+            super(name, index, 2, 4, doc);
+        }
+
+        @Override
+        public PyObject getModule() {
+            return module;
+        }
+
+        @Override
+        public PyObject __call__(PyObject a, PyObject x) {
+            return call(a, x, 0, -1);
+        }
+
+        @Override
+        public PyObject __call__(PyObject a, PyObject x, PyObject lo) {
+            return call(a, x, lo.asIndex(), -1);
+        }
+
+        @Override
+        public PyObject __call__(PyObject a, PyObject x, PyObject lo, PyObject hi) {
+            return call(a, x, lo.asIndex(), high(hi));
+        }
+
+        @Override
+        public PyObject __call__(PyObject[] args, String[] kws) {
+            if (kws.length == 0) {
+                return super.__call__(args, kws);
+            }
+            ArgParser ap = new ArgParser(info.getName(), args, kws, names, 2);
+            return call(ap.getPyObject(0), ap.getPyObject(1), ap.getIndex(2, 0),
+                    high(ap.getPyObject(3, Py.None)));
+        }
+
+        /** The upper bound hi as an int, where -1 (or None) stands for the length. */
+        private static int high(PyObject hi) {
+            return hi == Py.None ? -1 : hi.asIndex();
+        }
+
+        private PyObject call(PyObject a, PyObject x, int lo, int hi) {
+            boolean right = index == 0 || index == 2;
+            int i = bisect(a, x, lo, hi, right);
+            if (index < 2) {
+                return Py.newInteger(i);
+            }
+            if (a.getType() == PyList.TYPE) {
+                ((PyList) a).insert(i, x);
+            } else {
+                a.invoke("insert", Py.newInteger(i), x);
+            }
+            return Py.None;
+        }
+    }
+
+    /**
+     * Return the index at which to insert x in the sorted sequence a, between lo and hi (or the
+     * length of a if hi is -1): after any items equal to x if right is true, and before
+     * them otherwise.
+     */
+    private static int bisect(PyObject a, PyObject x, int lo, int hi, boolean right) {
+        if (lo < 0) {
+            throw Py.ValueError("lo must be non-negative");
+        }
+        if (hi == -1) {
+            hi = a.__len__();
+        }
+        // Only a plain list may be read without calling its __getitem__
+        PyList list = a.getType() == PyList.TYPE ? (PyList) a : null;
+        while (lo < hi) {
+            // The unsigned shift keeps the sum from overflowing
+            int mid = (lo + hi) >>> 1;
+            PyObject item;
+            if (list != null && mid < list.size()) {
+                item = list.pyget(mid);
+            } else {
+                item = a.__getitem__(mid);
+            }
+            if (right) {
+                if (_heapq.lessThan(x, item)) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            } else {
+                if (_heapq.lessThan(item, x)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+        }
+        return lo;
+    }
+}
@@ -1,18 +1,131 @@
 package org.python.modules._collections;
 
+import java.util.Arrays;
+import java.util.Map;
+
 import org.python.core.ClassDictInit;
+import org.python.core.Py;
+import org.python.core.PyBuiltinFunction;
+import org.python.core.PyDictionary;
 import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PyTuple;
+import org.python.core.PyTupleDerived;
+import org.python.core.PyType;
+import org.python.core.Untraversable;
 
 /**
- * Collections - This module adds the ability to use high performance data 
+ * Collections - This module adds the ability to use high performance data
  *               structures.
  *               - deque:  ordered collection accessible from endpoints only
  *               - defaultdict:  dict subclass with a default value factory
+ *               - OrderedDict:  dict subclass that remembers insertion order
+ *               - _count_elements:  the counting loop of Counter
+ *               - _tuplegetter, _tuplenew:  the field accessors and the
+ *                 constructor of a namedtuple
  */
 public class Collections implements ClassDictInit {
 
     public static void classDictInit(PyObject dict) {
-        dict.__setitem__("deque", PyDeque.TYPE);  
+        dict.__setitem__("deque", PyDeque.TYPE);
         dict.__setitem__("defaultdict", PyDefaultDict.TYPE);
+        dict.__setitem__("OrderedDict", PyOrderedDict.TYPE);
+        dict.__setitem__("_tuplegetter", PyTupleGetter.TYPE);
+    }
+
+    public static PyString __doc___count_elements = new PyString(
+            "Count elements in the iterable, updating the mapping");
+
+    /**
+     * Add one to the count of each element of <code>iterable</code> in <code>mapping</code>, as
+     * <code>mapping[elem] = mapping.get(elem, 0) + 1</code> would. When the mapping is a dict (or
+     * a subclass such as <code>Counter</code>) that keeps the <code>get</code> and
+     * <code>__setitem__</code> of dict, the counts are updated in its map directly.
+     */
+    public static void _count_elements(PyObject mapping, PyObject iterable) {
+        PyObject one = Py.One;
+        if (mapping instanceof PyDictionary && isPlainDictAccess(mapping.getType())) {
+            Map<PyObject, PyObject> map = ((PyDictionary) mapping).getMap();
+            for (PyObject elem : iterable.asIterable()) {
+                PyObject count = map.get(elem);
+                map.put(elem, count == null ? one : count._add(one));
+            }
+        } else {
+            PyObject get = mapping.__getattr__("get");
+            PyObject zero = Py.Zero;
+            for (PyObject elem : iterable.asIterable()) {
+                mapping.__setitem__(elem, get.__call__(elem, zero)._add(one));
+            }
+        }
+    }
+
+    /** Whether <code>get</code> and <code>__setitem__</code> of type are those of dict. */
+    private static boolean isPlainDictAccess(PyType type) {
+        return type == PyDictionary.TYPE || type.lookup("get") == DICT_GET
+                && type.lookup("__setitem__") == DICT_SETITEM;
+    }
+
+    private static final PyObject DICT_GET = PyDictionary.TYPE.lookup("get");
+    private static final PyObject DICT_SETITEM = PyDictionary.TYPE.lookup("__setitem__");
+
+    /**
+     * <code>_tuplenew(cls, *items)</code>: make the tuple of a <code>namedtuple</code> from the
+     * arguments of its <code>__new__</code>, as <code>tuple.__new__(cls, items)</code> would, but
+     * without making and iterating a tuple of them. The calls with up to three items need no
+     * array of the arguments.
+     */
+    @Untraversable
+    private static class TupleNew extends PyBuiltinFunction {
+
+        TupleNew() {
+            super("_tuplenew",
+                    "_tuplenew(cls, *items) -> the namedtuple of type cls with these items");
+        }
+
+        @Override
+        public PyObject __call__(PyObject cls) {
+            return newTuple(cls, Py.EmptyObjects);
+        }
+
+        @Override
+        public PyObject __call__(PyObject cls, PyObject a) {
+            return newTuple(cls, new PyObject[] {a});
+        }
+
+        @Override
+        public PyObject __call__(PyObject cls, PyObject a, PyObject b) {
+            return newTuple(cls, new PyObject[] {a, b});
+        }
+
+        @Override
+        public PyObject __call__(PyObject cls, PyObject a, PyObject b, PyObject c) {
+            return newTuple(cls, new PyObject[] {a, b, c});
+        }
+
+        @Override
+        public PyObject __call__(PyObject[] args, String[] keywords) {
+            if (args.length < 1 || keywords.length != 0) {
+                throw Py.TypeError("_tuplenew() takes a type and positional items only");
+            }
+            return newTuple(args[0], Arrays.copyOfRange(args, 1, args.length));
+        }
+    }
+
+    public static final PyObject _tuplenew = new TupleNew();
+
+    /** The tuple of type <code>cls</code> of the items, as tuple.__new__(cls, items). */
+    private static PyObject newTuple(PyObject cls, PyObject[] items) {
+        if (!(cls instanceof PyType)) {
+            throw Py.TypeError(String.format("tuple.__new__(X): X is not a type object (%s)",
+                    cls.getType().fastGetName()));
+        }
+        PyType type = (PyType) cls;
+        if (type == PyTuple.TYPE) {
+            return new PyTuple(items, false);
+        } else if (!type.isSubType(PyTuple.TYPE)) {
+            throw Py.TypeError(String.format("tuple.__new__(%s): %s is not a subtype of tuple",
+                    type.fastGetName(), type.fastGetName()));
+        }
+        return new PyTupleDerived(type, items);
     }
 }
@@ -0,0 +1,336 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.python.core.PyObject;
+import org.python.util.Generic;
+
+/**
+ * The storage of an {@link PyOrderedDict}: a concurrent map that remembers the order in which its
+ * keys were first inserted. A hash index finds the node of a key without locking, and the nodes
+ * form a circular doubly linked list through a sentinel. Changes to the list are made while
+ * holding the lock of the map.
+ * <p>
+ * Iteration is weakly consistent, like that of the <code>ConcurrentHashMap</code> behind a
+ * <code>dict</code>: a removed node keeps its links, so an iterator standing on it still finds its
+ * way to the nodes that follow, and never sees the same key twice.
+ */
+final class OrderedMap extends AbstractMap<PyObject, PyObject>
+        implements ConcurrentMap<PyObject, PyObject> {
+
+    /** A key and its value, linked to the nodes inserted before and after it. */
+    static final class Node implements Map.Entry<PyObject, PyObject> {
+
+        final PyObject key;
+        volatile PyObject value;
+        volatile Node prev, next;
+        volatile boolean removed;
+
+        Node(PyObject key, PyObject value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public PyObject getKey() {
+            return key;
+        }
+
+        @Override
+        public PyObject getValue() {
+            return value;
+        }
+
+        @Override
+        public PyObject setValue(PyObject value) {
+            PyObject old = this.value;
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return key.equals(e.getKey()) && value.equals(e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    private final ConcurrentHashMap<PyObject, Node> index;
+    /** The sentinel: its next node is the first in order, and its previous node the last. */
+    private final Node root;
+    private Set<Map.Entry<PyObject, PyObject>> entrySet;
+
+    OrderedMap() {
+        index = new ConcurrentHashMap<PyObject, Node>(Generic.CHM_INITIAL_CAPACITY,
+                Generic.CHM_LOAD_FACTOR, Generic.CHM_CONCURRENCY_LEVEL);
+        root = new Node(null, null);
+        root.prev = root.next = root;
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return index.containsKey(key);
+    }
+
+    @Override
+    public PyObject get(Object key) {
+        Node node = index.get(key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public synchronized PyObject put(PyObject key, PyObject value) {
+        Node node = index.get(key);
+        if (node != null) {
+            return node.setValue(value);
+        }
+        link(key, value);
+        return null;
+    }
+
+    @Override
+    public synchronized PyObject putIfAbsent(PyObject key, PyObject value) {
+        Node node = index.get(key);
+        if (node != null) {
+            return node.value;
+        }
+        link(key, value);
+        return null;
+    }
+
+    @Override
+    public synchronized PyObject remove(Object key) {
+        Node node = index.remove(key);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        return node.value;
+    }
+
+    @Override
+    public synchronized boolean remove(Object key, Object value) {
+        Node node = index.get(key);
+        if (node == null || !node.value.equals(value)) {
+            return false;
+        }
+        index.remove(key);
+        unlink(node);
+        return true;
+    }
+
+    @Override
+    public synchronized PyObject replace(PyObject key, PyObject value) {
+        Node node = index.get(key);
+        return node == null ? null : node.setValue(value);
+    }
+
+    @Override
+    public synchronized boolean replace(PyObject key, PyObject oldValue, PyObject newValue) {
+        Node node = index.get(key);
+        if (node == null || !node.value.equals(oldValue)) {
+            return false;
+        }
+        node.value = newValue;
+        return true;
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (Node node = root.next; node != root; node = node.next) {
+            node.removed = true;
+        }
+        index.clear();
+        root.prev = root.next = root;
+    }
+
+    /**
+     * Remove and return the first node (or the last, if <code>last</code> is true) in order, or
+     * return <code>null</code> if the map is empty.
+     */
+    synchronized Node poll(boolean last) {
+        Node node = last ? root.prev : root.next;
+        if (node == root) {
+            return null;
+        }
+        index.remove(node.key);
+        unlink(node);
+        return node;
+    }
+
+    /** Append a new node to the list and the index. The caller holds the lock. */
+    private void link(PyObject key, PyObject value) {
+        Node node = new Node(key, value);
+        Node last = root.prev;
+        node.prev = last;
+        node.next = root;
+        index.put(key, node);
+        last.next = node;
+        root.prev = node;
+    }
+
+    /**
+     * Take a node out of the list, leaving its own links in place for any iterator standing on it.
+     * The caller holds the lock.
+     */
+    private static void unlink(Node node) {
+        node.removed = true;
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+    }
+
+    @Override
+    public Set<Map.Entry<PyObject, PyObject>> entrySet() {
+        Set<Map.Entry<PyObject, PyObject>> es = entrySet;
+        if (es == null) {
+            entrySet = es = new AbstractSet<Map.Entry<PyObject, PyObject>>() {
+
+                @Override
+                public Iterator<Map.Entry<PyObject, PyObject>> iterator() {
+                    return new NodeIterator<Map.Entry<PyObject, PyObject>>(false) {
+
+                        @Override
+                        Map.Entry<PyObject, PyObject> valueOf(Node node) {
+                            return node;
+                        }
+                    };
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    if (!(o instanceof Map.Entry)) {
+                        return false;
+                    }
+                    Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+                    Node node = index.get(e.getKey());
+                    return node != null && node.value.equals(e.getValue());
+                }
+
+                @Override
+                public boolean remove(Object o) {
+                    if (!(o instanceof Map.Entry)) {
+                        return false;
+                    }
+                    Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+                    return OrderedMap.this.remove(e.getKey(), e.getValue());
+                }
+
+                @Override
+                public int size() {
+                    return index.size();
+                }
+
+                @Override
+                public void clear() {
+                    OrderedMap.this.clear();
+                }
+            };
+        }
+        return es;
+    }
+
+    /** An iterator over the keys, from the last inserted to the first. */
+    Iterator<PyObject> descendingKeys() {
+        return new NodeIterator<PyObject>(true) {
+
+            @Override
+            PyObject valueOf(Node node) {
+                return node.key;
+            }
+        };
+    }
+
+    /**
+     * Walk the list in one direction, skipping removed nodes. The next node is found only when it
+     * is asked for, so that keys added during the iteration are seen, as they would be by the
+     * linked list of the Python implementation.
+     */
+    private abstract class NodeIterator<T> implements Iterator<T> {
+
+        private final boolean reverse;
+        /** The node last returned, or the sentinel at the start. */
+        private Node current = root;
+        /** The node to return next, if it has been found. */
+        private Node pending;
+
+        NodeIterator(boolean reverse) {
+            this.reverse = reverse;
+        }
+
+        abstract T valueOf(Node node);
+
+        private Node advance() {
+            Node node = pending;
+            if (node == null || node.removed) {
+                if (node == null) {
+                    node = current;
+                }
+                do {
+                    node = reverse ? node.prev : node.next;
+                } while (node != root && node.removed);
+                pending = node;
+            }
+            return pending;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return advance() != root;
+        }
+
+        @Override
+        public T next() {
+            Node node = advance();
+            if (node == root) {
+                throw new NoSuchElementException();
+            }
+            current = node;
+            pending = null;
+            return valueOf(node);
+        }
+
+        @Override
+        public void remove() {
+            if (current == root) {
+                throw new IllegalStateException();
+            }
+            synchronized (OrderedMap.this) {
+                if (!current.removed) {
+                    index.remove(current.key);
+                    unlink(current);
+                }
+            }
+        }
+    }
+}
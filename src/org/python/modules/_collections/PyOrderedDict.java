@@ -0,0 +1,310 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._collections;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.python.core.AbstractDict;
+import org.python.core.ArgParser;
+import org.python.core.Py;
+import org.python.core.PyBuiltinCallable;
+import org.python.core.PyDictionary;
+import org.python.core.PyIterator;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.python.core.PyStringMap;
+import org.python.core.PyTuple;
+import org.python.core.PyType;
+import org.python.core.ThreadState;
+import org.python.core.Visitproc;
+import org.python.expose.ExposedGet;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedNew;
+import org.python.expose.ExposedSet;
+import org.python.expose.ExposedType;
+import org.python.expose.MethodType;
+
+/**
+ * PyOrderedDict - A subclass of the builtin dict(PyDictionary) class that remembers the order in
+ * which its keys were first inserted. It replaces the Python implementation in
+ * <code>collections</code>, with the same behaviour: iteration, the lists of keys, values and
+ * items, <code>popitem</code>, <code>repr</code> and pickling all follow the order of insertion,
+ * and comparison with another OrderedDict is order-sensitive.
+ *
+ * The order is kept by the {@link OrderedMap} that backs the dictionary, so the inherited dict
+ * methods are order-aware without being overridden, and lookup costs the same as in a dict.
+ */
+@ExposedType(name = "collections.OrderedDict")
+public class PyOrderedDict extends PyDictionary {
+
+    public static final PyType TYPE = PyType.fromClass(PyOrderedDict.class);
+
+    /** The instance dictionary, created when an attribute is first set. */
+    private PyObject __dict__;
+
+    public PyOrderedDict() {
+        this(TYPE);
+    }
+
+    public PyOrderedDict(PyType subtype) {
+        super(subtype, new OrderedMap(), true);
+    }
+
+    public PyOrderedDict(PyType subtype, Map<PyObject, PyObject> map) {
+        this(subtype);
+        getMap().putAll(map);
+    }
+
+    private OrderedMap orderedMap() {
+        return (OrderedMap) getMap();
+    }
+
+    @ExposedMethod
+    @ExposedNew
+    final void OrderedDict___init__(PyObject[] args, String[] kwds) {
+        OrderedDict_update(args, kwds);
+    }
+
+    @Override
+    public void update(PyObject other) {
+        OrderedDict_update(new PyObject[] {other}, Py.NoKeywords);
+    }
+
+    /**
+     * Update from a mapping or a sequence of pairs, then from the keywords. In a subclass this
+     * goes through <code>__setitem__</code>, as <code>MutableMapping.update</code> does in the
+     * Python implementation, so that an override of it sees every item.
+     */
+    @ExposedMethod
+    final void OrderedDict_update(PyObject[] args, String[] kwds) {
+        if (getType() == TYPE) {
+            updateCommon(args, kwds, "update");
+            return;
+        }
+        int nargs = args.length - kwds.length;
+        if (nargs > 1) {
+            throw PyBuiltinCallable.DefaultInfo.unexpectedCall(nargs, false, "update", 0, 1);
+        }
+        if (nargs == 1) {
+            PyObject other = args[0];
+            if (other.__findattr__("keys") != null) {
+                for (PyObject key : other.invoke("keys").asIterable()) {
+                    __setitem__(key, other.__getitem__(key));
+                }
+            } else {
+                for (PyObject pair : other.asIterable()) {
+                    PyObject[] item = Py.unpackSequence(pair, 2);
+                    __setitem__(item[0], item[1]);
+                }
+            }
+        }
+        for (int i = 0; i < kwds.length; i++) {
+            __setitem__(Py.newString(kwds[i]), args[nargs + i]);
+        }
+    }
+
+    public PyObject __reversed__() {
+        return OrderedDict___reversed__();
+    }
+
+    @ExposedMethod
+    final PyObject OrderedDict___reversed__() {
+        final Iterator<PyObject> keys = orderedMap().descendingKeys();
+        return new PyIterator() {
+
+            @Override
+            public PyObject __iternext__() {
+                return keys.hasNext() ? keys.next() : null;
+            }
+        };
+    }
+
+    @Override
+    public PyObject popitem() {
+        return OrderedDict_popitem(true);
+    }
+
+    /**
+     * Remove and return a (key, value) pair: the last inserted if <code>last</code> is true, and
+     * otherwise the first.
+     */
+    public PyObject popitem(boolean last) {
+        return OrderedDict_popitem(last);
+    }
+
+    @ExposedMethod(names = "popitem")
+    final PyObject OrderedDict_popitem(PyObject[] args, String[] kwds) {
+        ArgParser ap = new ArgParser("popitem", args, kwds, "last");
+        return OrderedDict_popitem(ap.getPyObject(0, Py.True).__nonzero__());
+    }
+
+    final PyObject OrderedDict_popitem(boolean last) {
+        OrderedMap.Node node = orderedMap().poll(last);
+        if (node == null) {
+            throw Py.KeyError("dictionary is empty");
+        }
+        return new PyTuple(node.key, node.value);
+    }
+
+    @Override
+    public PyObject __eq__(PyObject other) {
+        return OrderedDict___eq__(other);
+    }
+
+    /**
+     * Comparison to another OrderedDict is order-sensitive, while comparison to any other dict is
+     * order-insensitive.
+     */
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject OrderedDict___eq__(PyObject other) {
+        if (!(other instanceof PyDictionary)) {
+            return null;
+        }
+        Map<PyObject, PyObject> map = getMap();
+        Map<PyObject, PyObject> otherMap = ((PyDictionary) other).getMap();
+        if (map.size() != otherMap.size()) {
+            return Py.False;
+        }
+        if (other instanceof PyOrderedDict) {
+            Iterator<Map.Entry<PyObject, PyObject>> it = otherMap.entrySet().iterator();
+            for (Map.Entry<PyObject, PyObject> entry : map.entrySet()) {
+                if (!it.hasNext()) {
+                    return Py.False;
+                }
+                Map.Entry<PyObject, PyObject> otherEntry = it.next();
+                if (!entry.getKey().equals(otherEntry.getKey())
+                        || !entry.getValue()._eq(otherEntry.getValue()).__nonzero__()) {
+                    return Py.False;
+                }
+            }
+            return it.hasNext() ? Py.False : Py.True;
+        }
+        for (Map.Entry<PyObject, PyObject> entry : map.entrySet()) {
+            PyObject value = other.__finditem__(entry.getKey());
+            if (value == null || !entry.getValue()._eq(value).__nonzero__()) {
+                return Py.False;
+            }
+        }
+        return Py.True;
+    }
+
+    @Override
+    public PyObject __ne__(PyObject other) {
+        return OrderedDict___ne__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject OrderedDict___ne__(PyObject other) {
+        PyObject eq = OrderedDict___eq__(other);
+        return eq == null ? null : eq.__not__();
+    }
+
+    @Override
+    public PyDictionary copy() {
+        return (PyDictionary) OrderedDict_copy();
+    }
+
+    @ExposedMethod
+    final PyObject OrderedDict_copy() {
+        if (getType() == TYPE) {
+            return new PyOrderedDict(TYPE, getMap());
+        }
+        return getType().__call__(this);
+    }
+
+    @Override
+    public PyObject __reduce__() {
+        return OrderedDict___reduce__();
+    }
+
+    @ExposedMethod
+    final PyObject OrderedDict___reduce__() {
+        PyList items = new PyList();
+        for (Map.Entry<PyObject, PyObject> entry : getMap().entrySet()) {
+            items.append(new PyList(new PyObject[] {entry.getKey(), entry.getValue()}));
+        }
+        PyTuple args = new PyTuple(items);
+        PyObject dict = fastGetDict();
+        if (dict != null && dict.__nonzero__()) {
+            return new PyTuple(getType(), args, dict.invoke("copy"));
+        }
+        return new PyTuple(getType(), args);
+    }
+
+    @Override
+    public PyObject fastGetDict() {
+        return __dict__;
+    }
+
+    @Override
+    @ExposedGet(name = "__dict__")
+    public PyObject getDict() {
+        ensureDict();
+        return __dict__;
+    }
+
+    @Override
+    @ExposedSet(name = "__dict__")
+    public void setDict(PyObject value) {
+        if (!(value instanceof AbstractDict)) {
+            throw Py.TypeError("__dict__ must be set to a dictionary");
+        }
+        __dict__ = value;
+    }
+
+    private void ensureDict() {
+        if (__dict__ == null) {
+            __dict__ = new PyStringMap();
+        }
+    }
+
+    @Override
+    public void __setattr__(String name, PyObject value) {
+        OrderedDict___setattr__(name, value);
+    }
+
+    @ExposedMethod
+    final void OrderedDict___setattr__(String name, PyObject value) {
+        if (fastGetDict() == null) {
+            ensureDict();
+        }
+        super.__setattr__(name, value);
+    }
+
+    @Override
+    public String toString() {
+        return OrderedDict_toString();
+    }
+
+    @ExposedMethod(names = {"__repr__", "__str__"})
+    final String OrderedDict_toString() {
+        String name = getType().getName();
+        ThreadState ts = Py.getThreadState();
+        if (!ts.enterRepr(this)) {
+            return "...";
+        }
+        try {
+            if (getMap().isEmpty()) {
+                return name + "()";
+            }
+            return name + "(" + items().__repr__() + ")";
+        } finally {
+            ts.exitRepr(this);
+        }
+    }
+
+    /* Traverseproc implementation */
+    @Override
+    public int traverse(Visitproc visit, Object arg) {
+        int retVal = super.traverse(visit, arg);
+        if (retVal != 0) {
+            return retVal;
+        }
+        return __dict__ == null ? 0 : visit.visit(__dict__, arg);
+    }
+
+    @Override
+    public boolean refersDirectlyTo(PyObject ob) {
+        return ob != null && (ob == __dict__ || super.refersDirectlyTo(ob));
+    }
+}
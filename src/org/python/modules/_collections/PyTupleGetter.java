@@ -0,0 +1,115 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._collections;
+
+import org.python.core.ArgParser;
+import org.python.core.Py;
+import org.python.core.PyNewWrapper;
+import org.python.core.PyObject;
+import org.python.core.PyTuple;
+import org.python.core.PyType;
+import org.python.core.Traverseproc;
+import org.python.core.Visitproc;
+import org.python.expose.ExposedGet;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedNew;
+import org.python.expose.ExposedSet;
+import org.python.expose.ExposedType;
+
+/**
+ * The accessor of a field of a <code>namedtuple</code>: a read-only data descriptor that returns
+ * the item at its index of the tuple it is read from, which it reads directly from the array of
+ * the tuple. It stands for the <code>property(itemgetter(index))</code> of the Python template.
+ */
+@ExposedType(name = "_collections._tuplegetter", isBaseType = false)
+public class PyTupleGetter extends PyObject implements Traverseproc {
+
+    public static final PyType TYPE = PyType.fromClass(PyTupleGetter.class);
+
+    private final int index;
+
+    private PyObject doc;
+
+    public PyTupleGetter(int index, PyObject doc) {
+        super(TYPE);
+        this.index = index;
+        this.doc = doc;
+    }
+
+    @ExposedNew
+    static PyObject _tuplegetter___new__(PyNewWrapper new_, boolean init, PyType subtype,
+            PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("_tuplegetter", args, keywords, "index", "doc");
+        int index = ap.getIndex(0);
+        if (index < 0) {
+            throw Py.ValueError("index must not be negative");
+        }
+        return new PyTupleGetter(index, ap.getPyObject(1));
+    }
+
+    @ExposedGet(name = "__doc__")
+    public PyObject getDoc() {
+        return doc;
+    }
+
+    @ExposedSet(name = "__doc__")
+    public void setDoc(PyObject doc) {
+        this.doc = doc;
+    }
+
+    @Override
+    public PyObject __get__(PyObject obj, PyObject type) {
+        return _tuplegetter___get__(obj, type);
+    }
+
+    @ExposedMethod(defaults = "null")
+    final PyObject _tuplegetter___get__(PyObject obj, PyObject type) {
+        if (obj == null || obj == Py.None) {
+            return this;
+        } else if (!(obj instanceof PyTuple)) {
+            throw Py.TypeError(String.format(
+                    "descriptor for index '%d' for tuple subclasses doesn't apply to '%s' object",
+                    index, obj.getType().fastGetName()));
+        }
+        PyObject[] array = ((PyTuple) obj).getArray();
+        if (index >= array.length) {
+            throw Py.IndexError("tuple index out of range");
+        }
+        return array[index];
+    }
+
+    @Override
+    public void __set__(PyObject obj, PyObject value) {
+        _tuplegetter___set__(obj, value);
+    }
+
+    @ExposedMethod
+    final void _tuplegetter___set__(PyObject obj, PyObject value) {
+        throw Py.AttributeError("can't set attribute");
+    }
+
+    @Override
+    public void __delete__(PyObject obj) {
+        _tuplegetter___delete__(obj);
+    }
+
+    @ExposedMethod
+    final void _tuplegetter___delete__(PyObject obj) {
+        throw Py.AttributeError("can't delete attribute");
+    }
+
+    @ExposedMethod
+    final PyObject _tuplegetter___reduce__() {
+        return new PyTuple(TYPE, new PyTuple(Py.newInteger(index), doc));
+    }
+
+    /* Traverseproc implementation */
+    @Override
+    public int traverse(Visitproc visit, Object arg) {
+        return doc != null ? visit.visit(doc, arg) : 0;
+    }
+
+    @Override
+    public boolean refersDirectlyTo(PyObject ob) {
+        return ob != null && ob == doc;
+    }
+}
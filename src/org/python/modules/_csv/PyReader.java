@@ -1,19 +1,34 @@
 /* Copyright (c) Jython Developers */
 package org.python.modules._csv;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.python.core.Py;
+import org.python.core.PyBUF;
+import org.python.core.PyBuffer;
+import org.python.core.PyByteArray;
 import org.python.core.PyIterator;
 import org.python.core.PyList;
 import org.python.core.PyObject;
 import org.python.core.PyString;
+import org.python.core.PyTuple;
 import org.python.core.PyType;
 import org.python.core.Visitproc;
 import org.python.expose.ExposedGet;
 import org.python.expose.ExposedType;
+import org.python.modules._io.PyFileIO;
 
 /**
  * CSV file reader.
  *
  * Analogous to CPython's _csv.c::ReaderObj struct.
+ * <p>
+ * Within a line, runs of ordinary characters are added to the field in bulk. When the input is a
+ * seekable, read-only <code>_io.FileIO</code>, whose own lines are read a byte at a time, the
+ * reader reads it in large blocks and divides them into lines itself. Between rows it moves the
+ * file back to the end of the last row, so that the file is where iteration would have left it.
  */
 @ExposedType(name = "_csv.reader", doc = PyReader.reader_doc)
 public class PyReader extends PyIterator {
@@ -37,37 +52,98 @@ public class PyReader extends PyIterator {
     /** The underlying input iterator. */
     private PyObject input_iter;
 
+    /** The file read in blocks, or <code>null</code> to read lines from the iterator. */
+    private PyFileIO raw;
+
+    /** Receives each block read from {@link #raw}. */
+    private PyByteArray block;
+
+    /** The position in {@link #raw} of the end of the block in {@link #buf}. */
+    private long blockEnd;
+
+    /** Whether rows are returned as tuples rather than lists. */
+    private final boolean tuples;
+
     /** Current CSV parse state. */
     private ParserState state = ParserState.START_RECORD;
 
     /** Field list for current record. */
-    private PyList fields = new PyList();
+    private List<PyObject> fields = new ArrayList<PyObject>();
 
-    /** Current field builder in here. */
-    private StringBuffer field = new StringBuffer(INITIAL_BUILDER_CAPACITY);
+    /** Current field builder in here, emptied (not replaced) as each field is saved. */
+    private final StringBuilder field = new StringBuilder(INITIAL_BUILDER_CAPACITY);
 
     /** Whether the field should be treated as numeric. */
     private boolean numeric_field = false;
 
+    /** The characters being parsed: a block of the file, or the current line. */
+    private char[] buf = new char[INITIAL_BUILDER_CAPACITY];
+
+    /** The position of the next character in {@link #buf}, and the end of the valid ones. */
+    private int pos, limit;
+
     /** Initial capacity of the field StringBuilder. */
     private static final int INITIAL_BUILDER_CAPACITY = 4096;
 
+    /** Size of the blocks read from a file. */
+    private static final int BLOCK_SIZE = 64 * 1024;
+
     public PyReader(PyObject input_iter, PyDialect dialect) {
+        this(input_iter, dialect, false);
+    }
+
+    public PyReader(PyObject input_iter, PyDialect dialect, boolean tuples) {
         this.input_iter = input_iter;
         this.dialect = dialect;
+        this.tuples = tuples;
+        // A subclass may redefine how lines are read, so only the exact type qualifies
+        if (input_iter.getType() == PyFileIO.TYPE) {
+            PyFileIO file = (PyFileIO) input_iter;
+            if (file.seekable() && !file.writable()) {
+                raw = file;
+                block = new PyByteArray(BLOCK_SIZE);
+                buf = new char[BLOCK_SIZE];
+            }
+        }
     }
 
     public PyObject __iternext__() {
-        PyObject lineobj;
-        PyObject fields;
-        String line;
-        char c;
-        int linelen;
-
         parse_reset();
+        if (raw == null) {
+            if (!parse_record()) {
+                return null;
+            }
+        } else {
+            resume_block();
+            try {
+                if (!parse_record()) {
+                    return null;
+                }
+            } finally {
+                suspend_block();
+            }
+        }
+
+        PyObject row;
+        if (tuples) {
+            row = new PyTuple(fields.toArray(new PyObject[fields.size()]), false);
+            fields.clear();
+        } else {
+            row = PyList.fromList(fields);
+            fields = new ArrayList<PyObject>();
+        }
+        return row;
+    }
+
+    /**
+     * Parse the lines of the next record into {@link #fields}.
+     *
+     * @return <code>false</code> at the end of the input
+     */
+    private boolean parse_record() {
         do {
-            lineobj = input_iter.__iternext__();
-            if (lineobj == null) {
+            boolean more = raw != null ? parse_next_block_line() : parse_next_line();
+            if (!more) {
                 // End of input OR exception
                 if (field.length() != 0 || state == ParserState.IN_QUOTED_FIELD) {
                     if (dialect.strict) {
@@ -77,27 +153,147 @@ public class PyReader extends PyIterator {
                         break;
                     }
                 }
-                return null;
+                return false;
             }
+        } while (state != ParserState.START_RECORD);
+        return true;
+    }
 
-            line_num++;
-            line = lineobj.toString();
-            linelen = line.length();
+    /**
+     * Parse the next line from the input iterator, including the end of line.
+     *
+     * @return <code>false</code> at the end of the input
+     */
+    private boolean parse_next_line() {
+        PyObject lineobj = input_iter.__iternext__();
+        if (lineobj == null) {
+            return false;
+        }
+        line_num++;
+        String line = lineobj.toString();
+        int linelen = line.length();
+        if (linelen > buf.length) {
+            buf = new char[Math.max(linelen, 2 * buf.length)];
+        }
+        line.getChars(0, linelen, buf, 0);
+        parse_chars(0, linelen);
+        parse_process_char('\0');
+        return true;
+    }
 
-            for (int i = 0; i < linelen; i++) {
-                c = line.charAt(i);
-                if (c == '\0') {
-                    throw _csv.Error("line contains NULL byte");
+    /**
+     * Parse the next line from the blocks of the file, including the end of line. A line ends
+     * after a <code>'\n'</code>, as when iterating the file, and may span several blocks.
+     *
+     * @return <code>false</code> at the end of the input
+     */
+    private boolean parse_next_block_line() {
+        if (pos >= limit && !fill()) {
+            return false;
+        }
+        line_num++;
+        while (true) {
+            int end = pos;
+            while (end < limit && buf[end] != '\n') {
+                end++;
+            }
+            if (end < limit) {
+                parse_chars(pos, end + 1);
+                pos = end + 1;
+                break;
+            }
+            parse_chars(pos, limit);
+            pos = limit;
+            if (!fill()) {
+                // The last line has no end of line
+                break;
+            }
+        }
+        parse_process_char('\0');
+        return true;
+    }
+
+    /** Read the next block of the file into {@link #buf}, returning <code>false</code> at EOF. */
+    private boolean fill() {
+        pos = limit = 0;
+        PyObject n = raw.readinto(block);
+        if (n != Py.None) {
+            // Otherwise a non-blocking file has no data, which iteration treats as the end
+            int count = n.asInt();
+            try (PyBuffer view = block.getBuffer(PyBUF.SIMPLE)) {
+                ByteBuffer bb = view.getNIOByteBuffer();
+                for (int i = 0; i < count; i++) {
+                    buf[i] = (char) (bb.get() & 0xff);
                 }
+            }
+            limit = count;
+        }
+        blockEnd = raw.tell();
+        return limit > 0;
+    }
+
+    /**
+     * Continue with the rest of the block, if the file is where {@link #suspend_block()} left it,
+     * moving the file to the end of the block. If something else has moved the file, the block is
+     * discarded.
+     */
+    private void resume_block() {
+        if (pos < limit) {
+            if (raw.tell() == blockEnd - (limit - pos)) {
+                raw.seek(blockEnd, 0);
+            } else {
+                pos = limit;
+            }
+        }
+    }
+
+    /** Move the file back from the end of the block to the first character not parsed. */
+    private void suspend_block() {
+        if (pos < limit) {
+            raw.seek(blockEnd - (limit - pos), 0);
+        }
+    }
+
+    /** Parse the characters <code>buf[start:end]</code>, all in one line. */
+    private void parse_chars(int start, int end) {
+        char[] buf = this.buf;
+        int i = start;
+        while (i < end) {
+            char c = buf[i];
+            if (c == '\0') {
+                throw _csv.Error("line contains NULL byte");
+            }
+            int run = i;
+            if (state == ParserState.IN_FIELD) {
+                while (run < end && !special_in_field(buf[run])) {
+                    run++;
+                }
+            } else if (state == ParserState.IN_QUOTED_FIELD) {
+                while (run < end && !special_in_quoted_field(buf[run])) {
+                    run++;
+                }
+            }
+            if (run > i) {
+                // Ordinary characters in a field: add them at once
+                parse_add_chars(buf, i, run - i);
+                i = run;
+            } else {
                 parse_process_char(c);
+                i++;
             }
-            parse_process_char('\0');
-        } while (state != ParserState.START_RECORD);
+        }
+    }
 
-        fields = this.fields;
-        this.fields = new PyList();
+    /** Whether the character does something other than join the field in state IN_FIELD. */
+    private boolean special_in_field(char c) {
+        return c == dialect.delimiter || c == '\n' || c == '\r' || c == '\0'
+                || c == dialect.escapechar;
+    }
 
-        return fields;
+    /** Whether the character does something other than join the field in IN_QUOTED_FIELD. */
+    private boolean special_in_quoted_field(char c) {
+        return c == '\0' || c == dialect.escapechar
+                || (c == dialect.quotechar && dialect.quoting != QuoteStyle.QUOTE_NONE);
     }
 
     @SuppressWarnings("fallthrough")
@@ -238,7 +434,7 @@ public class PyReader extends PyIterator {
     }
 
     private void parse_reset() {
-        fields = new PyList();
+        fields.clear();
         state = ParserState.START_RECORD;
         numeric_field = false;
     }
@@ -251,10 +447,8 @@ public class PyReader extends PyIterator {
             numeric_field = false;
             field = field.__float__();
         }
-        fields.append(field);
-
-        // XXX: fastest way to clear StringBuffer?
-        this.field = new StringBuffer(INITIAL_BUILDER_CAPACITY);
+        fields.add(field);
+        this.field.setLength(0);
     }
 
     private void parse_add_char(char c) {
@@ -266,6 +460,14 @@ public class PyReader extends PyIterator {
         field.append(c);
     }
 
+    private void parse_add_chars(char[] chars, int start, int count) {
+        if (field.length() + count > _csv.field_limit) {
+            throw _csv.Error(String.format("field larger than field limit (%d)",
+                                           _csv.field_limit));
+        }
+        field.append(chars, start, count);
+    }
+
     /**
      * State of the CSV reader.
      */
@@ -274,7 +476,6 @@ public class PyReader extends PyIterator {
         QUOTE_IN_QUOTED_FIELD, EAT_CRNL;
     }
 
-
     /* Traverseproc implementation */
     @Override
     public int traverse(Visitproc visit, Object arg) {
@@ -294,12 +495,18 @@ public class PyReader extends PyIterator {
                 return retVal;
             }
         }
-        return fields != null ? visit.visit(fields, arg) : 0;
+        for (PyObject field : fields) {
+            retVal = visit.visit(field, arg);
+            if (retVal != 0) {
+                return retVal;
+            }
+        }
+        return 0;
     }
 
     @Override
     public boolean refersDirectlyTo(PyObject ob) {
-        return ob == null && (ob == fields || ob == dialect
+        return ob == null && (fields.contains(ob) || ob == dialect
             || ob == input_iter || super.refersDirectlyTo(ob));
     }
 }
@@ -77,7 +77,9 @@ public class _csv implements ClassDictInit {
         "        True, two consecutive quotes are interpreted as one during read,\n" +
         "        and when writing, each quote character embedded in the data is\n" +
         "        written as two quotes\n" +
-        "\n");
+        "\n" +
+        "In Jython, reader() also accepts tuples=True, to return each row as a\n" +
+        "tuple rather than a list.\n");
 
     // XXX: should be per PySystemState
     /** Dialect registry. */
@@ -144,10 +146,27 @@ public class _csv implements ClassDictInit {
     }
 
     public static PyObject reader(PyObject[] args, String[] keywords) {
+        // The keyword tuples (a Jython extension) belongs to the reader, not the dialect
+        boolean tuples = false;
+        int argc = args.length - keywords.length;
+        for (int i = 0; i < keywords.length; i++) {
+            if (keywords[i].equals("tuples")) {
+                tuples = args[argc + i].__nonzero__();
+                PyObject[] otherArgs = new PyObject[args.length - 1];
+                System.arraycopy(args, 0, otherArgs, 0, argc + i);
+                System.arraycopy(args, argc + i + 1, otherArgs, argc + i, keywords.length - i - 1);
+                String[] otherKeywords = new String[keywords.length - 1];
+                System.arraycopy(keywords, 0, otherKeywords, 0, i);
+                System.arraycopy(keywords, i + 1, otherKeywords, i, keywords.length - i - 1);
+                args = otherArgs;
+                keywords = otherKeywords;
+                break;
+            }
+        }
         ArgParser ap = parseArgs("reader", args, keywords);
         PyObject iterator = Py.iter(ap.getPyObject(0), "argument 1 must be an iterator");
         PyObject dialect = ap.getPyObject(1, null);
-        return new PyReader(iterator, dialectFromKwargs(dialect, args, keywords));
+        return new PyReader(iterator, dialectFromKwargs(dialect, args, keywords), tuples);
     }
 
     public static PyObject writer(PyObject[] args, String[] keywords) {
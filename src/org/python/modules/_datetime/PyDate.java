@@ -0,0 +1,462 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._datetime;
+
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import org.python.core.ArgParser;
+import org.python.core.Py;
+import org.python.core.PyNewWrapper;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PyTuple;
+import org.python.core.PyType;
+import org.python.core.Untraversable;
+import org.python.expose.ExposedClassMethod;
+import org.python.expose.ExposedGet;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedNew;
+import org.python.expose.ExposedType;
+import org.python.expose.MethodType;
+import org.python.modules.time.Time;
+
+/**
+ * <code>datetime.date</code>: a date in the proleptic Gregorian calendar.
+ */
+@Untraversable
+@ExposedType(name = "datetime.date", base = PyObject.class)
+public class PyDate extends PyObject {
+
+    public static final PyType TYPE = PyType.fromClass(PyDate.class);
+
+    static {
+        TYPE.fastGetDict().__setitem__("min", new PyDate(1, 1, 1));
+        TYPE.fastGetDict().__setitem__("max", new PyDate(9999, 12, 31));
+        TYPE.fastGetDict().__setitem__("resolution", new PyTimedelta(1, 0, 0));
+    }
+
+    @ExposedGet
+    public final int year;
+
+    @ExposedGet
+    public final int month;
+
+    @ExposedGet
+    public final int day;
+
+    public PyDate(int year, int month, int day) {
+        this(TYPE, year, month, day);
+    }
+
+    public PyDate(PyType subtype, int year, int month, int day) {
+        super(subtype);
+        this.year = year;
+        this.month = month;
+        this.day = day;
+    }
+
+    @ExposedNew
+    static PyObject date___new__(PyNewWrapper new_, boolean init, PyType subtype,
+            PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("date", args, keywords, new String[] {"year", "month",
+                "day"}, 1);
+        PyObject year = ap.getPyObject(0);
+        PyObject month = ap.getPyObject(1, Py.None);
+        int[] ymd;
+        if (month == Py.None && _datetime.isBytes(year) && year.__len__() == 4
+                && isMonth(year.toString().charAt(2))) {
+            // Pickled state
+            String state = year.toString();
+            ymd = new int[] {state.charAt(0) * 256 + state.charAt(1), state.charAt(2),
+                    state.charAt(3)};
+        } else {
+            ymd = _datetime.checkDateFields(year, month, ap.getPyObject(2, Py.None));
+        }
+        if (new_.for_type == subtype) {
+            return new PyDate(ymd[0], ymd[1], ymd[2]);
+        }
+        return new PyDateDerived(subtype, ymd[0], ymd[1], ymd[2]);
+    }
+
+    static boolean isMonth(char c) {
+        return 1 <= c && c <= 12;
+    }
+
+    /** Construct <code>type(y, m, d)</code>, directly when <code>type</code> is date itself. */
+    private static PyObject construct(PyType type, int y, int m, int d) {
+        if (type == TYPE) {
+            int[] ymd = _datetime.checkDate(y, m, d);
+            return new PyDate(ymd[0], ymd[1], ymd[2]);
+        }
+        return type.__call__(Py.newInteger(y), Py.newInteger(m), Py.newInteger(d));
+    }
+
+    /** A date from an ordinal, which may be out of range in the result of arithmetic. */
+    static PyDate fromOrdinal(long n) {
+        if (n < 1 || n > _datetime.MAXORDINAL) {
+            throw Py.OverflowError("date value out of range");
+        }
+        int[] ymd = _datetime.ord2ymd((int) n);
+        return new PyDate(ymd[0], ymd[1], ymd[2]);
+    }
+
+    @ExposedClassMethod(doc = "Construct a date from a POSIX timestamp (like time.time()).")
+    static PyObject date_fromtimestamp(PyType type, PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("fromtimestamp", args, keywords, new String[] {"t"}, 1);
+        LocalDateTime local = _datetime.timestampFields(
+                Time.parseTimeDoubleArg(ap.getPyObject(0)), false);
+        return construct(type, local.getYear(), local.getMonthValue(), local.getDayOfMonth());
+    }
+
+    @ExposedClassMethod(doc = "Construct a date from time.time().")
+    static PyObject date_today(PyType type) {
+        return type.invoke("fromtimestamp", Py.newFloat(Time.time()));
+    }
+
+    @ExposedClassMethod(doc = "Contruct a date from a proleptic Gregorian ordinal.")
+    static PyObject date_fromordinal(PyType type, PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("fromordinal", args, keywords, new String[] {"n"}, 1);
+        int[] ymd = _datetime.ord2ymd(ap.getPyObject(0).asInt());
+        return construct(type, ymd[0], ymd[1], ymd[2]);
+    }
+
+    @ExposedMethod(doc = "Return proleptic Gregorian ordinal.  January 1 of year 1 is day 1.")
+    public int toordinal() {
+        return _datetime.ymd2ord(year, month, day);
+    }
+
+    @ExposedMethod(doc = "Return day of the week, where Monday == 0 ... Sunday == 6.")
+    public int weekday() {
+        return (toordinal() + 6) % 7;
+    }
+
+    @ExposedMethod(doc = "Return day of the week, where Monday == 1 ... Sunday == 7.")
+    public int isoweekday() {
+        int weekday = toordinal() % 7;
+        return weekday == 0 ? 7 : weekday;
+    }
+
+    @ExposedMethod(doc = "Return a 3-tuple containing ISO year, week number, and weekday.")
+    public PyTuple isocalendar() {
+        int y = year;
+        int week1monday = _datetime.isoWeek1Monday(y);
+        int today = toordinal();
+        int week = Math.floorDiv(today - week1monday, 7);
+        int weekday = Math.floorMod(today - week1monday, 7);
+        if (week < 0) {
+            y -= 1;
+            week1monday = _datetime.isoWeek1Monday(y);
+            week = Math.floorDiv(today - week1monday, 7);
+            weekday = Math.floorMod(today - week1monday, 7);
+        } else if (week >= 52 && today >= _datetime.isoWeek1Monday(y + 1)) {
+            y += 1;
+            week = 0;
+        }
+        return new PyTuple(Py.newInteger(y), Py.newInteger(week + 1),
+                Py.newInteger(weekday + 1));
+    }
+
+    @ExposedMethod(doc = "Return local time tuple compatible with time.localtime().")
+    public PyObject timetuple() {
+        return _datetime.buildStructTime(year, month, day, 0, 0, 0, -1);
+    }
+
+    @ExposedMethod(doc = "Return ctime() style string.")
+    public PyObject ctime() {
+        StringBuilder buf = new StringBuilder(24);
+        buf.append(_datetime.DAY_NAMES[isoweekday()]).append(' ');
+        buf.append(_datetime.MONTH_NAMES[month]).append(' ');
+        if (day < 10) {
+            buf.append(' ');
+        }
+        buf.append(day).append(" 00:00:00 ");
+        _datetime.pad(buf, year, 4);
+        return Py.newString(buf.toString());
+    }
+
+    @ExposedMethod(names = "strftime", doc = "Format using strftime().")
+    final PyObject date_strftime(PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("strftime", args, keywords, new String[] {"fmt"}, 1);
+        return strftime(ap.getPyObject(0));
+    }
+
+    public PyObject strftime(PyObject format) {
+        // Through the attribute, in case a subclass defines timetuple()
+        PyObject timetuple = invoke("timetuple");
+        if (!(timetuple instanceof PyTuple)) {
+            throw Py.TypeError("timetuple() must return a tuple");
+        }
+        return _datetime.wrapStrftime(this, _datetime.formatArg(format, "strftime"),
+                (PyTuple) timetuple);
+    }
+
+    @Override
+    public PyObject __format__(PyObject formatSpec) {
+        return date___format__(formatSpec);
+    }
+
+    @ExposedMethod
+    final PyObject date___format__(PyObject formatSpec) {
+        return _datetime.format(this, formatSpec);
+    }
+
+    /** Append YYYY-MM-DD. */
+    StringBuilder formatDate(StringBuilder buf) {
+        _datetime.pad(buf, year, 4).append('-');
+        _datetime.pad(buf, month, 2).append('-');
+        return _datetime.pad(buf, day, 2);
+    }
+
+    @ExposedMethod(doc = "Return the date formatted according to ISO.")
+    public PyObject isoformat() {
+        return Py.newString(formatDate(new StringBuilder(10)).toString());
+    }
+
+    @Override
+    public PyString __str__() {
+        return date___str__();
+    }
+
+    @ExposedMethod
+    final PyString date___str__() {
+        return (PyString) isoformat();
+    }
+
+    @Override
+    public PyString __repr__() {
+        return date___repr__();
+    }
+
+    @ExposedMethod
+    final PyString date___repr__() {
+        return Py.newString(String.format("datetime.%s(%d, %d, %d)", getType().getName(),
+                year, month, day));
+    }
+
+    @ExposedMethod(doc = "Return a new date with new values for the specified fields.")
+    final PyObject date_replace(PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("replace", args, keywords, new String[] {"year", "month",
+                "day"}, 0);
+        int[] ymd = _datetime.checkDateFields(field(ap, 0, year), field(ap, 1, month),
+                field(ap, 2, day));
+        return new PyDate(ymd[0], ymd[1], ymd[2]);
+    }
+
+    /** An argument to <code>replace()</code>, or the current value when it is absent or None. */
+    static PyObject field(ArgParser ap, int i, int current) {
+        PyObject value = ap.getPyObject(i, Py.None);
+        return value == Py.None ? Py.newInteger(current) : value;
+    }
+
+    /** Compare year, month and day. */
+    int compareDate(PyDate other) {
+        if (year != other.year) {
+            return year < other.year ? -1 : 1;
+        } else if (month != other.month) {
+            return month < other.month ? -1 : 1;
+        }
+        return Integer.compare(day, other.day);
+    }
+
+    /**
+     * Compare with <code>other</code> for one of the rich comparisons, returning null for
+     * NotImplemented and <code>undefined</code> for other types (for == and !=), or raise
+     * TypeError for ordering.
+     */
+    private PyObject richCompare(PyObject other, CompareOp op, PyObject undefined) {
+        if (other instanceof PyDate) {
+            return Py.newBoolean(op.test(compareDate((PyDate) other)));
+        } else if (other.__findattr__("timetuple") != null) {
+            return null;
+        } else if (undefined == null) {
+            throw _datetime.cmpError(this, other);
+        }
+        return undefined;
+    }
+
+    /** The rich comparisons, as tests of the result of a three-way comparison. */
+    enum CompareOp {
+        EQ, NE, LT, LE, GT, GE;
+
+        boolean test(int c) {
+            switch (this) {
+                case EQ:
+                    return c == 0;
+                case NE:
+                    return c != 0;
+                case LT:
+                    return c < 0;
+                case LE:
+                    return c <= 0;
+                case GT:
+                    return c > 0;
+                default:
+                    return c >= 0;
+            }
+        }
+    }
+
+    @Override
+    public PyObject __eq__(PyObject other) {
+        return date___eq__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject date___eq__(PyObject other) {
+        return richCompare(other, CompareOp.EQ, Py.False);
+    }
+
+    @Override
+    public PyObject __ne__(PyObject other) {
+        return date___ne__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject date___ne__(PyObject other) {
+        return richCompare(other, CompareOp.NE, Py.True);
+    }
+
+    @Override
+    public PyObject __lt__(PyObject other) {
+        return date___lt__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject date___lt__(PyObject other) {
+        return richCompare(other, CompareOp.LT, null);
+    }
+
+    @Override
+    public PyObject __le__(PyObject other) {
+        return date___le__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject date___le__(PyObject other) {
+        return richCompare(other, CompareOp.LE, null);
+    }
+
+    @Override
+    public PyObject __gt__(PyObject other) {
+        return date___gt__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject date___gt__(PyObject other) {
+        return richCompare(other, CompareOp.GT, null);
+    }
+
+    @Override
+    public PyObject __ge__(PyObject other) {
+        return date___ge__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject date___ge__(PyObject other) {
+        return richCompare(other, CompareOp.GE, null);
+    }
+
+    @Override
+    public int hashCode() {
+        return date___hash__();
+    }
+
+    @ExposedMethod
+    final int date___hash__() {
+        return toordinal();
+    }
+
+    @Override
+    public PyObject __add__(PyObject other) {
+        return date___add__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject date___add__(PyObject other) {
+        if (other instanceof PyTimedelta) {
+            return plusDays(((PyTimedelta) other).days);
+        }
+        return null;
+    }
+
+    @Override
+    public PyObject __radd__(PyObject other) {
+        return date___radd__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject date___radd__(PyObject other) {
+        return date___add__(other);
+    }
+
+    @Override
+    public PyObject __sub__(PyObject other) {
+        return date___sub__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject date___sub__(PyObject other) {
+        if (other instanceof PyTimedelta) {
+            return plusDays(-(long) ((PyTimedelta) other).days);
+        } else if (other instanceof PyDate) {
+            return new PyTimedelta(toordinal() - ((PyDate) other).toordinal(), 0, 0);
+        }
+        return null;
+    }
+
+    private PyDate plusDays(long days) {
+        long n = toordinal() + days;
+        if (n < 1 || n > _datetime.MAXORDINAL) {
+            int y = _datetime.ord2ymd((int) Math.max(Math.min(n, Integer.MAX_VALUE),
+                    Integer.MIN_VALUE))[0];
+            throw Py.OverflowError(String.format("date +/-: result year %d not in %d..%d", y,
+                    _datetime.MINYEAR, _datetime.MAXYEAR));
+        }
+        return fromOrdinal(n);
+    }
+
+    @Override
+    public PyObject __reduce__() {
+        return date___reduce__();
+    }
+
+    @ExposedMethod
+    final PyObject date___reduce__() {
+        return new PyTuple(getType(), new PyTuple(Py.newString(getState())));
+    }
+
+    private String getState() {
+        char[] state = {(char) (year >> 8), (char) (year & 0xff), (char) month, (char) day};
+        return new String(state);
+    }
+
+    @Override
+    public Object __tojava__(Class<?> c) {
+        Object result = toJava(c);
+        return result != Py.NoConversion ? result : super.__tojava__(c);
+    }
+
+    @ExposedMethod(names = "__tojava__")
+    final PyObject date___tojava__(PyObject c) {
+        Object result = toJava((Class<?>) c.__tojava__(Class.class));
+        return result == Py.NoConversion ? (PyObject) result : Py.java2py(result);
+    }
+
+    /**
+     * Convert to a <code>Calendar</code> (in UTC), or a <code>java.sql.Date</code> (in the default
+     * time zone), or return <code>Py.NoConversion</code>.
+     */
+    Object toJava(Class<?> c) {
+        if (c == Calendar.class) {
+            GregorianCalendar calendar = _datetime.utcCalendar();
+            calendar.set(year, month - 1, day);
+            return calendar;
+        } else if (c == java.sql.Date.class || c == Object.class) {
+            GregorianCalendar calendar = new GregorianCalendar(0, 0, 0, 0, 0, 0);
+            calendar.set(year, month - 1, day);
+            return new java.sql.Date(calendar.getTimeInMillis());
+        }
+        return Py.NoConversion;
+    }
+}
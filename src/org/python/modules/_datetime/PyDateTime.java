@@ -0,0 +1,632 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._datetime;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import org.python.core.ArgParser;
+import org.python.core.Py;
+import org.python.core.PyNewWrapper;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PyTuple;
+import org.python.core.PyType;
+import org.python.core.Traverseproc;
+import org.python.core.Visitproc;
+import org.python.core.__builtin__;
+import org.python.expose.ExposedClassMethod;
+import org.python.expose.ExposedGet;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedNew;
+import org.python.expose.ExposedType;
+import org.python.expose.MethodType;
+import org.python.modules._datetime.PyDate.CompareOp;
+import org.python.modules.time.Time;
+
+/**
+ * <code>datetime.datetime</code>: a date and a time of day, optionally in a time zone given by a
+ * <code>tzinfo</code>.
+ */
+@ExposedType(name = "datetime.datetime", base = PyDate.class)
+public class PyDateTime extends PyDate implements Traverseproc {
+
+    public static final PyType TYPE = PyType.fromClass(PyDateTime.class);
+
+    static {
+        TYPE.fastGetDict().__setitem__("min", new PyDateTime(1, 1, 1, 0, 0, 0, 0, Py.None));
+        TYPE.fastGetDict().__setitem__("max",
+                new PyDateTime(9999, 12, 31, 23, 59, 59, 999999, Py.None));
+        TYPE.fastGetDict().__setitem__("resolution", new PyTimedelta(0, 0, 1));
+    }
+
+    @ExposedGet
+    public final int hour;
+
+    @ExposedGet
+    public final int minute;
+
+    @ExposedGet
+    public final int second;
+
+    @ExposedGet
+    public final int microsecond;
+
+    @ExposedGet
+    public final PyObject tzinfo;
+
+    public PyDateTime(int year, int month, int day, int hour, int minute, int second,
+            int microsecond, PyObject tzinfo) {
+        this(TYPE, year, month, day, hour, minute, second, microsecond, tzinfo);
+    }
+
+    public PyDateTime(PyType subtype, int year, int month, int day, int hour, int minute,
+            int second, int microsecond, PyObject tzinfo) {
+        super(subtype, year, month, day);
+        this.hour = hour;
+        this.minute = minute;
+        this.second = second;
+        this.microsecond = microsecond;
+        this.tzinfo = tzinfo;
+    }
+
+    @ExposedNew
+    static PyObject datetime___new__(PyNewWrapper new_, boolean init, PyType subtype,
+            PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("datetime", args, keywords, new String[] {"year", "month",
+                "day", "hour", "minute", "second", "microsecond", "tzinfo"}, 1);
+        PyObject year = ap.getPyObject(0);
+        int[] ymd;
+        int[] fields;
+        PyObject tzinfo;
+        if (_datetime.isBytes(year) && year.__len__() == 10 && isMonth(year.toString().charAt(2))) {
+            // Pickled state, and the tzinfo in the place of the month
+            String state = year.toString();
+            ymd = new int[] {state.charAt(0) * 256 + state.charAt(1), state.charAt(2),
+                    state.charAt(3)};
+            fields = new int[] {state.charAt(4), state.charAt(5), state.charAt(6),
+                    (state.charAt(7) << 16) | (state.charAt(8) << 8) | state.charAt(9)};
+            tzinfo = ap.getPyObject(1, Py.None);
+            if (tzinfo != Py.None && !(tzinfo instanceof PyTzInfo)) {
+                throw Py.TypeError("bad tzinfo state arg");
+            }
+        } else {
+            ymd = _datetime.checkDateFields(year, ap.getPyObject(1, Py.None),
+                    ap.getPyObject(2, Py.None));
+            fields = _datetime.checkTimeFields(ap.getPyObject(3, Py.Zero),
+                    ap.getPyObject(4, Py.Zero), ap.getPyObject(5, Py.Zero),
+                    ap.getPyObject(6, Py.Zero));
+            tzinfo = _datetime.checkTzinfo(ap.getPyObject(7, Py.None));
+        }
+        if (new_.for_type == subtype) {
+            return new PyDateTime(ymd[0], ymd[1], ymd[2], fields[0], fields[1], fields[2],
+                    fields[3], tzinfo);
+        }
+        return new PyDateTimeDerived(subtype, ymd[0], ymd[1], ymd[2], fields[0], fields[1],
+                fields[2], fields[3], tzinfo);
+    }
+
+    /**
+     * Construct <code>type(...)</code> from valid time fields, directly when <code>type</code> is
+     * datetime itself.
+     */
+    private static PyObject construct(PyType type, LocalDateTime local, int us, PyObject tz) {
+        int y = local.getYear(), m = local.getMonthValue(), d = local.getDayOfMonth();
+        int hh = local.getHour(), mm = local.getMinute(), ss = local.getSecond();
+        if (type == TYPE) {
+            int[] ymd = _datetime.checkDate(y, m, d);
+            return new PyDateTime(ymd[0], ymd[1], ymd[2], hh, mm, ss, us, tz);
+        }
+        return type.__call__(new PyObject[] {Py.newInteger(y), Py.newInteger(m),
+                Py.newInteger(d), Py.newInteger(hh), Py.newInteger(mm), Py.newInteger(ss),
+                Py.newInteger(us), tz});
+    }
+
+    /** A datetime from a timestamp, in UTC or local time, as datetime.py makes it. */
+    private static PyObject fromTimestamp(PyType type, PyObject t, boolean utc, PyObject tz) {
+        if (t == Py.None) {
+            throw Py.TypeError("a float is required");
+        }
+        double v = Time.parseTimeDoubleArg(t);
+        double whole = Math.floor(v);
+        long us = _datetime.round((v - whole) * 1e6);
+        if (us == 1000000) {
+            whole += 1;
+            us = 0;
+        }
+        return construct(type, _datetime.timestampFields(whole, utc), (int) us, tz);
+    }
+
+    @ExposedClassMethod(doc = "Construct a datetime from a POSIX timestamp (like time.time()).")
+    static PyObject datetime_fromtimestamp(PyType type, PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("fromtimestamp", args, keywords, new String[] {"t", "tz"},
+                1);
+        PyObject tz = _datetime.checkTzinfo(ap.getPyObject(1, Py.None));
+        PyObject result = fromTimestamp(type, ap.getPyObject(0), tz != Py.None, tz);
+        return tz == Py.None ? result : tz.invoke("fromutc", result);
+    }
+
+    @ExposedClassMethod(doc = "Construct a UTC datetime from a POSIX timestamp (like time.time()).")
+    static PyObject datetime_utcfromtimestamp(PyType type, PyObject[] args,
+            String[] keywords) {
+        ArgParser ap = new ArgParser("utcfromtimestamp", args, keywords, new String[] {"t"}, 1);
+        return fromTimestamp(type, ap.getPyObject(0), true, Py.None);
+    }
+
+    /** The current time, to the microsecond if the platform clock has them. */
+    private static PyObject fromNow(PyType type, boolean utc, PyObject tz) {
+        Instant now = Instant.now();
+        LocalDateTime local = LocalDateTime.ofInstant(now, _datetime.zone(utc));
+        return construct(type, local, now.getNano() / 1000, tz);
+    }
+
+    @ExposedClassMethod(doc = "Construct a datetime from time.time() and optional time zone info.")
+    static PyObject datetime_now(PyType type, PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("now", args, keywords, new String[] {"tz"}, 0);
+        PyObject tz = _datetime.checkTzinfo(ap.getPyObject(0, Py.None));
+        PyObject result = fromNow(type, tz != Py.None, tz);
+        return tz == Py.None ? result : tz.invoke("fromutc", result);
+    }
+
+    @ExposedClassMethod(doc = "Construct a UTC datetime from time.time().")
+    static PyObject datetime_utcnow(PyType type) {
+        return fromNow(type, true, Py.None);
+    }
+
+    @ExposedClassMethod(doc = "Construct a datetime from a given date and a given time.")
+    static PyObject datetime_combine(PyType type, PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("combine", args, keywords, new String[] {"date", "time"},
+                2);
+        PyObject date = ap.getPyObject(0);
+        PyObject time = ap.getPyObject(1);
+        if (!(date instanceof PyDate)) {
+            throw Py.TypeError("date argument must be a date instance");
+        } else if (!(time instanceof PyTime)) {
+            throw Py.TypeError("time argument must be a time instance");
+        }
+        PyDate d = (PyDate) date;
+        PyTime t = (PyTime) time;
+        if (type == TYPE) {
+            return new PyDateTime(d.year, d.month, d.day, t.hour, t.minute, t.second,
+                    t.microsecond, t.tzinfo);
+        }
+        return type.__call__(new PyObject[] {Py.newInteger(d.year), Py.newInteger(d.month),
+                Py.newInteger(d.day), Py.newInteger(t.hour), Py.newInteger(t.minute),
+                Py.newInteger(t.second), Py.newInteger(t.microsecond), t.tzinfo});
+    }
+
+    @ExposedClassMethod(doc = "string, format -> new datetime parsed from a string "
+            + "(like time.strptime()).")
+    static PyObject datetime_strptime(PyType type, PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("strptime", args, keywords, new String[] {"date_string",
+                "format"}, 2);
+        PyObject parsed = __builtin__.__import__("_strptime").invoke("_strptime",
+                ap.getPyObject(0), ap.getPyObject(1));
+        PyObject struct = parsed.__getitem__(0);
+        PyObject[] fields = new PyObject[7];
+        for (int i = 0; i < 6; i++) {
+            fields[i] = struct.__getitem__(i);
+        }
+        fields[6] = parsed.__getitem__(1);
+        return type.__call__(fields);
+    }
+
+    /** The UTC offset in minutes, or null for a naive datetime. */
+    Integer offset() {
+        if (tzinfo == Py.None) {
+            return null;
+        }
+        return _datetime.checkUtcOffset("utcoffset", tzinfo.invoke("utcoffset", this));
+    }
+
+    /** The DST offset in minutes, or null if unknown. */
+    private Integer dstOffset() {
+        if (tzinfo == Py.None) {
+            return null;
+        }
+        return _datetime.checkUtcOffset("dst", tzinfo.invoke("dst", this));
+    }
+
+    @ExposedMethod(doc = "Return the timezone offset in minutes east of UTC (negative west of UTC).")
+    public PyObject utcoffset() {
+        Integer offset = offset();
+        return offset == null ? Py.None : PyTimedelta.of(0, offset * 60L, 0);
+    }
+
+    @ExposedMethod(doc = "Return the timezone name.")
+    public PyObject tzname() {
+        if (tzinfo == Py.None) {
+            return Py.None;
+        }
+        return _datetime.checkTzname(tzinfo.invoke("tzname", this));
+    }
+
+    @ExposedMethod(doc = "Return 0 if DST is not in effect, or the DST offset (in minutes "
+            + "eastward) if DST is in effect.")
+    public PyObject dst() {
+        Integer offset = dstOffset();
+        return offset == null ? Py.None : PyTimedelta.of(0, offset * 60L, 0);
+    }
+
+    @Override
+    @ExposedMethod(doc = "Return local time tuple compatible with time.localtime().")
+    public PyObject timetuple() {
+        Integer dst = dstOffset();
+        int dstflag = dst == null ? -1 : dst != 0 ? 1 : 0;
+        return _datetime.buildStructTime(year, month, day, hour, minute, second, dstflag);
+    }
+
+    @ExposedMethod(doc = "Return UTC time tuple compatible with time.gmtime().")
+    public PyObject utctimetuple() {
+        Integer offset = offset();
+        if (offset == null || offset == 0) {
+            return _datetime.buildStructTime(year, month, day, hour, minute, second, 0);
+        }
+        // The result may fall in year 0 or 10000
+        int minutes = hour * 60 + minute - offset;
+        int[] ymd = _datetime.ord2ymd(toordinal() + Math.floorDiv(minutes, 1440));
+        minutes = Math.floorMod(minutes, 1440);
+        return _datetime.buildStructTime(ymd[0], ymd[1], ymd[2], minutes / 60, minutes % 60,
+                second, 0);
+    }
+
+    @ExposedMethod(doc = "Return the date part.")
+    public PyObject date() {
+        return new PyDate(year, month, day);
+    }
+
+    @ExposedMethod(doc = "Return the time part, with tzinfo None.")
+    public PyObject time() {
+        return new PyTime(hour, minute, second, microsecond, Py.None);
+    }
+
+    @ExposedMethod(doc = "Return the time part, with same tzinfo.")
+    public PyObject timetz() {
+        return new PyTime(hour, minute, second, microsecond, tzinfo);
+    }
+
+    @ExposedMethod(doc = "Return a new datetime with new values for the specified fields.")
+    final PyObject datetime_replace(PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("replace", args, keywords, new String[] {"year", "month",
+                "day", "hour", "minute", "second", "microsecond", "tzinfo"}, 0);
+        int[] ymd = _datetime.checkDateFields(field(ap, 0, year), field(ap, 1, month),
+                field(ap, 2, day));
+        int[] fields = _datetime.checkTimeFields(field(ap, 3, hour), field(ap, 4, minute),
+                field(ap, 5, second), field(ap, 6, microsecond));
+        PyObject tz = ap.getPyObject(7, Py.True);
+        tz = tz == Py.True ? tzinfo : _datetime.checkTzinfo(tz);
+        return new PyDateTime(ymd[0], ymd[1], ymd[2], fields[0], fields[1], fields[2],
+                fields[3], tz);
+    }
+
+    @ExposedMethod(doc = "tz -> convert to local time in new timezone tz")
+    final PyObject datetime_astimezone(PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("astimezone", args, keywords, new String[] {"tz"}, 1);
+        return astimezone(ap.getPyObject(0));
+    }
+
+    public PyObject astimezone(PyObject tz) {
+        if (!(tz instanceof PyTzInfo)) {
+            throw Py.TypeError("tz argument must be an instance of tzinfo");
+        } else if (tzinfo == Py.None) {
+            throw Py.ValueError("astimezone() requires an aware datetime");
+        } else if (tz == tzinfo) {
+            return this;
+        }
+        Integer offset = offset();
+        if (offset == null) {
+            throw Py.ValueError("astimezone() requires an aware datetime");
+        }
+        // Convert self to UTC, and attach the new time zone object
+        PyDateTime utc = plus(0, -offset * 60L, 0, tz);
+        return tz.invoke("fromutc", utc);
+    }
+
+    @Override
+    @ExposedMethod(doc = "Return ctime() style string.")
+    public PyObject ctime() {
+        StringBuilder buf = new StringBuilder(24);
+        buf.append(_datetime.DAY_NAMES[isoweekday()]).append(' ');
+        buf.append(_datetime.MONTH_NAMES[month]).append(' ');
+        if (day < 10) {
+            buf.append(' ');
+        }
+        buf.append(day).append(' ');
+        _datetime.formatTime(buf, hour, minute, second, 0).append(' ');
+        _datetime.pad(buf, year, 4);
+        return Py.newString(buf.toString());
+    }
+
+    private String isoformat(char sep) {
+        StringBuilder buf = formatDate(new StringBuilder(32)).append(sep);
+        _datetime.formatTime(buf, hour, minute, second, microsecond);
+        Integer offset = offset();
+        if (offset != null) {
+            _datetime.formatOffset(buf, offset, ":");
+        }
+        return buf.toString();
+    }
+
+    @Override
+    public PyObject isoformat() {
+        return Py.newString(isoformat('T'));
+    }
+
+    @ExposedMethod(names = "isoformat", doc = "Return the time formatted according to ISO.")
+    final PyObject datetime_isoformat(PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("isoformat", args, keywords, new String[] {"sep"}, 0);
+        PyObject sep = ap.getPyObject(0, null);
+        if (sep == null) {
+            return isoformat();
+        } else if (!(sep instanceof PyString) || sep.__len__() != 1) {
+            throw Py.TypeError("isoformat() argument 1 must be char, not "
+                    + sep.getType().fastGetName());
+        }
+        return Py.newString(isoformat(sep.toString().charAt(0)));
+    }
+
+    @Override
+    public PyString __str__() {
+        return datetime___str__();
+    }
+
+    @ExposedMethod
+    final PyString datetime___str__() {
+        return Py.newString(isoformat(' '));
+    }
+
+    @Override
+    public PyString __repr__() {
+        return datetime___repr__();
+    }
+
+    @ExposedMethod
+    final PyString datetime___repr__() {
+        StringBuilder buf = new StringBuilder("datetime.");
+        buf.append(getType().getName()).append('(').append(year).append(", ").append(month)
+                .append(", ").append(day).append(", ").append(hour).append(", ").append(minute);
+        if (microsecond != 0) {
+            buf.append(", ").append(second).append(", ").append(microsecond);
+        } else if (second != 0) {
+            buf.append(", ").append(second);
+        }
+        if (tzinfo != Py.None) {
+            buf.append(", tzinfo=").append(tzinfo.__repr__().toString());
+        }
+        return Py.newString(buf.append(')').toString());
+    }
+
+    /** The minutes since the start of the calendar, in UTC if there is an offset. */
+    private long minutes(Integer offset) {
+        return toordinal() * 1440L + hour * 60 + minute - (offset == null ? 0 : offset);
+    }
+
+    /** Compare as datetime.py does, taking account of the UTC offsets only if the zones differ. */
+    private int compareTo(PyDateTime other) {
+        Integer myoff = null, otoff = null;
+        if (tzinfo != other.tzinfo) {
+            if (tzinfo != Py.None) {
+                myoff = offset();
+            }
+            if (other.tzinfo != Py.None) {
+                otoff = other.offset();
+            }
+            if (myoff == null ? otoff != null : !myoff.equals(otoff)) {
+                if (myoff == null || otoff == null) {
+                    throw Py.TypeError("can't compare offset-naive and offset-aware datetimes");
+                }
+            } else {
+                myoff = otoff = null;
+            }
+        }
+        long mine = minutes(myoff), theirs = other.minutes(otoff);
+        if (mine != theirs) {
+            return mine < theirs ? -1 : 1;
+        } else if (second != other.second) {
+            return second < other.second ? -1 : 1;
+        }
+        return Integer.compare(microsecond, other.microsecond);
+    }
+
+    private PyObject richCompare(PyObject other, CompareOp op, PyObject undefined) {
+        if (other instanceof PyDateTime) {
+            return Py.newBoolean(op.test(compareTo((PyDateTime) other)));
+        } else if (!(other instanceof PyDate) && other.__findattr__("timetuple") != null) {
+            return null;
+        } else if (undefined == null) {
+            throw _datetime.cmpError(this, other);
+        }
+        return undefined;
+    }
+
+    @Override
+    public PyObject __eq__(PyObject other) {
+        return datetime___eq__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject datetime___eq__(PyObject other) {
+        return richCompare(other, CompareOp.EQ, Py.False);
+    }
+
+    @Override
+    public PyObject __ne__(PyObject other) {
+        return datetime___ne__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject datetime___ne__(PyObject other) {
+        return richCompare(other, CompareOp.NE, Py.True);
+    }
+
+    @Override
+    public PyObject __lt__(PyObject other) {
+        return datetime___lt__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject datetime___lt__(PyObject other) {
+        return richCompare(other, CompareOp.LT, null);
+    }
+
+    @Override
+    public PyObject __le__(PyObject other) {
+        return datetime___le__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject datetime___le__(PyObject other) {
+        return richCompare(other, CompareOp.LE, null);
+    }
+
+    @Override
+    public PyObject __gt__(PyObject other) {
+        return datetime___gt__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject datetime___gt__(PyObject other) {
+        return richCompare(other, CompareOp.GT, null);
+    }
+
+    @Override
+    public PyObject __ge__(PyObject other) {
+        return datetime___ge__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject datetime___ge__(PyObject other) {
+        return richCompare(other, CompareOp.GE, null);
+    }
+
+    @Override
+    public int hashCode() {
+        return datetime___hash__();
+    }
+
+    @ExposedMethod
+    final int datetime___hash__() {
+        // Equal datetimes have the same minutes after the offset (if any)
+        long h = (minutes(offset()) * 60 + second) * 1000003 + microsecond;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /** This datetime plus an interval, as a datetime with the given tzinfo. */
+    private PyDateTime plus(long days, long seconds, long microseconds, PyObject tz) {
+        long us = microsecond + microseconds;
+        long s = second + minute * 60 + hour * 3600 + seconds + Math.floorDiv(us, 1000000);
+        long n = toordinal() + days + Math.floorDiv(s, 86400);
+        if (n < 1 || n > _datetime.MAXORDINAL) {
+            int y = _datetime.ord2ymd((int) Math.max(Math.min(n, Integer.MAX_VALUE),
+                    Integer.MIN_VALUE))[0];
+            throw Py.OverflowError(String.format("date +/-: result year %d not in %d..%d", y,
+                    _datetime.MINYEAR, _datetime.MAXYEAR));
+        }
+        int[] ymd = _datetime.ord2ymd((int) n);
+        int secs = (int) Math.floorMod(s, 86400);
+        return new PyDateTime(ymd[0], ymd[1], ymd[2], secs / 3600, secs / 60 % 60, secs % 60,
+                (int) Math.floorMod(us, 1000000), tz);
+    }
+
+    @Override
+    public PyObject __add__(PyObject other) {
+        return datetime___add__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject datetime___add__(PyObject other) {
+        if (other instanceof PyTimedelta) {
+            PyTimedelta td = (PyTimedelta) other;
+            return plus(td.days, td.seconds, td.microseconds, tzinfo);
+        }
+        return null;
+    }
+
+    @Override
+    public PyObject __radd__(PyObject other) {
+        return datetime___radd__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject datetime___radd__(PyObject other) {
+        return datetime___add__(other);
+    }
+
+    @Override
+    public PyObject __sub__(PyObject other) {
+        return datetime___sub__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject datetime___sub__(PyObject other) {
+        if (other instanceof PyTimedelta) {
+            return datetime___add__(other.__neg__());
+        } else if (!(other instanceof PyDateTime)) {
+            return null;
+        }
+        PyDateTime o = (PyDateTime) other;
+        long days = toordinal() - o.toordinal();
+        long secs = (second + minute * 60 + hour * 3600) - (o.second + o.minute * 60 + o.hour * 3600);
+        long us = microsecond - o.microsecond;
+        if (tzinfo != o.tzinfo) {
+            Integer myoff = offset();
+            Integer otoff = o.offset();
+            if (myoff == null ? otoff != null : !myoff.equals(otoff)) {
+                if (myoff == null || otoff == null) {
+                    throw Py.TypeError("can't subtract offset-naive and offset-aware datetimes");
+                }
+                secs += (otoff - myoff) * 60L;
+            }
+        }
+        return PyTimedelta.of(days, secs, us);
+    }
+
+    @Override
+    public PyObject __reduce__() {
+        return datetime___reduce__();
+    }
+
+    @ExposedMethod
+    final PyObject datetime___reduce__() {
+        char[] state = {(char) (year >> 8), (char) (year & 0xff), (char) month, (char) day,
+                (char) hour, (char) minute, (char) second, (char) (microsecond >> 16),
+                (char) ((microsecond >> 8) & 0xff), (char) (microsecond & 0xff)};
+        PyObject basestate = Py.newString(new String(state));
+        PyTuple args = tzinfo == Py.None ? new PyTuple(basestate)
+                : new PyTuple(basestate, tzinfo);
+        return new PyTuple(getType(), args);
+    }
+
+    /**
+     * Convert to a <code>Calendar</code> or a <code>java.sql.Timestamp</code>, in the zone of the
+     * tzinfo, or return <code>Py.NoConversion</code>.
+     */
+    @Override
+    Object toJava(Class<?> c) {
+        if (c != Calendar.class && c != Timestamp.class && c != Object.class) {
+            return Py.NoConversion;
+        }
+        GregorianCalendar calendar = _datetime.javaCalendar(this, tzinfo);
+        calendar.set(year, month - 1, day, hour, minute, second);
+        if (c == Calendar.class) {
+            calendar.set(Calendar.MILLISECOND, microsecond / 1000);
+            return calendar;
+        }
+        Timestamp timestamp = new Timestamp(calendar.getTimeInMillis());
+        timestamp.setNanos(microsecond * 1000);
+        return timestamp;
+    }
+
+    /* Traverseproc implementation */
+    @Override
+    public int traverse(Visitproc visit, Object arg) {
+        return tzinfo == null ? 0 : visit.visit(tzinfo, arg);
+    }
+
+    @Override
+    public boolean refersDirectlyTo(PyObject ob) {
+        return ob != null && ob == tzinfo;
+    }
+}
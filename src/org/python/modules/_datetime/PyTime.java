@@ -0,0 +1,388 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._datetime;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import org.python.core.ArgParser;
+import org.python.core.Py;
+import org.python.core.PyNewWrapper;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PyTuple;
+import org.python.core.PyType;
+import org.python.core.Traverseproc;
+import org.python.core.Visitproc;
+import org.python.expose.ExposedGet;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedNew;
+import org.python.expose.ExposedType;
+import org.python.expose.MethodType;
+import org.python.modules._datetime.PyDate.CompareOp;
+
+/**
+ * <code>datetime.time</code>: a time of day, optionally in a time zone given by a
+ * <code>tzinfo</code>.
+ */
+@ExposedType(name = "datetime.time", base = PyObject.class)
+public class PyTime extends PyObject implements Traverseproc {
+
+    public static final PyType TYPE = PyType.fromClass(PyTime.class);
+
+    static {
+        TYPE.fastGetDict().__setitem__("min", new PyTime(0, 0, 0, 0, Py.None));
+        TYPE.fastGetDict().__setitem__("max", new PyTime(23, 59, 59, 999999, Py.None));
+        TYPE.fastGetDict().__setitem__("resolution", new PyTimedelta(0, 0, 1));
+    }
+
+    @ExposedGet
+    public final int hour;
+
+    @ExposedGet
+    public final int minute;
+
+    @ExposedGet
+    public final int second;
+
+    @ExposedGet
+    public final int microsecond;
+
+    @ExposedGet
+    public final PyObject tzinfo;
+
+    public PyTime(int hour, int minute, int second, int microsecond, PyObject tzinfo) {
+        this(TYPE, hour, minute, second, microsecond, tzinfo);
+    }
+
+    public PyTime(PyType subtype, int hour, int minute, int second, int microsecond,
+            PyObject tzinfo) {
+        super(subtype);
+        this.hour = hour;
+        this.minute = minute;
+        this.second = second;
+        this.microsecond = microsecond;
+        this.tzinfo = tzinfo;
+    }
+
+    @ExposedNew
+    static PyObject time___new__(PyNewWrapper new_, boolean init, PyType subtype,
+            PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("time", args, keywords, new String[] {"hour", "minute",
+                "second", "microsecond", "tzinfo"}, 0);
+        PyObject hour = ap.getPyObject(0, Py.Zero);
+        int[] fields;
+        PyObject tzinfo;
+        if (_datetime.isBytes(hour) && hour.__len__() == 6 && hour.toString().charAt(0) < 24) {
+            // Pickled state, and the tzinfo in the place of the minute
+            String state = hour.toString();
+            fields = new int[] {state.charAt(0), state.charAt(1), state.charAt(2),
+                    (state.charAt(3) << 16) | (state.charAt(4) << 8) | state.charAt(5)};
+            tzinfo = checkStateTzinfo(ap.getPyObject(1, Py.None));
+        } else {
+            fields = _datetime.checkTimeFields(hour, ap.getPyObject(1, Py.Zero),
+                    ap.getPyObject(2, Py.Zero), ap.getPyObject(3, Py.Zero));
+            tzinfo = _datetime.checkTzinfo(ap.getPyObject(4, Py.None));
+        }
+        if (new_.for_type == subtype) {
+            return new PyTime(fields[0], fields[1], fields[2], fields[3], tzinfo);
+        }
+        return new PyTimeDerived(subtype, fields[0], fields[1], fields[2], fields[3], tzinfo);
+    }
+
+    /** Check the tzinfo that accompanies pickled state. */
+    static PyObject checkStateTzinfo(PyObject tzinfo) {
+        if (!tzinfo.__nonzero__()) {
+            return Py.None;
+        } else if (!(tzinfo instanceof PyTzInfo)) {
+            throw Py.TypeError("bad tzinfo state arg");
+        }
+        return tzinfo;
+    }
+
+    /** The UTC offset in minutes, or null for a naive time. */
+    Integer offset() {
+        if (tzinfo == Py.None) {
+            return null;
+        }
+        return _datetime.checkUtcOffset("utcoffset", tzinfo.invoke("utcoffset", Py.None));
+    }
+
+    @ExposedMethod(doc = "Return the timezone offset in minutes east of UTC (negative west of UTC).")
+    public PyObject utcoffset() {
+        Integer offset = offset();
+        return offset == null ? Py.None : PyTimedelta.of(0, offset * 60L, 0);
+    }
+
+    @ExposedMethod(doc = "Return the timezone name.")
+    public PyObject tzname() {
+        if (tzinfo == Py.None) {
+            return Py.None;
+        }
+        return _datetime.checkTzname(tzinfo.invoke("tzname", Py.None));
+    }
+
+    @ExposedMethod(doc = "Return 0 if DST is not in effect, or the DST offset (in minutes "
+            + "eastward) if DST is in effect.")
+    public PyObject dst() {
+        if (tzinfo == Py.None) {
+            return Py.None;
+        }
+        Integer offset = _datetime.checkUtcOffset("dst", tzinfo.invoke("dst", Py.None));
+        return offset == null ? Py.None : PyTimedelta.of(0, offset * 60L, 0);
+    }
+
+    /** Compare as datetime.py does, taking account of the UTC offsets only if the zones differ. */
+    private int compareTo(PyTime other) {
+        int mine = hour * 60 + minute;
+        int theirs = other.hour * 60 + other.minute;
+        if (tzinfo != other.tzinfo) {
+            Integer myoff = offset();
+            Integer otoff = other.offset();
+            if (myoff == null ? otoff != null : !myoff.equals(otoff)) {
+                if (myoff == null || otoff == null) {
+                    throw Py.TypeError("can't compare offset-naive and offset-aware times");
+                }
+                mine -= myoff;
+                theirs -= otoff;
+            }
+        }
+        if (mine != theirs) {
+            return mine < theirs ? -1 : 1;
+        } else if (second != other.second) {
+            return second < other.second ? -1 : 1;
+        }
+        return Integer.compare(microsecond, other.microsecond);
+    }
+
+    private PyObject richCompare(PyObject other, CompareOp op, PyObject undefined) {
+        if (other instanceof PyTime) {
+            return Py.newBoolean(op.test(compareTo((PyTime) other)));
+        } else if (undefined == null) {
+            throw _datetime.cmpError(this, other);
+        }
+        return undefined;
+    }
+
+    @Override
+    public PyObject __eq__(PyObject other) {
+        return time___eq__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject time___eq__(PyObject other) {
+        return richCompare(other, CompareOp.EQ, Py.False);
+    }
+
+    @Override
+    public PyObject __ne__(PyObject other) {
+        return time___ne__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject time___ne__(PyObject other) {
+        return richCompare(other, CompareOp.NE, Py.True);
+    }
+
+    @Override
+    public PyObject __lt__(PyObject other) {
+        return time___lt__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject time___lt__(PyObject other) {
+        return richCompare(other, CompareOp.LT, null);
+    }
+
+    @Override
+    public PyObject __le__(PyObject other) {
+        return time___le__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject time___le__(PyObject other) {
+        return richCompare(other, CompareOp.LE, null);
+    }
+
+    @Override
+    public PyObject __gt__(PyObject other) {
+        return time___gt__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject time___gt__(PyObject other) {
+        return richCompare(other, CompareOp.GT, null);
+    }
+
+    @Override
+    public PyObject __ge__(PyObject other) {
+        return time___ge__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject time___ge__(PyObject other) {
+        return richCompare(other, CompareOp.GE, null);
+    }
+
+    @Override
+    public int hashCode() {
+        return time___hash__();
+    }
+
+    @ExposedMethod
+    final int time___hash__() {
+        // Equal times have the same minutes after the offset (if any)
+        Integer offset = offset();
+        int minutes = hour * 60 + minute - (offset == null ? 0 : offset);
+        return (minutes * 60 + second) * 1000003 + microsecond;
+    }
+
+    @Override
+    public boolean __nonzero__() {
+        return time___nonzero__();
+    }
+
+    @ExposedMethod
+    final boolean time___nonzero__() {
+        if (second != 0 || microsecond != 0) {
+            return true;
+        }
+        Integer offset = offset();
+        return hour * 60 + minute != (offset == null ? 0 : offset);
+    }
+
+    @Override
+    public PyString __repr__() {
+        return time___repr__();
+    }
+
+    @ExposedMethod
+    final PyString time___repr__() {
+        StringBuilder buf = new StringBuilder("datetime.");
+        buf.append(getType().getName()).append('(').append(hour).append(", ").append(minute);
+        if (microsecond != 0) {
+            buf.append(", ").append(second).append(", ").append(microsecond);
+        } else if (second != 0) {
+            buf.append(", ").append(second);
+        }
+        if (tzinfo != Py.None) {
+            buf.append(", tzinfo=").append(tzinfo.__repr__().toString());
+        }
+        return Py.newString(buf.append(')').toString());
+    }
+
+    @ExposedMethod(doc = "Return the time formatted according to ISO.")
+    public PyObject isoformat() {
+        StringBuilder buf = _datetime.formatTime(new StringBuilder(), hour, minute, second,
+                microsecond);
+        Integer offset = offset();
+        if (offset != null) {
+            _datetime.formatOffset(buf, offset, ":");
+        }
+        return Py.newString(buf.toString());
+    }
+
+    @Override
+    public PyString __str__() {
+        return time___str__();
+    }
+
+    @ExposedMethod
+    final PyString time___str__() {
+        return (PyString) isoformat();
+    }
+
+    @ExposedMethod(names = "strftime", doc = "Format using strftime().  The date part of the "
+            + "timestamp passed\nto underlying strftime should not be used.")
+    final PyObject time_strftime(PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("strftime", args, keywords, new String[] {"fmt"}, 1);
+        return strftime(ap.getPyObject(0));
+    }
+
+    public PyObject strftime(PyObject format) {
+        PyTuple timetuple = new PyTuple(Py.newInteger(1900), Py.One, Py.One,
+                Py.newInteger(hour), Py.newInteger(minute), Py.newInteger(second), Py.Zero,
+                Py.One, Py.newInteger(-1));
+        return _datetime.wrapStrftime(this, _datetime.formatArg(format, "strftime"),
+                timetuple);
+    }
+
+    @Override
+    public PyObject __format__(PyObject formatSpec) {
+        return time___format__(formatSpec);
+    }
+
+    @ExposedMethod
+    final PyObject time___format__(PyObject formatSpec) {
+        return _datetime.format(this, formatSpec);
+    }
+
+    @ExposedMethod(doc = "Return a new time with new values for the specified fields.")
+    final PyObject time_replace(PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("replace", args, keywords, new String[] {"hour", "minute",
+                "second", "microsecond", "tzinfo"}, 0);
+        int[] fields = _datetime.checkTimeFields(PyDate.field(ap, 0, hour),
+                PyDate.field(ap, 1, minute), PyDate.field(ap, 2, second),
+                PyDate.field(ap, 3, microsecond));
+        PyObject tz = ap.getPyObject(4, Py.True);
+        tz = tz == Py.True ? tzinfo : _datetime.checkTzinfo(tz);
+        return new PyTime(fields[0], fields[1], fields[2], fields[3], tz);
+    }
+
+    @Override
+    public PyObject __reduce__() {
+        return time___reduce__();
+    }
+
+    @ExposedMethod
+    final PyObject time___reduce__() {
+        char[] state = {(char) hour, (char) minute, (char) second, (char) (microsecond >> 16),
+                (char) ((microsecond >> 8) & 0xff), (char) (microsecond & 0xff)};
+        PyObject basestate = Py.newString(new String(state));
+        PyTuple args = tzinfo == Py.None ? new PyTuple(basestate)
+                : new PyTuple(basestate, tzinfo);
+        return new PyTuple(getType(), args);
+    }
+
+    @Override
+    public Object __tojava__(Class<?> c) {
+        Object result = toJava(c);
+        return result != Py.NoConversion ? result : super.__tojava__(c);
+    }
+
+    @ExposedMethod(names = "__tojava__")
+    final PyObject time___tojava__(PyObject c) {
+        Object result = toJava((Class<?>) c.__tojava__(Class.class));
+        return result == Py.NoConversion ? (PyObject) result : Py.java2py(result);
+    }
+
+    /**
+     * Convert to a <code>Calendar</code> or a <code>java.sql.Time</code> on 1 January 1970, in
+     * the zone of the tzinfo, or return <code>Py.NoConversion</code>.
+     */
+    Object toJava(Class<?> c) {
+        if (c != Calendar.class && c != java.sql.Time.class && c != Object.class) {
+            return Py.NoConversion;
+        }
+        GregorianCalendar calendar = _datetime.javaCalendar(this, tzinfo);
+        calendar.setTimeInMillis(0);
+        calendar.set(Calendar.HOUR_OF_DAY, hour);
+        calendar.set(Calendar.MINUTE, minute);
+        calendar.set(Calendar.SECOND, second);
+        calendar.set(Calendar.MILLISECOND, microsecond / 1000);
+        if (c == Calendar.class) {
+            return calendar;
+        }
+        return new java.sql.Time(calendar.getTimeInMillis());
+    }
+
+    /* Traverseproc implementation */
+    @Override
+    public int traverse(Visitproc visit, Object arg) {
+        return tzinfo == null ? 0 : visit.visit(tzinfo, arg);
+    }
+
+    @Override
+    public boolean refersDirectlyTo(PyObject ob) {
+        return ob != null && ob == tzinfo;
+    }
+}
@@ -0,0 +1,547 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._datetime;
+
+import java.math.BigInteger;
+
+import org.python.core.ArgParser;
+import org.python.core.Py;
+import org.python.core.PyFloat;
+import org.python.core.PyInteger;
+import org.python.core.PyLong;
+import org.python.core.PyNewWrapper;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PyTuple;
+import org.python.core.PyType;
+import org.python.core.Untraversable;
+import org.python.expose.ExposedGet;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedNew;
+import org.python.expose.ExposedType;
+import org.python.expose.MethodType;
+
+/**
+ * <code>datetime.timedelta</code>: a duration, held as days, seconds (less than a day) and
+ * microseconds (less than a second), of which only the days may be negative.
+ */
+@Untraversable
+@ExposedType(name = "datetime.timedelta", base = PyObject.class)
+public class PyTimedelta extends PyObject {
+
+    public static final PyType TYPE = PyType.fromClass(PyTimedelta.class);
+
+    static final int MAX_DAYS = 999999999;
+
+    private static final BigInteger MILLION = BigInteger.valueOf(1000000);
+    private static final BigInteger SECONDS_PER_DAY = BigInteger.valueOf(86400);
+
+    static {
+        TYPE.fastGetDict().__setitem__("min", new PyTimedelta(-MAX_DAYS, 0, 0));
+        TYPE.fastGetDict().__setitem__("max", new PyTimedelta(MAX_DAYS, 86399, 999999));
+        TYPE.fastGetDict().__setitem__("resolution", new PyTimedelta(0, 0, 1));
+    }
+
+    @ExposedGet
+    public final int days;
+
+    @ExposedGet
+    public final int seconds;
+
+    @ExposedGet
+    public final int microseconds;
+
+    public PyTimedelta(int days, int seconds, int microseconds) {
+        this(TYPE, days, seconds, microseconds);
+    }
+
+    public PyTimedelta(PyType subtype, int days, int seconds, int microseconds) {
+        super(subtype);
+        this.days = days;
+        this.seconds = seconds;
+        this.microseconds = microseconds;
+    }
+
+    private static final String[] ARG_NAMES = {"days", "seconds", "microseconds",
+            "milliseconds", "minutes", "hours", "weeks"};
+
+    @ExposedNew
+    static PyObject timedelta___new__(PyNewWrapper new_, boolean init, PyType subtype,
+            PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("timedelta", args, keywords, ARG_NAMES, 0);
+        PyObject[] values = new PyObject[7];
+        boolean allInts = true;
+        for (int i = 0; i < values.length; i++) {
+            PyObject v = ap.getPyObject(i, Py.Zero);
+            if (!(v instanceof PyInteger)) {
+                if (!(v instanceof PyLong || v instanceof PyFloat)) {
+                    throw Py.TypeError(String.format(
+                            "unsupported type for timedelta %s component: %s",
+                            ARG_NAMES[i], v.getType().fastGetName()));
+                }
+                allInts = false;
+            }
+            values[i] = v;
+        }
+        int[] dsu;
+        if (allInts) {
+            // Every sum fits in a long, so normalize directly
+            long d = intValue(values[0]) + intValue(values[6]) * 7;
+            long s = intValue(values[1]) + intValue(values[4]) * 60 + intValue(values[5]) * 3600;
+            long us = intValue(values[2]) + intValue(values[3]) * 1000;
+            dsu = normalize(d, s, us);
+        } else {
+            dsu = normalize(values[0]._add(values[6]._mul(Py.newInteger(7))),
+                    values[1]._add(values[4]._mul(Py.newInteger(60))._add(
+                            values[5]._mul(Py.newInteger(3600)))),
+                    values[2]._add(values[3]._mul(Py.newInteger(1000))));
+        }
+        if (new_.for_type == subtype) {
+            return new PyTimedelta(dsu[0], dsu[1], dsu[2]);
+        }
+        return new PyTimedeltaDerived(subtype, dsu[0], dsu[1], dsu[2]);
+    }
+
+    private static long intValue(PyObject v) {
+        return ((PyInteger) v).getValue();
+    }
+
+    /** Normalize days, seconds and microseconds of any size into the canonical fields. */
+    private static int[] normalize(long d, long s, long us) {
+        s += Math.floorDiv(us, 1000000);
+        d += Math.floorDiv(s, 86400);
+        return checkDays(d, (int) Math.floorMod(s, 86400), (int) Math.floorMod(us, 1000000));
+    }
+
+    private static int[] checkDays(long d, int s, int us) {
+        if (d < -MAX_DAYS || d > MAX_DAYS) {
+            throw Py.OverflowError("timedelta # of days is too large: " + d);
+        }
+        return new int[] {(int) d, s, us};
+    }
+
+    /**
+     * Normalize where some of the values are float or long, by the steps of datetime.py, so
+     * that the fractions round the same way.
+     */
+    private static int[] normalize(PyObject days, PyObject seconds, PyObject microseconds) {
+        BigInteger d;
+        long s = 0;
+        double daysecondsfrac;
+        if (days instanceof PyFloat) {
+            double v = days.asDouble();
+            double whole = trunc(v);
+            double daysecondsfloat = (v - whole) * (24. * 3600.);
+            double daysecondswhole = trunc(daysecondsfloat);
+            daysecondsfrac = daysecondsfloat - daysecondswhole;
+            s = (long) daysecondswhole;
+            d = toBigInteger(whole);
+        } else {
+            daysecondsfrac = 0.0;
+            d = toBigInteger(days);
+        }
+
+        double secondsfrac;
+        BigInteger secs;
+        if (seconds instanceof PyFloat) {
+            double v = seconds.asDouble();
+            double whole = trunc(v);
+            secondsfrac = v - whole + daysecondsfrac;
+            secs = toBigInteger(whole);
+        } else {
+            secondsfrac = daysecondsfrac;
+            secs = toBigInteger(seconds);
+        }
+        BigInteger[] qr = floorDivMod(secs, SECONDS_PER_DAY);
+        d = d.add(qr[0]);
+        s += qr[1].longValue();
+
+        double usdouble = secondsfrac * 1e6;
+        long us;
+        if (microseconds instanceof PyFloat) {
+            qr = floorDivMod(toBigInteger(round(microseconds.asDouble() + usdouble)), MILLION);
+            us = qr[1].longValue();
+            qr = floorDivMod(qr[0], SECONDS_PER_DAY);
+            d = d.add(qr[0]);
+            s += qr[1].longValue();
+        } else {
+            qr = floorDivMod(toBigInteger(microseconds), MILLION);
+            long whole = qr[1].longValue();
+            qr = floorDivMod(qr[0], SECONDS_PER_DAY);
+            d = d.add(qr[0]);
+            s += qr[1].longValue();
+            us = (long) round(whole + usdouble);
+        }
+
+        // Just a little carrying remains
+        s += Math.floorDiv(us, 1000000);
+        d = d.add(BigInteger.valueOf(Math.floorDiv(s, 86400)));
+        if (d.bitLength() > 31) {
+            throw Py.OverflowError("timedelta # of days is too large: " + d);
+        }
+        return checkDays(d.longValue(), (int) Math.floorMod(s, 86400),
+                (int) Math.floorMod(us, 1000000));
+    }
+
+    /** The integer part of <code>v</code>, as <code>math.modf</code> gives it. */
+    private static double trunc(double v) {
+        return v < 0 ? Math.ceil(v) : Math.floor(v);
+    }
+
+    /** Round half away from zero, as <code>datetime._round</code>. */
+    private static double round(double x) {
+        return x >= 0.0 ? Math.floor(x + 0.5) : Math.ceil(x - 0.5);
+    }
+
+    /** A whole float as an integer, raising as <code>int()</code> does for infinity and NaN. */
+    private static BigInteger toBigInteger(double v) {
+        return ((PyLong) new PyFloat(v).__long__()).getValue();
+    }
+
+    private static BigInteger toBigInteger(PyObject v) {
+        if (v instanceof PyInteger) {
+            return BigInteger.valueOf(((PyInteger) v).getValue());
+        }
+        return ((PyLong) v.__long__()).getValue();
+    }
+
+    private static BigInteger[] floorDivMod(BigInteger x, BigInteger y) {
+        BigInteger[] qr = x.divideAndRemainder(y);
+        if (qr[1].signum() < 0) {
+            qr[0] = qr[0].subtract(BigInteger.ONE);
+            qr[1] = qr[1].add(y);
+        }
+        return qr;
+    }
+
+    /** A timedelta from fields of any size, which are normalized. */
+    static PyTimedelta of(long d, long s, long us) {
+        int[] dsu = normalize(d, s, us);
+        return new PyTimedelta(dsu[0], dsu[1], dsu[2]);
+    }
+
+    static PyTimedelta ofMicroseconds(BigInteger us) {
+        BigInteger[] qr = floorDivMod(us, MILLION);
+        int micros = qr[1].intValue();
+        qr = floorDivMod(qr[0], SECONDS_PER_DAY);
+        if (qr[0].bitLength() > 31) {
+            throw Py.OverflowError("timedelta # of days is too large: " + qr[0]);
+        }
+        int[] dsu = checkDays(qr[0].longValue(), qr[1].intValue(), micros);
+        return new PyTimedelta(dsu[0], dsu[1], dsu[2]);
+    }
+
+    /** The whole duration in microseconds. */
+    BigInteger toMicroseconds() {
+        return BigInteger.valueOf(days * 86400L + seconds).multiply(MILLION).add(
+                BigInteger.valueOf(microseconds));
+    }
+
+    @Override
+    public PyString __repr__() {
+        return timedelta___repr__();
+    }
+
+    @ExposedMethod
+    final PyString timedelta___repr__() {
+        StringBuilder buf = new StringBuilder("datetime.");
+        buf.append(getType().getName()).append('(').append(days);
+        if (microseconds != 0) {
+            buf.append(", ").append(seconds).append(", ").append(microseconds);
+        } else if (seconds != 0) {
+            buf.append(", ").append(seconds);
+        }
+        return Py.newString(buf.append(')').toString());
+    }
+
+    @Override
+    public PyString __str__() {
+        return timedelta___str__();
+    }
+
+    @ExposedMethod
+    final PyString timedelta___str__() {
+        StringBuilder buf = new StringBuilder();
+        if (days != 0) {
+            buf.append(days).append(days == 1 || days == -1 ? " day, " : " days, ");
+        }
+        buf.append(seconds / 3600).append(':');
+        _datetime.pad(buf, seconds / 60 % 60, 2).append(':');
+        _datetime.pad(buf, seconds % 60, 2);
+        if (microseconds != 0) {
+            _datetime.pad(buf.append('.'), microseconds, 6);
+        }
+        return Py.newString(buf.toString());
+    }
+
+    @ExposedMethod(doc = "Total seconds in the duration.")
+    public double total_seconds() {
+        long total = (days * 86400L + seconds) * 1000000L + microseconds;
+        if (Math.abs(total) < (1L << 53)) {
+            // Both exact, so one correctly rounded division
+            return total / 1e6;
+        }
+        return toMicroseconds().doubleValue() / 1e6;
+    }
+
+    @Override
+    public PyObject __add__(PyObject other) {
+        return timedelta___add__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject timedelta___add__(PyObject other) {
+        if (!(other instanceof PyTimedelta)) {
+            return null;
+        }
+        PyTimedelta o = (PyTimedelta) other;
+        return of((long) days + o.days, seconds + o.seconds, microseconds + o.microseconds);
+    }
+
+    @Override
+    public PyObject __radd__(PyObject other) {
+        return timedelta___radd__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject timedelta___radd__(PyObject other) {
+        return timedelta___add__(other);
+    }
+
+    @Override
+    public PyObject __sub__(PyObject other) {
+        return timedelta___sub__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject timedelta___sub__(PyObject other) {
+        if (!(other instanceof PyTimedelta)) {
+            return null;
+        }
+        PyTimedelta o = (PyTimedelta) other;
+        return of((long) days - o.days, seconds - o.seconds, microseconds - o.microseconds);
+    }
+
+    @Override
+    public PyObject __rsub__(PyObject other) {
+        return timedelta___rsub__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject timedelta___rsub__(PyObject other) {
+        if (!(other instanceof PyTimedelta)) {
+            return null;
+        }
+        PyTimedelta o = (PyTimedelta) other;
+        return of((long) o.days - days, o.seconds - seconds, o.microseconds - microseconds);
+    }
+
+    @Override
+    public PyObject __neg__() {
+        return timedelta___neg__();
+    }
+
+    @ExposedMethod
+    final PyObject timedelta___neg__() {
+        return of(-(long) days, -seconds, -microseconds);
+    }
+
+    @Override
+    public PyObject __pos__() {
+        return timedelta___pos__();
+    }
+
+    @ExposedMethod
+    final PyObject timedelta___pos__() {
+        return this;
+    }
+
+    @Override
+    public PyObject __abs__() {
+        return timedelta___abs__();
+    }
+
+    @ExposedMethod
+    final PyObject timedelta___abs__() {
+        return days < 0 ? __neg__() : this;
+    }
+
+    @Override
+    public PyObject __mul__(PyObject other) {
+        return timedelta___mul__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject timedelta___mul__(PyObject other) {
+        if (other instanceof PyInteger) {
+            // Each product fits in a long
+            long n = ((PyInteger) other).getValue();
+            return of(days * n, seconds * n, microseconds * n);
+        } else if (other instanceof PyLong) {
+            return ofMicroseconds(toMicroseconds().multiply(((PyLong) other).getValue()));
+        }
+        return null;
+    }
+
+    @Override
+    public PyObject __rmul__(PyObject other) {
+        return timedelta___rmul__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject timedelta___rmul__(PyObject other) {
+        return timedelta___mul__(other);
+    }
+
+    @Override
+    public PyObject __div__(PyObject other) {
+        return timedelta___div__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject timedelta___div__(PyObject other) {
+        BigInteger divisor;
+        if (other instanceof PyInteger) {
+            int n = ((PyInteger) other).getValue();
+            if (n == 0) {
+                throw Py.ZeroDivisionError("integer division or modulo by zero");
+            } else if (days > -100000 && days < 100000) {
+                // The microseconds fit in a long
+                long total = (days * 86400L + seconds) * 1000000L + microseconds;
+                return of(0, 0, Math.floorDiv(total, n));
+            }
+            divisor = BigInteger.valueOf(n);
+        } else if (other instanceof PyLong) {
+            divisor = ((PyLong) other).getValue();
+            if (divisor.signum() == 0) {
+                throw Py.ZeroDivisionError("integer division or modulo by zero");
+            }
+        } else {
+            return null;
+        }
+        return ofMicroseconds(floorDivMod(toMicroseconds(), divisor)[0]);
+    }
+
+    @Override
+    public PyObject __floordiv__(PyObject other) {
+        return timedelta___floordiv__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject timedelta___floordiv__(PyObject other) {
+        return timedelta___div__(other);
+    }
+
+    private int compareTo(PyTimedelta o) {
+        if (days != o.days) {
+            return days < o.days ? -1 : 1;
+        } else if (seconds != o.seconds) {
+            return seconds < o.seconds ? -1 : 1;
+        }
+        return Integer.compare(microseconds, o.microseconds);
+    }
+
+    @Override
+    public PyObject __eq__(PyObject other) {
+        return timedelta___eq__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject timedelta___eq__(PyObject other) {
+        if (other instanceof PyTimedelta) {
+            return Py.newBoolean(compareTo((PyTimedelta) other) == 0);
+        }
+        return Py.False;
+    }
+
+    @Override
+    public PyObject __ne__(PyObject other) {
+        return timedelta___ne__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject timedelta___ne__(PyObject other) {
+        if (other instanceof PyTimedelta) {
+            return Py.newBoolean(compareTo((PyTimedelta) other) != 0);
+        }
+        return Py.True;
+    }
+
+    @Override
+    public PyObject __lt__(PyObject other) {
+        return timedelta___lt__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject timedelta___lt__(PyObject other) {
+        return Py.newBoolean(compareWith(other) < 0);
+    }
+
+    @Override
+    public PyObject __le__(PyObject other) {
+        return timedelta___le__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject timedelta___le__(PyObject other) {
+        return Py.newBoolean(compareWith(other) <= 0);
+    }
+
+    @Override
+    public PyObject __gt__(PyObject other) {
+        return timedelta___gt__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject timedelta___gt__(PyObject other) {
+        return Py.newBoolean(compareWith(other) > 0);
+    }
+
+    @Override
+    public PyObject __ge__(PyObject other) {
+        return timedelta___ge__(other);
+    }
+
+    @ExposedMethod(type = MethodType.BINARY)
+    final PyObject timedelta___ge__(PyObject other) {
+        return Py.newBoolean(compareWith(other) >= 0);
+    }
+
+    /** Compare for ordering, which is only defined between timedeltas. */
+    private int compareWith(PyObject other) {
+        if (!(other instanceof PyTimedelta)) {
+            throw _datetime.cmpError(this, other);
+        }
+        return compareTo((PyTimedelta) other);
+    }
+
+    @Override
+    public int hashCode() {
+        return timedelta___hash__();
+    }
+
+    @ExposedMethod
+    final int timedelta___hash__() {
+        return (days * 86400 + seconds) * 31 + microseconds;
+    }
+
+    @Override
+    public boolean __nonzero__() {
+        return timedelta___nonzero__();
+    }
+
+    @ExposedMethod
+    final boolean timedelta___nonzero__() {
+        return days != 0 || seconds != 0 || microseconds != 0;
+    }
+
+    @Override
+    public PyObject __reduce__() {
+        return timedelta___reduce__();
+    }
+
+    @ExposedMethod
+    final PyObject timedelta___reduce__() {
+        return new PyTuple(getType(), new PyTuple(Py.newInteger(days), Py.newInteger(seconds),
+                Py.newInteger(microseconds)));
+    }
+}
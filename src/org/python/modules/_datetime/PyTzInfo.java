@@ -0,0 +1,106 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._datetime;
+
+import org.python.core.Py;
+import org.python.core.PyNewWrapper;
+import org.python.core.PyObject;
+import org.python.core.PyTuple;
+import org.python.core.PyType;
+import org.python.core.Untraversable;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedNew;
+import org.python.expose.ExposedType;
+
+/**
+ * <code>datetime.tzinfo</code>: the abstract base class of time zones, which subclasses define
+ * in Python.
+ */
+@Untraversable
+@ExposedType(name = "datetime.tzinfo", base = PyObject.class)
+public class PyTzInfo extends PyObject {
+
+    public static final PyType TYPE = PyType.fromClass(PyTzInfo.class);
+
+    public PyTzInfo() {
+        this(TYPE);
+    }
+
+    public PyTzInfo(PyType subtype) {
+        super(subtype);
+    }
+
+    @ExposedNew
+    static PyObject tzinfo___new__(PyNewWrapper new_, boolean init, PyType subtype,
+            PyObject[] args, String[] keywords) {
+        if (new_.for_type == subtype) {
+            return new PyTzInfo();
+        }
+        return new PyTzInfoDerived(subtype);
+    }
+
+    @ExposedMethod(doc = "datetime -> string name of time zone.")
+    final PyObject tzinfo_tzname(PyObject dt) {
+        throw Py.NotImplementedError("tzinfo subclass must override tzname()");
+    }
+
+    @ExposedMethod(doc = "datetime -> minutes east of UTC (negative for west of UTC)")
+    final PyObject tzinfo_utcoffset(PyObject dt) {
+        throw Py.NotImplementedError("tzinfo subclass must override utcoffset()");
+    }
+
+    @ExposedMethod(doc = "datetime -> DST offset in minutes east of UTC.")
+    final PyObject tzinfo_dst(PyObject dt) {
+        throw Py.NotImplementedError("tzinfo subclass must override dst()");
+    }
+
+    @ExposedMethod(doc = "datetime in UTC -> datetime in local time.")
+    final PyObject tzinfo_fromutc(PyObject dt) {
+        if (!(dt instanceof PyDateTime)) {
+            throw Py.TypeError("fromutc() requires a datetime argument");
+        } else if (((PyDateTime) dt).tzinfo != this) {
+            throw Py.ValueError("dt.tzinfo is not self");
+        }
+        PyObject dtoff = dt.invoke("utcoffset");
+        if (dtoff == Py.None) {
+            throw Py.ValueError("fromutc() requires a non-None utcoffset() result");
+        }
+        PyObject dtdst = dt.invoke("dst");
+        if (dtdst == Py.None) {
+            throw Py.ValueError("fromutc() requires a non-None dst() result");
+        }
+        PyObject delta = dtoff._sub(dtdst);
+        if (delta.__nonzero__()) {
+            dt = dt._add(delta);
+            dtdst = dt.invoke("dst");
+            if (dtdst == Py.None) {
+                throw Py.ValueError("fromutc(): dt.dst gave inconsistent results; cannot convert");
+            }
+        }
+        return dtdst.__nonzero__() ? dt._add(dtdst) : dt;
+    }
+
+    @Override
+    public PyObject __reduce__() {
+        return tzinfo___reduce__();
+    }
+
+    @ExposedMethod
+    final PyObject tzinfo___reduce__() {
+        PyObject getinitargs = __findattr__("__getinitargs__");
+        PyObject args = getinitargs != null ? getinitargs.__call__() : Py.EmptyTuple;
+        PyObject state;
+        PyObject getstate = __findattr__("__getstate__");
+        if (getstate != null) {
+            state = getstate.__call__();
+        } else {
+            state = __findattr__("__dict__");
+            if (state == null || !state.__nonzero__()) {
+                state = Py.None;
+            }
+        }
+        if (state == Py.None) {
+            return new PyTuple(getType(), args);
+        }
+        return new PyTuple(getType(), args, state);
+    }
+}
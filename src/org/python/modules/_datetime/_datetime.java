@@ -0,0 +1,444 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._datetime;
+
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.python.core.ClassDictInit;
+import org.python.core.Py;
+import org.python.core.PyException;
+import org.python.core.PyFloat;
+import org.python.core.PyInteger;
+import org.python.core.PyLong;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PyTuple;
+import org.python.core.PyUnicode;
+import org.python.modules.time.PyTimeTuple;
+import org.python.modules.time.Time;
+
+/**
+ * The Python <code>_datetime</code> module: the types of the <code>datetime</code> module, in
+ * Java. <code>datetime</code> imports them in place of its own classes, which remain as the
+ * definition of their behaviour; pickles name them the same way, and hold the same state.
+ * <p>
+ * This class also holds the calendar arithmetic and the checks the types share. The calendar is
+ * the proleptic Gregorian calendar, in which 1 January of year 1 is day 1.
+ */
+public class _datetime implements ClassDictInit {
+
+    public static final PyString __doc__ = new PyString("Fast implementation of the datetime type.");
+
+    public static final int MINYEAR = 1;
+    public static final int MAXYEAR = 9999;
+
+    /** The ordinal of 31 December 9999. */
+    static final int MAXORDINAL = 3652059;
+
+    public static void classDictInit(PyObject dict) {
+        dict.__setitem__("__name__", new PyString("_datetime"));
+        dict.__setitem__("__doc__", __doc__);
+        dict.__setitem__("date", PyDate.TYPE);
+        dict.__setitem__("datetime", PyDateTime.TYPE);
+        dict.__setitem__("time", PyTime.TYPE);
+        dict.__setitem__("timedelta", PyTimedelta.TYPE);
+        dict.__setitem__("tzinfo", PyTzInfo.TYPE);
+
+        // Hide from Python
+        dict.__setitem__("classDictInit", null);
+    }
+
+    private static final int[] DAYS_IN_MONTH = {-1, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30,
+            31};
+
+    private static final int[] DAYS_BEFORE_MONTH = {-1, 0, 31, 59, 90, 120, 151, 181, 212, 243,
+            273, 304, 334};
+
+    static final String[] MONTH_NAMES = {null, "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul",
+            "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    static final String[] DAY_NAMES = {null, "Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+
+    static boolean isLeap(int year) {
+        return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /** The number of days before 1 January of <code>year</code>. */
+    static int daysBeforeYear(int year) {
+        int y = year - 1;
+        return y * 365 + Math.floorDiv(y, 4) - Math.floorDiv(y, 100) + Math.floorDiv(y, 400);
+    }
+
+    static int daysInMonth(int year, int month) {
+        return month == 2 && isLeap(year) ? 29 : DAYS_IN_MONTH[month];
+    }
+
+    /** The number of days in <code>year</code> before the first day of <code>month</code>. */
+    static int daysBeforeMonth(int year, int month) {
+        return DAYS_BEFORE_MONTH[month] + (month > 2 && isLeap(year) ? 1 : 0);
+    }
+
+    static int ymd2ord(int year, int month, int day) {
+        return daysBeforeYear(year) + daysBeforeMonth(year, month) + day;
+    }
+
+    /** Days in 400, 100 and 4 years. */
+    private static final int DI400Y = daysBeforeYear(401);
+    private static final int DI100Y = daysBeforeYear(101);
+    private static final int DI4Y = daysBeforeYear(5);
+
+    /** The year, month and day of an ordinal, in years of 400, 100, 4 and 1 as in datetime.py. */
+    static int[] ord2ymd(int n) {
+        n -= 1;
+        int n400 = Math.floorDiv(n, DI400Y);
+        n = Math.floorMod(n, DI400Y);
+        int year = n400 * 400 + 1;
+
+        // n100 and n1 may be 4, meaning the last day of the 400 or 4 year cycle
+        int n100 = n / DI100Y;
+        n %= DI100Y;
+        int n4 = n / DI4Y;
+        n %= DI4Y;
+        int n1 = n / 365;
+        n %= 365;
+
+        year += n100 * 100 + n4 * 4 + n1;
+        if (n1 == 4 || n100 == 4) {
+            return new int[] {year - 1, 12, 31};
+        }
+
+        // The month is either exact or one too large
+        boolean leapyear = n1 == 3 && (n4 != 24 || n100 == 3);
+        int month = (n + 50) >> 5;
+        int preceding = DAYS_BEFORE_MONTH[month] + (month > 2 && leapyear ? 1 : 0);
+        if (preceding > n) {
+            month -= 1;
+            preceding -= DAYS_IN_MONTH[month] + (month == 2 && leapyear ? 1 : 0);
+        }
+        return new int[] {year, month, n - preceding + 1};
+    }
+
+    /** The Monday that starts ISO week 1 of <code>year</code>, as an ordinal. */
+    static int isoWeek1Monday(int year) {
+        final int THURSDAY = 3;
+        int firstday = ymd2ord(year, 1, 1);
+        int firstweekday = (firstday + 6) % 7;
+        int week1monday = firstday - firstweekday;
+        if (firstweekday > THURSDAY) {
+            week1monday += 7;
+        }
+        return week1monday;
+    }
+
+    /**
+     * The value of a date or time field: an <code>int</code> or <code>long</code>, or an object
+     * with <code>__int__</code>, but not a <code>float</code>. Values beyond the range of a
+     * <code>long</code> are clamped, which is enough to fail the range checks.
+     */
+    static long checkIntField(PyObject value) {
+        if (value instanceof PyInteger) {
+            return ((PyInteger) value).getValue();
+        } else if (value instanceof PyFloat) {
+            throw Py.TypeError("integer argument expected, got float");
+        } else if (!(value instanceof PyLong)) {
+            PyObject intMethod = value == null ? null : value.__findattr__("__int__");
+            if (intMethod == null) {
+                throw Py.TypeError("an integer is required");
+            }
+            value = intMethod.__call__();
+            if (value instanceof PyInteger) {
+                return ((PyInteger) value).getValue();
+            } else if (!(value instanceof PyLong)) {
+                throw Py.TypeError("__int__ method should return an integer");
+            }
+        }
+        BigInteger v = ((PyLong) value).getValue();
+        return v.bitLength() < 64 ? v.longValue() : v.signum() * Long.MAX_VALUE;
+    }
+
+    /** The ValueError datetime.py raises for a field out of range, with the field's value. */
+    static PyException fieldError(String message, long value) {
+        return new PyException(Py.ValueError, new PyTuple(new PyString(message),
+                Py.newInteger(value)));
+    }
+
+    static int[] checkDateFields(PyObject year, PyObject month, PyObject day) {
+        return checkDate(checkIntField(year), checkIntField(month), checkIntField(day));
+    }
+
+    static int[] checkDate(long y, long m, long d) {
+        if (y < MINYEAR || y > MAXYEAR) {
+            throw fieldError(String.format("year must be in %d..%d", MINYEAR, MAXYEAR), y);
+        }
+        if (m < 1 || m > 12) {
+            throw fieldError("month must be in 1..12", m);
+        }
+        int dim = daysInMonth((int) y, (int) m);
+        if (d < 1 || d > dim) {
+            throw fieldError("day must be in 1.." + dim, d);
+        }
+        return new int[] {(int) y, (int) m, (int) d};
+    }
+
+    static int[] checkTimeFields(PyObject hour, PyObject minute, PyObject second,
+            PyObject microsecond) {
+        long h = checkIntField(hour);
+        long m = checkIntField(minute);
+        long s = checkIntField(second);
+        long us = checkIntField(microsecond);
+        if (h < 0 || h > 23) {
+            throw fieldError("hour must be in 0..23", h);
+        }
+        if (m < 0 || m > 59) {
+            throw fieldError("minute must be in 0..59", m);
+        }
+        if (s < 0 || s > 59) {
+            throw fieldError("second must be in 0..59", s);
+        }
+        if (us < 0 || us > 999999) {
+            throw fieldError("microsecond must be in 0..999999", us);
+        }
+        return new int[] {(int) h, (int) m, (int) s, (int) us};
+    }
+
+    static PyObject checkTzinfo(PyObject tz) {
+        if (tz != Py.None && !(tz instanceof PyTzInfo)) {
+            throw Py.TypeError("tzinfo argument must be None or of a tzinfo subclass");
+        }
+        return tz;
+    }
+
+    /** A <code>str</code> (and not <code>unicode</code>), as pickled state is. */
+    static boolean isBytes(PyObject obj) {
+        return obj instanceof PyString && !(obj instanceof PyUnicode);
+    }
+
+    static PyException cmpError(PyObject x, PyObject y) {
+        return Py.TypeError(String.format("can't compare '%s' to '%s'",
+                x.getType().getName(), y.getType().getName()));
+    }
+
+    /**
+     * Check an offset returned by the <code>utcoffset()</code> or <code>dst()</code> method
+     * (<code>name</code>) of a tzinfo, and return it in minutes, or <code>null</code> for None.
+     */
+    static Integer checkUtcOffset(String name, PyObject offset) {
+        if (offset == Py.None) {
+            return null;
+        } else if (!(offset instanceof PyTimedelta)) {
+            throw Py.TypeError(String.format("tzinfo.%s() must return None or timedelta, not '%s'",
+                    name, offset.getType()));
+        }
+        PyTimedelta td = (PyTimedelta) offset;
+        int minutes;
+        if (td.days < -1 || td.days > 0) {
+            minutes = 1440;
+        } else {
+            int seconds = td.days * 86400 + td.seconds;
+            if (Math.floorMod(seconds, 60) != 0 || td.microseconds != 0) {
+                throw Py.ValueError(String.format(
+                        "tzinfo.%s() must return a whole number of minutes", name));
+            }
+            minutes = Math.floorDiv(seconds, 60);
+        }
+        if (minutes <= -1440 || minutes >= 1440) {
+            throw Py.ValueError(String.format("%s()=%d, must be in -1439..1439", name, minutes));
+        }
+        return minutes;
+    }
+
+    static PyObject checkTzname(PyObject name) {
+        if (name != Py.None && !isBytes(name)) {
+            throw Py.TypeError(String.format(
+                    "tzinfo.tzname() must return None or string, not '%s'", name.getType()));
+        }
+        return name;
+    }
+
+    static PyTuple buildStructTime(int y, int m, int d, int hh, int mm, int ss, int dstflag) {
+        int wday = Math.floorMod(ymd2ord(y, m, d) + 6, 7);
+        int dnum = daysBeforeMonth(y, m) + d;
+        return new PyTimeTuple(Py.newInteger(y), Py.newInteger(m), Py.newInteger(d),
+                Py.newInteger(hh), Py.newInteger(mm), Py.newInteger(ss), Py.newInteger(wday),
+                Py.newInteger(dnum), Py.newInteger(dstflag));
+    }
+
+    /**
+     * The date and time, locally or in UTC, of a timestamp in seconds (to the millisecond), as
+     * <code>time.localtime</code> and <code>time.gmtime</code> give them.
+     */
+    static LocalDateTime timestampFields(double secs, boolean utc) {
+        double millis = secs * 1000;
+        if (millis < Long.MIN_VALUE || millis > Long.MAX_VALUE) {
+            throw Py.ValueError("timestamp out of range for platform time_t");
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli((long) millis), zone(utc));
+    }
+
+    /** UTC, or the local time zone (as the <code>time</code> module has it). */
+    static ZoneId zone(boolean utc) {
+        return utc ? ZoneOffset.UTC : TimeZone.getDefault().toZoneId();
+    }
+
+    /** Round to whole microseconds, half away from zero, as <code>datetime._round</code>. */
+    static long round(double x) {
+        if (Double.isNaN(x)) {
+            throw Py.ValueError("cannot convert float NaN to integer");
+        }
+        return (long) (x >= 0.0 ? Math.floor(x + 0.5) : Math.ceil(x - 0.5));
+    }
+
+    /** Append <code>value</code> to <code>buf</code> in (at least) <code>width</code> digits. */
+    static StringBuilder pad(StringBuilder buf, int value, int width) {
+        String digits = Integer.toString(value);
+        for (int i = digits.length(); i < width; i++) {
+            buf.append('0');
+        }
+        return buf.append(digits);
+    }
+
+    /** Append HH:MM:SS, and .ffffff unless the microseconds are zero. */
+    static StringBuilder formatTime(StringBuilder buf, int hh, int mm, int ss, int us) {
+        pad(buf, hh, 2).append(':');
+        pad(buf, mm, 2).append(':');
+        pad(buf, ss, 2);
+        if (us != 0) {
+            pad(buf.append('.'), us, 6);
+        }
+        return buf;
+    }
+
+    /** Append an offset in minutes as +HH:MM (or with another separator). */
+    static StringBuilder formatOffset(StringBuilder buf, int offset, String sep) {
+        char sign = '+';
+        if (offset < 0) {
+            sign = '-';
+            offset = -offset;
+        }
+        pad(buf.append(sign), offset / 60, 2).append(sep);
+        return pad(buf, offset % 60, 2);
+    }
+
+    static String formatArg(PyObject format, String function) {
+        if (!(format instanceof PyString)) {
+            throw Py.TypeError(String.format("%s() argument 1 must be string, not %s", function,
+                    format.getType().fastGetName()));
+        }
+        return ((PyString) format).getString();
+    }
+
+    /**
+     * Format with <code>time.strftime</code>, having first substituted <code>%f</code>,
+     * <code>%z</code> and <code>%Z</code> from <code>obj</code>, which may be a date, a time or a
+     * datetime.
+     */
+    static PyString wrapStrftime(PyObject obj, String format, PyTuple timetuple) {
+        int year = timetuple.pyget(0).asInt();
+        if (year < 1900) {
+            throw Py.ValueError(String.format("year=%d is before 1900; the datetime strftime() "
+                    + "methods require year >= 1900", year));
+        }
+        // Consult the tzinfo only if the format needs it
+        String freplace = null, zreplace = null, Zreplace = null;
+        int n = format.length();
+        StringBuilder newformat = new StringBuilder(n + 8);
+        for (int i = 0; i < n;) {
+            char ch = format.charAt(i++);
+            if (ch != '%') {
+                newformat.append(ch);
+            } else if (i == n) {
+                newformat.append('%');
+            } else {
+                ch = format.charAt(i++);
+                if (ch == 'f') {
+                    if (freplace == null) {
+                        int us = obj instanceof PyDateTime ? ((PyDateTime) obj).microsecond
+                                : obj instanceof PyTime ? ((PyTime) obj).microsecond : 0;
+                        freplace = pad(new StringBuilder(), us, 6).toString();
+                    }
+                    newformat.append(freplace);
+                } else if (ch == 'z') {
+                    if (zreplace == null) {
+                        Integer offset = obj instanceof PyDateTime ? ((PyDateTime) obj).offset()
+                                : obj instanceof PyTime ? ((PyTime) obj).offset() : null;
+                        zreplace = offset == null ? ""
+                                : formatOffset(new StringBuilder(), offset, "").toString();
+                    }
+                    newformat.append(zreplace);
+                } else if (ch == 'Z') {
+                    if (Zreplace == null) {
+                        PyObject name = obj instanceof PyDateTime ? ((PyDateTime) obj).tzname()
+                                : obj instanceof PyTime ? ((PyTime) obj).tzname() : Py.None;
+                        Zreplace = "";
+                        if (name != Py.None) {
+                            // Through the method, as a subclass of str may define it
+                            PyObject escaped = name.invoke("replace", Py.newString("%"),
+                                    Py.newString("%%"));
+                            if (!(escaped instanceof PyString)) {
+                                throw Py.TypeError("tzname.replace() did not return a string");
+                            }
+                            Zreplace = escaped.toString();
+                        }
+                    }
+                    newformat.append(Zreplace);
+                } else {
+                    newformat.append('%').append(ch);
+                }
+            }
+        }
+        return Time.strftime(newformat.toString(), timetuple);
+    }
+
+    /** The value of <code>__format__</code> for a date, time or datetime. */
+    static PyObject format(PyObject obj, PyObject formatSpec) {
+        if (!(formatSpec instanceof PyString)) {
+            throw Py.ValueError("__format__ expects str or unicode, not "
+                    + formatSpec.getType().getName());
+        } else if (formatSpec.__len__() != 0) {
+            return obj.invoke("strftime", formatSpec);
+        }
+        return obj.__str__();
+    }
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    /** A calendar in UTC with all fields clear. */
+    static GregorianCalendar utcCalendar() {
+        GregorianCalendar cal = new GregorianCalendar(UTC);
+        cal.clear();
+        return cal;
+    }
+
+    /**
+     * A calendar in the time zone of <code>tzinfo</code>, for a time or datetime: UTC when it is
+     * None, the Java time zone with the same name as the tzinfo when there is one (as for the
+     * Olson names), and otherwise UTC with the offsets of the tzinfo.
+     */
+    static GregorianCalendar javaCalendar(PyObject obj, PyObject tzinfo) {
+        if (tzinfo == Py.None) {
+            return new GregorianCalendar(UTC);
+        }
+        PyObject tzname = tzinfo.invoke("tzname", obj);
+        if (tzname != Py.None) {
+            String name = tzname.toString();
+            TimeZone tz = TimeZone.getTimeZone(name);
+            if (tz.getID().equals(name) || !tz.getID().equals("GMT")) {
+                return new GregorianCalendar(tz);
+            }
+        }
+        GregorianCalendar cal = new GregorianCalendar(UTC);
+        cal.set(Calendar.DST_OFFSET, millis(tzinfo.invoke("dst", obj)));
+        cal.set(Calendar.ZONE_OFFSET, millis(tzinfo.invoke("utcoffset", obj)));
+        return cal;
+    }
+
+    private static int millis(PyObject delta) {
+        return (int) (delta.invoke("total_seconds").asDouble() * 1000);
+    }
+}
@@ -0,0 +1,549 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._decimal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+import org.python.core.ArgParser;
+import org.python.core.Py;
+import org.python.core.PyInteger;
+import org.python.core.PyNewWrapper;
+import org.python.core.PyObject;
+import org.python.core.PyObjectDerived;
+import org.python.core.PySlot;
+import org.python.core.PyString;
+import org.python.core.PyType;
+import org.python.core.Traverseproc;
+import org.python.core.Visitproc;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedNew;
+import org.python.expose.ExposedType;
+
+/**
+ * <code>_decimal.Arithmetic</code>: addition, multiplication, quantization, comparison and
+ * parsing of finite <code>Decimal</code>s with {@link BigDecimal}. An instance is made for one
+ * <code>Decimal</code> class, and reads and writes the slots of its instances directly.
+ * <p>
+ * Each method gives the result <code>Decimal</code> would, and signals <code>Inexact</code> and
+ * <code>Rounded</code> through the context just as it does. Where the operands or the result
+ * involve anything else (infinities and NaNs, subnormal results, overflow, clamping, or a context
+ * or operand it cannot read), the method returns <code>None</code> before signalling anything, and
+ * the caller carries on in Python.
+ */
+@ExposedType(name = "_decimal.Arithmetic", base = PyObject.class, isBaseType = false)
+public class PyArithmetic extends PyObject implements Traverseproc {
+
+    public static final PyType TYPE = PyType.fromClass(PyArithmetic.class);
+
+    /** The largest precision and magnitude of exponent limit a context may have here. */
+    private static final long MAX_LIMIT = 999999999;
+
+    /** The difference in exponents beyond which addition is left to Python. */
+    private static final long MAX_SPREAD = 1000;
+
+    private final PyType decimal;
+    private final PyObject inexact;
+    private final PyObject rounded;
+
+    private final PySlot sign;
+    private final PySlot coefficient;
+    private final PySlot exponent;
+    private final PySlot special;
+
+    public PyArithmetic(PyType decimal, PyObject inexact, PyObject rounded) {
+        super(TYPE);
+        this.decimal = decimal;
+        this.inexact = inexact;
+        this.rounded = rounded;
+        sign = slot(decimal, "_sign");
+        coefficient = slot(decimal, "_int");
+        exponent = slot(decimal, "_exp");
+        special = slot(decimal, "_is_special");
+    }
+
+    private static PySlot slot(PyType type, String name) {
+        PyObject slot = type.lookup(name);
+        if (!(slot instanceof PySlot)) {
+            throw Py.TypeError(String.format("'%s' has no slot '%s'", type.fastGetName(), name));
+        }
+        return (PySlot) slot;
+    }
+
+    @ExposedNew
+    static PyObject Arithmetic___new__(PyNewWrapper new_, boolean init, PyType subtype,
+            PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("Arithmetic", args, keywords,
+                new String[] {"decimal", "inexact", "rounded"}, 3);
+        PyObject decimal = ap.getPyObject(0);
+        if (!(decimal instanceof PyType)) {
+            throw Py.TypeError("Arithmetic() argument 1 must be type");
+        }
+        return new PyArithmetic((PyType) decimal, ap.getPyObject(1), ap.getPyObject(2));
+    }
+
+    @ExposedMethod(doc = "parse(d, s) -> bool\n\n"
+            + "Set the slots of the new Decimal d from the string s, if it is a plain finite "
+            + "number.")
+    final boolean Arithmetic_parse(PyObject d, PyObject value) {
+        if (!(value instanceof PyString)) {
+            return false;
+        }
+        String s = ((PyString) value).getString();
+        int start = 0, end = s.length();
+        while (start < end && isSpace(s.charAt(start))) {
+            start++;
+        }
+        while (end > start && isSpace(s.charAt(end - 1))) {
+            end--;
+        }
+
+        int i = start;
+        int negative = 0;
+        if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negative = s.charAt(i++) == '-' ? 1 : 0;
+        }
+        int intStart = i;
+        i = skipDigits(s, i, end);
+        int intEnd = i;
+        int fracStart = i, fracEnd = i;
+        if (i < end && s.charAt(i) == '.') {
+            fracStart = ++i;
+            i = fracEnd = skipDigits(s, i, end);
+        }
+        if (intStart == intEnd && fracStart == fracEnd) {
+            return false;
+        }
+        long exp = 0;
+        if (i < end && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExp = false;
+            if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+                negativeExp = s.charAt(i++) == '-';
+            }
+            int expStart = i;
+            i = skipDigits(s, i, end);
+            // Longer exponents than this may need a long, so leave them to Python
+            if (i == expStart || i - expStart > 9) {
+                return false;
+            }
+            exp = Integer.parseInt(s.substring(expStart, i));
+            if (negativeExp) {
+                exp = -exp;
+            }
+        }
+        if (i != end) {
+            return false;
+        }
+        exp -= fracEnd - fracStart;
+        if (exp < Integer.MIN_VALUE || exp > Integer.MAX_VALUE) {
+            return false;
+        }
+
+        // The coefficient is the digits either side of the point, without leading zeros
+        while (intStart < intEnd && s.charAt(intStart) == '0') {
+            intStart++;
+        }
+        String digits;
+        if (intStart < intEnd) {
+            digits = s.substring(intStart, intEnd);
+            if (fracStart < fracEnd) {
+                digits = digits.concat(s.substring(fracStart, fracEnd));
+            }
+        } else {
+            while (fracStart < fracEnd && s.charAt(fracStart) == '0') {
+                fracStart++;
+            }
+            digits = fracStart < fracEnd ? s.substring(fracStart, fracEnd) : "0";
+        }
+        set(d, negative, digits, exp);
+        return true;
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private static int skipDigits(String s, int i, int end) {
+        while (i < end && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    @ExposedMethod(doc = "add(a, b, context) -> Decimal or None\n\nReturn a + b, as a.__add__(b, "
+            + "context) would.")
+    final PyObject Arithmetic_add(PyObject a, PyObject b, PyObject context) {
+        Operand x = operand(a), y = operand(b);
+        Limits c = Limits.of(context);
+        if (x == null || y == null || c == null) {
+            return Py.None;
+        }
+        return nonNull(add(x.sign, x, y.sign, y, c));
+    }
+
+    @ExposedMethod(doc = "subtract(a, b, context) -> Decimal or None\n\nReturn a - b, as "
+            + "a.__sub__(b, context) would.")
+    final PyObject Arithmetic_subtract(PyObject a, PyObject b, PyObject context) {
+        Operand x = operand(a), y = operand(b);
+        Limits c = Limits.of(context);
+        if (x == null || y == null || c == null) {
+            return Py.None;
+        }
+        return nonNull(add(x.sign, x, y.sign ^ 1, y, c));
+    }
+
+    @ExposedMethod(doc = "multiply(a, b, context) -> Decimal or None\n\nReturn a * b, as "
+            + "a.__mul__(b, context) would.")
+    final PyObject Arithmetic_multiply(PyObject a, PyObject b, PyObject context) {
+        Operand x = operand(a), y = operand(b);
+        Limits c = Limits.of(context);
+        if (x == null || y == null || c == null) {
+            return Py.None;
+        }
+        long scale = (long) x.magnitude().scale() + y.magnitude().scale();
+        if (scale < Integer.MIN_VALUE || scale > Integer.MAX_VALUE) {
+            return Py.None;
+        }
+        return nonNull(fix(x.sign ^ y.sign, x.magnitude().multiply(y.magnitude()), c));
+    }
+
+    @ExposedMethod(doc = "quantize(a, exp, rounding, context) -> Decimal or None\n\n"
+            + "Return a quantized to the exponent of exp, as a.quantize(exp, rounding, context) "
+            + "would.")
+    final PyObject Arithmetic_quantize(PyObject a, PyObject exp, PyObject rounding,
+            PyObject context) {
+        Operand x = operand(a), q = operand(exp);
+        Limits c = Limits.of(context);
+        Rounding mode = Rounding.of(rounding);
+        if (x == null || q == null || c == null || mode == null) {
+            return Py.None;
+        }
+        long e = q.exp;
+        if (e < c.etiny() || e > c.emax || (c.clamp && e > c.etop())) {
+            return Py.None;
+        }
+        if (x.isZero()) {
+            return create(x.sign, BigDecimal.ZERO.setScale((int) -e), e);
+        }
+        long adjusted = x.adjusted();
+        if (adjusted > c.emax || adjusted - e + 1 > c.prec) {
+            return Py.None;
+        }
+        BigDecimal result;
+        boolean changed;
+        if (x.exp >= e) {
+            result = x.magnitude().setScale((int) -e);
+            changed = false;
+        } else if (adjusted < e - 1) {
+            // Every digit goes: round 10**(e-1) instead, which rounds the same way, cheaply
+            result = mode.setScale(BigDecimal.valueOf(1, (int) (1 - e)), x.sign, (int) -e);
+            changed = true;
+        } else {
+            result = mode.setScale(x.magnitude(), x.sign, (int) -e);
+            changed = result.compareTo(x.magnitude()) != 0;
+        }
+        if (result.signum() != 0) {
+            adjusted = result.precision() + e - 1;
+            if (adjusted > c.emax || adjusted < c.emin || result.precision() > c.prec) {
+                return Py.None;
+            }
+        }
+        if (e > x.exp) {
+            if (changed) {
+                c.signal(inexact);
+            }
+            c.signal(rounded);
+        }
+        return create(x.sign, result, e);
+    }
+
+    @ExposedMethod(doc = "compare(a, b) -> int or None\n\nReturn -1, 0 or 1 as a is less than, "
+            + "equal to or greater than b.")
+    final PyObject Arithmetic_compare(PyObject a, PyObject b) {
+        Operand x = operand(a), y = operand(b);
+        if (x == null || y == null) {
+            return Py.None;
+        }
+        int result;
+        if (x.isZero() || y.isZero() || x.sign != y.sign) {
+            // Zeros are equal whatever their signs, and only the signs matter otherwise
+            int xSignum = x.isZero() ? 0 : 1 - 2 * x.sign;
+            int ySignum = y.isZero() ? 0 : 1 - 2 * y.sign;
+            result = Integer.compare(xSignum, ySignum);
+        } else if (x.adjusted() != y.adjusted()) {
+            result = Long.compare(x.adjusted(), y.adjusted());
+            result = x.sign == 0 ? result : -result;
+        } else {
+            result = x.magnitude().compareTo(y.magnitude());
+            result = x.sign == 0 ? result : -result;
+        }
+        return Py.newInteger(result);
+    }
+
+    /**
+     * Return the sum of x and y, taken with the given signs, made to fit the context, or null.
+     */
+    private PyObject add(int xSign, Operand x, int ySign, Operand y, Limits c) {
+        if (Math.abs((long) x.exp - y.exp) > MAX_SPREAD) {
+            // The exact sum is long, and Python shortens the smaller operand first
+            return null;
+        }
+        BigDecimal xValue = xSign == 0 ? x.magnitude() : x.magnitude().negate();
+        BigDecimal yValue = ySign == 0 ? y.magnitude() : y.magnitude().negate();
+        BigDecimal sum = xValue.add(yValue);
+        if (sum.signum() == 0) {
+            // A zero takes the sign the operands share, otherwise it is negative only in
+            // ROUND_FLOOR
+            int zeroSign = xSign == ySign ? xSign : c.rounding == Rounding.ROUND_FLOOR ? 1 : 0;
+            return fix(zeroSign, sum, c);
+        }
+        return fix(sum.signum() < 0 ? 1 : 0, sum.abs(), c);
+    }
+
+    /**
+     * Return the <code>Decimal</code> of the given sign and magnitude, rounded to the precision of
+     * the context as <code>Decimal._fix</code> would, or null if its exponent is out of the range
+     * of the context.
+     */
+    private PyObject fix(int sign, BigDecimal magnitude, Limits c) {
+        long exp = -(long) magnitude.scale();
+        if (magnitude.signum() == 0) {
+            if (exp < c.etiny() || exp > (c.clamp ? c.etop() : c.emax)) {
+                return null;
+            }
+            return create(sign, magnitude, exp);
+        }
+        long expMin = magnitude.precision() + exp - c.prec;
+        if (expMin > c.etop() || expMin < c.etiny()) {
+            return null;
+        }
+        if (exp >= expMin) {
+            if (c.clamp && exp > c.etop()) {
+                return null;
+            }
+            return create(sign, magnitude, exp);
+        }
+        BigDecimal result = c.rounding.setScale(magnitude, sign, (int) -expMin);
+        if (result.precision() > c.prec) {
+            // Rounding carried into a new digit: drop the trailing zero
+            if (++expMin > c.etop()) {
+                return null;
+            }
+            result = result.setScale((int) -expMin, RoundingMode.UNNECESSARY);
+        }
+        if (result.compareTo(magnitude) != 0) {
+            c.signal(inexact);
+        }
+        c.signal(rounded);
+        return create(sign, result, expMin);
+    }
+
+    private static PyObject nonNull(PyObject result) {
+        return result == null ? Py.None : result;
+    }
+
+    private PyObject create(int sign, BigDecimal magnitude, long exp) {
+        PyObject d = new PyObjectDerived(decimal);
+        set(d, sign, magnitude.unscaledValue().toString(), exp);
+        return d;
+    }
+
+    private void set(PyObject d, int sign, String digits, long exp) {
+        this.sign.__set__(d, Py.newInteger(sign));
+        coefficient.__set__(d, Py.newString(digits));
+        exponent.__set__(d, Py.newInteger(exp));
+        special.__set__(d, Py.False);
+    }
+
+    /** Return the finite <code>Decimal</code> x as an {@link Operand}, or null if it is not one. */
+    private Operand operand(PyObject x) {
+        if (!x.getType().isSubType(decimal)) {
+            return null;
+        }
+        PyObject isSpecial = special.__get__(x, null);
+        PyObject s = sign.__get__(x, null);
+        PyObject c = coefficient.__get__(x, null);
+        PyObject e = exponent.__get__(x, null);
+        if (isSpecial == null || isSpecial.__nonzero__() || !(s instanceof PyInteger)
+                || !(c instanceof PyString) || !(e instanceof PyInteger)) {
+            return null;
+        }
+        int signValue = ((PyInteger) s).getValue();
+        int exp = ((PyInteger) e).getValue();
+        String digits = ((PyString) c).getString();
+        int n = digits.length();
+        if ((signValue & ~1) != 0 || exp == Integer.MIN_VALUE || n == 0
+                || (n > 1 && digits.charAt(0) == '0') || skipDigits(digits, 0, n) != n) {
+            return null;
+        }
+        return new Operand(signValue, exp, digits);
+    }
+
+    /** A finite <code>Decimal</code>: its sign (0 or 1), exponent, and coefficient digits. */
+    private static final class Operand {
+
+        final int sign;
+        final int exp;
+        final String digits;
+        private BigDecimal magnitude;
+
+        Operand(int sign, int exp, String digits) {
+            this.sign = sign;
+            this.exp = exp;
+            this.digits = digits;
+        }
+
+        boolean isZero() {
+            return digits.charAt(0) == '0';
+        }
+
+        /** The exponent of the most significant digit. */
+        long adjusted() {
+            return digits.length() + (long) exp - 1;
+        }
+
+        BigDecimal magnitude() {
+            if (magnitude == null) {
+                int n = digits.length();
+                if (n < 19) {
+                    magnitude = BigDecimal.valueOf(Long.parseLong(digits), -exp);
+                } else {
+                    magnitude = new BigDecimal(new BigInteger(digits), -exp);
+                }
+            }
+            return magnitude;
+        }
+    }
+
+    /** The attributes of a context that the arithmetic uses. */
+    private static final class Limits {
+
+        final PyObject context;
+        final int prec;
+        final long emin;
+        final long emax;
+        final boolean clamp;
+        final Rounding rounding;
+
+        private Limits(PyObject context, int prec, long emin, long emax, boolean clamp,
+                Rounding rounding) {
+            this.context = context;
+            this.prec = prec;
+            this.emin = emin;
+            this.emax = emax;
+            this.clamp = clamp;
+            this.rounding = rounding;
+        }
+
+        /** Return the limits of the context, or null if any is outside those handled here. */
+        static Limits of(PyObject context) {
+            long prec = limit(context.__findattr__("prec"));
+            long emin = limit(context.__findattr__("Emin"));
+            long emax = limit(context.__findattr__("Emax"));
+            long clamp = limit(context.__findattr__("_clamp"));
+            Rounding rounding = Rounding.of(context.__findattr__("rounding"));
+            if (prec < 1 || prec > MAX_LIMIT || Math.abs(emin) > MAX_LIMIT
+                    || Math.abs(emax) > MAX_LIMIT || (clamp & ~1) != 0 || rounding == null) {
+                return null;
+            }
+            return new Limits(context, (int) prec, emin, emax, clamp == 1, rounding);
+        }
+
+        private static long limit(PyObject value) {
+            if (value instanceof PyInteger) {
+                long v = ((PyInteger) value).getValue();
+                if (Math.abs(v) <= MAX_LIMIT) {
+                    return v;
+                }
+            }
+            // Out of range, so that the context is not used
+            return MAX_LIMIT + 1;
+        }
+
+        long etiny() {
+            return emin - prec + 1;
+        }
+
+        long etop() {
+            return emax - prec + 1;
+        }
+
+        void signal(PyObject condition) {
+            context.invoke("_raise_error", condition);
+        }
+    }
+
+    /** The rounding modes of the decimal module, applied to magnitudes. */
+    private enum Rounding {
+
+        ROUND_DOWN(RoundingMode.DOWN, RoundingMode.DOWN),
+        ROUND_HALF_UP(RoundingMode.HALF_UP, RoundingMode.HALF_UP),
+        ROUND_HALF_EVEN(RoundingMode.HALF_EVEN, RoundingMode.HALF_EVEN),
+        ROUND_CEILING(RoundingMode.UP, RoundingMode.DOWN),
+        ROUND_FLOOR(RoundingMode.DOWN, RoundingMode.UP),
+        ROUND_UP(RoundingMode.UP, RoundingMode.UP),
+        ROUND_HALF_DOWN(RoundingMode.HALF_DOWN, RoundingMode.HALF_DOWN),
+        ROUND_05UP(RoundingMode.DOWN, RoundingMode.DOWN) {
+
+            /** Away from zero only if the last digit kept would otherwise be 0 or 5. */
+            @Override
+            BigDecimal setScale(BigDecimal magnitude, int sign, int scale) {
+                BigDecimal down = magnitude.setScale(scale, RoundingMode.DOWN);
+                if (down.compareTo(magnitude) != 0) {
+                    int last = down.unscaledValue().mod(BigInteger.TEN).intValue();
+                    if (last == 0 || last == 5) {
+                        return magnitude.setScale(scale, RoundingMode.UP);
+                    }
+                }
+                return down;
+            }
+        };
+
+        private final RoundingMode positive;
+        private final RoundingMode negative;
+
+        Rounding(RoundingMode positive, RoundingMode negative) {
+            this.positive = positive;
+            this.negative = negative;
+        }
+
+        /** Round the magnitude of a number of the given sign to the given scale. */
+        BigDecimal setScale(BigDecimal magnitude, int sign, int scale) {
+            return magnitude.setScale(scale, sign == 0 ? positive : negative);
+        }
+
+        /** Return the mode a decimal rounding constant names, or null if it names none. */
+        static Rounding of(PyObject rounding) {
+            if (rounding instanceof PyString) {
+                try {
+                    return valueOf(((PyString) rounding).getString());
+                } catch (IllegalArgumentException e) {
+                    // Not a rounding mode: Python will report it
+                }
+            }
+            return null;
+        }
+    }
+
+    /* Traverseproc implementation */
+    @Override
+    public int traverse(Visitproc visit, Object arg) {
+        int retVal = visit.visit(decimal, arg);
+        if (retVal != 0) {
+            return retVal;
+        }
+        if (inexact != null) {
+            retVal = visit.visit(inexact, arg);
+            if (retVal != 0) {
+                return retVal;
+            }
+        }
+        return rounded == null ? 0 : visit.visit(rounded, arg);
+    }
+
+    @Override
+    public boolean refersDirectlyTo(PyObject ob) {
+        return ob != null && (ob == decimal || ob == inexact || ob == rounded);
+    }
+}
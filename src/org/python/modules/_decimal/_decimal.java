@@ -0,0 +1,27 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._decimal;
+
+import org.python.core.ClassDictInit;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+
+/**
+ * The Python <code>_decimal</code> module: the arithmetic of finite decimal numbers, in Java.
+ * <code>decimal</code> makes a {@link PyArithmetic} for its <code>Decimal</code> class, and tries
+ * it first in the operations most programs spend their time in. The Python module remains the
+ * definition of the behaviour, and handles everything the Java does not.
+ */
+public class _decimal implements ClassDictInit {
+
+    public static final PyString __doc__ =
+            new PyString("Java arithmetic of finite numbers for the decimal module.");
+
+    public static void classDictInit(PyObject dict) {
+        dict.__setitem__("__name__", new PyString("_decimal"));
+        dict.__setitem__("__doc__", __doc__);
+        dict.__setitem__("Arithmetic", PyArithmetic.TYPE);
+
+        // Hide from Python
+        dict.__setitem__("classDictInit", null);
+    }
+}
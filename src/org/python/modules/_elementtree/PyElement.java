@@ -0,0 +1,683 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._elementtree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyIterator;
+import org.python.core.PyList;
+import org.python.core.PyNewWrapper;
+import org.python.core.PyObject;
+import org.python.core.PySlice;
+import org.python.core.PyString;
+import org.python.core.PyType;
+import org.python.core.Traverseproc;
+import org.python.core.Visitproc;
+import org.python.core.imp;
+import org.python.expose.ExposedDelete;
+import org.python.expose.ExposedGet;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedNew;
+import org.python.expose.ExposedSet;
+import org.python.expose.ExposedType;
+
+/**
+ * The element of <code>cElementTree</code>: a tag, a dictionary of attributes, the text it
+ * contains, the tail of text that follows it, and a list of child elements. It has the interface
+ * of the Element class of <code>xml.etree.ElementTree</code>, so the serializer and the path
+ * language of that module work on it unchanged.
+ * <p>
+ * The dictionary of attributes is created only when it is first asked for, since most elements of
+ * a parsed document have none. A search for a plain tag (or a <code>{uri}tag</code>) among the
+ * children is made here; any other path is handed to <code>xml.etree.ElementPath</code>.
+ */
+@ExposedType(name = "_elementtree.Element", isBaseType = false)
+public class PyElement extends PyObject implements Traverseproc {
+
+    public static final PyType TYPE = PyType.fromClass(PyElement.class);
+
+    private PyObject tag;
+    /** The attributes, or <code>null</code> until they are set or asked for. */
+    private PyObject attrib;
+    private PyObject text = Py.None;
+    private PyObject tail = Py.None;
+    private final List<PyObject> children = new ArrayList<PyObject>();
+
+    public PyElement(PyObject tag) {
+        super(TYPE);
+        this.tag = tag;
+    }
+
+    /** An element with the given attributes, which it keeps (and does not copy). */
+    public PyElement(PyObject tag, PyObject attrib) {
+        this(tag);
+        this.attrib = attrib;
+    }
+
+    @ExposedNew
+    static PyObject Element___new__(PyNewWrapper new_, boolean init, PyType subtype,
+            PyObject[] args, String[] keywords) {
+        int nargs = args.length - keywords.length;
+        if (nargs < 1 || nargs > 2) {
+            throw Py.TypeError(String.format("Element() takes at least 1 argument (%d given)",
+                    nargs));
+        }
+        PyObject attrib = nargs == 2 ? args[1] : null;
+        return new PyElement(args[0], makeAttrib(attrib, args, keywords));
+    }
+
+    /**
+     * The attributes of a new element: a copy of the dictionary <code>attrib</code> (if not
+     * <code>null</code>), updated with the keyword arguments at the end of <code>args</code>.
+     * Returns <code>null</code> if there are none.
+     */
+    static PyObject makeAttrib(PyObject attrib, PyObject[] args, String[] keywords) {
+        PyDictionary result = null;
+        if (attrib != null) {
+            if (!(attrib instanceof PyDictionary)) {
+                throw Py.TypeError(String.format("attrib must be dict, not %s",
+                        attrib.getType().fastGetName()));
+            }
+            if (attrib.__len__() > 0) {
+                result = ((PyDictionary) attrib).copy();
+            }
+        }
+        int nargs = args.length - keywords.length;
+        for (int i = 0; i < keywords.length; i++) {
+            if (result == null) {
+                result = new PyDictionary();
+            }
+            result.__setitem__(Py.newString(keywords[i]), args[nargs + i]);
+        }
+        return result;
+    }
+
+    /** The element <code>value</code> as a child, or a TypeError if it is not an element. */
+    static PyElement asElement(PyObject value) {
+        if (value instanceof PyElement) {
+            return (PyElement) value;
+        }
+        throw Py.TypeError(String.format("must be Element, not %s",
+                value.getType().fastGetName()));
+    }
+
+    @ExposedGet(name = "tag")
+    public PyObject getTag() {
+        return tag;
+    }
+
+    @ExposedSet(name = "tag")
+    public void setTag(PyObject tag) {
+        this.tag = tag;
+    }
+
+    @ExposedGet(name = "attrib")
+    public PyObject getAttrib() {
+        if (attrib == null) {
+            attrib = new PyDictionary();
+        }
+        return attrib;
+    }
+
+    @ExposedSet(name = "attrib")
+    public void setAttrib(PyObject attrib) {
+        this.attrib = attrib;
+    }
+
+    @ExposedGet(name = "text")
+    public PyObject getText() {
+        return text;
+    }
+
+    @ExposedSet(name = "text")
+    public void setText(PyObject text) {
+        this.text = text;
+    }
+
+    @ExposedGet(name = "tail")
+    public PyObject getTail() {
+        return tail;
+    }
+
+    @ExposedSet(name = "tail")
+    public void setTail(PyObject tail) {
+        this.tail = tail;
+    }
+
+    @ExposedDelete(name = "tag")
+    public void delTag() {
+        throw Py.AttributeError("can't delete attribute");
+    }
+
+    @ExposedDelete(name = "attrib")
+    public void delAttrib() {
+        throw Py.AttributeError("can't delete attribute");
+    }
+
+    @ExposedDelete(name = "text")
+    public void delText() {
+        throw Py.AttributeError("can't delete attribute");
+    }
+
+    @ExposedDelete(name = "tail")
+    public void delTail() {
+        throw Py.AttributeError("can't delete attribute");
+    }
+
+    /** Append a child that is known to be an element. */
+    void appendChild(PyObject child) {
+        children.add(child);
+    }
+
+    @Override
+    public String toString() {
+        return Element_toString();
+    }
+
+    @ExposedMethod(names = "__repr__")
+    final String Element_toString() {
+        return String.format("<Element %s at 0x%x>", tag.__repr__(), Py.id(this));
+    }
+
+    @ExposedMethod
+    final PyObject Element_makeelement(PyObject tag, PyObject attrib) {
+        return new PyElement(tag, makeAttrib(attrib, Py.EmptyObjects, Py.NoKeywords));
+    }
+
+    /** A shallow copy: the new element has the same children, and a copy of the attributes. */
+    @ExposedMethod(names = {"copy", "__copy__"})
+    final PyObject Element_copy() {
+        PyElement copy = new PyElement(tag, attrib == null || attrib.__len__() == 0 ? null
+                : attrib.invoke("copy"));
+        copy.text = text;
+        copy.tail = tail;
+        copy.children.addAll(children);
+        return copy;
+    }
+
+    @ExposedMethod
+    final PyObject Element___deepcopy__(PyObject memo) {
+        PyObject deepcopy = imp.importName("copy", true).__getattr__("deepcopy");
+        PyElement copy = new PyElement(deepcopy.__call__(tag, memo),
+                attrib == null ? null : deepcopy.__call__(attrib, memo));
+        copy.text = deepcopy.__call__(text, memo);
+        copy.tail = deepcopy.__call__(tail, memo);
+        for (PyObject child : children) {
+            copy.children.add(asElement(deepcopy.__call__(child, memo)));
+        }
+        return copy;
+    }
+
+    @Override
+    public int __len__() {
+        return Element___len__();
+    }
+
+    @ExposedMethod
+    final int Element___len__() {
+        return children.size();
+    }
+
+    @Override
+    public boolean __nonzero__() {
+        return Element___nonzero__();
+    }
+
+    @ExposedMethod
+    final boolean Element___nonzero__() {
+        return !children.isEmpty();
+    }
+
+    @Override
+    public PyObject __finditem__(PyObject index) {
+        return Element___getitem__(index);
+    }
+
+    @ExposedMethod
+    final PyObject Element___getitem__(PyObject index) {
+        if (index instanceof PySlice) {
+            int[] indices = ((PySlice) index).indicesEx(children.size());
+            PyObject[] items = new PyObject[indices[3]];
+            for (int i = 0, j = indices[0]; i < items.length; i++, j += indices[2]) {
+                items[i] = children.get(j);
+            }
+            return new PyList(items);
+        }
+        return children.get(childIndex(index));
+    }
+
+    @Override
+    public void __setitem__(PyObject index, PyObject value) {
+        Element___setitem__(index, value);
+    }
+
+    @ExposedMethod
+    final void Element___setitem__(PyObject index, PyObject value) {
+        if (index instanceof PySlice) {
+            // Let a list do the work of slice assignment, checking the new items first
+            PyList elements = new PyList(value);
+            for (PyObject element : elements.asIterable()) {
+                asElement(element);
+            }
+            PyList list = new PyList(children);
+            list.__setitem__(index, elements);
+            children.clear();
+            children.addAll(list);
+            return;
+        }
+        children.set(childIndex(index), asElement(value));
+    }
+
+    @Override
+    public void __delitem__(PyObject index) {
+        Element___delitem__(index);
+    }
+
+    @ExposedMethod
+    final void Element___delitem__(PyObject index) {
+        if (index instanceof PySlice) {
+            PyList list = new PyList(children);
+            list.__delitem__(index);
+            children.clear();
+            children.addAll(list);
+            return;
+        }
+        children.remove(childIndex(index));
+    }
+
+    /** The index of a child, counting from the end if negative. */
+    private int childIndex(PyObject index) {
+        if (!index.isIndex()) {
+            throw Py.TypeError("element indices must be integers");
+        }
+        int i = index.asIndex(Py.IndexError);
+        if (i < 0) {
+            i += children.size();
+        }
+        if (i < 0 || i >= children.size()) {
+            throw Py.IndexError("child index out of range");
+        }
+        return i;
+    }
+
+    @Override
+    public PyObject __iter__() {
+        return Element___iter__();
+    }
+
+    @ExposedMethod
+    final PyObject Element___iter__() {
+        return new PyIterator() {
+
+            private int index;
+
+            @Override
+            public PyObject __iternext__() {
+                return index < children.size() ? children.get(index++) : null;
+            }
+        };
+    }
+
+    @ExposedMethod
+    final void Element_append(PyObject element) {
+        children.add(asElement(element));
+    }
+
+    @ExposedMethod
+    final void Element_extend(PyObject elements) {
+        List<PyObject> added = new ArrayList<PyObject>();
+        for (PyObject element : elements.asIterable()) {
+            added.add(asElement(element));
+        }
+        children.addAll(added);
+    }
+
+    @ExposedMethod
+    final void Element_insert(int index, PyObject element) {
+        asElement(element);
+        int size = children.size();
+        if (index < 0) {
+            index = Math.max(0, index + size);
+        }
+        children.add(Math.min(index, size), element);
+    }
+
+    @ExposedMethod
+    final void Element_remove(PyObject element) {
+        for (int i = 0; i < children.size(); i++) {
+            if (children.get(i) == element) {
+                children.remove(i);
+                return;
+            }
+        }
+        throw Py.ValueError("list.remove(x): x not in list");
+    }
+
+    @ExposedMethod
+    final PyObject Element_getchildren() {
+        return new PyList(children);
+    }
+
+    @ExposedMethod
+    final void Element_clear() {
+        attrib = null;
+        children.clear();
+        text = tail = Py.None;
+    }
+
+    @ExposedMethod(defaults = "null")
+    final PyObject Element_get(PyObject key, PyObject defaultValue) {
+        PyObject value = attrib == null ? null : attrib.__finditem__(key);
+        if (value == null) {
+            return defaultValue == null ? Py.None : defaultValue;
+        }
+        return value;
+    }
+
+    @ExposedMethod
+    final void Element_set(PyObject key, PyObject value) {
+        getAttrib().__setitem__(key, value);
+    }
+
+    @ExposedMethod
+    final PyObject Element_keys() {
+        return attrib == null ? new PyList() : attrib.invoke("keys");
+    }
+
+    @ExposedMethod
+    final PyObject Element_items() {
+        return attrib == null ? new PyList() : attrib.invoke("items");
+    }
+
+    /**
+     * Return the tag of a path that names children by their tag alone (perhaps with a namespace
+     * in braces), or <code>null</code> if the path must be interpreted by ElementPath.
+     */
+    private static String simpleTag(PyObject path, PyObject namespaces) {
+        if (!(path instanceof PyString) || namespaces != null && namespaces != Py.None) {
+            return null;
+        }
+        String s = ((PyString) path).getString();
+        int i = 0, n = s.length();
+        if (n == 0) {
+            return null;
+        }
+        if (s.charAt(0) == '{') {
+            i = s.indexOf('}');
+            if (i < 0) {
+                return null;
+            }
+        }
+        for (; i < n; i++) {
+            switch (s.charAt(i)) {
+                case '/':
+                case '*':
+                case '.':
+                case '[':
+                case '@':
+                    return null;
+            }
+        }
+        return s;
+    }
+
+    /** The first child with the given tag, or <code>null</code>. */
+    private PyObject findChild(String tag) {
+        for (PyObject child : children) {
+            PyObject childTag = ((PyElement) child).tag;
+            if (childTag instanceof PyString && ((PyString) childTag).getString().equals(tag)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private static PyObject elementPath(String name) {
+        return imp.importName("xml.etree.ElementPath", false).__getattr__(name);
+    }
+
+    @ExposedMethod(defaults = "null")
+    final PyObject Element_find(PyObject path, PyObject namespaces) {
+        String tag = simpleTag(path, namespaces);
+        if (tag == null) {
+            return elementPath("find").__call__(this, path, nullToNone(namespaces));
+        }
+        PyObject child = findChild(tag);
+        return child == null ? Py.None : child;
+    }
+
+    @ExposedMethod(defaults = {"null", "null"})
+    final PyObject Element_findtext(PyObject path, PyObject defaultValue, PyObject namespaces) {
+        defaultValue = nullToNone(defaultValue);
+        String tag = simpleTag(path, namespaces);
+        if (tag == null) {
+            return elementPath("findtext").__call__(
+                    new PyObject[] {this, path, defaultValue, nullToNone(namespaces)});
+        }
+        PyObject child = findChild(tag);
+        if (child == null) {
+            return defaultValue;
+        }
+        PyObject childText = ((PyElement) child).text;
+        return childText == Py.None ? Py.EmptyString : childText;
+    }
+
+    @ExposedMethod(defaults = "null")
+    final PyObject Element_findall(PyObject path, PyObject namespaces) {
+        String tag = simpleTag(path, namespaces);
+        if (tag == null) {
+            return elementPath("findall").__call__(this, path, nullToNone(namespaces));
+        }
+        PyList result = new PyList();
+        for (PyObject child : children) {
+            PyObject childTag = ((PyElement) child).tag;
+            if (childTag instanceof PyString && ((PyString) childTag).getString().equals(tag)) {
+                result.append(child);
+            }
+        }
+        return result;
+    }
+
+    @ExposedMethod(defaults = "null")
+    final PyObject Element_iterfind(PyObject path, PyObject namespaces) {
+        return elementPath("iterfind").__call__(this, path, nullToNone(namespaces));
+    }
+
+    private static PyObject nullToNone(PyObject value) {
+        return value == null ? Py.None : value;
+    }
+
+    /**
+     * Iterate over this element and all the elements below it, in document order, or only those
+     * with the given tag. A tag of <code>None</code> or <code>"*"</code> matches every element.
+     */
+    @ExposedMethod(defaults = "null")
+    final PyObject Element_iter(PyObject tag) {
+        if (tag == null || tag == Py.None
+                || tag instanceof PyString && ((PyString) tag).getString().equals("*")) {
+            tag = null;
+        }
+        final PyObject match = tag;
+        return new ElementWalker(this) {
+
+            @Override
+            public PyObject __iternext__() {
+                PyElement element;
+                while ((element = nextElement()) != null) {
+                    if (match == null || element.tag == match || element.tag._eq(match)
+                            .__nonzero__()) {
+                        return element;
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    @ExposedMethod(defaults = "null")
+    final PyObject Element_getiterator(PyObject tag) {
+        return new PyList(Element_iter(tag));
+    }
+
+    /**
+     * Iterate over the text of this element and the elements below it, in document order: the
+     * text of each element, then the text below and after each of its children. The text of an
+     * element whose tag is not a string (a comment, say) is left out, but its tail is not.
+     */
+    @ExposedMethod
+    final PyObject Element_itertext() {
+        return new ElementWalker(this) {
+
+            @Override
+            public PyObject __iternext__() {
+                PyObject s;
+                while ((s = nextText()) != null) {
+                    if (s.__nonzero__()) {
+                        return s;
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * A depth-first walk of a tree of elements, which finds each element just before it is
+     * returned, so that the tree may be changed while it is walked, as a list may be while it is
+     * iterated.
+     */
+    private abstract static class ElementWalker extends PyIterator {
+
+        /** The elements being walked, from the root, and the index of the next child of each. */
+        private final List<PyElement> elements = new ArrayList<PyElement>();
+        private int[] next = new int[8];
+        private PyElement root;
+
+        ElementWalker(PyElement root) {
+            this.root = root;
+        }
+
+        /** The next element in document order, or <code>null</code> at the end. */
+        PyElement nextElement() {
+            if (root != null) {
+                push(root);
+                root = null;
+                return elements.get(0);
+            }
+            while (!elements.isEmpty()) {
+                int top = elements.size() - 1;
+                PyElement element = elements.get(top);
+                if (next[top] < element.children.size()) {
+                    PyElement child = (PyElement) element.children.get(next[top]++);
+                    push(child);
+                    return child;
+                }
+                elements.remove(top);
+            }
+            return null;
+        }
+
+        /**
+         * The next piece of text in document order, which may be empty or <code>None</code>, or
+         * <code>null</code> at the end.
+         */
+        PyObject nextText() {
+            if (root != null) {
+                push(root);
+                root = null;
+                return textOf(elements.get(0));
+            }
+            while (!elements.isEmpty()) {
+                int top = elements.size() - 1;
+                PyElement element = elements.get(top);
+                if (next[top] < element.children.size()) {
+                    PyElement child = (PyElement) element.children.get(next[top]++);
+                    push(child);
+                    return textOf(child);
+                }
+                elements.remove(top);
+                if (top > 0) {
+                    return element.tail;
+                }
+            }
+            return null;
+        }
+
+        private static PyObject textOf(PyElement element) {
+            PyObject tag = element.tag;
+            if (tag instanceof PyString || tag == Py.None) {
+                return element.text;
+            }
+            return Py.None;
+        }
+
+        private void push(PyElement element) {
+            int top = elements.size();
+            if (top == next.length) {
+                int[] grown = new int[2 * top];
+                System.arraycopy(next, 0, grown, 0, top);
+                next = grown;
+            }
+            elements.add(element);
+            next[top] = 0;
+        }
+    }
+
+    /** The module function <code>SubElement(parent, tag, attrib={}, **extra)</code>. */
+    static PyObject subElement(PyObject[] args, String[] keywords) {
+        int nargs = args.length - keywords.length;
+        if (nargs < 2 || nargs > 3) {
+            throw Py.TypeError(String.format("SubElement() takes at least 2 arguments (%d given)",
+                    nargs));
+        }
+        PyObject parent = args[0];
+        PyObject attrib = makeAttrib(nargs == 3 ? args[2] : null, args, keywords);
+        if (parent instanceof PyElement) {
+            PyElement element = new PyElement(args[1], attrib);
+            ((PyElement) parent).children.add(element);
+            return element;
+        }
+        PyObject element = parent.invoke("makeelement", args[1],
+                attrib == null ? new PyDictionary() : attrib);
+        parent.invoke("append", element);
+        return element;
+    }
+
+    /* Traverseproc implementation */
+    @Override
+    public int traverse(Visitproc visit, Object arg) {
+        int retVal = visit.visit(tag, arg);
+        if (retVal != 0) {
+            return retVal;
+        }
+        if (attrib != null) {
+            retVal = visit.visit(attrib, arg);
+            if (retVal != 0) {
+                return retVal;
+            }
+        }
+        retVal = visit.visit(text, arg);
+        if (retVal != 0) {
+            return retVal;
+        }
+        retVal = visit.visit(tail, arg);
+        if (retVal != 0) {
+            return retVal;
+        }
+        for (PyObject child : children) {
+            retVal = visit.visit(child, arg);
+            if (retVal != 0) {
+                return retVal;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean refersDirectlyTo(PyObject ob) {
+        return ob != null && (ob == tag || ob == attrib || ob == text || ob == tail
+                || children.contains(ob));
+    }
+}
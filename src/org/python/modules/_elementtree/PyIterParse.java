@@ -0,0 +1,131 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._elementtree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.python.core.ArgParser;
+import org.python.core.Py;
+import org.python.core.PyIterator;
+import org.python.core.PyList;
+import org.python.core.PyNewWrapper;
+import org.python.core.PyObject;
+import org.python.core.PyType;
+import org.python.core.Visitproc;
+import org.python.expose.ExposedGet;
+import org.python.expose.ExposedNew;
+import org.python.expose.ExposedType;
+
+/**
+ * The iterator returned by <code>cElementTree.iterparse</code>: it parses a document from a file
+ * object as it is iterated, and returns <code>(event, value)</code> pairs for the events asked
+ * for, by default only <code>"end"</code>. The document is read only as fast as the events are
+ * taken, so that a large document may be processed (and its elements cleared) in little memory.
+ * When the iteration ends, the root element is available as <code>root</code>.
+ */
+@ExposedType(name = "_elementtree._IterParseIterator", isBaseType = false)
+public class PyIterParse extends PyIterator {
+
+    public static final PyType TYPE = PyType.fromClass(PyIterParse.class);
+
+    private static final PyList DEFAULT_EVENTS = new PyList(new PyObject[] {StreamParser.END});
+
+    /** The root element, once the whole document has been parsed. */
+    @ExposedGet
+    public PyObject root = Py.None;
+
+    private final PyObject source;
+    private final boolean closeSource;
+    /** The parser, or <code>null</code> when the document has been parsed. */
+    private StreamParser parser;
+    /** The events found but not yet returned, and the index of the next. */
+    private final List<PyObject> events = new ArrayList<PyObject>();
+    private int index;
+
+    public PyIterParse(PyObject source, PyObject eventNames, PyXMLParser xmlParser,
+            boolean closeSource) {
+        super(TYPE);
+        this.source = source;
+        this.closeSource = closeSource;
+        if (xmlParser == null) {
+            xmlParser = new PyXMLParser(Py.None, null);
+        }
+        parser = xmlParser.parser(new PyXMLParser.FileStream(source));
+        parser.recordEvents(eventNames == Py.None ? DEFAULT_EVENTS : eventNames, events);
+    }
+
+    @ExposedNew
+    static PyObject _IterParseIterator___new__(PyNewWrapper new_, boolean init, PyType subtype,
+            PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("_IterParseIterator", args, keywords,
+                new String[] {"source", "events", "parser", "close_source"}, 1);
+        PyObject xmlParser = ap.getPyObject(2, Py.None);
+        if (xmlParser != Py.None && !(xmlParser instanceof PyXMLParser)) {
+            throw Py.TypeError("parser must be an XMLParser of _elementtree");
+        }
+        return new PyIterParse(ap.getPyObject(0), ap.getPyObject(1, Py.None),
+                xmlParser == Py.None ? null : (PyXMLParser) xmlParser,
+                ap.getPyObject(3, Py.False).__nonzero__());
+    }
+
+    @Override
+    public PyObject __iternext__() {
+        try {
+            while (index == events.size()) {
+                events.clear();
+                index = 0;
+                if (parser == null) {
+                    return null;
+                }
+                if (!parser.next()) {
+                    StreamParser finished = parser;
+                    parser = null;
+                    root = finished.close();
+                    closeSource();
+                    return null;
+                }
+            }
+        } catch (RuntimeException e) {
+            parser = null;
+            closeSource();
+            throw e;
+        }
+        return events.get(index++);
+    }
+
+    private void closeSource() {
+        if (closeSource) {
+            source.invoke("close");
+        }
+    }
+
+    /* Traverseproc implementation */
+    @Override
+    public int traverse(Visitproc visit, Object arg) {
+        int retVal = super.traverse(visit, arg);
+        if (retVal != 0) {
+            return retVal;
+        }
+        retVal = visit.visit(source, arg);
+        if (retVal != 0) {
+            return retVal;
+        }
+        retVal = visit.visit(root, arg);
+        if (retVal != 0) {
+            return retVal;
+        }
+        for (PyObject event : events) {
+            retVal = visit.visit(event, arg);
+            if (retVal != 0) {
+                return retVal;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean refersDirectlyTo(PyObject ob) {
+        return ob != null && (ob == source || ob == root || events.contains(ob)
+                || super.refersDirectlyTo(ob));
+    }
+}
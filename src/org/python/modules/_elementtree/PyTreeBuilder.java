@@ -0,0 +1,237 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._elementtree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.python.core.ArgParser;
+import org.python.core.Py;
+import org.python.core.PyList;
+import org.python.core.PyNewWrapper;
+import org.python.core.PyObject;
+import org.python.core.PyType;
+import org.python.core.Traverseproc;
+import org.python.core.Visitproc;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedNew;
+import org.python.expose.ExposedType;
+
+/**
+ * The TreeBuilder of <code>cElementTree</code>, which makes a tree of elements from calls of
+ * <code>start</code>, <code>data</code> and <code>end</code>. It follows the Python TreeBuilder of
+ * <code>xml.etree.ElementTree</code>: the text given to <code>data</code> between two tags becomes
+ * the text of the element just opened, or the tail of the element just closed.
+ * <p>
+ * When it makes its own elements (there is no <code>element_factory</code>) they are
+ * {@link PyElement}s, built without calls through Python. The {@link StreamParser} calls it
+ * directly as its {@link StreamParser.Target}.
+ */
+@ExposedType(name = "_elementtree.TreeBuilder", isBaseType = false)
+public class PyTreeBuilder extends PyObject implements StreamParser.Target, Traverseproc {
+
+    public static final PyType TYPE = PyType.fromClass(PyTreeBuilder.class);
+
+    /** The factory of elements, or <code>null</code> to make {@link PyElement}s. */
+    private final PyObject factory;
+
+    /** The elements open, from the root. */
+    private final List<PyObject> stack = new ArrayList<PyObject>();
+    /** The element last opened or closed. */
+    private PyObject last;
+    /** Whether the text collected follows the end of {@link #last} (rather than its start). */
+    private boolean tail;
+    /** The first piece of text collected, and any more. */
+    private PyObject data;
+    private List<PyObject> moreData;
+
+    public PyTreeBuilder(PyObject factory) {
+        super(TYPE);
+        this.factory = factory == Py.None ? null : factory;
+    }
+
+    @ExposedNew
+    static PyObject TreeBuilder___new__(PyNewWrapper new_, boolean init, PyType subtype,
+            PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("TreeBuilder", args, keywords, "element_factory");
+        return new PyTreeBuilder(ap.getPyObject(0, Py.None));
+    }
+
+    /** Give the text collected to the last element, as its text or its tail. */
+    private void flush() {
+        if (data == null) {
+            return;
+        }
+        if (last != null) {
+            PyObject text = data;
+            if (moreData != null) {
+                moreData.add(0, data);
+                text = Py.EmptyString.join(new PyList(moreData));
+            }
+            if (last instanceof PyElement) {
+                PyElement element = (PyElement) last;
+                if (tail) {
+                    assertTrue(element.getTail() == Py.None, "internal error (tail)");
+                    element.setTail(text);
+                } else {
+                    assertTrue(element.getText() == Py.None, "internal error (text)");
+                    element.setText(text);
+                }
+            } else {
+                String name = tail ? "tail" : "text";
+                assertTrue(last.__getattr__(name) == Py.None, "internal error (" + name + ")");
+                last.__setattr__(name, text);
+            }
+        }
+        data = null;
+        moreData = null;
+    }
+
+    private static void assertTrue(boolean condition, String message) {
+        if (!condition) {
+            throw Py.AssertionError(message);
+        }
+    }
+
+    @Override
+    public void data(PyObject text) {
+        TreeBuilder_data(text);
+    }
+
+    @ExposedMethod
+    final void TreeBuilder_data(PyObject text) {
+        if (data == null) {
+            data = text;
+        } else {
+            if (moreData == null) {
+                moreData = new ArrayList<PyObject>();
+            }
+            moreData.add(text);
+        }
+    }
+
+    /** Open an element with the attributes found by the parser, which it may keep. */
+    @Override
+    public PyObject start(PyObject tag, PyObject attrib) {
+        return start(tag, attrib, false);
+    }
+
+    @ExposedMethod
+    final PyObject TreeBuilder_start(PyObject tag, PyObject attrib) {
+        return start(tag, attrib, true);
+    }
+
+    private PyObject start(PyObject tag, PyObject attrib, boolean copy) {
+        flush();
+        PyObject element;
+        if (factory == null) {
+            if (copy) {
+                attrib = PyElement.makeAttrib(attrib, Py.EmptyObjects, Py.NoKeywords);
+            } else if (attrib.__len__() == 0) {
+                // An element without attributes does not need a dictionary
+                attrib = null;
+            }
+            element = new PyElement(tag, attrib);
+        } else {
+            element = factory.__call__(tag, attrib);
+        }
+        if (!stack.isEmpty()) {
+            PyObject parent = stack.get(stack.size() - 1);
+            if (parent instanceof PyElement && element instanceof PyElement) {
+                ((PyElement) parent).appendChild(element);
+            } else {
+                parent.invoke("append", element);
+            }
+        }
+        stack.add(element);
+        last = element;
+        tail = false;
+        return element;
+    }
+
+    @Override
+    public PyObject end(PyObject tag) {
+        return TreeBuilder_end(tag);
+    }
+
+    @ExposedMethod
+    final PyObject TreeBuilder_end(PyObject tag) {
+        flush();
+        if (stack.isEmpty()) {
+            throw Py.IndexError("pop from empty list");
+        }
+        last = stack.remove(stack.size() - 1);
+        PyObject lastTag = last instanceof PyElement ? ((PyElement) last).getTag()
+                : last.__getattr__("tag");
+        if (lastTag != tag && !lastTag._eq(tag).__nonzero__()) {
+            throw Py.AssertionError(String.format("end tag mismatch (expected %s, got %s)",
+                    lastTag.__str__(), tag.__str__()));
+        }
+        tail = true;
+        return last;
+    }
+
+    /** Comments are not kept in the tree, as in the Python TreeBuilder. */
+    @Override
+    public void comment(PyObject text) {}
+
+    /** Processing instructions are not kept in the tree, as in the Python TreeBuilder. */
+    @Override
+    public void pi(PyObject target, PyObject text) {}
+
+    @Override
+    public PyObject close() {
+        return TreeBuilder_close();
+    }
+
+    @ExposedMethod
+    final PyObject TreeBuilder_close() {
+        assertTrue(stack.isEmpty(), "missing end tags");
+        assertTrue(last != null, "missing toplevel element");
+        return last;
+    }
+
+    /* Traverseproc implementation */
+    @Override
+    public int traverse(Visitproc visit, Object arg) {
+        int retVal;
+        if (factory != null) {
+            retVal = visit.visit(factory, arg);
+            if (retVal != 0) {
+                return retVal;
+            }
+        }
+        if (last != null) {
+            retVal = visit.visit(last, arg);
+            if (retVal != 0) {
+                return retVal;
+            }
+        }
+        if (data != null) {
+            retVal = visit.visit(data, arg);
+            if (retVal != 0) {
+                return retVal;
+            }
+        }
+        for (PyObject element : stack) {
+            retVal = visit.visit(element, arg);
+            if (retVal != 0) {
+                return retVal;
+            }
+        }
+        if (moreData != null) {
+            for (PyObject text : moreData) {
+                retVal = visit.visit(text, arg);
+                if (retVal != 0) {
+                    return retVal;
+                }
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean refersDirectlyTo(PyObject ob) {
+        return ob != null && (ob == factory || ob == last || ob == data || stack.contains(ob)
+                || moreData != null && moreData.contains(ob));
+    }
+}
@@ -0,0 +1,243 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._elementtree;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+import org.python.core.ArgParser;
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyNewWrapper;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PyType;
+import org.python.core.PyUnicode;
+import org.python.core.Traverseproc;
+import org.python.core.Visitproc;
+import org.python.core.util.StringUtil;
+import org.python.expose.ExposedGet;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedNew;
+import org.python.expose.ExposedType;
+
+/**
+ * The XMLParser of <code>cElementTree</code>, which parses a document with a StAX reader and
+ * reports it to a target, by default a new {@link PyTreeBuilder}. The data given to
+ * <code>feed</code> is kept until <code>close</code>, when the whole document is parsed, as the
+ * expat parser of Jython does too.
+ */
+@ExposedType(name = "_elementtree.XMLParser", isBaseType = false)
+public class PyXMLParser extends PyObject implements Traverseproc {
+
+    public static final PyType TYPE = PyType.fromClass(PyXMLParser.class);
+
+    /** The object that receives the events of the document. */
+    @ExposedGet
+    public final PyObject target;
+
+    /**
+     * The text of entities that a document uses but does not declare, by name. (It may declare
+     * them in an external DTD, which is not read.)
+     */
+    @ExposedGet
+    public final PyObject entity = new PyDictionary();
+
+    /** The encoding given, which overrides that declared in the document, or null. */
+    private final String encoding;
+
+    /** The data fed so far. */
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    public PyXMLParser(PyObject target, String encoding) {
+        super(TYPE);
+        this.target = target == Py.None ? new PyTreeBuilder(null) : target;
+        this.encoding = encoding;
+    }
+
+    @ExposedNew
+    static PyObject XMLParser___new__(PyNewWrapper new_, boolean init, PyType subtype,
+            PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("XMLParser", args, keywords, "html", "target", "encoding");
+        PyObject encoding = ap.getPyObject(2, Py.None);
+        return new PyXMLParser(ap.getPyObject(1, Py.None),
+                encoding == Py.None ? null : encoding.asString());
+    }
+
+    /** The target as a {@link StreamParser.Target}. */
+    StreamParser.Target target() {
+        if (target instanceof PyTreeBuilder) {
+            return (PyTreeBuilder) target;
+        }
+        return new PythonTarget(target);
+    }
+
+    /** A parser that reads a document from <code>in</code>. */
+    StreamParser parser(InputStream in) {
+        return new StreamParser(in, encoding, target(), entity);
+    }
+
+    @ExposedMethod
+    final void XMLParser_feed(PyObject data) {
+        if (buffer == null) {
+            throw Py.ValueError("parser is closed");
+        }
+        String s;
+        if (data instanceof PyUnicode) {
+            s = ((PyUnicode) data).encode("utf-8");
+        } else if (data instanceof PyString) {
+            s = ((PyString) data).getString();
+        } else {
+            throw Py.TypeError(String.format("feed() argument must be string, not %s",
+                    data.getType().fastGetName()));
+        }
+        byte[] bytes = StringUtil.toBytes(s);
+        buffer.write(bytes, 0, bytes.length);
+    }
+
+    /** Parse the data fed, and return what the target returns when it is closed. */
+    @ExposedMethod
+    final PyObject XMLParser_close() {
+        if (buffer == null) {
+            throw Py.ValueError("parser is closed");
+        }
+        byte[] bytes = buffer.toByteArray();
+        buffer = null;
+        return parser(new ByteArrayInputStream(bytes)).parse();
+    }
+
+    /**
+     * Parse the whole document in a file object, reading it as the parser needs it, and return
+     * what the target returns when it is closed.
+     */
+    @ExposedMethod
+    final PyObject XMLParser__parse_whole(PyObject file) {
+        if (buffer == null) {
+            throw Py.ValueError("parser is closed");
+        }
+        buffer = null;
+        return parser(new FileStream(file)).parse();
+    }
+
+    /**
+     * The bytes read from a Python file object, by calls of its <code>read</code> method. The
+     * data returned by a call is kept until it is all taken, however much it is.
+     */
+    static final class FileStream extends InputStream {
+
+        private static final PyObject BLOCK_SIZE = Py.newInteger(16384);
+
+        private final PyObject read;
+        private byte[] block = new byte[0];
+        private int pos;
+        private boolean eof;
+
+        FileStream(PyObject file) {
+            read = file.__getattr__("read");
+        }
+
+        /** Whether there is data to take, after reading another block if necessary. */
+        private boolean fill() {
+            while (pos == block.length && !eof) {
+                PyObject data = read.__call__(BLOCK_SIZE);
+                String s;
+                if (data instanceof PyUnicode) {
+                    s = ((PyUnicode) data).encode("utf-8");
+                } else if (data instanceof PyString) {
+                    s = ((PyString) data).getString();
+                } else {
+                    throw Py.TypeError(String.format("read() should return string, not %s",
+                            data.getType().fastGetName()));
+                }
+                eof = s.isEmpty();
+                block = StringUtil.toBytes(s);
+                pos = 0;
+            }
+            return pos < block.length;
+        }
+
+        @Override
+        public int read() {
+            return fill() ? block[pos++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            } else if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, block.length - pos);
+            System.arraycopy(block, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+    }
+
+    /**
+     * A target that is a Python object, whose methods are called for the events of the document.
+     * As in ElementTree, it must have <code>start</code>, <code>end</code> and <code>data</code>
+     * methods, and may have <code>comment</code> and <code>pi</code> methods.
+     */
+    private static final class PythonTarget implements StreamParser.Target {
+
+        private final PyObject target;
+        private final PyObject start, end, data, comment, pi;
+
+        PythonTarget(PyObject target) {
+            this.target = target;
+            start = target.__getattr__("start");
+            end = target.__getattr__("end");
+            data = target.__getattr__("data");
+            comment = target.__findattr__("comment");
+            pi = target.__findattr__("pi");
+        }
+
+        @Override
+        public PyObject start(PyObject tag, PyObject attrib) {
+            return start.__call__(tag, attrib);
+        }
+
+        @Override
+        public PyObject end(PyObject tag) {
+            return end.__call__(tag);
+        }
+
+        @Override
+        public void data(PyObject text) {
+            data.__call__(text);
+        }
+
+        @Override
+        public void comment(PyObject text) {
+            if (comment != null) {
+                comment.__call__(text);
+            }
+        }
+
+        @Override
+        public void pi(PyObject piTarget, PyObject text) {
+            if (pi != null) {
+                pi.__call__(piTarget, text);
+            }
+        }
+
+        @Override
+        public PyObject close() {
+            return target.invoke("close");
+        }
+    }
+
+    /* Traverseproc implementation */
+    @Override
+    public int traverse(Visitproc visit, Object arg) {
+        int retVal = visit.visit(target, arg);
+        return retVal != 0 ? retVal : visit.visit(entity, arg);
+    }
+
+    @Override
+    public boolean refersDirectlyTo(PyObject ob) {
+        return ob != null && (ob == target || ob == entity);
+    }
+}
@@ -0,0 +1,306 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._elementtree;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyException;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PyTuple;
+import org.python.core.PyUnicode;
+import org.python.core.imp;
+
+/**
+ * The parser behind {@link PyXMLParser} and {@link PyIterParse}: it pulls the events of a document
+ * from a StAX reader and calls the matching methods of a {@link Target}, which is either a
+ * {@link PyTreeBuilder}, called directly, or a Python object.
+ * <p>
+ * As in the expat parser of ElementTree, a name in a namespace is reported as
+ * <code>{uri}local</code>, and text that is pure ASCII as a <code>str</code> (otherwise as a
+ * <code>unicode</code>). The names met are remembered, so that each is made only once in a
+ * document. Events may also be recorded, as <code>(event, value)</code> pairs, for
+ * <code>iterparse</code>.
+ */
+final class StreamParser {
+
+    /** The receiver of the events of a document. */
+    interface Target {
+
+        PyObject start(PyObject tag, PyObject attrib);
+
+        PyObject end(PyObject tag);
+
+        void data(PyObject text);
+
+        void comment(PyObject text);
+
+        void pi(PyObject target, PyObject text);
+
+        PyObject close();
+    }
+
+    static final PyString START = Py.newString("start");
+    static final PyString END = Py.newString("end");
+    static final PyString START_NS = Py.newString("start-ns");
+    static final PyString END_NS = Py.newString("end-ns");
+
+    private static final XMLInputFactory factory = XMLInputFactory.newInstance();
+
+    static {
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        try {
+            // Read the internal subset of a DOCTYPE, but never fetch an external DTD
+            factory.setProperty("http://java.sun.com/xml/stream/properties/ignore-external-dtd",
+                    Boolean.TRUE);
+        } catch (IllegalArgumentException e) {
+            // Not the JDK implementation of StAX: external entities are still not resolved
+        }
+    }
+
+    private final XMLStreamReader reader;
+    private final Target target;
+    /** The text of entities not declared by the document, by name (a dictionary). */
+    private final PyObject entity;
+
+    /** Where events are recorded, or <code>null</code> if they are not. */
+    private List<PyObject> events;
+    private boolean reportStart, reportEnd, reportStartNs, reportEndNs;
+
+    /** The number of elements open: text is reported only inside the root element. */
+    private int depth;
+
+    /** The names met so far without a namespace, by local name. */
+    private final Map<String, PyObject> names = new HashMap<String, PyObject>();
+    /** The names met so far in a namespace, by namespace and local name. */
+    private final Map<String, Map<String, PyObject>> qualifiedNames =
+            new HashMap<String, Map<String, PyObject>>();
+
+    /**
+     * A parser of the document in <code>in</code>, in the given encoding, or that declared by
+     * the document if <code>encoding</code> is <code>null</code>. A reference to an entity that is
+     * not declared (which is possible only when the document has an external DTD, which is not
+     * read) is replaced by its text in <code>entity</code>.
+     */
+    StreamParser(InputStream in, String encoding, Target target, PyObject entity) {
+        this.target = target;
+        this.entity = entity;
+        try {
+            // An XMLInputFactory is not guaranteed to be thread-safe
+            synchronized (factory) {
+                reader = encoding == null ? factory.createXMLStreamReader(in)
+                        : factory.createXMLStreamReader(in, encoding);
+            }
+        } catch (XMLStreamException e) {
+            throw parseError(e);
+        }
+    }
+
+    /** Record the events named in <code>eventNames</code> in <code>events</code>. */
+    void recordEvents(PyObject eventNames, List<PyObject> events) {
+        this.events = events;
+        for (PyObject event : eventNames.asIterable()) {
+            String name = event instanceof PyString ? ((PyString) event).getString() : null;
+            if ("start".equals(name)) {
+                reportStart = true;
+            } else if ("end".equals(name)) {
+                reportEnd = true;
+            } else if ("start-ns".equals(name)) {
+                reportStartNs = true;
+            } else if ("end-ns".equals(name)) {
+                reportEndNs = true;
+            } else {
+                throw Py.ValueError(String.format("unknown event %s", event.__repr__()));
+            }
+        }
+    }
+
+    /** Parse the whole document, and return what the target returns when it is closed. */
+    PyObject parse() {
+        while (next()) {}
+        return close();
+    }
+
+    /** Return what the target returns when it is closed. */
+    PyObject close() {
+        return target.close();
+    }
+
+    /** Handle the next event of the document. Return false if there are no more. */
+    boolean next() {
+        try {
+            if (!reader.hasNext()) {
+                return false;
+            }
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    startElement();
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    endElement();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (depth > 0) {
+                        target.data(text(reader.getText()));
+                    }
+                    break;
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    if (depth > 0) {
+                        target.data(entityText(reader.getLocalName(), reader.getText()));
+                    }
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    target.comment(text(reader.getText()));
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    String data = reader.getPIData();
+                    target.pi(text(reader.getPITarget()), text(data == null ? "" : data));
+                    break;
+                case XMLStreamConstants.END_DOCUMENT:
+                    reader.close();
+                    break;
+            }
+            return true;
+        } catch (XMLStreamException e) {
+            throw parseError(e);
+        }
+    }
+
+    private void startElement() {
+        if (reportStartNs) {
+            for (int i = 0, n = reader.getNamespaceCount(); i < n; i++) {
+                String prefix = reader.getNamespacePrefix(i);
+                String uri = reader.getNamespaceURI(i);
+                events.add(new PyTuple(START_NS, new PyTuple(text(prefix == null ? "" : prefix),
+                        text(uri == null ? "" : uri))));
+            }
+        }
+        PyObject tag = name(reader.getNamespaceURI(), reader.getLocalName());
+        int n = reader.getAttributeCount();
+        PyDictionary attrib = new PyDictionary();
+        for (int i = 0; i < n; i++) {
+            attrib.__setitem__(name(reader.getAttributeNamespace(i),
+                    reader.getAttributeLocalName(i)), text(reader.getAttributeValue(i)));
+        }
+        depth++;
+        PyObject element = target.start(tag, attrib);
+        if (reportStart) {
+            events.add(new PyTuple(START, element));
+        }
+    }
+
+    private void endElement() {
+        depth--;
+        PyObject element = target.end(name(reader.getNamespaceURI(), reader.getLocalName()));
+        if (reportEnd) {
+            events.add(new PyTuple(END, element));
+        }
+        if (reportEndNs) {
+            for (int i = 0, n = reader.getNamespaceCount(); i < n; i++) {
+                events.add(new PyTuple(END_NS, Py.None));
+            }
+        }
+    }
+
+    /** The text of a reference to an entity, which the reader gives if it was declared. */
+    private PyObject entityText(String name, String text) {
+        if (text != null) {
+            return text(text);
+        }
+        PyObject value = entity.__finditem__(text(name));
+        if (value == null) {
+            // Report the start of the reference, as the reader stands after it
+            String reference = "&" + name + ";";
+            Location location = reader.getLocation();
+            throw parseError("undefined entity " + reference, location.getLineNumber(),
+                    location.getColumnNumber() - 1 - reference.length());
+        }
+        return value;
+    }
+
+    /** The name of a tag or attribute, as <code>{uri}local</code> if it is in a namespace. */
+    private PyObject name(String uri, String local) {
+        Map<String, PyObject> map;
+        if (uri == null || uri.isEmpty()) {
+            map = names;
+            uri = null;
+        } else {
+            map = qualifiedNames.get(uri);
+            if (map == null) {
+                qualifiedNames.put(uri, map = new HashMap<String, PyObject>());
+            }
+        }
+        PyObject name = map.get(local);
+        if (name == null) {
+            name = text(uri == null ? local : "{" + uri + "}" + local);
+            map.put(local, name);
+        }
+        return name;
+    }
+
+    /** The text as a <code>str</code> if it is ASCII, or as a <code>unicode</code>. */
+    static PyObject text(String s) {
+        for (int i = 0, n = s.length(); i < n; i++) {
+            if (s.charAt(i) > 127) {
+                return new PyUnicode(s);
+            }
+        }
+        return new PyString(s);
+    }
+
+    /**
+     * The <code>ParseError</code> of ElementTree for a failure of the reader. A reference to an
+     * undeclared entity is reported as expat reports it.
+     */
+    static PyException parseError(XMLStreamException e) {
+        String message = e.getMessage();
+        int i = message == null ? -1 : message.indexOf("Message: ");
+        if (i >= 0) {
+            message = message.substring(i + "Message: ".length());
+        }
+        Location location = e.getLocation();
+        int line = location == null ? -1 : location.getLineNumber();
+        // Columns are counted from 0, as by expat
+        int column = location == null ? -1 : location.getColumnNumber() - 1;
+        Matcher m = UNDECLARED.matcher(message == null ? "" : message);
+        if (m.matches()) {
+            String reference = "&" + m.group(1) + ";";
+            message = "undefined entity " + reference;
+            column -= reference.length();
+        } else if (message != null && message.endsWith(".")) {
+            message = message.substring(0, message.length() - 1);
+        }
+        return parseError(message, line, column);
+    }
+
+    private static final Pattern UNDECLARED =
+            Pattern.compile("The entity \"(.*)\" was referenced, but not declared\\.");
+
+    /**
+     * A <code>ParseError</code> with a message that ends with the place of the error, which is
+     * also given by its <code>position</code>.
+     */
+    private static PyException parseError(String message, int line, int column) {
+        PyObject type = imp.importName("xml.etree.ElementTree", false).__getattr__("ParseError");
+        PyObject value = type.__call__(Py.newString(String.format("%s: line %d, column %d",
+                message, line, column)));
+        value.__setattr__("code", Py.None);
+        value.__setattr__("position", new PyTuple(Py.newInteger(line), Py.newInteger(column)));
+        return new PyException(type, value);
+    }
+}
@@ -0,0 +1,37 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._elementtree;
+
+import org.python.core.ClassDictInit;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+
+/**
+ * The Python <code>_elementtree</code> module: the element type, tree builder and parser of
+ * <code>xml.etree.cElementTree</code>, implemented in Java. The parser reads documents with the
+ * StAX reader of the Java platform.
+ */
+public class _elementtree implements ClassDictInit {
+
+    public static final PyString __doc__ = new PyString(
+            "A Java implementation of the element type, tree builder and parser of ElementTree.");
+
+    public static void classDictInit(PyObject dict) {
+        dict.__setitem__("__name__", new PyString("_elementtree"));
+        dict.__setitem__("__doc__", __doc__);
+        dict.__setitem__("Element", PyElement.TYPE);
+        dict.__setitem__("TreeBuilder", PyTreeBuilder.TYPE);
+        dict.__setitem__("XMLParser", PyXMLParser.TYPE);
+        dict.__setitem__("_IterParseIterator", PyIterParse.TYPE);
+
+        // Hide from Python
+        dict.__setitem__("classDictInit", null);
+    }
+
+    public static PyString __doc__SubElement = new PyString(
+            "SubElement(parent, tag, attrib={}, **extra) -> Element\n\n"
+                    + "Create an element, and append it to the parent element.");
+
+    public static PyObject SubElement(PyObject[] args, String[] keywords) {
+        return PyElement.subElement(args, keywords);
+    }
+}
@@ -0,0 +1,361 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._functools;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.cache.CacheBuilder;
+import org.python.core.AbstractDict;
+import org.python.core.Py;
+import org.python.core.PyInteger;
+import org.python.core.PyMethod;
+import org.python.core.PyNewWrapper;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PyStringMap;
+import org.python.core.PyType;
+import org.python.core.Traverseproc;
+import org.python.core.Visitproc;
+import org.python.expose.ExposedGet;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedNew;
+import org.python.expose.ExposedSet;
+import org.python.expose.ExposedType;
+import org.python.util.Generic;
+
+/**
+ * The memoizing callable made by <code>functools.lru_cache</code>. It remembers the result of a
+ * call of the wrapped function for each distinct set of arguments, up to <code>maxsize</code>
+ * results, discarding the least recently used when it is full. A <code>maxsize</code> of
+ * <code>None</code> makes the cache unbounded, and one of 0 disables it.
+ * <p>
+ * A bounded cache is a Guava cache in a single segment, so that it holds exactly
+ * <code>maxsize</code> results and evicts in least-recently-used order. (Guava stripes a cache
+ * over several segments only by dividing its size between them, which would evict early.) A hit
+ * does not lock: Guava records the access in a buffer, and applies it to the order when it next
+ * holds the lock. An unbounded cache is a <code>ConcurrentHashMap</code>. As in CPython, a result
+ * is computed outside any lock, and two threads that miss on the same arguments at the same time
+ * both call the function.
+ */
+@ExposedType(name = "_functools._lru_cache_wrapper", isBaseType = false)
+public class PyLruCacheWrapper extends PyObject implements Traverseproc {
+
+    public static final PyType TYPE = PyType.fromClass(PyLruCacheWrapper.class);
+
+    /** The wrapped callable. */
+    private final PyObject func;
+
+    /** The type of the result of <code>cache_info()</code>, made by <code>functools</code>. */
+    private final PyObject cacheInfoType;
+
+    /** The size bound, or -1 if the cache is unbounded. */
+    private final int maxsize;
+
+    /** Whether arguments of different types are cached separately. */
+    private final boolean typed;
+
+    /** The cached results, or <code>null</code> if caching is disabled. */
+    private final ConcurrentMap<Object, PyObject> cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /** Lazily created dict for extra attributes. */
+    private PyObject __dict__;
+
+    public PyLruCacheWrapper(PyObject func, int maxsize, boolean typed, PyObject cacheInfoType) {
+        super(TYPE);
+        this.func = func;
+        this.maxsize = maxsize;
+        this.typed = typed;
+        this.cacheInfoType = cacheInfoType;
+        if (maxsize < 0) {
+            cache = Generic.concurrentMap();
+        } else if (maxsize == 0) {
+            cache = null;
+        } else {
+            cache = CacheBuilder.newBuilder().maximumSize(maxsize).concurrencyLevel(1)
+                    .<Object, PyObject> build().asMap();
+        }
+    }
+
+    @ExposedNew
+    static PyObject _lru_cache_wrapper___new__(PyNewWrapper new_, boolean init, PyType subtype,
+            PyObject[] args, String[] keywords) {
+        if (args.length != 4 || keywords.length != 0) {
+            throw Py.TypeError("_lru_cache_wrapper() takes exactly 4 arguments");
+        }
+        PyObject func = args[0];
+        if (!func.isCallable()) {
+            throw Py.TypeError("the first argument must be callable");
+        }
+        int maxsize;
+        if (args[1] == Py.None) {
+            maxsize = -1;
+        } else if (args[1].isIndex()) {
+            maxsize = Math.max(0, args[1].asIndex());
+        } else {
+            throw Py.TypeError("maxsize should be integer or None");
+        }
+        return new PyLruCacheWrapper(func, maxsize, args[2].__nonzero__(), args[3]);
+    }
+
+    @Override
+    public PyObject __call__(PyObject[] args, String[] keywords) {
+        return _lru_cache_wrapper___call__(args, keywords);
+    }
+
+    @ExposedMethod
+    final PyObject _lru_cache_wrapper___call__(PyObject[] args, String[] keywords) {
+        if (cache == null) {
+            misses.increment();
+            return func.__call__(args, keywords);
+        }
+        Object key = makeKey(args, keywords);
+        PyObject result = cache.get(key);
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+        misses.increment();
+        result = func.__call__(args, keywords);
+        cache.put(key, result);
+        return result;
+    }
+
+    /**
+     * The key under which to cache the result of a call. A single argument of type int or str is
+     * its own key, and any other arguments are combined in a {@link Key}, with the keywords in the
+     * order of their names, and then the types of all the values if the cache is typed.
+     */
+    private Object makeKey(PyObject[] args, String[] keywords) {
+        int nargs = args.length - keywords.length;
+        if (keywords.length == 0) {
+            if (nargs == 1 && !typed) {
+                PyType type = args[0].getType();
+                if (type == PyString.TYPE || type == PyInteger.TYPE) {
+                    return args[0];
+                }
+            }
+            return new Key(typed ? withTypes(args) : args.clone());
+        }
+        // The arguments, a marker, and the (name, value) pairs in the order of their names
+        int nkw = keywords.length;
+        int[] order = new int[nkw];
+        for (int i = 0; i < nkw; i++) {
+            int j = i;
+            for (; j > 0 && keywords[order[j - 1]].compareTo(keywords[i]) > 0; j--) {
+                order[j] = order[j - 1];
+            }
+            order[j] = i;
+        }
+        int n = nargs + 1 + 2 * nkw;
+        PyObject[] items = new PyObject[typed ? n + args.length : n];
+        System.arraycopy(args, 0, items, 0, nargs);
+        items[nargs] = KWD_MARK;
+        for (int i = 0; i < nkw; i++) {
+            items[nargs + 1 + 2 * i] = Py.newString(keywords[order[i]]);
+            items[nargs + 2 + 2 * i] = args[nargs + order[i]];
+        }
+        if (typed) {
+            for (int i = 0; i < nargs; i++) {
+                items[n + i] = args[i].getType();
+            }
+            for (int i = 0; i < nkw; i++) {
+                items[n + nargs + i] = args[nargs + order[i]].getType();
+            }
+        }
+        return new Key(items);
+    }
+
+    /** The values followed by their types. */
+    private static PyObject[] withTypes(PyObject[] values) {
+        int n = values.length;
+        PyObject[] items = Arrays.copyOf(values, 2 * n);
+        for (int i = 0; i < n; i++) {
+            items[n + i] = values[i].getType();
+        }
+        return items;
+    }
+
+    /** Separates the positional from the keyword arguments in a key. */
+    private static final PyObject KWD_MARK = new PyObject();
+
+    /**
+     * The arguments of a call as a cache key: equal when the arguments are equal in Python, with
+     * the hash computed only once.
+     */
+    private static final class Key {
+
+        private final PyObject[] items;
+        private final int hash;
+
+        Key(PyObject[] items) {
+            this.items = items;
+            int h = 0x345678;
+            for (PyObject item : items) {
+                h = h * 1000003 ^ item.hashCode();
+            }
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            if (hash != key.hash || items.length != key.items.length) {
+                return false;
+            }
+            for (int i = 0; i < items.length; i++) {
+                PyObject a = items[i], b = key.items[i];
+                if (a != b && !a.equals(b)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    @ExposedMethod(doc = "Report cache statistics")
+    final PyObject _lru_cache_wrapper_cache_info() {
+        PyObject max = maxsize < 0 ? Py.None : Py.newInteger(maxsize);
+        int currsize = cache == null ? 0 : cache.size();
+        return cacheInfoType.__call__(Py.newInteger(hits.sum()), Py.newInteger(misses.sum()), max,
+                Py.newInteger(currsize));
+    }
+
+    @ExposedMethod(doc = "Clear the cache and cache statistics")
+    final void _lru_cache_wrapper_cache_clear() {
+        if (cache != null) {
+            cache.clear();
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public PyObject __get__(PyObject obj, PyObject type) {
+        return _lru_cache_wrapper___get__(obj, type);
+    }
+
+    @ExposedMethod(defaults = "null")
+    final PyObject _lru_cache_wrapper___get__(PyObject obj, PyObject type) {
+        if (obj == null || obj == Py.None) {
+            return this;
+        }
+        return new PyMethod(this, obj, type);
+    }
+
+    @ExposedMethod
+    final PyObject _lru_cache_wrapper___copy__() {
+        return this;
+    }
+
+    @ExposedMethod
+    final PyObject _lru_cache_wrapper___deepcopy__(PyObject memo) {
+        return this;
+    }
+
+    @ExposedGet(name = "__wrapped__")
+    public PyObject getWrapped() {
+        return func;
+    }
+
+    @Override
+    public void __setattr__(String name, PyObject value) {
+        _lru_cache_wrapper___setattr__(name, value);
+    }
+
+    @ExposedMethod
+    final void _lru_cache_wrapper___setattr__(String name, PyObject value) {
+        ensureDict();
+        super.__setattr__(name, value);
+    }
+
+    @Override
+    public PyObject fastGetDict() {
+        return __dict__;
+    }
+
+    @Override
+    @ExposedGet(name = "__dict__")
+    public PyObject getDict() {
+        ensureDict();
+        return __dict__;
+    }
+
+    @Override
+    @ExposedSet(name = "__dict__")
+    public void setDict(PyObject val) {
+        if (!(val instanceof AbstractDict)) {
+            throw Py.TypeError("setting _lru_cache_wrapper object's dictionary to a non-dict");
+        }
+        __dict__ = val;
+    }
+
+    private void ensureDict() {
+        if (__dict__ == null) {
+            __dict__ = new PyStringMap();
+        }
+    }
+
+
+    /* Traverseproc implementation */
+    @Override
+    public int traverse(Visitproc visit, Object arg) {
+        int retVal = visit.visit(func, arg);
+        if (retVal != 0) {
+            return retVal;
+        }
+        retVal = visit.visit(cacheInfoType, arg);
+        if (retVal != 0) {
+            return retVal;
+        }
+        if (cache != null) {
+            for (Map.Entry<Object, PyObject> entry : cache.entrySet()) {
+                Object key = entry.getKey();
+                if (key instanceof Key) {
+                    for (PyObject item : ((Key) key).items) {
+                        retVal = visit.visit(item, arg);
+                        if (retVal != 0) {
+                            return retVal;
+                        }
+                    }
+                } else {
+                    retVal = visit.visit((PyObject) key, arg);
+                    if (retVal != 0) {
+                        return retVal;
+                    }
+                }
+                retVal = visit.visit(entry.getValue(), arg);
+                if (retVal != 0) {
+                    return retVal;
+                }
+            }
+        }
+        return __dict__ != null ? visit.visit(__dict__, arg) : 0;
+    }
+
+    @Override
+    public boolean refersDirectlyTo(PyObject ob) {
+        if (ob == null) {
+            return false;
+        }
+        if (ob == func || ob == cacheInfoType || ob == __dict__) {
+            return true;
+        }
+        return cache != null && (cache.containsKey(ob) || cache.containsValue(ob));
+    }
+}
@@ -17,6 +17,7 @@ public class _functools implements ClassDictInit {
         dict.__setitem__("__name__", new PyString("_functools"));
         dict.__setitem__("__doc__", __doc__);
         dict.__setitem__("partial", PyPartial.TYPE);
+        dict.__setitem__("_lru_cache_wrapper", PyLruCacheWrapper.TYPE);
 
         // Hide from Python
         dict.__setitem__("classDictInit", null);
@@ -0,0 +1,444 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules;
+
+import org.python.core.ClassDictInit;
+import org.python.core.Py;
+import org.python.core.PyBuiltinFunctionSet;
+import org.python.core.PyException;
+import org.python.core.PyFloat;
+import org.python.core.PyInteger;
+import org.python.core.PyIterator;
+import org.python.core.PyList;
+import org.python.core.PyLong;
+import org.python.core.PyObject;
+import org.python.core.PySequenceList;
+import org.python.core.PyString;
+import org.python.core.PyTuple;
+import org.python.core.PyType;
+import org.python.core.Untraversable;
+import org.python.core.Visitproc;
+
+/**
+ * The Python <code>_heapq</code> module: the heap queue algorithm of <code>heapq</code>, working
+ * in place on a list. The heap has the shape, and the functions make the comparisons, of the
+ * Python definitions, which <code>heapq</code> keeps for when this module is absent.
+ * <p>
+ * Comparisons between two <code>int</code>s, <code>long</code>s, <code>float</code>s or
+ * <code>str</code>s, and between two tuples or lists of them, are made in Java without calling
+ * the operators of the objects. The comparison of anything else is the <code>cmp_lt</code> of
+ * <code>heapq</code>: <code>x &lt; y</code> if <code>x</code> has an <code>__lt__</code>, and
+ * otherwise <code>not y &lt;= x</code>.
+ */
+public class _heapq implements ClassDictInit {
+
+    public static final PyString __doc__ = new PyString(
+            "Heap queue algorithm (a.k.a. priority queue).\n\n"
+                    + "Heaps are arrays for which a[k] <= a[2*k+1] and a[k] <= a[2*k+2] for\n"
+                    + "all k, counting elements from 0.  For the sake of comparison,\n"
+                    + "non-existing elements are considered to be infinite.  The interesting\n"
+                    + "property of a heap is that a[0] is always its smallest element.\n");
+
+    public static void classDictInit(PyObject dict) {
+        dict.__setitem__("__name__", new PyString("_heapq"));
+        dict.__setitem__("__doc__", __doc__);
+        dict.__setitem__("heappush", new HeapqFunctions("heappush", 0, 2,
+                "heappush(heap, item) -> None. Push item onto heap, maintaining the heap "
+                        + "invariant."));
+        dict.__setitem__("heappop", new HeapqFunctions("heappop", 1, 1,
+                "Pop the smallest item off the heap, maintaining the heap invariant."));
+        dict.__setitem__("heapreplace", new HeapqFunctions("heapreplace", 2, 2,
+                "heapreplace(heap, item) -> value. Pop and return the current smallest value, "
+                        + "and add the new item.\n\n"
+                        + "This is more efficient than heappop() followed by heappush(), and can "
+                        + "be\nmore appropriate when using a fixed-size heap.  Note that the "
+                        + "value\nreturned may be larger than item!  That constrains reasonable "
+                        + "uses of\nthis routine unless written as part of a conditional "
+                        + "replacement:\n\n"
+                        + "    if item > heap[0]:\n        item = heapreplace(heap, item)\n"));
+        dict.__setitem__("heappushpop", new HeapqFunctions("heappushpop", 3, 2,
+                "heappushpop(heap, item) -> value. Push item on the heap, then pop and return "
+                        + "the smallest item\nfrom the heap. The combined action runs more "
+                        + "efficiently than\nheappush() followed by a separate call to "
+                        + "heappop()."));
+        dict.__setitem__("heapify", new HeapqFunctions("heapify", 4, 1,
+                "Transform list into a heap, in-place, in O(len(heap)) time."));
+        dict.__setitem__("nlargest", new HeapqFunctions("nlargest", 5, 2,
+                "Find the n largest elements in a dataset.\n\n"
+                        + "Equivalent to:  sorted(iterable, reverse=True)[:n]\n"));
+        dict.__setitem__("nsmallest", new HeapqFunctions("nsmallest", 6, 2,
+                "Find the n smallest elements in a dataset.\n\n"
+                        + "Equivalent to:  sorted(iterable)[:n]\n"));
+        dict.__setitem__("merge", new HeapqFunctions("merge", 7, 0, -1,
+                "Merge multiple sorted inputs into a single sorted output.\n\n"
+                        + "Similar to sorted(itertools.chain(*iterables)) but returns an "
+                        + "iterator,\ndoes not pull the data into memory all at once, and "
+                        + "assumes that each of\nthe input streams is already sorted (smallest "
+                        + "to largest).\n\n"
+                        + ">>> list(merge([1,3,5,7], [0,2,4,8], [5,10,15,20], [], [25]))\n"
+                        + "[0, 1, 2, 3, 4, 5, 5, 7, 8, 10, 15, 20, 25]\n"));
+
+        // Hide from Python
+        dict.__setitem__("classDictInit", null);
+    }
+
+    @Untraversable
+    private static class HeapqFunctions extends PyBuiltinFunctionSet {
+
+        private static final PyObject module = Py.newString("_heapq");
+
+        HeapqFunctions(String name, int index, int numargs, String doc) {
+            this(name, index, numargs, numargs, doc);
+        }
+
+        HeapqFunctions(String name, int index, int minargs, int maxargs, String doc) {
+            super(name, index, minargs, maxargs, doc);
+        }
+
+        @Override
+        public PyObject getModule() {
+            return module;
+        }
+
+        @Override
+        public PyObject __call__(PyObject arg) {
+            switch (index) {
+                case 1:
+                    return heappop(list(arg));
+                case 4:
+                    heapify(list(arg), false);
+                    return Py.None;
+                default:
+                    return fancyCall(new PyObject[] {arg});
+            }
+        }
+
+        @Override
+        public PyObject __call__(PyObject arg1, PyObject arg2) {
+            switch (index) {
+                case 0:
+                    heappush(list(arg1), arg2);
+                    return Py.None;
+                case 2:
+                    return heapreplace(list(arg1), arg2);
+                case 3:
+                    return heappushpop(list(arg1), arg2, false);
+                case 5:
+                    return select(arg1.asIndex(), arg2, false);
+                case 6:
+                    return select(arg1.asIndex(), arg2, true);
+                default:
+                    return fancyCall(new PyObject[] {arg1, arg2});
+            }
+        }
+
+        @Override
+        public PyObject fancyCall(PyObject[] args) {
+            if (index == 7) {
+                return new MergeIterator(args);
+            }
+            throw info.unexpectedCall(args.length, false);
+        }
+
+        @Override
+        public PyObject __call__() {
+            return fancyCall(Py.EmptyObjects);
+        }
+
+        @Override
+        public PyObject __call__(PyObject arg1, PyObject arg2, PyObject arg3) {
+            return fancyCall(new PyObject[] {arg1, arg2, arg3});
+        }
+
+        @Override
+        public PyObject __call__(PyObject arg1, PyObject arg2, PyObject arg3, PyObject arg4) {
+            return fancyCall(new PyObject[] {arg1, arg2, arg3, arg4});
+        }
+    }
+
+    private static PyList list(PyObject heap) {
+        if (!(heap instanceof PyList)) {
+            throw Py.TypeError("heap argument must be a list");
+        }
+        return (PyList) heap;
+    }
+
+    private static void heappush(PyList heap, PyObject item) {
+        heap.append(item);
+        siftDown(heap, 0, heap.size() - 1, false);
+    }
+
+    private static PyObject heappop(PyList heap) {
+        int n = heap.size();
+        if (n == 0) {
+            throw Py.IndexError("index out of range");
+        }
+        PyObject last = heap.pop();
+        if (n == 1) {
+            return last;
+        }
+        PyObject result = heap.pyget(0);
+        heap.pyset(0, last);
+        siftUp(heap, 0, false);
+        return result;
+    }
+
+    private static PyObject heapreplace(PyList heap, PyObject item) {
+        if (heap.size() == 0) {
+            throw Py.IndexError("index out of range");
+        }
+        PyObject result = heap.pyget(0);
+        heap.pyset(0, item);
+        siftUp(heap, 0, false);
+        return result;
+    }
+
+    /** Push item and pop the least item, or the greatest from a max-heap. */
+    private static PyObject heappushpop(PyList heap, PyObject item, boolean max) {
+        if (heap.size() == 0) {
+            return item;
+        }
+        PyObject top = heap.pyget(0);
+        if (!(max ? heapLessThan(item, top) : heapLessThan(top, item))) {
+            return item;
+        }
+        if (heap.size() == 0) {
+            throw Py.IndexError("index out of range");
+        }
+        heap.pyset(0, item);
+        siftUp(heap, 0, max);
+        return top;
+    }
+
+    private static void heapify(PyList heap, boolean max) {
+        for (int i = heap.size() / 2 - 1; i >= 0; i--) {
+            siftUp(heap, i, max);
+        }
+    }
+
+    /**
+     * Return the n smallest, or n largest, items of the iterable, as the <code>nsmallest</code>
+     * and <code>nlargest</code> of <code>heapq</code> do, keeping a heap of the n found so far.
+     */
+    private static PyList select(int n, PyObject iterable, boolean smallest) {
+        PyList result = new PyList();
+        if (n < 0) {
+            return result;
+        }
+        PyObject iter = iterable.__iter__();
+        PyObject item;
+        while (result.size() < n && (item = iter.__iternext__()) != null) {
+            result.append(item);
+        }
+        if (result.size() == 0) {
+            return result;
+        }
+        heapify(result, smallest);
+        while ((item = iter.__iternext__()) != null) {
+            heappushpop(result, item, smallest);
+        }
+        result.sort(Py.None, Py.None, Py.newBoolean(!smallest));
+        return result;
+    }
+
+    /**
+     * Restore the heap invariant at pos, moving the item there towards the root, which is at
+     * startpos. In a max-heap every item is greater than its children, rather than less.
+     */
+    private static void siftDown(PyList heap, int startpos, int pos, boolean max) {
+        int size = heap.size();
+        PyObject newitem = heap.pyget(pos);
+        while (pos > startpos) {
+            int parentpos = (pos - 1) >> 1;
+            PyObject parent = heap.pyget(parentpos);
+            boolean lower = max ? heapLessThan(parent, newitem) : heapLessThan(newitem, parent);
+            if (size != heap.size()) {
+                throw Py.RuntimeError("list changed size during iteration");
+            }
+            if (!lower) {
+                break;
+            }
+            heap.pyset(pos, parent);
+            pos = parentpos;
+        }
+        heap.pyset(pos, newitem);
+    }
+
+    /**
+     * Restore the heap invariant at pos, whose children are heaps, by moving the lesser child up
+     * until reaching a leaf, then placing the item from pos there with {@link #siftDown}.
+     */
+    private static void siftUp(PyList heap, int pos, boolean max) {
+        int endpos = heap.size();
+        int startpos = pos;
+        PyObject newitem = heap.pyget(pos);
+        int childpos = 2 * pos + 1;
+        while (childpos < endpos) {
+            int rightpos = childpos + 1;
+            if (rightpos < endpos) {
+                PyObject left = heap.pyget(childpos);
+                PyObject right = heap.pyget(rightpos);
+                boolean leftFirst = max ? heapLessThan(right, left) : heapLessThan(left, right);
+                if (endpos != heap.size()) {
+                    throw Py.RuntimeError("list changed size during iteration");
+                }
+                if (!leftFirst) {
+                    childpos = rightpos;
+                }
+            }
+            heap.pyset(pos, heap.pyget(childpos));
+            pos = childpos;
+            childpos = 2 * pos + 1;
+        }
+        heap.pyset(pos, newitem);
+        siftDown(heap, startpos, pos, max);
+    }
+
+    /** The comparison of <code>heapq</code>, which falls back to <code>__le__</code>. */
+    private static boolean heapLessThan(PyObject x, PyObject y) {
+        if (x.getType() == y.getType() && isFast(x.getType())) {
+            return lessThan(x, y);
+        } else if (x.__findattr__("__lt__") != null) {
+            return x._lt(y).__nonzero__();
+        } else {
+            return !y._le(x).__nonzero__();
+        }
+    }
+
+    private static boolean isFast(PyType type) {
+        return type == PyInteger.TYPE || type == PyFloat.TYPE || type == PyString.TYPE
+                || type == PyLong.TYPE || type == PyTuple.TYPE || type == PyList.TYPE;
+    }
+
+    /** Return whether x &lt; y, comparing objects of the types met most often in Java. */
+    static boolean lessThan(PyObject x, PyObject y) {
+        PyType type = x.getType();
+        if (type == y.getType()) {
+            if (type == PyInteger.TYPE) {
+                return ((PyInteger) x).getValue() < ((PyInteger) y).getValue();
+            } else if (type == PyFloat.TYPE) {
+                return ((PyFloat) x).getValue() < ((PyFloat) y).getValue();
+            } else if (type == PyString.TYPE) {
+                return ((PyString) x).getString().compareTo(((PyString) y).getString()) < 0;
+            } else if (type == PyLong.TYPE) {
+                return ((PyLong) x).getValue().compareTo(((PyLong) y).getValue()) < 0;
+            } else if (type == PyTuple.TYPE || type == PyList.TYPE) {
+                return sequenceLessThan((PySequenceList) x, (PySequenceList) y);
+            }
+        }
+        return x._lt(y).__nonzero__();
+    }
+
+    /** Compare sequences as Python does: by the first items that differ, else by length. */
+    private static boolean sequenceLessThan(PySequenceList x, PySequenceList y) {
+        int n = x.size(), m = y.size();
+        for (int i = 0; i < n && i < m; i++) {
+            PyObject a = x.pyget(i), b = y.pyget(i);
+            if (!equal(a, b)) {
+                return lessThan(a, b);
+            }
+        }
+        return n < m;
+    }
+
+    private static boolean equal(PyObject a, PyObject b) {
+        if (a == b) {
+            return true;
+        }
+        PyType type = a.getType();
+        if (type == b.getType()) {
+            if (type == PyInteger.TYPE) {
+                return ((PyInteger) a).getValue() == ((PyInteger) b).getValue();
+            } else if (type == PyFloat.TYPE) {
+                return ((PyFloat) a).getValue() == ((PyFloat) b).getValue();
+            } else if (type == PyString.TYPE) {
+                return ((PyString) a).getString().equals(((PyString) b).getString());
+            }
+        }
+        return a._eq(b).__nonzero__();
+    }
+
+    /**
+     * The iterator <code>merge</code> returns. Like the generator of <code>heapq.merge</code>, it
+     * keeps a heap of <code>[value, number, iterator]</code> lists, and takes the next value from
+     * an input only when asked for the next output.
+     */
+    private static class MergeIterator extends PyIterator {
+
+        /** The inputs, until the first call of next(). */
+        private PyObject[] iterables;
+        private PyList heap;
+        /** The entry whose value was returned last, which is at the top of the heap. */
+        private PyList last;
+
+        MergeIterator(PyObject[] iterables) {
+            this.iterables = iterables;
+        }
+
+        @Override
+        public PyObject __iternext__() {
+            try {
+                if (iterables != null) {
+                    start();
+                } else if (last != null) {
+                    PyObject value = last.pyget(2).__iternext__();
+                    if (value == null) {
+                        heappop(heap);
+                    } else {
+                        last.pyset(0, value);
+                        heapreplace(heap, last);
+                    }
+                }
+                if (heap == null || heap.size() == 0) {
+                    heap = last = null;
+                    return null;
+                }
+                last = (PyList) heap.pyget(0);
+                return last.pyget(0);
+            } catch (PyException e) {
+                // A generator ends when it raises an exception
+                iterables = null;
+                heap = last = null;
+                throw e;
+            }
+        }
+
+        private void start() {
+            PyObject[] iters = new PyObject[iterables.length];
+            for (int i = 0; i < iters.length; i++) {
+                iters[i] = iterables[i].__iter__();
+            }
+            iterables = null;
+            heap = new PyList();
+            for (int i = 0; i < iters.length; i++) {
+                PyObject value = iters[i].__iternext__();
+                if (value != null) {
+                    heap.append(new PyList(new PyObject[] {value, Py.newInteger(i), iters[i]}));
+                }
+            }
+            heapify(heap, false);
+        }
+
+        /* Traverseproc implementation */
+        @Override
+        public int traverse(Visitproc visit, Object arg) {
+            int retVal = super.traverse(visit, arg);
+            if (retVal != 0) {
+                return retVal;
+            }
+            if (iterables != null) {
+                for (PyObject iterable : iterables) {
+                    retVal = visit.visit(iterable, arg);
+                    if (retVal != 0) {
+                        return retVal;
+                    }
+                }
+            }
+            return heap == null ? 0 : visit.visit(heap, arg);
+        }
+
+        @Override
+        public boolean refersDirectlyTo(PyObject ob) {
+            return ob != null && (ob == heap || super.refersDirectlyTo(ob));
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.python.core.Py;
+import org.python.core.PyException;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.io.FileIO;
+import org.python.core.util.StringUtil;
+
+import jnr.constants.platform.Errno;
+
+/**
+ * The result of an asynchronous operation started by <code>FileIO.read_async</code> or
+ * <code>FileIO.write_async</code>. This is a {@link CompletableFuture}, so Java code may compose
+ * it in the usual way, and it also offers the methods of a Python 3
+ * <code>concurrent.futures.Future</code>: <code>result</code>, <code>exception</code>,
+ * <code>done</code>, <code>cancel</code>, <code>cancelled</code> and
+ * <code>add_done_callback</code>. Where the operation fails, <code>result()</code> raises the
+ * Python exception (usually <code>IOError</code>) that a blocking call would have raised.
+ * <p>
+ * Callbacks run on a thread of the pool that performs the asynchronous I/O, or on the calling
+ * thread if the operation is already complete. An exception raised by a callback is reported and
+ * otherwise ignored.
+ */
+public class IOFuture extends CompletableFuture<PyObject> {
+
+    /**
+     * Return the result of the operation, waiting for it to complete if necessary.
+     *
+     * @return the bytes read, as a <code>str</code>, or the number of bytes written
+     * @throws PyException the exception with which the operation failed
+     */
+    public PyObject result() throws PyException {
+        try {
+            return get();
+        } catch (InterruptedException e) {
+            throw Py.JavaError(e);
+        } catch (ExecutionException e) {
+            throw asPyException(e.getCause());
+        } catch (CancellationException e) {
+            throw Py.IOError(Errno.ECANCELED);
+        }
+    }
+
+    /**
+     * Return the result of the operation, waiting no longer than the given number of seconds for
+     * it to complete.
+     *
+     * @param timeout in seconds
+     * @return the bytes read, as a <code>str</code>, or the number of bytes written
+     * @throws PyException the exception with which the operation failed, or
+     *             <code>IOError(ETIMEDOUT)</code> if it did not complete in time
+     */
+    public PyObject result(double timeout) throws PyException {
+        try {
+            return get((long) (timeout * 1e9), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            throw Py.JavaError(e);
+        } catch (ExecutionException e) {
+            throw asPyException(e.getCause());
+        } catch (CancellationException e) {
+            throw Py.IOError(Errno.ECANCELED);
+        } catch (TimeoutException e) {
+            throw Py.IOError(Errno.ETIMEDOUT);
+        }
+    }
+
+    /**
+     * Return the exception with which the operation failed, or <code>None</code> if it succeeded,
+     * waiting for it to complete if necessary.
+     */
+    public PyObject exception() {
+        try {
+            result();
+            return Py.None;
+        } catch (PyException pye) {
+            pye.normalize();
+            return pye.value;
+        }
+    }
+
+    /** Whether the operation has completed, successfully or not, or was cancelled. */
+    public boolean done() {
+        return isDone();
+    }
+
+    /**
+     * Attempt to cancel the operation. As with an operation already submitted to the operating
+     * system, the transfer itself may still take place.
+     *
+     * @return whether this future is now cancelled
+     */
+    public boolean cancel() {
+        return cancel(false);
+    }
+
+    /** Whether this future was cancelled. */
+    public boolean cancelled() {
+        return isCancelled();
+    }
+
+    /**
+     * Arrange for a callable to be called with this future as its only argument, when the
+     * operation completes. If the operation has already completed, it is called immediately.
+     *
+     * @param fn callable
+     */
+    public void add_done_callback(final PyObject fn) {
+        whenComplete((result, failure) -> {
+            try {
+                fn.__call__(Py.java2py(this));
+            } catch (Throwable t) {
+                Py.writeUnraisable(t, fn);
+            }
+        });
+    }
+
+    /** Convert the failure of an asynchronous operation to the equivalent Python exception. */
+    private static PyException asPyException(Throwable failure) {
+        if (failure instanceof PyException) {
+            return (PyException) failure;
+        } else if (failure instanceof IOException) {
+            return Py.IOError((IOException) failure);
+        } else {
+            return Py.JavaError(failure);
+        }
+    }
+
+    /**
+     * Handler for an asynchronous read, which completes the future with a <code>str</code> of the
+     * bytes read (empty at end of file).
+     */
+    class ReadHandler implements CompletionHandler<Integer, ByteBuffer> {
+
+        @Override
+        public void completed(Integer n, ByteBuffer buf) {
+            buf.flip();
+            complete(new PyString(StringUtil.fromBytes(buf)));
+        }
+
+        @Override
+        public void failed(Throwable exc, ByteBuffer buf) {
+            completeExceptionally(asPyException(exc));
+        }
+    }
+
+    /**
+     * Handler for an asynchronous write, which continues until the whole buffer has been written,
+     * then completes the future with the number of bytes written.
+     */
+    class WriteHandler implements CompletionHandler<Integer, ByteBuffer> {
+
+        private final FileIO io;
+        private long position;
+        private int total;
+
+        WriteHandler(FileIO io, long position) {
+            this.io = io;
+            this.position = position;
+        }
+
+        @Override
+        public void completed(Integer n, ByteBuffer buf) {
+            position += n;
+            total += n;
+            if (buf.hasRemaining() && !isDone()) {
+                try {
+                    io.writeAsync(buf, position, buf, this);
+                } catch (PyException pye) {
+                    // Closed since the write began
+                    failed(pye, buf);
+                }
+            } else {
+                complete(Py.newInteger(total));
+            }
+        }
+
+        @Override
+        public void failed(Throwable exc, ByteBuffer buf) {
+            completeExceptionally(asPyException(exc));
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.python.core.Untraversable;
 import org.python.core.io.FileIO;
 import org.python.core.io.RawIOBase;
 import org.python.core.io.StreamIO;
+import org.python.core.util.StringUtil;
 import org.python.expose.ExposedGet;
 import org.python.expose.ExposedMethod;
 import org.python.expose.ExposedNew;
@@ -221,7 +222,28 @@ public class PyFileIO extends PyRawIOBase {
      */
 
     // _RawIOBase.read is correct for us
-    // _RawIOBase.readall is correct for us
+
+    @Override
+    public PyObject readall() {
+        return FileIO_readall();
+    }
+
+    /**
+     * Read until EOF. The delegate reads the whole remainder of the file into a single array, so
+     * (unlike the generic implementation in <code>_RawIOBase</code>) there is no list of pieces
+     * to join afterwards.
+     */
+    @ExposedMethod(doc = readall_doc)
+    final PyString FileIO_readall() {
+        if (!readable) {            // ... (or closed)
+            throw tailoredValueError("read");
+        }
+        ByteBuffer all;
+        synchronized (ioDelegate) {
+            all = ioDelegate.readall();
+        }
+        return new PyString(StringUtil.fromBytes(all));
+    }
 
     @Override
     public PyObject readinto(PyObject buf) {
@@ -235,7 +257,7 @@ public class PyFileIO extends PyRawIOBase {
             throw tailoredValueError("read");
         }
 
-        if (buf instanceof PyArray) {
+        if (buf instanceof PyArray && !isByteArray((PyArray)buf)) {
             // Special case: PyArray knows how to read into itself
             PyArray a = (PyArray)buf;
 
@@ -261,6 +283,14 @@ public class PyFileIO extends PyRawIOBase {
         return new PyLong(count);
     }
 
+    /**
+     * Whether an array holds bytes, in which case it exports its storage through the buffer
+     * interface, and a read may go directly into it.
+     */
+    private static boolean isByteArray(PyArray a) {
+        return a.getItemsize() == 1 && "bBc".indexOf(a.getTypecode()) >= 0;
+    }
+
     @Override
     public PyObject write(PyObject buf) {
         return FileIO_write(buf);
@@ -297,6 +327,90 @@ public class PyFileIO extends PyRawIOBase {
         return new PyLong(count);
     }
 
+    /**
+     * Write the bytes remaining in a Java buffer, as <code>write</code> does from an object
+     * supporting the buffer interface, for Java clients that already hold their data in an array.
+     *
+     * @param buf containing the bytes to write (between its position and limit)
+     * @return the number of bytes written
+     */
+    public int write(ByteBuffer buf) {
+        if (!writable) {            // ... (or closed)
+            throw tailoredValueError("writ");
+        }
+        synchronized (ioDelegate) {
+            return ioDelegate.write(buf);
+        }
+    }
+
+    /*
+     * Jython extension: asynchronous positional I/O, on the channel of the open file.
+     */
+
+    private static final String[] readAsyncArgs = {"pos", "n", "callback"};
+
+    @ExposedMethod(doc = read_async_doc)
+    final PyObject FileIO_read_async(PyObject[] args, String[] kwds) {
+        ArgParser ap = new ArgParser("read_async", args, kwds, readAsyncArgs, 2);
+        long pos = ap.getPyObject(0).asLong();
+        int n = ap.getInt(1);
+        PyObject callback = ap.getPyObject(2, Py.None);
+        if (!readable) {            // ... (or closed)
+            throw tailoredValueError("read");
+        } else if (pos < 0 || n < 0) {
+            throw Py.ValueError("negative position or size");
+        }
+
+        IOFuture future = new IOFuture();
+        ByteBuffer buf = ByteBuffer.allocate(n);
+        asyncDelegate().readAsync(buf, pos, buf, future.new ReadHandler());
+        addCallback(future, callback);
+        return Py.java2py(future);
+    }
+
+    private static final String[] writeAsyncArgs = {"pos", "b", "callback"};
+
+    @ExposedMethod(doc = write_async_doc)
+    final PyObject FileIO_write_async(PyObject[] args, String[] kwds) {
+        ArgParser ap = new ArgParser("write_async", args, kwds, writeAsyncArgs, 2);
+        long pos = ap.getPyObject(0).asLong();
+        PyObject b = ap.getPyObject(1);
+        PyObject callback = ap.getPyObject(2, Py.None);
+        if (!writable) {            // ... (or closed)
+            throw tailoredValueError("writ");
+        } else if (pos < 0) {
+            throw Py.ValueError("negative position");
+        }
+
+        // The caller may change the object before the write happens, so take a copy now
+        ByteBuffer buf;
+        try (PyBuffer pybuf = readablePyBuffer(b)) {
+            byte[] data = new byte[pybuf.getLen()];
+            pybuf.copyTo(data, 0);
+            buf = ByteBuffer.wrap(data);
+        }
+
+        IOFuture future = new IOFuture();
+        FileIO io = asyncDelegate();
+        io.writeAsync(buf, pos, buf, future.new WriteHandler(io, pos));
+        addCallback(future, callback);
+        return Py.java2py(future);
+    }
+
+    /** The delegate as a {@link FileIO}, which alone supports asynchronous operations. */
+    private FileIO asyncDelegate() {
+        if (!(ioDelegate instanceof FileIO)) {
+            throw Py.IOError(Errno.EOPNOTSUPP);
+        }
+        return (FileIO) ioDelegate;
+    }
+
+    private static void addCallback(IOFuture future, PyObject callback) {
+        if (callback != Py.None) {
+            future.add_done_callback(callback);
+        }
+    }
+
     @Override
     public long seek(long pos, int whence) {
         return FileIO_seek(pos, whence);
@@ -487,6 +601,20 @@ public class PyFileIO extends PyRawIOBase {
         return FileIO_toString().toString();
     }
 
+    public static final String read_async_doc = "read_async(pos, n[, callback]) -> future\n\n"
+            + "Start reading at most n bytes from position pos in the file, without\n"
+            + "blocking and without changing the file position. Returns a future,\n"
+            + "whose result() is the bytes read (empty at end of file). If callback is\n"
+            + "given, it is called with the future when the read completes, on a\n"
+            + "thread of the asynchronous I/O pool. (Jython only.)";
+
+    public static final String write_async_doc = "write_async(pos, b[, callback]) -> future\n\n"
+            + "Start writing the bytes b at position pos in the file, without blocking\n"
+            + "and without changing the file position. Returns a future, whose result()\n"
+            + "is the number of bytes written. If callback is given, it is called with\n"
+            + "the future when the write completes, on a thread of the asynchronous\n"
+            + "I/O pool. (Jython only.)";
+
     /**
      * Convenience method providing the exception when an method requires the file to be open, and
      * it isn't.
@@ -16,9 +16,18 @@ import org.python.core.PyUnicode;
 import org.python.core.Traverseproc;
 import org.python.core.Visitproc;
 import org.python.expose.ExposedGet;
+import org.python.expose.ExposedMethod;
 import org.python.expose.ExposedNew;
 import org.python.expose.ExposedType;
 
+/**
+ * The encoder returned by <code>_json.make_encoder</code>. It produces the whole JSON text in one
+ * {@link StringBuilder}, calling into Python only for <code>default</code> and any string encoder
+ * other than <code>encode_basestring_ascii</code>, which it applies inline. Unlike the C version
+ * it supports <code>indent</code> and <code>sort_keys</code>, producing the same text as the
+ * pure Python encoder. Called as a function, it returns a list holding the text as one chunk;
+ * its <code>dump</code> method writes the text to a file-like object in chunks as it goes.
+ */
 @ExposedType(name = "_json.encoder", base = PyObject.class)
 public class Encoder extends PyObject implements Traverseproc {
 
@@ -37,6 +46,12 @@ public class Encoder extends PyObject implements Traverseproc {
     final boolean skipkeys;
     final boolean allow_nan;
 
+    /** Whether strings may be escaped here, the encoder being encode_basestring_ascii. */
+    private final boolean asciiEncoder;
+    /** Spaces per level of indentation, or -1 not to indent. */
+    private final int indentWidth;
+    private final boolean sortKeys;
+
     public Encoder(PyObject[] args, String[] kwds) {
         this(TYPE, args, kwds);
     }
@@ -57,6 +72,10 @@ public class Encoder extends PyObject implements Traverseproc {
         sort_keys = ap.getPyObject(6);
         skipkeys = ap.getPyObject(7).__nonzero__();
         allow_nan = ap.getPyObject(8).__nonzero__();
+
+        asciiEncoder = encoder instanceof _json.EncodeBasestringAsciiFunction;
+        indentWidth = indent == Py.None ? -1 : indent.asInt();
+        sortKeys = sort_keys.__nonzero__();
     }
 
     @ExposedNew
@@ -74,12 +93,116 @@ public class Encoder extends PyObject implements Traverseproc {
     }
 
     public PyObject __call__(PyObject obj, PyObject indent_level) {
-        PyList rval = new PyList();
-        encode_obj(rval, obj, 0);
-        return rval;
+        Output out = new Output(null);
+        encode_obj(out, obj, indent_level.asInt());
+        return new PyList(new PyObject[] {out.getvalue()});
+    }
+
+    public static final String dump_doc = "dump(obj, fp)\n\n"
+            + "Write the JSON representation of obj to the file-like object fp, calling\n"
+            + "fp.write with chunks of the text as they are produced.";
+
+    @ExposedMethod(names = "dump", doc = dump_doc)
+    final void encoder_dump(PyObject obj, PyObject fp) {
+        Output out = new Output(fp.__getattr__("write"));
+        encode_obj(out, obj, 0);
+        out.flush();
+    }
+
+    /**
+     * The text produced by the encoder. Each piece appended is a <code>str</code> or a
+     * <code>unicode</code>, and (as for <code>''.join</code>) the text is <code>unicode</code> if
+     * any piece is, in which case no <code>str</code> piece may contain non-ASCII bytes. Writing
+     * to a file, the text is written in chunks of about {@link #CHUNK_SIZE} characters, and also
+     * where the next piece could not be joined to those before, since the pure Python encoder
+     * would have written them separately.
+     */
+    private static final class Output {
+
+        static final int CHUNK_SIZE = 8192;
+
+        final StringBuilder buf = new StringBuilder();
+        /** The <code>write</code> method of the file, or <code>null</code>. */
+        final PyObject write;
+        /** Whether a <code>unicode</code> piece is in the buffer. */
+        boolean unicode;
+        /** A <code>str</code> piece in the buffer with non-ASCII bytes, or <code>null</code>. */
+        PyString bytes;
+
+        Output(PyObject write) {
+            this.write = write;
+        }
+
+        /** Append ASCII text, which joins with anything. */
+        void append(String s) {
+            buf.append(s);
+            if (write != null && buf.length() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void append(char c) {
+            buf.append(c);
+        }
+
+        /** Append a piece from Python, or given by it, as <code>str</code> or unicode. */
+        void append(PyObject piece) {
+            if (!(piece instanceof PyString)) {
+                throw Py.TypeError(String.format("expected string, %.80s found",
+                        piece.getType().fastGetName()));
+            }
+            String s = ((PyString) piece).getString();
+            if (piece instanceof PyUnicode) {
+                if (bytes != null) {
+                    conflict(bytes);
+                }
+                unicode = true;
+            } else if (!isAscii(s)) {
+                if (unicode) {
+                    conflict((PyString) piece);
+                }
+                if (bytes == null) {
+                    bytes = (PyString) piece;
+                }
+            }
+            append(s);
+        }
+
+        /** A str with non-ASCII bytes meets unicode: write what we have, or fail as join. */
+        private void conflict(PyString str) {
+            if (write != null) {
+                flush();
+            } else {
+                // Raises the UnicodeDecodeError ''.join would have
+                str.decode("ascii");
+            }
+        }
+
+        private static boolean isAscii(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                if (s.charAt(i) > 0x7f) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        PyString getvalue() {
+            String s = buf.toString();
+            return unicode ? new PyUnicode(s) : new PyString(s);
+        }
+
+        void flush() {
+            if (buf.length() > 0) {
+                write.__call__(getvalue());
+                buf.setLength(0);
+                unicode = false;
+                bytes = null;
+            }
+        }
     }
 
-    private PyString encode_float(PyObject obj) {
+    private String encode_float(PyObject obj) {
         /* Return the JSON representation of a PyFloat */
         double i = obj.asDouble();
         if (Double.isInfinite(i) || Double.isNaN(i)) {
@@ -87,20 +210,24 @@ public class Encoder extends PyObject implements Traverseproc {
                 throw Py.ValueError("Out of range float values are not JSON compliant");
             }
             if (i == Double.POSITIVE_INFINITY) {
-                return new PyString("Infinity");
+                return "Infinity";
             } else if (i == Double.NEGATIVE_INFINITY) {
-                return new PyString("-Infinity");
+                return "-Infinity";
             } else {
-                return new PyString("NaN");
+                return "NaN";
             }
         }
         /* Use a better float format here? */
-        return obj.__repr__();
+        return obj.__repr__().getString();
     }
 
-    private PyString encode_string(PyObject obj) {
-        /* Return the JSON representation of a string */
-        return (PyString) encoder.__call__(obj);
+    private void encode_string(Output out, PyObject obj) {
+        /* Append the JSON representation of a string */
+        if (asciiEncoder) {
+            _json.encode_basestring_ascii(out.buf, obj);
+        } else {
+            out.append(encoder.__call__(obj));
+        }
     }
 
     private PyObject checkCircularReference(PyObject obj) {
@@ -115,109 +242,169 @@ public class Encoder extends PyObject implements Traverseproc {
         return ident;
     }
 
-    private void encode_obj(PyList rval, PyObject obj, int indent_level) {
-        /* Encode Python object obj to a JSON term, rval is a PyList */
-        if (obj == Py.None) {
-            rval.append(new PyString("null"));
+    /** The newline and indentation for a nesting level, or null not to indent. */
+    private String newlineIndent(int indent_level) {
+        if (indentWidth < 0) {
+            return null;
+        }
+        StringBuilder s = new StringBuilder(1 + indentWidth * indent_level).append('\n');
+        for (int i = indentWidth * indent_level; i > 0; i--) {
+            s.append(' ');
+        }
+        return s.toString();
+    }
+
+    private void encode_obj(Output out, PyObject obj, int indent_level) {
+        /* Encode Python object obj to a JSON term */
+        if (obj instanceof PyString) {
+            encode_string(out, obj);
+        } else if (obj == Py.None) {
+            out.append("null");
         } else if (obj == Py.True) {
-            rval.append(new PyString("true"));
+            out.append("true");
         } else if (obj == Py.False) {
-            rval.append(new PyString("false"));
-        } else if (obj instanceof PyString) {
-            rval.append(encode_string(obj));
+            out.append("false");
         } else if (obj instanceof PyInteger || obj instanceof PyLong) {
-            rval.append(obj.__str__());
+            out.append(obj.__str__());
         } else if (obj instanceof PyFloat) {
-            rval.append(encode_float(obj));
+            out.append(encode_float(obj));
         } else if (obj instanceof PyList || obj instanceof PyTuple) {
-            encode_list(rval, obj, indent_level);
+            encode_list(out, obj, indent_level);
         } else if (obj instanceof AbstractDict) {
             /* Using AbstractDict instead of PyDictionary fixes http://bugs.jython.org/issue2622 */
-            encode_dict(rval, (AbstractDict) obj, indent_level);
+            encode_dict(out, (AbstractDict) obj, indent_level);
         } else {
             PyObject ident = checkCircularReference(obj);
             if (defaultfn == Py.None) {
-                throw Py.TypeError(String.format(".80s is not JSON serializable", obj.__repr__()));
+                throw Py.TypeError(String.format("%.80s is not JSON serializable",
+                        obj.__repr__()));
             }
 
             PyObject newobj = defaultfn.__call__(obj);
-            encode_obj(rval, newobj, indent_level);
+            encode_obj(out, newobj, indent_level);
             if (ident != null) {
                 markers.__delitem__(ident);
             }
         }
     }
 
-    private void encode_dict(PyList rval, AbstractDict dct, int indent_level) {
+    private String encode_key(PyObject key) {
+        /* The JSON key for a dict key, or null to skip it */
+        if (key instanceof PyString) {
+            return null;    // the caller encodes the key itself
+        } else if (key instanceof PyFloat) {
+            return encode_float(key);
+        } else if (key == Py.True) {
+            return "true";
+        } else if (key == Py.False) {
+            return "false";
+        } else if (key == Py.None) {
+            return "null";
+        } else if (key instanceof PyInteger || key instanceof PyLong) {
+            return key.__str__().getString();
+        } else if (skipkeys) {
+            return null;
+        } else {
+            throw Py.TypeError(String.format("keys must be a string: %.80s", key.__repr__()));
+        }
+    }
+
+    private void encode_dict(Output out, AbstractDict dct, int indent_level) {
         /* Encode Python dict dct a JSON term */
         if (dct.__len__() == 0) {
-            rval.append(new PyString("{}"));
+            out.append("{}");
             return;
         }
 
         PyObject ident = checkCircularReference(dct);
-        rval.append(new PyString("{"));
+        out.append('{');
 
-        /* TODO: C speedup not implemented for sort_keys */
+        String newline_indent = newlineIndent(indent_level + 1);
+        if (newline_indent != null) {
+            out.append(newline_indent);
+        }
+
+        Iterable<PyObject> keys;
+        if (sortKeys) {
+            PyList sorted = new PyList(dct);
+            sorted.sort();
+            keys = sorted.asIterable();
+        } else {
+            keys = dct.asIterable();
+        }
 
         int idx = 0;
-        for (PyObject key : dct.asIterable()) {
-            PyString kstr;
-
-            if (key instanceof PyString || key instanceof PyUnicode) {
-                kstr = (PyString) key;
-            } else if (key instanceof PyFloat) {
-                kstr = encode_float(key);
-            } else if (key instanceof PyInteger || key instanceof PyLong) {
-                kstr = key.__str__();
-            } else if (key == Py.True) {
-                kstr = new PyString("true");
-            } else if (key == Py.False) {
-                kstr = new PyString("false");
-            } else if (key == Py.None) {
-                kstr = new PyString("null");
-            } else if (skipkeys) {
-                continue;
-            } else {
-                throw Py.TypeError(String.format("keys must be a string: %.80s", key.__repr__()));
+        for (PyObject key : keys) {
+            String kstr = encode_key(key);
+            if (kstr == null && !(key instanceof PyString)) {
+                continue;   // skipkeys
             }
 
             if (idx > 0) {
-                rval.append(item_separator);
+                out.append(item_separator);
+                if (newline_indent != null) {
+                    out.append(newline_indent);
+                }
             }
 
             PyObject value = dct.__getitem__(key);
-            PyString encoded = encode_string(kstr);
-            rval.append(encoded);
-            rval.append(key_separator);
-            encode_obj(rval, value, indent_level);
+            if (kstr == null) {
+                encode_string(out, key);
+            } else if (asciiEncoder) {
+                out.append('"');
+                out.append(kstr);
+                out.append('"');
+            } else {
+                encode_string(out, new PyString(kstr));
+            }
+            out.append(key_separator);
+            encode_obj(out, value, indent_level + 1);
             idx += 1;
         }
 
+        if (newline_indent != null) {
+            out.append(newlineIndent(indent_level));
+        }
         if (ident != null) {
             markers.__delitem__(ident);
         }
-        rval.append(new PyString("}"));
+        out.append("}");
     }
 
 
-    private void encode_list(PyList rval, PyObject seq, int indent_level) {
+    private void encode_list(Output out, PyObject seq, int indent_level) {
+        if (seq.__len__() == 0) {
+            out.append("[]");
+            return;
+        }
+
         PyObject ident = checkCircularReference(seq);
-        rval.append(new PyString("["));
+        out.append('[');
+
+        String newline_indent = newlineIndent(indent_level + 1);
+        if (newline_indent != null) {
+            out.append(newline_indent);
+        }
 
         int i = 0;
         for (PyObject obj : seq.asIterable()) {
             if (i > 0) {
-                rval.append(item_separator);
+                out.append(item_separator);
+                if (newline_indent != null) {
+                    out.append(newline_indent);
+                }
             }
-            encode_obj(rval, obj, indent_level);
+            encode_obj(out, obj, indent_level + 1);
             i++;
         }
 
+        if (newline_indent != null) {
+            out.append(newlineIndent(indent_level));
+        }
         if (ident != null) {
             markers.__delitem__(ident);
         }
-        rval.append(new PyString("]"));
+        out.append("]");
     }
 
 
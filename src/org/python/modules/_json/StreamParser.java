@@ -0,0 +1,789 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._json;
+
+import java.math.BigInteger;
+
+import org.python.core.BufferProtocol;
+import org.python.core.Py;
+import org.python.core.PyBUF;
+import org.python.core.PyBuffer;
+import org.python.core.PyDictionary;
+import org.python.core.PyException;
+import org.python.core.PyIterator;
+import org.python.core.PyList;
+import org.python.core.PyLong;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PyTuple;
+import org.python.core.PyType;
+import org.python.core.PyUnicode;
+import org.python.core.Visitproc;
+import org.python.core.codecs;
+import org.python.core.util.StringUtil;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedType;
+
+/**
+ * An incremental, pull-based JSON parser, behind <code>_json.iterparse</code> and
+ * <code>_json.iterarray</code>. It reads its input a chunk at a time from a file-like object (by
+ * calling <code>read(bufsize)</code>), from an object with the buffer interface, or from a
+ * <code>str</code> or <code>unicode</code>, and holds no more of the document than the current
+ * chunk and the token being read. As an iterator, it produces <code>(event, value)</code> pairs,
+ * where the event is one of <code>start_map</code>, <code>map_key</code>, <code>end_map</code>,
+ * <code>start_array</code>, <code>end_array</code>, <code>string</code>, <code>number</code>,
+ * <code>boolean</code> and <code>null</code>, and the value is the key, the string, number or
+ * constant read, or <code>None</code>. Alternatively, it produces, one at a time, the elements of a
+ * document that is an array, each as <code>json.loads</code> would build it.
+ * <p>
+ * Byte input is read as text in an ASCII-compatible <code>encoding</code>, as
+ * <code>json.loads</code> does. Errors raise <code>ValueError</code> with messages in the form
+ * <code>json.loads</code> uses, giving the line, column and position of the character at which
+ * the document went wrong, counted in characters (or bytes) read since the start. They are not
+ * always the same as from <code>json.loads</code> for the same document: that reports the
+ * extent of extra data after a document, where this parser stops at its first character, and
+ * reports some errors in arrays or objects against the container or the whole document.
+ * Java code may use {@link #nextEvent()}, {@link #getValue()} and {@link #nextItem()} directly.
+ */
+@ExposedType(name = "_json.StreamParser", base = PyObject.class, isBaseType = false)
+public class StreamParser extends PyIterator {
+
+    public static final PyType TYPE = PyType.fromClass(StreamParser.class);
+
+    private static final String close_doc = "close() -> None.  Stop parsing, releasing the source.";
+
+    /** Events returned by {@link #nextEvent()}. */
+    public static final int END = -1, START_MAP = 0, MAP_KEY = 1, END_MAP = 2, START_ARRAY = 3,
+            END_ARRAY = 4, STRING = 5, NUMBER = 6, BOOLEAN = 7, NULL = 8;
+
+    private static final PyString[] EVENT_NAMES = {PyString.fromInterned("start_map"),
+            PyString.fromInterned("map_key"), PyString.fromInterned("end_map"),
+            PyString.fromInterned("start_array"), PyString.fromInterned("end_array"),
+            PyString.fromInterned("string"), PyString.fromInterned("number"),
+            PyString.fromInterned("boolean"), PyString.fromInterned("null")};
+
+    /** Parser states: what the document allows next. */
+    private static final int VALUE = 0, VALUE_OR_END_ARRAY = 1, KEY = 2, KEY_OR_END_MAP = 3,
+            AFTER_VALUE = 4, DONE = 5;
+
+    /** Default size of the chunks read. */
+    public static final int BUFSIZE = 65536;
+
+    private final Source source;
+    private final String encoding;
+    private final boolean strict;
+    /** Conversions given by the caller, or <code>null</code> for the built-in ones. */
+    private final PyObject parse_float, parse_int, parse_constant;
+    private final PyObject object_hook, pairs_hook;
+    /** Whether to iterate over elements of the top-level array, rather than events. */
+    private final boolean items;
+    private boolean started;
+
+    /** The current chunk of the document, and the index in it of the next character. */
+    private String chunk = "";
+    private int pos;
+    /** Position in the document of <code>chunk[0]</code>. */
+    private long offset;
+    /** Newlines before <code>offset</code>, and the position of the last of them. */
+    private long lines, lastNewline = -1;
+
+    private int state = VALUE;
+    /** For each open container, whether it is an object (rather than an array). */
+    private boolean[] stack = new boolean[16];
+    private int depth;
+    private PyObject value = Py.None;
+
+    /** A string being read: the text decoded so far, and bytes not yet decoded. */
+    private final StringBuilder text = new StringBuilder();
+    private final StringBuilder raw = new StringBuilder();
+    private boolean rawIsAscii = true;
+
+    /**
+     * Create a parser reading from <code>source</code>, with the conversions and hooks of
+     * <code>json.JSONDecoder</code>, where <code>null</code> or <code>None</code> selects the
+     * default.
+     *
+     * @param source file-like object, object with the buffer interface, or string
+     * @param bufsize size of the chunks read
+     * @param encoding of byte input
+     * @param strict whether to reject control characters in strings
+     * @param items whether to iterate over the elements of the top-level array
+     */
+    public StreamParser(PyObject source, int bufsize, String encoding, boolean strict,
+            PyObject object_hook, PyObject pairs_hook, PyObject parse_float, PyObject parse_int,
+            PyObject parse_constant, boolean items) {
+        super(TYPE);
+        if (bufsize <= 0) {
+            throw Py.ValueError("bufsize must be positive");
+        }
+        this.source = Source.of(source, bufsize);
+        this.encoding = encoding == null ? "utf-8" : encoding;
+        this.strict = strict;
+        this.object_hook = orNull(object_hook);
+        this.pairs_hook = orNull(pairs_hook);
+        this.parse_float = orNull(parse_float);
+        this.parse_int = orNull(parse_int);
+        this.parse_constant = orNull(parse_constant);
+        this.items = items;
+    }
+
+    private static PyObject orNull(PyObject obj) {
+        return obj == Py.None ? null : obj;
+    }
+
+    /**
+     * Return the next <code>(event, value)</code> pair or, if this parser produces items, the
+     * next element of the top-level array, or <code>null</code> at the end.
+     */
+    @Override
+    public PyObject __iternext__() {
+        if (items) {
+            return nextItem();
+        }
+        int event = nextEvent();
+        if (event == END) {
+            return null;
+        }
+        return new PyTuple(EVENT_NAMES[event], value);
+    }
+
+    @ExposedMethod
+    @Override
+    public PyObject next() {
+        return super.next();
+    }
+
+    /**
+     * Return the next element of the array that is the document, built completely, as
+     * <code>json.loads</code> would, or <code>null</code> after the last.
+     */
+    public PyObject nextItem() {
+        if (!started) {
+            started = true;
+            skipWhitespace();
+            long at = offset + pos;
+            if (nextEvent() != START_ARRAY) {
+                throw error("Expecting array", at);
+            }
+        }
+        int event = nextEvent();
+        if (event == END_ARRAY) {
+            nextEvent();    // Check there is nothing after the array
+            return null;
+        } else if (event == END) {
+            return null;
+        }
+        return build(event);
+    }
+
+    /** Build the value starting with <code>event</code>, as <code>json.loads</code> would. */
+    private PyObject build(int event) {
+        switch (event) {
+            case START_MAP:
+                if (pairs_hook != null) {
+                    PyList pairs = new PyList();
+                    while (nextEvent() == MAP_KEY) {
+                        PyObject key = value;
+                        pairs.append(new PyTuple(key, build(nextEvent())));
+                    }
+                    return pairs_hook.__call__(pairs);
+                } else {
+                    PyDictionary dict = new PyDictionary();
+                    while (nextEvent() == MAP_KEY) {
+                        PyObject key = value;
+                        dict.__setitem__(key, build(nextEvent()));
+                    }
+                    return object_hook == null ? dict : object_hook.__call__(dict);
+                }
+            case START_ARRAY:
+                PyList list = new PyList();
+                for (int e = nextEvent(); e != END_ARRAY; e = nextEvent()) {
+                    list.append(build(e));
+                }
+                return list;
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Release the source (in particular a buffer obtained from it). Further calls report the end
+     * of the document. A file-like source is not closed.
+     */
+    @ExposedMethod(doc = close_doc)
+    public void close() {
+        state = DONE;
+        chunk = "";
+        pos = 0;
+        source.close();
+    }
+
+    /**
+     * The value read with the last event: the key, string, number or constant, or
+     * <code>None</code> for other events.
+     */
+    public PyObject getValue() {
+        return value;
+    }
+
+    /** The number of objects and arrays open after the last event. */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Read the next event of the document.
+     *
+     * @return one of the event constants, or {@link #END} after the end of the document
+     */
+    public int nextEvent() {
+        value = Py.None;
+        while (true) {
+            int c;
+            switch (state) {
+                case VALUE_OR_END_ARRAY:
+                    if (skipWhitespace() == ']') {
+                        pos++;
+                        return pop(false);
+                    }
+                    // Fall through
+                case VALUE:
+                    return readValue();
+
+                case KEY_OR_END_MAP:
+                    if (skipWhitespace() == '}') {
+                        pos++;
+                        return pop(true);
+                    }
+                    // Fall through
+                case KEY:
+                    if (skipWhitespace() != '"') {
+                        throw error("Expecting property name", offset + pos);
+                    }
+                    pos++;
+                    value = readString();
+                    if (skipWhitespace() != ':') {
+                        throw error("Expecting : delimiter", offset + pos);
+                    }
+                    pos++;
+                    state = VALUE;
+                    return MAP_KEY;
+
+                case AFTER_VALUE:
+                    c = skipWhitespace();
+                    if (depth == 0) {
+                        if (c >= 0) {
+                            throw error("Extra data", offset + pos);
+                        }
+                        close();
+                        return END;
+                    }
+                    boolean inMap = stack[depth - 1];
+                    if (c == ',') {
+                        pos++;
+                        state = inMap ? KEY : VALUE;
+                        continue;
+                    } else if (c == (inMap ? '}' : ']')) {
+                        pos++;
+                        return pop(inMap);
+                    }
+                    throw error("Expecting , delimiter", offset + pos);
+
+                default:
+                    return END;
+            }
+        }
+    }
+
+    private int pop(boolean inMap) {
+        depth--;
+        state = AFTER_VALUE;
+        return inMap ? END_MAP : END_ARRAY;
+    }
+
+    private void push(boolean inMap) {
+        if (depth == stack.length) {
+            boolean[] bigger = new boolean[depth * 2];
+            System.arraycopy(stack, 0, bigger, 0, depth);
+            stack = bigger;
+        }
+        stack[depth++] = inMap;
+        state = inMap ? KEY_OR_END_MAP : VALUE_OR_END_ARRAY;
+    }
+
+    private int readValue() {
+        int c = skipWhitespace();
+        long start = offset + pos;
+        state = AFTER_VALUE;
+        switch (c) {
+            case '"':
+                pos++;
+                value = readString();
+                return STRING;
+            case '{':
+                pos++;
+                push(true);
+                return START_MAP;
+            case '[':
+                pos++;
+                push(false);
+                return START_ARRAY;
+            case 'n':
+                readWord("null", start);
+                return NULL;
+            case 't':
+                readWord("true", start);
+                value = Py.True;
+                return BOOLEAN;
+            case 'f':
+                readWord("false", start);
+                value = Py.False;
+                return BOOLEAN;
+            case 'N':
+                readWord("NaN", start);
+                value = constant("NaN", Double.NaN);
+                return NUMBER;
+            case 'I':
+                readWord("Infinity", start);
+                value = constant("Infinity", Double.POSITIVE_INFINITY);
+                return NUMBER;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    value = readNumber(start);
+                    return NUMBER;
+                }
+                throw noValue(start);
+        }
+    }
+
+    /** The error for a value that is not valid JSON, as from <code>json.loads</code>. */
+    private PyException noValue(long start) {
+        if (depth == 0) {
+            return Py.ValueError("No JSON object could be decoded");
+        }
+        return error("Expecting object", start);
+    }
+
+    private PyObject constant(String name, double v) {
+        return parse_constant == null ? Py.newFloat(v)
+                : parse_constant.__call__(Py.newString(name));
+    }
+
+    /** Consume exactly the characters of <code>word</code>, which start at the current one. */
+    private void readWord(String word, long start) {
+        for (int i = 0; i < word.length(); i++) {
+            if (peek() != word.charAt(i)) {
+                throw noValue(start);
+            }
+            pos++;
+        }
+    }
+
+    /** Read a number (or <code>-Infinity</code>), which starts at the current character. */
+    private PyObject readNumber(long start) {
+        StringBuilder num = text;
+        num.setLength(0);
+        int c = peek();
+        if (c == '-') {
+            num.append('-');
+            pos++;
+            c = peek();
+            if (c == 'I') {
+                readWord("Infinity", start);
+                return constant("-Infinity", Double.NEGATIVE_INFINITY);
+            }
+        }
+        // Integer part: 0, or digits not starting with 0
+        if (c == '0') {
+            num.append('0');
+            pos++;
+        } else if (c >= '1' && c <= '9') {
+            readDigits(num);
+        } else {
+            throw noValue(start);
+        }
+        boolean isFloat = false;
+        if (peek() == '.') {
+            num.append('.');
+            pos++;
+            if (readDigits(num) == 0) {
+                throw noValue(start);
+            }
+            isFloat = true;
+        }
+        c = peek();
+        if (c == 'e' || c == 'E') {
+            num.append((char) c);
+            pos++;
+            c = peek();
+            if (c == '-' || c == '+') {
+                num.append((char) c);
+                pos++;
+            }
+            if (readDigits(num) == 0) {
+                throw noValue(start);
+            }
+            isFloat = true;
+        }
+
+        String s = num.toString();
+        if (isFloat) {
+            return parse_float == null ? Py.newFloat(Double.parseDouble(s))
+                    : parse_float.__call__(Py.newString(s));
+        } else if (parse_int != null) {
+            return parse_int.__call__(Py.newString(s));
+        } else if (s.length() <= 18) {
+            return Py.newInteger(Long.parseLong(s));
+        } else {
+            return new PyLong(new BigInteger(s));
+        }
+    }
+
+    /** Append the digits that start at the current character, and return how many there were. */
+    private int readDigits(StringBuilder num) {
+        int n = 0;
+        while (true) {
+            int i = pos, end = chunk.length();
+            while (i < end) {
+                char c = chunk.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                i++;
+            }
+            num.append(chunk, pos, i);
+            n += i - pos;
+            pos = i;
+            if (i < end || !fill()) {
+                return n;
+            }
+        }
+    }
+
+    /**
+     * Read a string, whose opening quote has been consumed, and its closing quote, following
+     * <code>_json.scanstring</code>.
+     */
+    private PyUnicode readString() {
+        long begin = offset + pos - 1;
+        text.setLength(0);
+        while (true) {
+            // Find the end of the string or the next escape
+            int i = pos, end = chunk.length();
+            int c = 0;
+            for (; i < end; i++) {
+                c = chunk.charAt(i);
+                if (c == '"' || c == '\\') {
+                    break;
+                } else if (c > 127) {
+                    rawIsAscii = false;
+                } else if (strict && c <= 0x1f) {
+                    throw error("Invalid control character at", offset + i);
+                }
+            }
+            raw.append(chunk, pos, i);
+            pos = i;
+            if (i == end) {
+                if (!fill()) {
+                    throw error("Unterminated string starting at", begin);
+                }
+                continue;
+            }
+            decodeRaw();
+            pos++;
+            if (c == '"') {
+                return new PyUnicode(text.toString());
+            }
+            readEscape(begin);
+        }
+    }
+
+    /** Decode the bytes of a string read so far, and append them to the text. */
+    private void decodeRaw() {
+        if (raw.length() == 0) {
+            return;
+        } else if (source.unicode || rawIsAscii) {
+            text.append(raw);
+        } else if (encoding.equals("utf-8")) {
+            text.append(codecs.PyUnicode_DecodeUTF8(raw.toString(), null));
+        } else {
+            text.append(((PyString) codecs.decode(new PyString(raw.toString()), encoding, null))
+                    .getString());
+        }
+        raw.setLength(0);
+        rawIsAscii = true;
+    }
+
+    /** Read an escape sequence, whose backslash has been consumed, and append it to the text. */
+    private void readEscape(long begin) {
+        int c = peek();
+        if (c < 0) {
+            throw error("Unterminated string starting at", begin);
+        }
+        long at = offset + pos - 1;
+        pos++;
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                break;
+            case 'b':
+                c = '\b';
+                break;
+            case 'f':
+                c = '\f';
+                break;
+            case 'n':
+                c = '\n';
+                break;
+            case 'r':
+                c = '\r';
+                break;
+            case 't':
+                c = '\t';
+                break;
+            case 'u':
+                c = readHex4(at);
+                /* Surrogate pair */
+                if ((c & 0xfc00) == 0xd800) {
+                    if (peek() != '\\') {
+                        throw error("Unpaired high surrogate", at);
+                    }
+                    pos++;
+                    if (peek() != 'u') {
+                        throw error("Unpaired high surrogate", at);
+                    }
+                    pos++;
+                    int c2 = readHex4(at);
+                    if ((c2 & 0xfc00) != 0xdc00) {
+                        throw error("Unpaired high surrogate", at);
+                    }
+                    c = 0x10000 + (((c - 0xd800) << 10) | (c2 - 0xdc00));
+                } else if ((c & 0xfc00) == 0xdc00) {
+                    throw error("Unpaired low surrogate", at);
+                }
+                break;
+            default:
+                throw error("Invalid \\escape", at);
+        }
+        text.appendCodePoint(c);
+    }
+
+    private int readHex4(long at) {
+        int c = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = peek();
+            int d = Character.digit(digit, 16);
+            if (digit < 0 || digit > 127 || d < 0) {
+                throw error("Invalid \\uXXXX escape", at);
+            }
+            c = (c << 4) | d;
+            pos++;
+        }
+        return c;
+    }
+
+    /** Return the current character without consuming it, or -1 at the end of the document. */
+    private int peek() {
+        if (pos < chunk.length() || fill()) {
+            return chunk.charAt(pos);
+        }
+        return -1;
+    }
+
+    /** Skip whitespace and return the next character, not consuming it, or -1 at the end. */
+    private int skipWhitespace() {
+        while (true) {
+            int end = chunk.length();
+            for (; pos < end; pos++) {
+                char c = chunk.charAt(pos);
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                    return c;
+                }
+            }
+            if (!fill()) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Replace the current chunk, all of which has been consumed, with the next one from the
+     * source.
+     *
+     * @return false at the end of the document
+     */
+    private boolean fill() {
+        String next = source.read();
+        if (next == null) {
+            return false;
+        }
+        // Keep count of lines, for the positions given in errors
+        int len = chunk.length();
+        for (int i = chunk.indexOf('\n'); i >= 0; i = chunk.indexOf('\n', i + 1)) {
+            lines++;
+            lastNewline = offset + i;
+        }
+        offset += len;
+        chunk = next;
+        pos = 0;
+        return true;
+    }
+
+    /** A <code>ValueError</code> at <code>at</code>, as from <code>json.decoder.errmsg</code>. */
+    private PyException error(String msg, long at) {
+        long lineno = lines, last = lastNewline;
+        for (int i = chunk.indexOf('\n'); i >= 0 && offset + i < at;
+                i = chunk.indexOf('\n', i + 1)) {
+            lineno++;
+            last = offset + i;
+        }
+        long colno = lineno == 0 ? at + 1 : at - last;
+        return Py.ValueError(String.format("%s: line %d column %d (char %d)", msg, lineno + 1,
+                colno, at));
+    }
+
+    /** The document, a chunk at a time. */
+    private static abstract class Source {
+
+        /** Whether the chunks are text, rather than bytes (as characters 0 to 255). */
+        boolean unicode;
+
+        /** Return the next chunk, not empty, or <code>null</code> at the end. */
+        abstract String read();
+
+        void close() {}
+
+        static Source of(PyObject obj, int bufsize) {
+            if (obj instanceof PyString) {
+                return new StringSource((PyString) obj);
+            } else if (obj instanceof BufferProtocol) {
+                return new BufferSource(((BufferProtocol) obj).getBuffer(PyBUF.SIMPLE), bufsize);
+            } else if (obj.__findattr__("read") != null) {
+                return new FileSource(obj, bufsize);
+            }
+            throw Py.TypeError(String.format(
+                    "expected a file-like object, buffer or string, not %.80s",
+                    obj.getType().fastGetName()));
+        }
+    }
+
+    private static class StringSource extends Source {
+
+        private String s;
+
+        StringSource(PyString s) {
+            this.unicode = s instanceof PyUnicode;
+            this.s = s.getString();
+        }
+
+        @Override
+        String read() {
+            String result = s;
+            s = null;
+            return result == null || result.isEmpty() ? null : result;
+        }
+    }
+
+    private static class BufferSource extends Source {
+
+        private PyBuffer buf;
+        private final byte[] bytes;
+        private int index;
+
+        BufferSource(PyBuffer buf, int bufsize) {
+            this.buf = buf;
+            this.bytes = new byte[Math.min(bufsize, buf.getLen())];
+        }
+
+        @Override
+        String read() {
+            if (buf == null) {
+                return null;
+            }
+            int n = Math.min(bytes.length, buf.getLen() - index);
+            if (n <= 0) {
+                close();
+                return null;
+            }
+            buf.copyTo(index, bytes, 0, n);
+            index += n;
+            return StringUtil.fromBytes(bytes, 0, n);
+        }
+
+        @Override
+        void close() {
+            if (buf != null) {
+                buf.release();
+                buf = null;
+            }
+        }
+    }
+
+    private static class FileSource extends Source {
+
+        private final PyObject read;
+        private final PyObject size;
+        private boolean started, ended;
+
+        FileSource(PyObject file, int bufsize) {
+            this.read = file.__getattr__("read");
+            this.size = Py.newInteger(bufsize);
+        }
+
+        @Override
+        String read() {
+            if (ended) {
+                return null;
+            }
+            PyObject data = read.__call__(size);
+            if (!(data instanceof PyString)) {
+                throw Py.TypeError(String.format("read() should return a string, not %.80s",
+                        data.getType().fastGetName()));
+            }
+            boolean isUnicode = data instanceof PyUnicode;
+            if (!started) {
+                started = true;
+                unicode = isUnicode;
+            } else if (isUnicode != unicode) {
+                throw Py.TypeError("read() returned both str and unicode");
+            }
+            String s = ((PyString) data).getString();
+            if (s.isEmpty()) {
+                ended = true;
+                return null;
+            }
+            return s;
+        }
+
+        @Override
+        void close() {
+            ended = true;
+        }
+    }
+
+    /* Traverseproc implementation */
+    @Override
+    public int traverse(Visitproc visit, Object arg) {
+        int retVal = super.traverse(visit, arg);
+        if (retVal != 0) {
+            return retVal;
+        }
+        for (PyObject ob : new PyObject[] {value, object_hook, pairs_hook, parse_float,
+                parse_int, parse_constant}) {
+            if (ob != null) {
+                retVal = visit.visit(ob, arg);
+                if (retVal != 0) {
+                    return retVal;
+                }
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean refersDirectlyTo(PyObject ob) {
+        return ob != null && (ob == value || ob == object_hook || ob == pairs_hook
+                || ob == parse_float || ob == parse_int || ob == parse_constant
+                || super.refersDirectlyTo(ob));
+    }
+}
@@ -4,6 +4,7 @@ package org.python.modules._json;
 import org.python.core.ArgParser;
 import org.python.core.ClassDictInit;
 import org.python.core.Py;
+import org.python.core.PyBuiltinFunction;
 import org.python.core.PyBuiltinFunctionNarrow;
 import org.python.core.PyList;
 import org.python.core.PyObject;
@@ -14,7 +15,6 @@ import org.python.core.codecs;
 import org.python.core.Untraversable;
 import org.python.expose.ExposedGet;
 
-import java.util.Iterator;
 
 /**
  * This module is a nearly exact line by line port of _json.c to Java. Names and comments  are retained
@@ -34,6 +34,8 @@ public class _json implements ClassDictInit {
         dict.__setitem__("make_encoder", Encoder.TYPE);
         dict.__setitem__("make_scanner", Scanner.TYPE);
         dict.__setitem__("scanstring", new ScanstringFunction());
+        dict.__setitem__("iterparse", new IterparseFunction("iterparse", iterparse_doc, false));
+        dict.__setitem__("iterarray", new IterparseFunction("iterarray", iterarray_doc, true));
         dict.__setitem__("__module__", new PyString("_json"));
 
         // ensure __module__ is set properly in these modules,
@@ -307,6 +309,62 @@ public class _json implements ClassDictInit {
         return new PyTuple(Py.EmptyUnicode.join(chunks), Py.newInteger(end));
     }
 
+    static final String iterparse_doc =
+            "iterparse(source, bufsize=65536, encoding='utf-8', strict=True, parse_float=None,\n"
+            + "          parse_int=None, parse_constant=None) -> iterator\n\n"
+            + "Parse the JSON document in source (a file-like object, an object with the\n"
+            + "buffer interface, or a string) incrementally, reading bufsize bytes at a\n"
+            + "time. Return an iterator of (event, value) pairs, where event is one of\n"
+            + "'start_map', 'map_key', 'end_map', 'start_array', 'end_array', 'string',\n"
+            + "'number', 'boolean' and 'null'.";
+
+    static final String iterarray_doc =
+            "iterarray(source, bufsize=65536, encoding='utf-8', strict=True,\n"
+            + "          object_hook=None, object_pairs_hook=None, parse_float=None,\n"
+            + "          parse_int=None, parse_constant=None) -> iterator\n\n"
+            + "Parse the JSON document in source (a file-like object, an object with the\n"
+            + "buffer interface, or a string) incrementally, reading bufsize bytes at a\n"
+            + "time. The document must be an array: return an iterator of its elements,\n"
+            + "each decoded as by json.loads.";
+
+    @Untraversable
+    static class IterparseFunction extends PyBuiltinFunction {
+
+        private static final String[] KWDS = {"source", "bufsize", "encoding", "strict",
+                "object_hook", "object_pairs_hook", "parse_float", "parse_int", "parse_constant"};
+
+        private final String name;
+        private final boolean items;
+
+        IterparseFunction(String name, String doc, boolean items) {
+            super(name, 1, -1, doc);
+            this.name = name;
+            this.items = items;
+        }
+
+        @Override
+        public PyObject getModule() {
+            return module;
+        }
+
+        @Override
+        public PyObject __call__(PyObject[] args, String[] kwds) {
+            ArgParser ap = new ArgParser(name, args, kwds, KWDS, 1);
+            PyObject encoding = ap.getPyObject(2, Py.None);
+            PyObject object_hook = ap.getPyObject(4, Py.None);
+            PyObject pairs_hook = ap.getPyObject(5, Py.None);
+            if (!items && (object_hook != Py.None || pairs_hook != Py.None)) {
+                throw Py.TypeError("iterparse() does not build objects: use iterarray()");
+            }
+            return new StreamParser(ap.getPyObject(0),
+                    ap.getInt(1, StreamParser.BUFSIZE),
+                    encoding == Py.None ? null : encoding.asString(),
+                    ap.getPyObject(3, Py.True).__nonzero__(), object_hook, pairs_hook,
+                    ap.getPyObject(6, Py.None), ap.getPyObject(7, Py.None),
+                    ap.getPyObject(8, Py.None), items);
+        }
+    }
+
     @Untraversable
     static class EncodeBasestringAsciiFunction extends PyBuiltinFunctionNarrow {
         EncodeBasestringAsciiFunction() {
@@ -325,10 +383,17 @@ public class _json implements ClassDictInit {
     }
 
     static PyString encode_basestring_ascii(PyObject pystr) {
+        StringBuilder rval = new StringBuilder(pystr.__len__() + 2);
+        encode_basestring_ascii(rval, pystr);
+        return new PyString(rval.toString());
+    }
+
+    /** Append the quoted, ASCII-escaped JSON form of a <code>str</code> or <code>unicode</code>. */
+    static void encode_basestring_ascii(StringBuilder rval, PyObject pystr) {
         if (pystr instanceof PyUnicode) {
-            return ascii_escape((PyUnicode) pystr);
+            ascii_escape(rval, ((PyUnicode) pystr).getString());
         } else if (pystr instanceof PyString) {
-            return ascii_escape((PyString) pystr);
+            ascii_escape(rval, (PyString) pystr);
         } else {
             throw Py.TypeError(String.format(
                     "first argument must be a string, not %.80s",
@@ -336,30 +401,33 @@ public class _json implements ClassDictInit {
         }
     }
 
-    private static PyString ascii_escape(PyUnicode pystr) {
-        StringBuilder rval = new StringBuilder(pystr.__len__());
-        rval.append("\"");
-        for (Iterator<Integer> iter = pystr.newSubsequenceIterator(); iter.hasNext(); ) {
-            _write_char(rval, iter.next());
+    private static void ascii_escape(StringBuilder rval, String s) {
+        // s is UTF-16: escape each code point
+        rval.append('"');
+        for (int i = 0; i < s.length(); ) {
+            int c = s.codePointAt(i);
+            _write_char(rval, c);
+            i += Character.charCount(c);
         }
-        rval.append("\"");
-        return new PyString(rval.toString());
+        rval.append('"');
     }
 
-    private static PyString ascii_escape(PyString pystr) {
-        int len = pystr.__len__();
+    private static void ascii_escape(StringBuilder rval, PyString pystr) {
         String s = pystr.getString();
-        StringBuilder rval = new StringBuilder(len);
-        rval.append("\"");
+        int start = rval.length();
+        int len = s.length();
+        rval.append('"');
         for (int i = 0; i < len; i++) {
             int c = s.charAt(i);
             if (c > 127) {
-                return ascii_escape(new PyUnicode(codecs.PyUnicode_DecodeUTF8(s, null)));
+                // Bytes taken as UTF-8: start again from the decoded text
+                rval.setLength(start);
+                ascii_escape(rval, codecs.PyUnicode_DecodeUTF8(s, null));
+                return;
             }
             _write_char(rval, c);
         }
-        rval.append("\"");
-        return new PyString(rval.toString());
+        rval.append('"');
     }
 
     private static void _write_char(StringBuilder builder, int c) {
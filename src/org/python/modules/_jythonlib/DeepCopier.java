@@ -0,0 +1,295 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._jythonlib;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.python.core.AbstractDict;
+import org.python.core.Py;
+import org.python.core.PyBoolean;
+import org.python.core.PyBuiltinCallable;
+import org.python.core.PyClass;
+import org.python.core.PyComplex;
+import org.python.core.PyDictionary;
+import org.python.core.PyEllipsis;
+import org.python.core.PyFloat;
+import org.python.core.PyFrozenSet;
+import org.python.core.PyFunction;
+import org.python.core.PyInteger;
+import org.python.core.PyList;
+import org.python.core.PyLong;
+import org.python.core.PyNone;
+import org.python.core.PyObject;
+import org.python.core.PyObjectDerived;
+import org.python.core.PySet;
+import org.python.core.PyString;
+import org.python.core.PyStringMap;
+import org.python.core.PyTuple;
+import org.python.core.PyType;
+import org.python.core.PyUnicode;
+import org.python.core.PyXRange;
+
+/**
+ * The engine of <code>copy.deepcopy</code>. It copies the builtin containers (<code>dict</code>,
+ * <code>list</code>, <code>tuple</code>, <code>set</code> and <code>frozenset</code>, but not
+ * their subclasses), returns atomic values as they are, and copies instances of plain new-style
+ * classes as <code>object.__reduce_ex__(2)</code> and <code>copy._reconstruct</code> would, keeping
+ * the copies it made in an identity map. Anything else is passed to a fallback, the
+ * <code>deepcopy</code> of <code>copy.py</code>, which uses <code>__deepcopy__</code>, the
+ * <code>copy_reg</code> dispatch table and <code>__reduce_ex__</code>.
+ * <p>
+ * The fallback needs the memo dictionary of Python, keyed by <code>id()</code>, which is costly to
+ * compute in Jython. So the memo is only made, from the identity map, when the fallback is first
+ * called (unless the caller gave one), and from then on the copies are recorded in both. Ids are
+ * never reused in Jython, so the objects copied need not be kept alive in the memo.
+ */
+final class DeepCopier {
+
+    /** The types whose instances are their own deep copy. */
+    private static final Set<PyType> ATOMIC_TYPES =
+            Collections.newSetFromMap(new IdentityHashMap<PyType, Boolean>());
+
+    static {
+        PyType[] types = {PyNone.TYPE, PyEllipsis.TYPE, PyInteger.TYPE, PyLong.TYPE, PyFloat.TYPE,
+                PyBoolean.TYPE, PyComplex.TYPE, PyString.TYPE, PyUnicode.TYPE, PyXRange.TYPE,
+                PyClass.TYPE, PyBuiltinCallable.TYPE, PyFunction.TYPE};
+        for (PyType type : types) {
+            ATOMIC_TYPES.add(type);
+        }
+    }
+
+    private static final PyObject OBJECT_NEW = PyObject.TYPE.lookup("__new__");
+    private static final PyObject OBJECT_GETATTRIBUTE = PyObject.TYPE.lookup("__getattribute__");
+    private static final PyObject OBJECT_REDUCE = PyObject.TYPE.lookup("__reduce__");
+    private static final PyObject OBJECT_REDUCE_EX = PyObject.TYPE.lookup("__reduce_ex__");
+
+    /** Special methods that take the copy of an instance out of our hands when defined. */
+    private static final String[] COPY_HOOKS = {"__deepcopy__", "__getstate__", "__setstate__",
+            "__getnewargs__", "__getattr__"};
+
+    private static final PyString DEEPCOPY = PyString.fromInterned("__deepcopy__");
+
+    private final PyObject fallback;
+    private final PyObject dispatchTable;
+
+    /** The copies made so far, by the object copied. */
+    private final Map<PyObject, PyObject> copies = new IdentityHashMap<PyObject, PyObject>();
+    /** Whether instances of a class may be copied here, by the class. */
+    private final Map<PyType, Boolean> plainTypes = new IdentityHashMap<PyType, Boolean>();
+    /** The memo of Python, or <code>null</code> until the fallback is first called. */
+    private PyObject memo;
+
+    private DeepCopier(PyObject memo, PyObject fallback, PyObject dispatchTable) {
+        this.memo = memo;
+        this.fallback = fallback;
+        this.dispatchTable = dispatchTable;
+    }
+
+    /**
+     * The deep copy of <code>x</code>, as <code>copy.deepcopy(x, memo)</code>.
+     *
+     * @param x the object to copy
+     * @param memo the memo dictionary of the caller, or <code>None</code>
+     * @param fallback <code>deepcopy(x, memo)</code> in Python, for the objects not copied here
+     * @param dispatchTable the reduction functions of <code>copy_reg</code>, by type
+     */
+    static PyObject deepcopy(PyObject x, PyObject memo, PyObject fallback,
+            PyObject dispatchTable) {
+        if (memo == Py.None) {
+            return isAtomic(x) ? x : new DeepCopier(null, fallback, dispatchTable).copy(x);
+        }
+        // As copy.deepcopy, which remembers even the atomic object it is asked to copy
+        PyObject id = idOf(x);
+        PyObject y = memo.__finditem__(id);
+        if (y == null) {
+            y = new DeepCopier(memo, fallback, dispatchTable).copy(x);
+            memo.__setitem__(id, y);
+        }
+        return y;
+    }
+
+    private static boolean isAtomic(PyObject x) {
+        return ATOMIC_TYPES.contains(x.getType()) || x instanceof PyType;
+    }
+
+    private static PyObject idOf(PyObject x) {
+        return Py.newInteger(Py.id(x));
+    }
+
+    private PyObject copy(PyObject x) {
+        if (isAtomic(x)) {
+            return x;
+        }
+        PyObject y = copies.get(x);
+        if (y == null && memo != null) {
+            y = memo.__finditem__(idOf(x));
+        }
+        if (y != null) {
+            return y;
+        }
+
+        PyType type = x.getType();
+        if (type == PyList.TYPE) {
+            return copyList((PyList) x);
+        } else if (type == PyDictionary.TYPE) {
+            PyDictionary copy = new PyDictionary(PyDictionary.TYPE, x.__len__());
+            record(x, copy);
+            copyItems(x, copy);
+            return copy;
+        } else if (type == PyTuple.TYPE) {
+            return copyTuple((PyTuple) x);
+        } else if (type == PySet.TYPE) {
+            y = new PySet(copyElements(x));
+        } else if (type == PyFrozenSet.TYPE) {
+            y = new PyFrozenSet(new PyTuple(copyElements(x), false));
+        } else if (isPlainInstance(x)) {
+            return copyInstance(x);
+        } else {
+            return copyByFallback(x);
+        }
+        record(x, y);
+        return y;
+    }
+
+    private void record(PyObject x, PyObject y) {
+        copies.put(x, y);
+        if (memo != null) {
+            memo.__setitem__(idOf(x), y);
+        }
+    }
+
+    private PyObject copyList(PyList x) {
+        PyList y = new PyList();
+        record(x, y);
+        // Copy the items of a snapshot, and add them all at once, each list being synchronized
+        PyObject[] items = x.getArray();
+        for (int i = 0; i < items.length; i++) {
+            items[i] = copy(items[i]);
+        }
+        y.addAll(Arrays.asList(items));
+        return y;
+    }
+
+    private PyObject copyTuple(PyTuple x) {
+        PyObject[] items = x.getArray();
+        PyObject[] copied = null;
+        for (int i = 0; i < items.length; i++) {
+            PyObject item = copy(items[i]);
+            if (copied == null && item != items[i]) {
+                copied = new PyObject[items.length];
+                System.arraycopy(items, 0, copied, 0, i);
+            }
+            if (copied != null) {
+                copied[i] = item;
+            }
+        }
+        // A tuple may have been copied while copying its items, through a cycle
+        PyObject y = copies.get(x);
+        if (y == null && memo != null) {
+            y = memo.__finditem__(idOf(x));
+        }
+        if (y == null) {
+            y = copied == null ? x : new PyTuple(copied, false);
+            record(x, y);
+        }
+        return y;
+    }
+
+    private PyObject[] copyElements(PyObject x) {
+        PyObject[] elements = new PyObject[x.__len__()];
+        int i = 0;
+        for (PyObject element : x.asIterable()) {
+            elements[i++] = copy(element);
+        }
+        return elements;
+    }
+
+    /** Put deep copies of the items of the dictionary <code>from</code> in <code>to</code>. */
+    private void copyItems(PyObject from, PyObject to) {
+        if (from instanceof PyDictionary) {
+            for (Map.Entry<PyObject, PyObject> e : ((PyDictionary) from).getMap().entrySet()) {
+                to.__setitem__(copy(e.getKey()), copy(e.getValue()));
+            }
+        } else if (from instanceof PyStringMap && to instanceof PyStringMap) {
+            PyStringMap target = (PyStringMap) to;
+            for (Map.Entry<Object, PyObject> e : ((PyStringMap) from).getMap().entrySet()) {
+                Object key = e.getKey();
+                if (key instanceof String) {
+                    target.__setitem__((String) key, copy(e.getValue()));
+                } else {
+                    target.__setitem__(copy((PyObject) key), copy(e.getValue()));
+                }
+            }
+        } else {
+            for (PyObject item : ((AbstractDict) from).iteritems().asIterable()) {
+                PyObject[] pair = ((PyTuple) item).getArray();
+                to.__setitem__(copy(pair[0]), copy(pair[1]));
+            }
+        }
+    }
+
+    /**
+     * Whether <code>x</code> is an instance of a class derived directly from <code>object</code>,
+     * with an instance dictionary and no slots, that leaves its copy to the default reduction.
+     */
+    private boolean isPlainInstance(PyObject x) {
+        if (x.getClass() != PyObjectDerived.class) {
+            return false;
+        }
+        PyObject dict = x.fastGetDict();
+        if (!(dict instanceof AbstractDict) || dict.__finditem__(DEEPCOPY) != null) {
+            return false;
+        }
+        PyType type = x.getType();
+        Boolean plain = plainTypes.get(type);
+        if (plain == null) {
+            plain = isPlainType(type);
+            plainTypes.put(type, plain);
+        }
+        return plain;
+    }
+
+    private boolean isPlainType(PyType type) {
+        if (type.getType() != PyType.TYPE || type.getNumSlots() != 0
+                || dispatchTable.__finditem__(type) != null) {
+            return false;
+        }
+        for (String name : COPY_HOOKS) {
+            if (type.lookup(name) != null) {
+                return false;
+            }
+        }
+        return type.lookup("__new__") == OBJECT_NEW
+                && type.lookup("__getattribute__") == OBJECT_GETATTRIBUTE
+                && type.lookup("__reduce__") == OBJECT_REDUCE
+                && type.lookup("__reduce_ex__") == OBJECT_REDUCE_EX;
+    }
+
+    /** The copy of a plain instance: a new instance with a deep copy of its dictionary. */
+    private PyObject copyInstance(PyObject x) {
+        PyObject y = OBJECT_NEW.__call__(x.getType());
+        record(x, y);
+        PyObject dict = x.fastGetDict();
+        if (dict.__len__() > 0) {
+            PyObject copy = y.fastGetDict();
+            record(dict, copy);
+            copyItems(dict, copy);
+        }
+        return y;
+    }
+
+    private PyObject copyByFallback(PyObject x) {
+        if (memo == null) {
+            memo = new PyDictionary();
+            for (Map.Entry<PyObject, PyObject> e : copies.entrySet()) {
+                memo.__setitem__(idOf(e.getKey()), e.getValue());
+            }
+        }
+        PyObject y = fallback.__call__(x, memo);
+        copies.put(x, y);
+        return y;
+    }
+}
@@ -22,4 +22,14 @@ public class _jythonlib implements ClassDictInit {
         dict.__setitem__("classDictInit", null);
     }
 
+    public static PyString __doc__deepcopy = new PyString(
+            "deepcopy(x, memo, fallback, dispatch_table) -> deep copy of x\n\n"
+            + "The engine of copy.deepcopy: builtin containers, atomic values and plain\n"
+            + "instances are copied in Java; fallback(x, memo) copies the rest.");
+
+    public static PyObject deepcopy(PyObject x, PyObject memo, PyObject fallback,
+            PyObject dispatch_table) {
+        return DeepCopier.deepcopy(x, memo, fallback, dispatch_table);
+    }
+
 }
@@ -23,13 +23,32 @@ import org.python.core.PyType;
 import org.python.core.PyUnicode;
 import org.python.core.Traverseproc;
 import org.python.core.Visitproc;
+import org.python.core.codecs;
+import org.python.core.util.StringUtil;
 
 import java.math.BigInteger;
-
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The marshal format, for <code>Lib/marshal.py</code>. Objects are written into a byte array, and
+ * read from one: the bytes of the str or buffer given to {@link #loads(PyObject)} in place, or
+ * chunks read from a file. Where the file can seek, whatever is read beyond the object is given
+ * back at the end of the load.
+ * <p>
+ * From version 1 of the format, the names in code objects and the short str keys of dictionaries
+ * are written as interned strings, so that each repeat of one is a reference to the first.
+ */
 public class _marshal implements ClassDictInit {
 
     public static void classDictInit(PyObject dict) {
         dict.__setitem__("__name__", Py.newString("_marshal"));
+        dict.__setitem__("version", Py.newInteger(CURRENT_VERSION));
     }
     private final static char TYPE_NULL = '0';
     private final static char TYPE_NONE = 'N';
@@ -57,6 +76,43 @@ public class _marshal implements ClassDictInit {
     private final static int MAX_MARSHAL_STACK_DEPTH = 2000;
     private final static int CURRENT_VERSION = 2;
 
+    /** The longest str key of a dictionary written as an interned string. */
+    private final static int MAX_INTERNED_KEY = 64;
+
+    public static PyString dumps(PyObject value) {
+        return dumps(value, CURRENT_VERSION);
+    }
+
+    public static PyString dumps(PyObject value, int version) {
+        MarshalOutput out = new MarshalOutput(version);
+        out.write_object(value, 0);
+        return out.toPyString();
+    }
+
+    public static PyObject loads(PyObject data) {
+        if (data instanceof PyUnicode) {
+            // As the buffer of a unicode object in CPython, the bytes of the default encoding
+            data = data.__str__();
+        }
+        if (data instanceof PyString) {
+            byte[] bytes = StringUtil.toBytes(((PyString) data).getString());
+            return new MarshalInput(bytes, 0, bytes.length).load();
+        } else if (data instanceof BufferProtocol) {
+            try (PyBuffer buf = ((BufferProtocol) data).getBuffer(PyBUF.SIMPLE)) {
+                ByteBuffer bb = buf.getNIOByteBuffer();
+                if (bb.hasArray()) {
+                    return new MarshalInput(bb.array(), bb.arrayOffset() + bb.position(),
+                            bb.remaining()).load();
+                }
+                byte[] bytes = new byte[buf.getLen()];
+                buf.copyTo(bytes, 0);
+                return new MarshalInput(bytes, 0, bytes.length).load();
+            }
+        }
+        throw Py.TypeError("loads() argument 1 must be string or buffer, not "
+                + data.getType().fastGetName());
+    }
+
     public static class Marshaller extends PyObject implements Traverseproc {
 
         private final PyIOFile file;
@@ -77,43 +133,179 @@ public class _marshal implements ClassDictInit {
         }
 
         public void dump(PyObject obj) {
-            write_object(obj, 0);
+            MarshalOutput out = new MarshalOutput(version);
+            out.debug = debug;
+            out.write_object(obj, 0);
+            out.writeTo(file);
         }
 
-        private void write_byte(char c) {
-            if (debug) {
-                System.err.print("[" + (int) c + "]");
+
+        /* Traverseproc implementation */
+        @Override
+        public int traverse(Visitproc visit, Object arg) {
+            return file != null && file instanceof Traverseproc ?
+                ((Traverseproc) file).traverse(visit, arg) : 0;
+        }
+
+        @Override
+        public boolean refersDirectlyTo(PyObject ob) {
+            return file != null && file instanceof Traverseproc ?
+                    ((Traverseproc) file).refersDirectlyTo(ob) : false;
+        }
+    }
+
+    public static class Unmarshaller extends PyObject implements Traverseproc {
+
+        private final PyIOFile file;
+        /** The file itself, if what is read beyond an object can be given back by seeking. */
+        private final PyObject seekable;
+        private final int version;
+
+        public Unmarshaller(PyObject file) {
+            this(file, CURRENT_VERSION);
+        }
+
+        public Unmarshaller(PyObject file, int version) {
+            this.file = PyIOFileFactory.createIOFile(file);
+            this.seekable = PyIOFileFactory.isSeekable(file) ? file : null;
+            this.version = version;
+        }
+        private boolean debug = false;
+
+        public void _debug() {
+            debug = true;
+        }
+
+        public PyObject load() {
+            MarshalInput in = new MarshalInput(file, seekable);
+            in.debug = debug;
+            try {
+                return in.load();
+            } finally {
+                in.release();
             }
-            file.write(c);
         }
 
-        private void write_string(String s) {
-            file.write(s);
+        /* Traverseproc implementation */
+        @Override
+        public int traverse(Visitproc visit, Object arg) {
+            if (file instanceof Traverseproc) {
+                int retVal = ((Traverseproc) file).traverse(visit, arg);
+                if (retVal != 0) {
+                    return retVal;
+                }
+            }
+            return seekable == null ? 0 : visit.visit(seekable, arg);
+        }
+
+        @Override
+        public boolean refersDirectlyTo(PyObject ob) {
+            if (ob == null) {
+                return false;
+            } else if (file != null && file instanceof Traverseproc
+                && ((Traverseproc) file).refersDirectlyTo(ob)) {
+                return true;
+            } else {
+                return ob == seekable;
+            }
+        }
+    }
+
+    /** The marshal form of objects, built in a byte array. */
+    private static class MarshalOutput {
+
+        private final int version;
+        private byte[] buf = new byte[256];
+        private int count;
+        /** The index of each string written as interned, to which repeats refer. */
+        private final Map<String, Integer> strings = new HashMap<String, Integer>();
+        boolean debug;
+
+        MarshalOutput(int version) {
+            this.version = version;
+        }
+
+        /** Make room for n more bytes. */
+        private void reserve(int n) {
+            if (buf.length - count < n) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, count + n));
+            }
         }
 
-        private void write_strings(String[] some_strings, int depth) {
-            PyObject items[] = new PyObject[some_strings.length];
-            for (int i = 0; i < some_strings.length; i++) {
-                items[i] = Py.newString(some_strings[i]);
+        private void write_byte(int b) {
+            if (count == buf.length) {
+                reserve(1);
             }
-            write_object(new PyTuple(items), depth + 1);
+            buf[count++] = (byte) b;
         }
 
-        private void write_short(short x) {
-            write_byte((char) (x & 0xff));
-            write_byte((char) ((x >> 8) & 0xff));
+        private void write_short(int x) {
+            reserve(2);
+            buf[count++] = (byte) x;
+            buf[count++] = (byte) (x >> 8);
         }
 
         private void write_int(int x) {
-            write_byte((char) (x & 0xff));
-            write_byte((char) ((x >> 8) & 0xff));
-            write_byte((char) ((x >> 16) & 0xff));
-            write_byte((char) ((x >> 24) & 0xff));
+            reserve(4);
+            buf[count++] = (byte) x;
+            buf[count++] = (byte) (x >> 8);
+            buf[count++] = (byte) (x >> 16);
+            buf[count++] = (byte) (x >> 24);
         }
 
         private void write_long64(long x) {
-            write_int((int) (x & 0xffffffff));
-            write_int((int) ((x >> 32) & 0xffffffff));
+            write_int((int) x);
+            write_int((int) (x >> 32));
+        }
+
+        /** Write the chars of a str, each a byte. */
+        private void write_chars(String s) {
+            int n = s.length();
+            reserve(n);
+            for (int i = 0; i < n; i++) {
+                buf[count++] = (byte) s.charAt(i);
+            }
+        }
+
+        private void write_bytes(byte[] b) {
+            reserve(b.length);
+            System.arraycopy(b, 0, buf, count, b.length);
+            count += b.length;
+        }
+
+        private void write_string(String s) {
+            write_byte(TYPE_STRING);
+            write_int(s.length());
+            write_chars(s);
+        }
+
+        /** Write a str as interned, or as a reference to the same string written before. */
+        private void write_interned(String s) {
+            if (version < 1) {
+                write_string(s);
+                return;
+            }
+            Integer ref = strings.get(s);
+            if (ref != null) {
+                write_byte(TYPE_STRINGREF);
+                write_int(ref);
+            } else {
+                strings.put(s, strings.size());
+                write_byte(TYPE_INTERNED);
+                write_int(s.length());
+                write_chars(s);
+            }
+        }
+
+        private void write_strings(String[] some_strings) {
+            if (some_strings == null) {
+                some_strings = new String[0];
+            }
+            write_byte(TYPE_TUPLE);
+            write_int(some_strings.length);
+            for (String s : some_strings) {
+                write_interned(s);
+            }
         }
 
         // writes output in 15 bit "digits"
@@ -124,22 +316,50 @@ public class _marshal implements ClassDictInit {
             }
             int num_digits = (x.bitLength() + 14) / 15;
             write_int(negative ? -num_digits : num_digits);
-            BigInteger mask = BigInteger.valueOf(0x7FFF);
-            for (int i = 0; i < num_digits; i++) {
-                write_short(x.and(mask).shortValue());
-                x = x.shiftRight(15);
+            if (x.bitLength() < 64) {
+                long v = x.longValue();
+                for (int i = 0; i < num_digits; i++) {
+                    write_short((int) (v & 0x7FFF));
+                    v >>>= 15;
+                }
+            } else {
+                byte[] magnitude = x.toByteArray();
+                for (int i = 0; i < num_digits; i++) {
+                    write_short(digit(magnitude, i * 15));
+                }
             }
         }
 
+        /** The 15 bits from bit <code>bit</code> (0 the least significant) of a big-endian array. */
+        private static int digit(byte[] magnitude, int bit) {
+            int v = 0;
+            int last = magnitude.length - 1 - (bit >> 3);
+            for (int i = last - 2; i <= last; i++) {
+                v = (v << 8) | (i >= 0 ? magnitude[i] & 0xff : 0);
+            }
+            return (v >>> (bit & 7)) & 0x7FFF;
+        }
+
         private void write_float(PyFloat f) {
-            write_string(f.__repr__().toString());
+            String repr = f.__repr__().toString();
+            write_byte(repr.length());
+            write_chars(repr);
         }
 
         private void write_binary_float(PyFloat f) {
             write_long64(Double.doubleToLongBits(f.getValue()));
         }
 
-        private void write_object(PyObject v, int depth) {
+        /** Write a dictionary key: a short str is written as interned. */
+        private void write_key(PyObject key, int depth) {
+            if (key.getType() == PyString.TYPE && key.__len__() <= MAX_INTERNED_KEY) {
+                write_interned(((PyString) key).getString());
+            } else {
+                write_object(key, depth);
+            }
+        }
+
+        void write_object(PyObject v, int depth) {
             if (depth >= MAX_MARSHAL_STACK_DEPTH) {
                 throw Py.ValueError("Maximum marshal stack depth"); // XXX - fix this exception
             } else if (v == null) {
@@ -156,9 +376,14 @@ public class _marshal implements ClassDictInit {
                 write_byte(TYPE_TRUE);
             } else {
                 PyType vt = v.getType();
-                if (vt == PyInteger.TYPE) {
+                if (debug) {
+                    System.err.print("[" + vt.fastGetName() + "]");
+                }
+                if (vt == PyString.TYPE) {
+                    write_string(((PyString) v).getString());
+                } else if (vt == PyInteger.TYPE) {
                     write_byte(TYPE_INT);
-                    write_int(((PyInteger) v).asInt());
+                    write_int(((PyInteger) v).getValue());
                 } else if (vt == PyLong.TYPE) {
                     write_byte(TYPE_LONG);
                     write_long(((PyLong) v).getValue());
@@ -183,37 +408,30 @@ public class _marshal implements ClassDictInit {
                     }
                 } else if (vt == PyUnicode.TYPE) {
                     write_byte(TYPE_UNICODE);
-                    String buffer = ((PyUnicode) v).encode("utf-8").toString();
-                    write_int(buffer.length());
-                    write_string(buffer);
-                } else if (vt == PyString.TYPE) {
-                    // ignore interning
-                    write_byte(TYPE_STRING);
-                    write_int(v.__len__());
-                    write_string(v.toString());
+                    byte[] utf8 = ((PyUnicode) v).getString().getBytes(StandardCharsets.UTF_8);
+                    write_int(utf8.length);
+                    write_bytes(utf8);
                 } else if (vt == PyTuple.TYPE) {
                     write_byte(TYPE_TUPLE);
-                    PyTuple t = (PyTuple) v;
-                    int n = t.__len__();
-                    write_int(n);
-                    for (int i = 0; i < n; i++) {
-                        write_object(t.__getitem__(i), depth + 1);
+                    PyObject[] items = ((PyTuple) v).getArray();
+                    write_int(items.length);
+                    for (PyObject item : items) {
+                        write_object(item, depth + 1);
                     }
                 } else if (vt == PyList.TYPE) {
                     write_byte(TYPE_LIST);
                     PyList list = (PyList) v;
-                    int n = list.__len__();
+                    int n = list.size();
                     write_int(n);
                     for (int i = 0; i < n; i++) {
-                        write_object(list.__getitem__(i), depth + 1);
+                        write_object(list.pyget(i), depth + 1);
                     }
                 } else if (vt == PyDictionary.TYPE) {
                     write_byte(TYPE_DICT);
                     PyDictionary dict = (PyDictionary) v;
-                    for (PyObject item : dict.iteritems().asIterable()) {
-                        PyTuple pair = (PyTuple) item;
-                        write_object(pair.__getitem__(0), depth + 1);
-                        write_object(pair.__getitem__(1), depth + 1);
+                    for (Map.Entry<PyObject, PyObject> entry : dict.getMap().entrySet()) {
+                        write_key(entry.getKey(), depth + 1);
+                        write_object(entry.getValue(), depth + 1);
                     }
                     write_object(null, depth + 1);
                 } else if (vt == PySet.TYPE || vt == PyFrozenSet.TYPE) {
@@ -222,10 +440,9 @@ public class _marshal implements ClassDictInit {
                     } else {
                         write_byte(TYPE_FROZENSET);
                     }
-                    int n = v.__len__();
-                    write_int(n);
-                    BaseSet set = (BaseSet) v;
-                    for (PyObject item : set.asIterable()) {
+                    PyObject[] items = ((BaseSet) v).getSet().toArray(new PyObject[0]);
+                    write_int(items.length);
+                    for (PyObject item : items) {
                         write_object(item, depth + 1);
                     }
                 } else if (vt == PyBytecode.TYPE) {
@@ -235,129 +452,225 @@ public class _marshal implements ClassDictInit {
                     write_int(code.co_nlocals);
                     write_int(code.co_stacksize);
                     write_int(code.co_flags.toBits());
-                    write_object(Py.newString(new String(code.co_code)), depth + 1);
+                    write_byte(TYPE_STRING);
+                    write_int(code.co_code.length);
+                    write_bytes(code.co_code);
                     write_object(new PyTuple(code.co_consts), depth + 1);
-                    write_strings(code.co_names, depth + 1);
-                    write_strings(code.co_varnames, depth + 1);
-                    write_strings(code.co_freevars, depth + 1);
-                    write_strings(code.co_cellvars, depth + 1);
-                    write_object(Py.newString(code.co_name), depth + 1);
+                    write_strings(code.co_names);
+                    write_strings(code.co_varnames);
+                    write_strings(code.co_freevars);
+                    write_strings(code.co_cellvars);
+                    write_string(code.co_filename == null ? ""
+                            : Py.fileSystemEncode(code.co_filename).getString());
+                    write_interned(code.co_name);
                     write_int(code.co_firstlineno);
-                    write_object(Py.newString(new String(code.co_lnotab)), depth + 1);
+                    write_byte(TYPE_STRING);
+                    write_int(code.co_lnotab.length);
+                    write_bytes(code.co_lnotab);
                 } else {
                     // Try to get a simple byte-oriented buffer
                     try (PyBuffer buf = ((BufferProtocol) v).getBuffer(PyBUF.SIMPLE)) {
                         // ... and treat those bytes as a String
+                        int n = buf.getLen();
                         write_byte(TYPE_STRING);
-                        write_int(v.__len__());
-                        write_string(buf.toString());
+                        write_int(n);
+                        reserve(n);
+                        buf.copyTo(this.buf, count);
+                        count += n;
                     } catch (ClassCastException | PyException e) {
                         // Does not implement BufferProtocol (in simple byte form).
                         throw Py.ValueError("unmarshallable object");
                     }
                 }
             }
-            depth--;
         }
 
-
-        /* Traverseproc implementation */
-        @Override
-        public int traverse(Visitproc visit, Object arg) {
-            return file != null && file instanceof Traverseproc ?
-                ((Traverseproc) file).traverse(visit, arg) : 0;
+        PyString toPyString() {
+            return new PyString(StringUtil.fromBytes(buf, 0, count));
         }
 
-        @Override
-        public boolean refersDirectlyTo(PyObject ob) {
-            return file != null && file instanceof Traverseproc ?
-                    ((Traverseproc) file).refersDirectlyTo(ob) : false;
+        void writeTo(PyIOFile file) {
+            file.write(buf, 0, count);
         }
     }
 
-    public static class Unmarshaller extends PyObject implements Traverseproc {
+    /** The source of the bytes of a marshalled object: an array, or chunks from a file. */
+    private static class MarshalInput {
 
-        private final PyIOFile file;
-        private final PyList strings = new PyList();
-        private final int version;
-        int depth = 0;
-
-        public Unmarshaller(PyObject file) {
-            this(file, CURRENT_VERSION);
-        }
+        private static final int CHUNK_SIZE = 8 * 1024;
 
-        public Unmarshaller(PyObject file, int version) {
-            this.file = PyIOFileFactory.createIOFile(file);
-            this.version = version;
+        /** The file, or <code>null</code> when the bytes are all in {@link #buf}. */
+        private final PyIOFile file;
+        /** The file, if data read ahead may be given back by seeking, or <code>null</code>. */
+        private final PyObject seekable;
+        private byte[] buf;
+        private int pos;
+        private int limit;
+        /** The strings read as interned, to which later references refer. */
+        private final List<PyString> strings = new ArrayList<PyString>();
+        boolean debug;
+
+        MarshalInput(byte[] data, int offset, int length) {
+            file = null;
+            seekable = null;
+            buf = data;
+            pos = offset;
+            limit = offset + length;
+        }
+
+        MarshalInput(PyIOFile file, PyObject seekable) {
+            this.file = file;
+            this.seekable = seekable;
+            buf = new byte[seekable != null ? CHUNK_SIZE : 16];
+        }
+
+        PyObject load() {
+            PyObject obj = read_object(0);
+            if (obj == null) {
+                throw Py.TypeError("NULL object in marshal data");
+            }
+            return obj;
         }
-        private boolean debug = false;
 
-        public void _debug() {
-            debug = true;
+        /** Give back to the file any data read beyond what was used. */
+        void release() {
+            int unread = limit - pos;
+            pos = limit = 0;
+            if (seekable != null && unread > 0) {
+                seekable.invoke("seek", Py.newInteger(-unread), Py.One);
+            }
         }
 
-        public PyObject load() {
-            try {
-                PyObject obj = read_object(0);
-                if (obj == null) {
-                    throw Py.TypeError("NULL object in marshal data");
+        /**
+         * Make <code>n</code> bytes available at {@link #pos}, reading the file as necessary, or
+         * raise <code>EOFError</code>. Where the file can give back what is read, at least a chunk
+         * is read at a time; otherwise exactly what is needed.
+         */
+        private void need(int n) {
+            if (limit - pos >= n) {
+                return;
+            } else if (file == null || n < 0) {
+                throw eof();
+            }
+            // Keep the unread bytes at the start of the array
+            int unread = limit - pos;
+            System.arraycopy(buf, pos, buf, 0, unread);
+            pos = 0;
+            limit = unread;
+            while (limit < n) {
+                int wanted = n - limit;
+                if (seekable != null) {
+                    wanted = Math.max(wanted, CHUNK_SIZE);
+                }
+                // Grow only as the data arrives, whatever the (possibly corrupt) size asked
+                wanted = Math.min(wanted, Math.max(buf.length, CHUNK_SIZE));
+                if (buf.length - limit < wanted) {
+                    buf = Arrays.copyOf(buf, Math.max(buf.length * 2, limit + wanted));
+                }
+                String more = file.read(wanted);
+                int got = more.length();
+                if (got == 0) {
+                    throw eof();
+                }
+                for (int i = 0; i < got; i++) {
+                    buf[limit++] = (byte) more.charAt(i);
                 }
-                return obj;
-            } catch (StringIndexOutOfBoundsException e) {
-                // convert from our PyIOFile abstraction to what marshal in CPython returns
-                // (although it's really just looking for no bombing)
-                throw Py.EOFError("EOF read where object expected");
             }
         }
 
-        private int read_byte() {
-            int b = file.read(1).charAt(0);
-            if (debug) {
-                System.err.print("[" + b + "]");
-            }
-            return b;
+        private static PyException eof() {
+            return Py.EOFError("EOF read where object expected");
         }
 
-        private String read_string(int n) {
-            return file.read(n);
+        private int read_byte() {
+            need(1);
+            return buf[pos++] & 0xff;
         }
 
         private int read_short() {
-            int x = read_byte();
-            x |= read_byte() << 8;
+            need(2);
+            int x = buf[pos++] & 0xff;
+            x |= (buf[pos++] & 0xff) << 8;
             return x;
         }
 
         private int read_int() { // cpython calls this r_long
-            int x = read_byte();
-            x |= read_byte() << 8;
-            x |= read_byte() << 16;
-            x |= read_byte() << 24;
+            need(4);
+            int x = buf[pos++] & 0xff;
+            x |= (buf[pos++] & 0xff) << 8;
+            x |= (buf[pos++] & 0xff) << 16;
+            x |= (buf[pos++] & 0xff) << 24;
             return x;
         }
 
         private long read_long64() { // cpython calls this r_long64
             long lo4 = read_int();
             long hi4 = read_int();
-            long x = (hi4 << 32) | (lo4 & 0xFFFFFFFFL);
-            return x;
+            return (hi4 << 32) | (lo4 & 0xFFFFFFFFL);
+        }
+
+        /** Read <code>n</code> bytes as the chars of a String. */
+        private String read_string(int n) {
+            if (n < 0) {
+                throw badMarshalData("string size out of range");
+            }
+            need(n);
+            String s = StringUtil.fromBytes(buf, pos, n);
+            pos += n;
+            return s;
+        }
+
+        /** The size of a sequence, and an initial capacity for it that the data can justify. */
+        private int read_size() {
+            int n = read_int();
+            if (n < 0) {
+                throw badMarshalData(null);
+            } else if (file == null && n > limit - pos) {
+                // Every item takes at least a byte
+                throw eof();
+            }
+            return n;
+        }
+
+        private static int capacity(int n) {
+            return Math.min(n, CHUNK_SIZE);
         }
 
         private BigInteger read_long() {
-            BigInteger result = BigInteger.ZERO;
-            boolean negative = false;
-            int digit = 0, size = read_int();
+            int size = read_int();
             if (size == 0) {
-                return result;
-            } else if (size < 0) {
-                negative = true;
-                size = -size;
-            }
-            for (int i = 0; i < size; i++) {
-                if ((digit = read_short()) < 0) {
-                    throw badMarshalData("digit out of range in long");
+                return BigInteger.ZERO;
+            }
+            boolean negative = size < 0;
+            if (size == Integer.MIN_VALUE || Math.abs(size) > Integer.MAX_VALUE / 15) {
+                throw badMarshalData("long size out of range");
+            }
+            size = Math.abs(size);
+            need(2 * size);
+            BigInteger result;
+            int digit = 0;
+            if (size <= 4) {
+                long v = 0;
+                for (int i = 0; i < size; i++) {
+                    digit = read_digit();
+                    v |= (long) digit << (i * 15);
                 }
-                result = result.or(BigInteger.valueOf(digit).shiftLeft(i * 15));
+                result = BigInteger.valueOf(v);
+            } else {
+                // Set the digits in a little-endian array, then reverse it
+                byte[] le = new byte[(size * 15 + 7) / 8 + 2];
+                for (int i = 0; i < size; i++) {
+                    digit = read_digit();
+                    int bit = i * 15, b = bit >> 3, v = digit << (bit & 7);
+                    le[b] |= (byte) v;
+                    le[b + 1] |= (byte) (v >> 8);
+                    le[b + 2] |= (byte) (v >> 16);
+                }
+                byte[] magnitude = new byte[le.length];
+                for (int i = 0; i < le.length; i++) {
+                    magnitude[le.length - 1 - i] = le[i];
+                }
+                result = new BigInteger(1, magnitude);
             }
             if (digit == 0) {
                 throw badMarshalData("unnormalized long data");
@@ -365,6 +678,14 @@ public class _marshal implements ClassDictInit {
             return negative ? result.negate() : result;
         }
 
+        private int read_digit() {
+            int digit = read_short();
+            if (digit > 0x7FFF) {
+                throw badMarshalData("digit out of range in long");
+            }
+            return digit;
+        }
+
         private double read_float() {
             int size = read_byte();
             return Py.newString(read_string(size)).atof();
@@ -386,17 +707,37 @@ public class _marshal implements ClassDictInit {
             PyTuple t = (PyTuple) read_object_notnull(depth);
             String some_strings[] = new String[t.__len__()];
             int i = 0;
-            for (PyObject item : t.asIterable()) {
+            for (PyObject item : t.getArray()) {
                 some_strings[i++] = item.toString().intern();
             }
             return some_strings;
         }
 
+        /** Decode UTF-8, without the codec where the bytes are all ASCII. */
+        private PyUnicode read_unicode(int n) {
+            if (n < 0) {
+                throw badMarshalData("string size out of range");
+            }
+            need(n);
+            boolean ascii = true;
+            for (int i = pos, end = pos + n; i < end; i++) {
+                if (buf[i] < 0) {
+                    ascii = false;
+                    break;
+                }
+            }
+            String s = read_string(n);
+            return new PyUnicode(ascii ? s : codecs.PyUnicode_DecodeUTF8(s, null));
+        }
+
         private PyObject read_object(int depth) {
             if (depth >= MAX_MARSHAL_STACK_DEPTH) {
                 throw Py.ValueError("Maximum marshal stack depth"); // XXX - fix this exception
             }
             int type = read_byte();
+            if (debug) {
+                System.err.print("[" + (char) type + "]");
+            }
             switch (type) {
 
                 case TYPE_NULL:
@@ -447,11 +788,10 @@ public class _marshal implements ClassDictInit {
 
                 case TYPE_INTERNED:
                 case TYPE_STRING: {
-                    int size = read_int();
-                    String s = read_string(size);
+                    String s = read_string(read_int());
                     if (type == TYPE_INTERNED) {
                         PyString pys = PyString.fromInterned(s.intern());
-                        strings.append(pys);
+                        strings.add(pys);
                         return pys;
                     } else {
                         return Py.newString(s);
@@ -460,41 +800,33 @@ public class _marshal implements ClassDictInit {
 
                 case TYPE_STRINGREF: {
                     int i = read_int();
-                    return strings.__getitem__(i);
+                    if (i < 0 || i >= strings.size()) {
+                        throw badMarshalData("string ref out of range");
+                    }
+                    return strings.get(i);
                 }
 
-                case TYPE_UNICODE: {
-                    int n = read_int();
-                    PyString buffer = Py.newString(read_string(n));
-                    return buffer.decode("utf-8");
-                }
+                case TYPE_UNICODE:
+                    return read_unicode(read_int());
 
                 case TYPE_TUPLE: {
-                    int n = read_int();
-                    if (n < 0) {
-                        throw badMarshalData(null);
-                    }
-                    PyObject items[] = new PyObject[n];
-                    for (int i = 0; i < n; i++) {
-                        items[i] = read_object_notnull(depth + 1);
+                    int n = read_size();
+                    if (file == null) {
+                        PyObject items[] = new PyObject[n];
+                        for (int i = 0; i < n; i++) {
+                            items[i] = read_object_notnull(depth + 1);
+                        }
+                        return new PyTuple(items, false);
                     }
-                    return new PyTuple(items);
+                    return new PyTuple(read_items(n, depth).toArray(new PyObject[n]), false);
                 }
 
-                case TYPE_LIST: {
-                    int n = read_int();
-                    if (n < 0) {
-                        throw badMarshalData(null);
-                    }
-                    PyObject items[] = new PyObject[n];
-                    for (int i = 0; i < n; i++) {
-                        items[i] = read_object_notnull(depth + 1);
-                    }
-                    return new PyList(items);
-                }
+                case TYPE_LIST:
+                    return PyList.fromList(read_items(read_size(), depth));
 
                 case TYPE_DICT: {
                     PyDictionary d = new PyDictionary();
+                    Map<PyObject, PyObject> map = d.getMap();
                     while (true) {
                         PyObject key = read_object(depth + 1);
                         if (key == null) {
@@ -502,7 +834,7 @@ public class _marshal implements ClassDictInit {
                         }
                         PyObject value = read_object(depth + 1);
                         if (value != null) {
-                            d.__setitem__(key, value);
+                            map.put(key, value);
                         }
                     }
                     return d;
@@ -510,12 +842,8 @@ public class _marshal implements ClassDictInit {
 
                 case TYPE_SET:
                 case TYPE_FROZENSET: {
-                    int n = read_int();
-                    PyObject items[] = new PyObject[n];
-                    for (int i = 0; i < n; i++) {
-                        items[i] = read_object(depth + 1);
-                    }
-                    PyTuple v = new PyTuple(items);
+                    int n = read_size();
+                    PyTuple v = new PyTuple(read_items(n, depth).toArray(new PyObject[n]), false);
                     if (type == TYPE_SET) {
                         return new PySet(v);
                     } else {
@@ -553,37 +881,22 @@ public class _marshal implements ClassDictInit {
             }
         }
 
-        /** Helper returning "bad marshal data" or "bad marshal data (<reason>)". */
-        private static PyException badMarshalData(String reason) {
-            StringBuilder msg = (new StringBuilder(60)).append("bad marshal data");
-            if (reason != null) {
-                msg.append(" (").append(reason).append(')');
-            }
-            return Py.ValueError(msg.toString());
-        }
-
-        /* Traverseproc implementation */
-        @Override
-        public int traverse(Visitproc visit, Object arg) {
-            if (file instanceof Traverseproc) {
-                int retVal = ((Traverseproc) file).traverse(visit, arg);
-                if (retVal != 0) {
-                    return retVal;
-                }
+        /** Read the n items of a list or set. */
+        private List<PyObject> read_items(int n, int depth) {
+            List<PyObject> items = new ArrayList<PyObject>(capacity(n));
+            for (int i = 0; i < n; i++) {
+                items.add(read_object_notnull(depth + 1));
             }
-            return visit.visit(strings,  arg);
+            return items;
         }
+    }
 
-        @Override
-        public boolean refersDirectlyTo(PyObject ob) {
-            if (ob == null) {
-                return false;
-            } else if (file != null && file instanceof Traverseproc
-                && ((Traverseproc) file).refersDirectlyTo(ob)) {
-                return true;
-            } else {
-                return ob == strings;
-            }
+    /** Helper returning "bad marshal data" or "bad marshal data (<reason>)". */
+    private static PyException badMarshalData(String reason) {
+        StringBuilder msg = (new StringBuilder(60)).append("bad marshal data");
+        if (reason != null) {
+            msg.append(" (").append(reason).append(')');
         }
+        return Py.ValueError(msg.toString());
     }
 }
@@ -0,0 +1,86 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._queue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+import org.python.core.PyObject;
+import org.python.core.PyType;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedNew;
+import org.python.expose.ExposedType;
+
+/**
+ * <code>Queue.LifoQueue</code>: a queue that returns the item put most recently first. Its items
+ * are kept at the head of a {@link LinkedBlockingDeque}.
+ */
+@ExposedType(name = "_queue.LifoQueue", base = PyQueue.class, doc = PyLifoQueue.LifoQueue_doc)
+public class PyLifoQueue extends PyQueue {
+
+    public static final PyType TYPE = PyType.fromClass(PyLifoQueue.class);
+
+    static final String LifoQueue_doc =
+            "Variant of Queue that retrieves most recently added entries first.";
+
+    public PyLifoQueue() {
+        this(TYPE);
+    }
+
+    public PyLifoQueue(PyType subType) {
+        super(subType);
+    }
+
+    @Override
+    protected PyType baseType() {
+        return TYPE;
+    }
+
+    @Override
+    protected Items newItems(int maxsize) {
+        return new LifoItems(maxsize);
+    }
+
+    @ExposedNew
+    @ExposedMethod(doc = LifoQueue_doc)
+    final void LifoQueue___init__(PyObject[] args, String[] kwds) {
+        Queue___init__(args, kwds);
+    }
+
+    /** The items of a last-in, first-out queue. */
+    private static final class LifoItems extends Items {
+
+        private final LinkedBlockingDeque<PyObject> deque = new LinkedBlockingDeque<PyObject>();
+
+        LifoItems(int maxsize) {
+            super(maxsize);
+        }
+
+        @Override
+        void add(PyObject item) {
+            deque.addFirst(item);
+        }
+
+        @Override
+        PyObject take(long nanos) throws InterruptedException {
+            return nanos < 0 ? deque.takeFirst() : deque.pollFirst(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        int removeAll() {
+            return deque.drainTo(new ArrayList<PyObject>());
+        }
+
+        @Override
+        int size() {
+            return deque.size();
+        }
+
+        @Override
+        public Iterator<PyObject> iterator() {
+            // From the bottom of the stack, as the list of the Python LifoQueue
+            return deque.descendingIterator();
+        }
+    }
+}
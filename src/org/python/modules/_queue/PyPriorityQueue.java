@@ -0,0 +1,102 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._queue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.python.core.PyObject;
+import org.python.core.PyType;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedNew;
+import org.python.expose.ExposedType;
+
+/**
+ * <code>Queue.PriorityQueue</code>: a queue that returns its least item first. The items are kept
+ * in a {@link PriorityBlockingQueue}, and the free slots are counted apart, as for every queue.
+ */
+@ExposedType(name = "_queue.PriorityQueue", base = PyQueue.class,
+        doc = PyPriorityQueue.PriorityQueue_doc)
+public class PyPriorityQueue extends PyQueue {
+
+    public static final PyType TYPE = PyType.fromClass(PyPriorityQueue.class);
+
+    static final String PriorityQueue_doc = "Variant of Queue that retrieves open entries in "
+            + "priority order (lowest first).\n\n"
+            + "Entries are typically tuples of the form:  (priority number, data).";
+
+    public PyPriorityQueue() {
+        this(TYPE);
+    }
+
+    public PyPriorityQueue(PyType subType) {
+        super(subType);
+    }
+
+    @Override
+    protected PyType baseType() {
+        return TYPE;
+    }
+
+    @Override
+    protected Items newItems(int maxsize) {
+        return new PriorityItems(maxsize);
+    }
+
+    @ExposedNew
+    @ExposedMethod(doc = PriorityQueue_doc)
+    final void PriorityQueue___init__(PyObject[] args, String[] kwds) {
+        Queue___init__(args, kwds);
+    }
+
+    /**
+     * The order of heapq, in which only <code>&lt;</code> is used: an item that is not less
+     * than another is treated as greater, which is all the heap of a
+     * {@link PriorityBlockingQueue} asks of its comparator.
+     */
+    private static final Comparator<PyObject> LESS_THAN = new Comparator<PyObject>() {
+
+        @Override
+        public int compare(PyObject a, PyObject b) {
+            return a._lt(b).__nonzero__() ? -1 : 1;
+        }
+    };
+
+    /** The items of a priority queue. */
+    private static final class PriorityItems extends Items {
+
+        private final PriorityBlockingQueue<PyObject> queue =
+                new PriorityBlockingQueue<PyObject>(11, LESS_THAN);
+
+        PriorityItems(int maxsize) {
+            super(maxsize);
+        }
+
+        @Override
+        void add(PyObject item) {
+            queue.add(item);
+        }
+
+        @Override
+        PyObject take(long nanos) throws InterruptedException {
+            return nanos < 0 ? queue.take() : queue.poll(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        int removeAll() {
+            return queue.drainTo(new ArrayList<PyObject>());
+        }
+
+        @Override
+        int size() {
+            return queue.size();
+        }
+
+        @Override
+        public Iterator<PyObject> iterator() {
+            return queue.iterator();
+        }
+    }
+}
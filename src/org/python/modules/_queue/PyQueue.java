@@ -0,0 +1,681 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._queue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.python.core.ArgParser;
+import org.python.core.Py;
+import org.python.core.PyException;
+import org.python.core.PyObject;
+import org.python.core.PyType;
+import org.python.core.Traverseproc;
+import org.python.core.Visitproc;
+import org.python.expose.ExposedDelete;
+import org.python.expose.ExposedGet;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedNew;
+import org.python.expose.ExposedSet;
+import org.python.expose.ExposedType;
+import org.python.modules._threading.Condition;
+import org.python.modules._threading.Lock;
+
+/**
+ * <code>Queue.Queue</code>: a first-in, first-out queue for many producer and consumer threads,
+ * which keeps its items in a {@link LinkedBlockingQueue}. A <code>put</code> or <code>get</code>
+ * is a single operation of the blocking queue, which waits (if it has to) with its own locks.
+ * The count of unfinished tasks, for <code>task_done</code> and <code>join</code>, is kept
+ * apart, and a lock is taken for it only when it falls to zero.
+ * <p>
+ * The attributes of the Python <code>Queue</code> are kept: <code>mutex</code> is a
+ * <code>threading.Lock</code>, and <code>not_empty</code>, <code>not_full</code> and
+ * <code>all_tasks_done</code> are conditions of it. <code>queue</code> is a live view of the
+ * items, and <code>maxsize</code> and <code>unfinished_tasks</code> may be set. Once Python code
+ * has read <code>mutex</code> or one of its conditions, every <code>put</code> and
+ * <code>get</code> holds the lock while it changes the items and notifies the condition, as
+ * those of the Python <code>Queue</code> do. Code that holds the lock then sees no change it did
+ * not make, and code that waits on a condition is notified as it would be there.
+ * <p>
+ * The subclasses {@link PyLifoQueue} and {@link PyPriorityQueue} keep their items in other ways,
+ * by making other {@link Items}. A Python subclass may also override <code>_qsize</code>,
+ * <code>_put</code> or <code>_get</code>, as it could those of the Python <code>Queue</code>; its
+ * queues then work as the Python one does, calling those methods with a lock held and waiting on
+ * conditions of the lock.
+ */
+@ExposedType(name = "_queue.Queue", doc = PyQueue.Queue_doc)
+public class PyQueue extends PyObject implements Traverseproc {
+
+    public static final PyType TYPE = PyType.fromClass(PyQueue.class);
+
+    static final String Queue_doc = "Create a queue object with a given maximum size.\n\n"
+            + "If maxsize is <= 0 or None, the queue size is infinite.";
+
+    /** The maximum number of items, or 0 (or less) if there is none. */
+    public int maxsize;
+
+    /**
+     * Whether Python code may use {@link #mutex} or its conditions, after which a
+     * <code>put</code> or <code>get</code> holds the lock. It is set when they are first read, and
+     * read again by a <code>put</code> or <code>get</code> that began without the lock, once it
+     * has changed the items, so that the change is notified to a thread that has begun to wait.
+     */
+    private volatile boolean locking;
+
+    /** The items, replaced by <code>_init</code>. */
+    protected Items items;
+
+    /** The number of items put that have not been marked done by <code>task_done</code>. */
+    private final AtomicInteger unfinished = new AtomicInteger();
+
+    /**
+     * Whether the type overrides <code>_qsize</code>, <code>_put</code> or <code>_get</code>,
+     * which are then called with {@link #mutex} held.
+     */
+    private final boolean pythonProtocol;
+    private final Lock mutex = new Lock();
+    private final Condition notEmpty = new Condition(mutex);
+    private final Condition notFull = new Condition(mutex);
+    private final Condition allTasksDone = new Condition(mutex);
+
+    /** The <code>queue</code> attribute, if it has been set, as <code>_init</code> may. */
+    private PyObject queue;
+
+    public PyQueue() {
+        this(TYPE);
+    }
+
+    public PyQueue(PyType subType) {
+        super(subType);
+        pythonProtocol = subType != baseType() && (overrides(subType, "_qsize")
+                || overrides(subType, "_put") || overrides(subType, "_get"));
+        items = newItems(0);
+    }
+
+    /** Whether the Python subclass <code>type</code> overrides the method <code>name</code>. */
+    private boolean overrides(PyType type, String name) {
+        return type.lookup(name) != baseType().lookup(name);
+    }
+
+    /** The Java type of this queue, of which the type of the queue may be a Python subclass. */
+    protected PyType baseType() {
+        return TYPE;
+    }
+
+    /**
+     * The items of a queue, which may hold at most <code>maxsize</code> of them if that is
+     * greater than 0.
+     */
+    protected Items newItems(int maxsize) {
+        return new FifoItems(maxsize);
+    }
+
+    @ExposedNew
+    @ExposedMethod(doc = Queue_doc)
+    final void Queue___init__(PyObject[] args, String[] kwds) {
+        ArgParser ap = new ArgParser("Queue", args, kwds, new String[] {"maxsize"}, 0);
+        PyObject size = ap.getPyObject(0, Py.Zero);
+        maxsize = size == Py.None ? 0 : size.asInt();
+        if (pythonProtocol) {
+            invoke("_init", size);
+        } else {
+            Queue__init(maxsize);
+        }
+    }
+
+    /**
+     * The items of a queue: they are taken in an order that depends on the kind of queue, and
+     * those operations that have a time limit wait for ever if it is negative. The items are kept
+     * in a collection without bound, and the free slots of the queue are counted by a semaphore,
+     * so that the maximum size may change.
+     */
+    protected abstract static class Items implements Iterable<PyObject> {
+
+        /** The number of slots of a queue without a maximum size. */
+        private static final int UNBOUNDED = Integer.MAX_VALUE / 2;
+
+        private final Slots slots;
+        /** The number of slots, free or not. */
+        private int capacity;
+
+        protected Items(int maxsize) {
+            capacity = maxsize > 0 ? maxsize : UNBOUNDED;
+            slots = new Slots(capacity);
+        }
+
+        /** Add an item if there is room for it within the time, and return whether it was. */
+        final boolean offer(PyObject item, long nanos) throws InterruptedException {
+            if (nanos < 0) {
+                slots.acquire();
+            } else if (!slots.tryAcquire(nanos, TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+            boolean added = false;
+            try {
+                add(item);
+                added = true;
+            } finally {
+                // The comparison of the item with others may have failed
+                if (!added) {
+                    slots.release();
+                }
+            }
+            return true;
+        }
+
+        /** Take the next item if there is one within the time, or return <code>null</code>. */
+        final PyObject poll(long nanos) throws InterruptedException {
+            PyObject item = take(nanos);
+            if (item != null) {
+                slots.release();
+            }
+            return item;
+        }
+
+        /** Remove all the items. */
+        final void clear() {
+            slots.release(removeAll());
+        }
+
+        /**
+         * Change the maximum number of items. Where there are more than that, puts wait until
+         * enough have been taken.
+         */
+        final synchronized void setMaxsize(int maxsize) {
+            int n = maxsize > 0 ? maxsize : UNBOUNDED;
+            if (n > capacity) {
+                slots.release(n - capacity);
+            } else {
+                slots.reducePermits(capacity - n);
+            }
+            capacity = n;
+        }
+
+        /** Add an item, for which there is a free slot, to the collection. */
+        abstract void add(PyObject item);
+
+        /** Take the next item from the collection within the time, or return null. */
+        abstract PyObject take(long nanos) throws InterruptedException;
+
+        /** Remove all the items from the collection, and return how many there were. */
+        abstract int removeAll();
+
+        abstract int size();
+    }
+
+    /** A semaphore whose permits may be reduced, so that a queue may shrink. */
+    private static final class Slots extends Semaphore {
+
+        Slots(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+
+    /** The items of a first-in, first-out queue. */
+    private static final class FifoItems extends Items {
+
+        private final LinkedBlockingQueue<PyObject> queue = new LinkedBlockingQueue<PyObject>();
+
+        FifoItems(int maxsize) {
+            super(maxsize);
+        }
+
+        @Override
+        void add(PyObject item) {
+            queue.add(item);
+        }
+
+        @Override
+        PyObject take(long nanos) throws InterruptedException {
+            return nanos < 0 ? queue.take() : queue.poll(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        int removeAll() {
+            return queue.drainTo(new ArrayList<PyObject>());
+        }
+
+        @Override
+        int size() {
+            return queue.size();
+        }
+
+        @Override
+        public Iterator<PyObject> iterator() {
+            return queue.iterator();
+        }
+    }
+
+    @ExposedGet(name = "mutex")
+    public PyObject getMutex() {
+        locking = true;
+        return mutex;
+    }
+
+    @ExposedGet(name = "not_empty")
+    public PyObject getNotEmpty() {
+        locking = true;
+        return notEmpty;
+    }
+
+    @ExposedGet(name = "not_full")
+    public PyObject getNotFull() {
+        locking = true;
+        return notFull;
+    }
+
+    @ExposedGet(name = "all_tasks_done")
+    public PyObject getAllTasksDone() {
+        locking = true;
+        return allTasksDone;
+    }
+
+    @ExposedGet(name = "maxsize")
+    public PyObject getMaxsize() {
+        return Py.newInteger(maxsize);
+    }
+
+    /**
+     * Change the maximum size, as the Python <code>Queue</code> allows. Where the queue holds
+     * more items than that, a <code>put</code> waits until enough have been taken.
+     */
+    @ExposedSet(name = "maxsize")
+    public void setMaxsize(PyObject size) {
+        int n = size == Py.None ? 0 : size.asInt();
+        if (!pythonProtocol) {
+            items.setMaxsize(n);
+        }
+        maxsize = n;
+    }
+
+    /**
+     * The items of the queue as the deque of the Python <code>Queue</code>, or what a subclass
+     * has set instead.
+     */
+    @ExposedGet(name = "queue")
+    public PyObject getQueue() {
+        return queue != null ? queue : new PyQueueItems(this);
+    }
+
+    @ExposedSet(name = "queue")
+    public void setQueue(PyObject queue) {
+        this.queue = queue;
+    }
+
+    @ExposedDelete(name = "queue")
+    public void delQueue() {
+        queue = null;
+    }
+
+    /**
+     * Wake a thread waiting on a condition from Python, after a <code>put</code> or
+     * <code>get</code> made without the lock. The lock is only taken if Python code may use it.
+     */
+    private void notifyWaiter(Condition condition) {
+        if (locking) {
+            mutex.acquire();
+            try {
+                condition.notify$();
+            } finally {
+                mutex.release();
+            }
+        }
+    }
+
+    /**
+     * Wait on a condition of {@link #mutex}, which is held, until the time
+     * <code>deadline</code> of {@link System#nanoTime()}, or for ever if <code>nanos</code> is
+     * negative. Return false if the time has already passed.
+     */
+    private static boolean await(Condition condition, long nanos, long deadline)
+            throws InterruptedException {
+        if (nanos < 0) {
+            condition.wait$(Py.None);
+            return true;
+        }
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return false;
+        }
+        condition.wait$(Py.newFloat(remaining / 1e9));
+        return true;
+    }
+
+    @ExposedMethod(doc = "Indicate that a formerly enqueued task is complete.\n\n"
+            + "Used by Queue consumer threads.  For each get() used to fetch a task,\n"
+            + "a subsequent call to task_done() tells the queue that the processing\n"
+            + "on the task is complete.\n\n"
+            + "If a join() is currently blocking, it will resume when all items\n"
+            + "have been processed (meaning that a task_done() call was received\n"
+            + "for every item that had been put() into the queue).\n\n"
+            + "Raises a ValueError if called more times than there were items\n"
+            + "placed in the queue.")
+    final void Queue_task_done() {
+        int n;
+        do {
+            n = unfinished.get();
+            if (n <= 0) {
+                throw Py.ValueError("task_done() called too many times");
+            }
+        } while (!unfinished.compareAndSet(n, n - 1));
+        if (n == 1) {
+            signalAllTasksDone();
+        }
+    }
+
+    private void signalAllTasksDone() {
+        mutex.acquire();
+        try {
+            allTasksDone.notifyAll$();
+        } finally {
+            mutex.release();
+        }
+    }
+
+    @ExposedMethod(doc = "Blocks until all items in the Queue have been gotten and processed.\n\n"
+            + "The count of unfinished tasks goes up whenever an item is added to the\n"
+            + "queue. The count goes down whenever a consumer thread calls task_done()\n"
+            + "to indicate the item was retrieved and all work on it is complete.\n\n"
+            + "When the count of unfinished tasks drops to zero, join() unblocks.")
+    final void Queue_join() throws InterruptedException {
+        mutex.acquire();
+        try {
+            while (unfinished.get() > 0) {
+                allTasksDone.wait$(Py.None);
+            }
+        } finally {
+            mutex.release();
+        }
+    }
+
+    @ExposedGet(name = "unfinished_tasks")
+    public int getUnfinishedTasks() {
+        return unfinished.get();
+    }
+
+    @ExposedSet(name = "unfinished_tasks")
+    public void setUnfinishedTasks(int n) {
+        unfinished.set(n);
+    }
+
+    @ExposedMethod(doc = "Return the approximate size of the queue (not reliable!).")
+    final int Queue_qsize() {
+        if (!pythonProtocol) {
+            return items.size();
+        }
+        mutex.acquire();
+        try {
+            return qsize();
+        } finally {
+            mutex.release();
+        }
+    }
+
+    @ExposedMethod(doc = "Return True if the queue is empty, False otherwise (not reliable!).")
+    final boolean Queue_empty() {
+        return Queue_qsize() == 0;
+    }
+
+    @ExposedMethod(doc = "Return True if the queue is full, False otherwise (not reliable!).")
+    final boolean Queue_full() {
+        return maxsize > 0 && Queue_qsize() == maxsize;
+    }
+
+    @ExposedMethod(doc = "Put an item into the queue.\n\n"
+            + "If optional args 'block' is true and 'timeout' is None (the default),\n"
+            + "block if necessary until a free slot is available. If 'timeout' is\n"
+            + "a positive number, it blocks at most 'timeout' seconds and raises\n"
+            + "the Full exception if no free slot was available within that time.\n"
+            + "Otherwise ('block' is false), put an item on the queue if a free slot\n"
+            + "is immediately available, else raise the Full exception ('timeout'\n"
+            + "is ignored in that case).")
+    final void Queue_put(PyObject[] args, String[] kwds) throws InterruptedException {
+        ArgParser ap = new ArgParser("put", args, kwds, "item", "block", "timeout");
+        PyObject item = ap.getPyObject(0);
+        // An unbounded queue never waits, whatever the arguments
+        long nanos = maxsize > 0
+                ? waitNanos(ap.getPyObject(1, Py.True), ap.getPyObject(2, Py.None)) : 0;
+        if (pythonProtocol) {
+            pythonPut(item, nanos);
+            return;
+        } else if (locking) {
+            lockedPut(item, nanos);
+            return;
+        }
+        // Count the task first, so that it cannot be marked done before it is counted
+        unfinished.incrementAndGet();
+        boolean added = false;
+        try {
+            added = items.offer(item, nanos);
+        } finally {
+            if (!added && unfinished.decrementAndGet() == 0) {
+                signalAllTasksDone();
+            }
+        }
+        if (!added) {
+            throw new PyException(_queue.Full);
+        }
+        notifyWaiter(notEmpty);
+    }
+
+    @ExposedMethod(doc = "Put an item into the queue without blocking.\n\n"
+            + "Only enqueue the item if a free slot is immediately available.\n"
+            + "Otherwise raise the Full exception.")
+    final void Queue_put_nowait(PyObject item) throws InterruptedException {
+        Queue_put(new PyObject[] {item, Py.False}, Py.NoKeywords);
+    }
+
+    @ExposedMethod(doc = "Remove and return an item from the queue.\n\n"
+            + "If optional args 'block' is true and 'timeout' is None (the default),\n"
+            + "block if necessary until an item is available. If 'timeout' is\n"
+            + "a positive number, it blocks at most 'timeout' seconds and raises\n"
+            + "the Empty exception if no item was available within that time.\n"
+            + "Otherwise ('block' is false), return an item if one is immediately\n"
+            + "available, else raise the Empty exception ('timeout' is ignored\n"
+            + "in that case).")
+    final PyObject Queue_get(PyObject[] args, String[] kwds) throws InterruptedException {
+        ArgParser ap = new ArgParser("get", args, kwds, "block", "timeout");
+        long nanos = waitNanos(ap.getPyObject(0, Py.True), ap.getPyObject(1, Py.None));
+        if (pythonProtocol) {
+            return pythonGet(nanos);
+        } else if (locking) {
+            return lockedGet(nanos);
+        }
+        PyObject item = items.poll(nanos);
+        if (item == null) {
+            throw new PyException(_queue.Empty);
+        }
+        notifyWaiter(notFull);
+        return item;
+    }
+
+    @ExposedMethod(doc = "Remove and return an item from the queue without blocking.\n\n"
+            + "Only get an item if one is immediately available. Otherwise\n"
+            + "raise the Empty exception.")
+    final PyObject Queue_get_nowait() throws InterruptedException {
+        return Queue_get(new PyObject[] {Py.False}, Py.NoKeywords);
+    }
+
+    /**
+     * How long to wait, in nanoseconds, given the <code>block</code> and <code>timeout</code>
+     * arguments of a <code>put</code> or <code>get</code>: 0 if it does not block, or -1 if it
+     * waits for ever.
+     */
+    private static long waitNanos(PyObject block, PyObject timeout) {
+        if (!block.__nonzero__()) {
+            return 0;
+        } else if (timeout == Py.None) {
+            return -1;
+        }
+        double seconds = timeout.asDouble();
+        if (seconds < 0) {
+            throw Py.ValueError("'timeout' must be a positive number");
+        }
+        return (long) (seconds * 1e9);
+    }
+
+    /*
+     * The put and get of a queue whose lock Python code may use, which hold the lock as those of
+     * the Python Queue do. The items are added and taken without waiting, and the lock is
+     * released while the thread waits on a condition instead.
+     */
+
+    private void lockedPut(PyObject item, long nanos) throws InterruptedException {
+        long deadline = System.nanoTime() + nanos;
+        mutex.acquire();
+        try {
+            // Counted first, as a get without the lock may already be taking it
+            unfinished.incrementAndGet();
+            boolean added = false;
+            try {
+                while (!(added = items.offer(item, 0))) {
+                    if (!await(notFull, nanos, deadline)) {
+                        throw new PyException(_queue.Full);
+                    }
+                }
+            } finally {
+                if (!added && unfinished.decrementAndGet() == 0) {
+                    allTasksDone.notifyAll$();
+                }
+            }
+            notEmpty.notify$();
+        } finally {
+            mutex.release();
+        }
+    }
+
+    private PyObject lockedGet(long nanos) throws InterruptedException {
+        long deadline = System.nanoTime() + nanos;
+        mutex.acquire();
+        try {
+            PyObject item;
+            while ((item = items.poll(0)) == null) {
+                if (!await(notEmpty, nanos, deadline)) {
+                    throw new PyException(_queue.Empty);
+                }
+            }
+            notFull.notify$();
+            return item;
+        } finally {
+            mutex.release();
+        }
+    }
+
+    /*
+     * The hooks of the Python Queue, which a subclass may override to implement another kind of
+     * queue. Those of this type act on its items.
+     */
+
+    @ExposedMethod
+    final void Queue__init(int maxsize) {
+        items = newItems(pythonProtocol ? 0 : maxsize);
+    }
+
+    @ExposedMethod
+    final int Queue__qsize() {
+        return items.size();
+    }
+
+    @ExposedMethod
+    final void Queue__put(PyObject item) throws InterruptedException {
+        items.offer(item, -1);
+    }
+
+    @ExposedMethod
+    final PyObject Queue__get() throws InterruptedException {
+        PyObject item = items.poll(0);
+        if (item == null) {
+            throw Py.IndexError("get from an empty queue");
+        }
+        return item;
+    }
+
+    /*
+     * The put and get of a queue whose type overrides the hooks, as in the Python Queue. The
+     * items of such a queue are not bounded, as the hooks decide where to keep them.
+     */
+
+    private int qsize() {
+        return invoke("_qsize").asInt();
+    }
+
+    private void pythonPut(PyObject item, long nanos) throws InterruptedException {
+        long deadline = System.nanoTime() + nanos;
+        mutex.acquire();
+        try {
+            if (maxsize > 0) {
+                while (qsize() >= maxsize) {
+                    if (!await(notFull, nanos, deadline)) {
+                        throw new PyException(_queue.Full);
+                    }
+                }
+            }
+            invoke("_put", item);
+            unfinished.incrementAndGet();
+            notEmpty.notify$();
+        } finally {
+            mutex.release();
+        }
+    }
+
+    private PyObject pythonGet(long nanos) throws InterruptedException {
+        long deadline = System.nanoTime() + nanos;
+        mutex.acquire();
+        try {
+            while (qsize() == 0) {
+                if (!await(notEmpty, nanos, deadline)) {
+                    throw new PyException(_queue.Empty);
+                }
+            }
+            PyObject item = invoke("_get");
+            notFull.notify$();
+            return item;
+        } finally {
+            mutex.release();
+        }
+    }
+
+    /* Traverseproc implementation */
+    @Override
+    public int traverse(Visitproc visit, Object arg) {
+        for (PyObject ob : new PyObject[] {mutex, notEmpty, notFull, allTasksDone, queue}) {
+            if (ob != null) {
+                int retVal = visit.visit(ob, arg);
+                if (retVal != 0) {
+                    return retVal;
+                }
+            }
+        }
+        for (PyObject item : items) {
+            int retVal = visit.visit(item, arg);
+            if (retVal != 0) {
+                return retVal;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean refersDirectlyTo(PyObject ob) {
+        if (ob != null) {
+            if (ob == mutex || ob == notEmpty || ob == notFull || ob == allTasksDone
+                    || ob == queue) {
+                return true;
+            }
+            for (PyObject item : items) {
+                if (item == ob) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,125 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._queue;
+
+import org.python.core.Py;
+import org.python.core.PyException;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PyType;
+import org.python.core.Traverseproc;
+import org.python.core.Visitproc;
+import org.python.expose.ExposedMethod;
+import org.python.expose.ExposedType;
+
+/**
+ * The <code>queue</code> attribute of a {@link PyQueue}: a live view of its items, standing for
+ * the deque of the Python <code>Queue</code>. It supports what code outside the queue is known to
+ * do with that deque, under the mutex of the queue: take its length, iterate or index it, clear it
+ * and add items to it. As with the deque, items added or removed here are not counted as tasks,
+ * nor are waiting threads notified. The items are added as a <code>put</code> would add them,
+ * but a bounded queue refuses those for which it has no room, with <code>Full</code>.
+ */
+@ExposedType(name = "_queue._QueueItems", isBaseType = false)
+public class PyQueueItems extends PyObject implements Traverseproc {
+
+    public static final PyType TYPE = PyType.fromClass(PyQueueItems.class);
+
+    private final PyQueue queue;
+
+    PyQueueItems(PyQueue queue) {
+        super(TYPE);
+        this.queue = queue;
+    }
+
+    /** A copy of the items, in the order they are iterated. */
+    private PyList snapshot() {
+        return new PyList(queue.items.iterator());
+    }
+
+    @Override
+    public int __len__() {
+        return _QueueItems___len__();
+    }
+
+    @ExposedMethod
+    final int _QueueItems___len__() {
+        return queue.items.size();
+    }
+
+    @Override
+    public PyObject __iter__() {
+        return _QueueItems___iter__();
+    }
+
+    @ExposedMethod
+    final PyObject _QueueItems___iter__() {
+        return snapshot().__iter__();
+    }
+
+    @Override
+    public boolean __contains__(PyObject o) {
+        return _QueueItems___contains__(o);
+    }
+
+    @ExposedMethod
+    final boolean _QueueItems___contains__(PyObject o) {
+        for (PyObject item : queue.items) {
+            if (item._eq(o).__nonzero__()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public PyObject __getitem__(PyObject index) {
+        return _QueueItems___getitem__(index);
+    }
+
+    @ExposedMethod
+    final PyObject _QueueItems___getitem__(PyObject index) {
+        return snapshot().__getitem__(index);
+    }
+
+    @ExposedMethod(doc = "Remove all the items from the queue.")
+    final void _QueueItems_clear() {
+        queue.items.clear();
+    }
+
+    @ExposedMethod(doc = "Add an item to the queue, as put would without counting a task.")
+    final void _QueueItems_append(PyObject item) throws InterruptedException {
+        if (!queue.items.offer(item, 0)) {
+            throw new PyException(_queue.Full);
+        }
+    }
+
+    @ExposedMethod(doc = "Add the items of an iterable to the queue, as append.")
+    final void _QueueItems_extend(PyObject iterable) throws InterruptedException {
+        for (PyObject item : iterable.asIterable()) {
+            _QueueItems_append(item);
+        }
+    }
+
+    @Override
+    public PyString __repr__() {
+        return _QueueItems___repr__();
+    }
+
+    @ExposedMethod
+    final PyString _QueueItems___repr__() {
+        return Py.newString(String.format("%s(%s)", getType().fastGetName(),
+                snapshot().__repr__()));
+    }
+
+    /* Traverseproc implementation */
+    @Override
+    public int traverse(Visitproc visit, Object arg) {
+        return visit.visit(queue, arg);
+    }
+
+    @Override
+    public boolean refersDirectlyTo(PyObject ob) {
+        return ob != null && ob == queue;
+    }
+}
@@ -0,0 +1,48 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._queue;
+
+import org.python.core.ClassDictInit;
+import org.python.core.Py;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PyStringMap;
+
+/**
+ * The <code>_queue</code> module: the queues of the <code>Queue</code> module, as Java types that
+ * keep their items in the blocking queues of <code>java.util.concurrent</code>, and the exceptions
+ * they raise.
+ */
+public class _queue implements ClassDictInit {
+
+    public static final PyString __doc__ = new PyString(
+            "Java implementation of the queues of the Queue module.");
+
+    /** Raised by a get that does not wait, or waits too long, for an item. */
+    public static final PyObject Empty = Py.makeClass("Empty", Py.Exception,
+            exceptionNamespace("Exception raised by Queue.get(block=0)/get_nowait()."));
+
+    /** Raised by a put that does not wait, or waits too long, for a free slot. */
+    public static final PyObject Full = Py.makeClass("Full", Py.Exception,
+            exceptionNamespace("Exception raised by Queue.put(block=0)/put_nowait()."));
+
+    public static void classDictInit(PyObject dict) {
+        dict.__setitem__("__name__", Py.newString("_queue"));
+        dict.__setitem__("__doc__", __doc__);
+        dict.__setitem__("Empty", Empty);
+        dict.__setitem__("Full", Full);
+        dict.__setitem__("Queue", PyQueue.TYPE);
+        dict.__setitem__("LifoQueue", PyLifoQueue.TYPE);
+        dict.__setitem__("PriorityQueue", PyPriorityQueue.TYPE);
+
+        // Hide from Python
+        dict.__setitem__("classDictInit", null);
+    }
+
+    private static PyObject exceptionNamespace(String doc) {
+        PyObject dict = new PyStringMap();
+        // As they were when defined in Python, so that they pickle the same
+        dict.__setitem__("__module__", new PyString("Queue"));
+        dict.__setitem__("__doc__", new PyString(doc));
+        return dict;
+    }
+}
@@ -0,0 +1,199 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._socket;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.python.core.Py;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.python.core.PyTuple;
+
+/**
+ * The engine of a <code>select.poll</code> object. Sockets report events to it through
+ * {@link ReadinessListener}, and {@link #poll(long)} turns the events queued since the last call
+ * into <code>(fd, event)</code> pairs, testing the level of each socket concerned. Sockets found
+ * ready are queued again, so that a level persisting to the next call is reported again, as
+ * <code>poll(2)</code> would.
+ */
+public class Poll implements ReadinessListener {
+
+    public static final int POLLIN = 1, POLLOUT = 2, POLLPRI = 4, POLLERR = 8, POLLHUP = 16,
+            POLLNVAL = 32;
+
+    /** An event reported by a socket. */
+    private static class Notification {
+
+        final SocketReadiness socket;
+        final Object exception;
+        final boolean hangup;
+
+        Notification(SocketReadiness socket, Object exception, boolean hangup) {
+            this.socket = socket;
+            this.exception = exception;
+            this.hangup = hangup;
+        }
+    }
+
+    /** A registered object: its socket and the events of interest. */
+    private static class Registration {
+
+        final SocketReadiness socket;
+        volatile int eventmask;
+
+        Registration(SocketReadiness socket, int eventmask) {
+            this.socket = socket;
+            this.eventmask = eventmask;
+        }
+    }
+
+    private final LinkedBlockingQueue<Notification> queue =
+            new LinkedBlockingQueue<Notification>();
+
+    /** Registered object (as given to <code>register</code>) to its registration. */
+    private final Map<PyObject, Registration> registered =
+            new ConcurrentHashMap<PyObject, Registration>();
+
+    /** The registered object for each socket. */
+    private final Map<SocketReadiness, PyObject> fds =
+            new ConcurrentHashMap<SocketReadiness, PyObject>();
+
+    /**
+     * Register an object, or change its event mask if it is already registered.
+     *
+     * @param fd object given to <code>register</code>, and returned in results
+     * @param socket readiness of the socket behind <code>fd</code>
+     * @param eventmask of the events of interest
+     */
+    public void register(PyObject fd, SocketReadiness socket, int eventmask) {
+        registered.put(fd, new Registration(socket, eventmask));
+        fds.put(socket, fd);
+        socket.register(this);
+        // Ensure an initial test of the socket
+        readinessChanged(socket, null, false);
+    }
+
+    /**
+     * Change the event mask of a registered object.
+     *
+     * @return false if the object is not registered
+     */
+    public boolean modify(PyObject fd, int eventmask) {
+        Registration r = registered.get(fd);
+        if (r == null) {
+            return false;
+        }
+        r.eventmask = eventmask;
+        return true;
+    }
+
+    /**
+     * Stop watching an object.
+     *
+     * @return false if the object is not registered
+     */
+    public boolean unregister(PyObject fd) {
+        Registration r = registered.remove(fd);
+        if (r == null) {
+            return false;
+        }
+        fds.remove(r.socket, fd);
+        r.socket.unregister(this);
+        return true;
+    }
+
+    @Override
+    public void readinessChanged(SocketReadiness socket, Object exception, boolean hangup) {
+        queue.add(new Notification(socket, exception, hangup));
+    }
+
+    /**
+     * Wait for events and return those of interest.
+     *
+     * @param timeout in nanoseconds, or negative to wait indefinitely
+     * @return list of <code>(fd, event)</code> tuples, at most one for each object
+     */
+    public PyList poll(long timeout) {
+        try {
+            if (timeout < 0) {
+                return handle(queue.take());
+            } else if (timeout == 0) {
+                return handle(queue.poll());
+            }
+            long deadline = System.nanoTime() + timeout;
+            for (long remaining = timeout; remaining > 0; remaining = deadline - System.nanoTime()) {
+                PyList result = handle(queue.poll(remaining, TimeUnit.NANOSECONDS));
+                if (result.size() > 0) {
+                    return result;
+                }
+            }
+            return new PyList();
+        } catch (InterruptedException e) {
+            throw Py.JavaError(e);
+        }
+    }
+
+    private PyList handle(Notification first) {
+        PyList result = new PyList();
+        if (first == null) {
+            return result;
+        }
+
+        // Take as many outstanding notifications as possible
+        List<Notification> notifications = new ArrayList<Notification>();
+        notifications.add(first);
+        queue.drainTo(notifications);
+
+        // There may be several notifications for a socket: report it once.
+        Set<SocketReadiness> reported = new HashSet<SocketReadiness>();
+        for (Notification n : notifications) {
+            if (reported.contains(n.socket)) {
+                continue;
+            }
+            PyObject fd = fds.get(n.socket);
+            if (fd == null) {
+                continue;   // concurrently unregistered
+            }
+            Registration r = registered.get(fd);
+            int event = r == null ? 0 : test(n, r.eventmask);
+            if (event != 0) {
+                result.append(new PyTuple(fd, Py.newInteger(event)));
+                reported.add(n.socket);
+            }
+        }
+
+        // Re-queue the sockets reported, to pick up a level that persists
+        for (SocketReadiness socket : reported) {
+            readinessChanged(socket, null, false);
+        }
+        return result;
+    }
+
+    /** Poll levels, plus edges around errors and hangup. */
+    private static int test(Notification n, int mask) {
+        SocketReadiness s = n.socket;
+        int event = 0;
+        if ((mask & POLLIN) != 0 && s.isReadable()) {
+            event |= POLLIN;
+        }
+        if ((mask & POLLOUT) != 0 && s.isWritable()) {
+            event |= POLLOUT;
+        }
+        if ((mask & POLLERR) != 0 && n.exception != null) {
+            event |= POLLERR;
+        }
+        if ((mask & POLLHUP) != 0 && (n.hangup || s.getChannel() == null)) {
+            event |= POLLHUP;
+        }
+        if ((mask & POLLNVAL) != 0 && !s.isPeerClosed()) {
+            event |= POLLNVAL;
+        }
+        return event;
+    }
+}
@@ -0,0 +1,19 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._socket;
+
+/**
+ * Implemented by the objects behind <code>select.select</code> and <code>select.poll</code>, in
+ * order to be told when the readiness of a socket they watch may have changed.
+ */
+public interface ReadinessListener {
+
+    /**
+     * Called (typically on a Netty event loop thread) after an event on a socket that may change
+     * whether it is readable or writable.
+     *
+     * @param socket the readiness state of the socket concerned
+     * @param exception the error reported with the event, or <code>null</code>
+     * @param hangup whether the event is the closing of the channel
+     */
+    void readinessChanged(SocketReadiness socket, Object exception, boolean hangup);
+}
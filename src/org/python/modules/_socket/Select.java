@@ -0,0 +1,126 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._socket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.python.core.Py;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.python.core.PyTuple;
+
+/**
+ * One call of <code>select.select</code>. Python code adds the objects in each list with the
+ * readiness state of the socket behind each (registering this object with the socket), then
+ * calls {@link #select(double)}, which waits in Java, testing the level of every socket whenever
+ * one of them reports an event, and finally {@link #close()}.
+ */
+public class Select implements ReadinessListener {
+
+    private final List<PyObject> readers = new ArrayList<PyObject>();
+    private final List<SocketReadiness> readerStates = new ArrayList<SocketReadiness>();
+    private final List<PyObject> writers = new ArrayList<PyObject>();
+    private final List<SocketReadiness> writerStates = new ArrayList<SocketReadiness>();
+    private final List<SocketReadiness> registered = new ArrayList<SocketReadiness>();
+
+    /**
+     * Watch an object of the read list.
+     *
+     * @param obj as given by the caller of <code>select</code>, and returned if it is ready
+     * @param socket readiness of the socket behind <code>obj</code>
+     */
+    public void addReader(PyObject obj, SocketReadiness socket) {
+        readers.add(obj);
+        readerStates.add(socket);
+        register(socket);
+    }
+
+    /**
+     * Watch an object of the write list.
+     *
+     * @param obj as given by the caller of <code>select</code>, and returned if it is ready
+     * @param socket readiness of the socket behind <code>obj</code>
+     */
+    public void addWriter(PyObject obj, SocketReadiness socket) {
+        writers.add(obj);
+        writerStates.add(socket);
+        register(socket);
+    }
+
+    /**
+     * Watch an object of the exception list. Exceptional conditions are not reported on Jython,
+     * but the socket still has to be valid.
+     *
+     * @param obj as given by the caller of <code>select</code>
+     * @param socket readiness of the socket behind <code>obj</code>
+     */
+    public void addExceptional(PyObject obj, SocketReadiness socket) {
+        register(socket);
+    }
+
+    private void register(SocketReadiness socket) {
+        socket.register(this);
+        registered.add(socket);
+    }
+
+    @Override
+    public synchronized void readinessChanged(SocketReadiness socket, Object exception,
+            boolean hangup) {
+        notifyAll();
+    }
+
+    /**
+     * Wait until at least one of the objects is ready, or until the timeout expires.
+     *
+     * @param timeout in seconds, or negative to wait indefinitely
+     * @return a tuple of the lists of objects ready for reading, writing and exceptional
+     *         conditions, each in the order they were given
+     */
+    public PyTuple select(double timeout) {
+        long deadline = timeout < 0 ? 0 : System.nanoTime() + (long) (timeout * 1e9);
+        try {
+            synchronized (this) {
+                while (true) {
+                    // Testing the level (not the event) turns edges into levels, and also
+                    // guards against spurious wake-ups.
+                    PyList r = ready(readers, readerStates, true);
+                    PyList w = ready(writers, writerStates, false);
+                    if (r.size() > 0 || w.size() > 0) {
+                        return new PyTuple(r, w, new PyList());
+                    }
+                    if (timeout < 0) {
+                        wait();
+                    } else {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            return new PyTuple(new PyList(), new PyList(), new PyList());
+                        }
+                        wait(remaining / 1000000, (int) (remaining % 1000000));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            throw Py.JavaError(e);
+        }
+    }
+
+    /** Stop watching the sockets (whether or not {@link #select(double)} was called). */
+    public void close() {
+        for (SocketReadiness socket : registered) {
+            socket.unregister(this);
+        }
+        registered.clear();
+    }
+
+    private static PyList ready(List<PyObject> objs, List<SocketReadiness> states,
+            boolean reading) {
+        PyList result = new PyList();
+        for (int i = 0; i < objs.size(); i++) {
+            SocketReadiness s = states.get(i);
+            if (reading ? s.isReadable() : s.isWritable()) {
+                result.append(objs.get(i));
+            }
+        }
+        return result;
+    }
+}
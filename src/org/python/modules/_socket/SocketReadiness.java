@@ -0,0 +1,168 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules._socket;
+
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.Channel;
+
+/**
+ * The state of a socket in <code>Lib/_socket.py</code> on which its readiness for reading and
+ * writing depends, kept in Java so that <code>select</code> and <code>poll</code> can test many
+ * sockets on every wake-up without running Python code for each. The Python socket object keeps
+ * the corresponding attributes (<code>socket_type</code>, <code>channel</code>,
+ * <code>incoming</code>, <code>incoming_head</code> and so on) here, through properties.
+ * <p>
+ * The socket also records here the selectors ({@link ReadinessListener}s) watching it, and tells
+ * them about each event through {@link #notifyListeners(Object, boolean)}.
+ */
+public class SocketReadiness {
+
+    /** Values of <code>socket_type</code>, as in <code>Lib/_socket.py</code>. */
+    public static final int UNKNOWN_SOCKET = 0, CLIENT_SOCKET = 1, SERVER_SOCKET = 2,
+            DATAGRAM_SOCKET = 3;
+
+    private volatile int kind = UNKNOWN_SOCKET;
+    private volatile Channel channel;
+    private volatile boolean channelClosed;
+    private volatile boolean peerClosed;
+    /** Messages received and not yet taken by the socket (client and datagram sockets). */
+    private volatile Queue<?> incoming;
+    /** Message partly consumed by the socket, or <code>null</code>. */
+    private volatile Object head;
+    /** Accepted sockets not yet taken by <code>accept()</code> (server sockets). */
+    private volatile Queue<?> childQueue;
+
+    private final CopyOnWriteArrayList<ReadinessListener> listeners =
+            new CopyOnWriteArrayList<ReadinessListener>();
+
+    /** Whether a read would not block: there is data, an EOF, or a connection to accept. */
+    public boolean isReadable() {
+        switch (kind) {
+            case CLIENT_SOCKET:
+            case DATAGRAM_SOCKET:
+                Object h = head;
+                if (h != null && readableBytes(h) > 0) {
+                    return true;
+                }
+                Queue<?> q = incoming;
+                return q != null && q.peek() != null;
+            case SERVER_SOCKET:
+                Queue<?> c = childQueue;
+                return c != null && c.peek() != null;
+            default:
+                return false;
+        }
+    }
+
+    /** Whether a write would not block (or would fail at once, because the channel is closed). */
+    public boolean isWritable() {
+        if (channelClosed) {
+            return true;
+        }
+        Channel ch = channel;
+        return ch != null && ch.isActive() && ch.isWritable();
+    }
+
+    private static int readableBytes(Object msg) {
+        if (msg instanceof ByteBuf) {
+            return ((ByteBuf) msg).readableBytes();
+        } else if (msg instanceof ByteBufHolder) {
+            return ((ByteBufHolder) msg).content().readableBytes();
+        } else {
+            // A marker such as the end of input: reading it will not block
+            return 1;
+        }
+    }
+
+    /**
+     * Add a listener to be told of events on this socket, if it is not already present.
+     *
+     * @param listener to add
+     * @return this object
+     */
+    public SocketReadiness register(ReadinessListener listener) {
+        listeners.addIfAbsent(listener);
+        return this;
+    }
+
+    /**
+     * Remove a listener.
+     *
+     * @param listener to remove
+     * @return whether it was present
+     */
+    public boolean unregister(ReadinessListener listener) {
+        return listeners.remove(listener);
+    }
+
+    /**
+     * Tell every listener that the readiness of this socket may have changed.
+     *
+     * @param exception the error reported with the event, or <code>null</code>
+     * @param hangup whether the event is the closing of the channel
+     */
+    public void notifyListeners(Object exception, boolean hangup) {
+        for (ReadinessListener listener : listeners) {
+            listener.readinessChanged(this, exception, hangup);
+        }
+    }
+
+    public int getKind() {
+        return kind;
+    }
+
+    public void setKind(int kind) {
+        this.kind = kind;
+    }
+
+    public Channel getChannel() {
+        return channel;
+    }
+
+    public void setChannel(Channel channel) {
+        this.channel = channel;
+    }
+
+    public boolean isChannelClosed() {
+        return channelClosed;
+    }
+
+    public void setChannelClosed(boolean channelClosed) {
+        this.channelClosed = channelClosed;
+    }
+
+    public boolean isPeerClosed() {
+        return peerClosed;
+    }
+
+    public void setPeerClosed(boolean peerClosed) {
+        this.peerClosed = peerClosed;
+    }
+
+    public Queue<?> getIncoming() {
+        return incoming;
+    }
+
+    public void setIncoming(Queue<?> incoming) {
+        this.incoming = incoming;
+    }
+
+    public Object getHead() {
+        return head;
+    }
+
+    public void setHead(Object head) {
+        this.head = head;
+    }
+
+    public Queue<?> getChildQueue() {
+        return childQueue;
+    }
+
+    public void setChildQueue(Queue<?> childQueue) {
+        this.childQueue = childQueue;
+    }
+}
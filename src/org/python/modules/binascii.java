@@ -9,6 +9,10 @@
 
 package org.python.modules;
 
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.CRC32;
+
 import org.python.core.ArgParser;
 import org.python.core.BufferProtocol;
 import org.python.core.Py;
@@ -21,6 +25,7 @@ import org.python.core.PyStringMap;
 import org.python.core.PyTuple;
 import org.python.core.PyUnicode;
 import org.python.core.buffer.SimpleStringBuffer;
+import org.python.core.util.StringUtil;
 
 /**
  * The <tt>binascii.java</tt> module contains a number of methods to convert between binary and
@@ -167,19 +172,6 @@ public class binascii {
     private static char[] table_b2a_hqx =
             "!\"#$%&'()*+,-012345689@ABCDEFGHIJKLMNPQRSTUVXYZ[`abcdefhijklmpqr".toCharArray();
 
-    //@formatter:off
-    private static byte table_a2b_base64[] = {
-        -1,-1,-1,-1, -1,-1,-1,-1, -1,-1,-1,-1, -1,-1,-1,-1,
-        -1,-1,-1,-1, -1,-1,-1,-1, -1,-1,-1,-1, -1,-1,-1,-1,
-        -1,-1,-1,-1, -1,-1,-1,-1, -1,-1,-1,62, -1,-1,-1,63,
-        52,53,54,55, 56,57,58,59, 60,61,-1,-1, -1, 0,-1,-1, /* Note PAD->0 */
-        -1, 0, 1, 2,  3, 4, 5, 6,  7, 8, 9,10, 11,12,13,14,
-        15,16,17,18, 19,20,21,22, 23,24,25,-1, -1,-1,-1,-1,
-        -1,26,27,28, 29,30,31,32, 33,34,35,36, 37,38,39,40,
-        41,42,43,44, 45,46,47,48, 49,50,51,-1, -1,-1,-1,-1
-    };
-    //@formatter:on
-
     private static char BASE64_PAD = '=';
 
     /* Max binary chunk size */
@@ -188,6 +180,16 @@ public class binascii {
     private static char[] table_b2a_base64 =
             "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
 
+    /** The value of each byte as a base64 digit, or -1 if it is not one (as the pad is not). */
+    private static final int[] base64_value = new int[256];
+
+    static {
+        Arrays.fill(base64_value, -1);
+        for (int i = 0; i < table_b2a_base64.length; i++) {
+            base64_value[table_b2a_base64[i]] = i;
+        }
+    }
+
     //@formatter:off
     private static int[] crctab_hqx = {
         0x0000, 0x1021, 0x2042, 0x3063, 0x4084, 0x50a5, 0x60c6, 0x70e7,
@@ -352,23 +354,16 @@ public class binascii {
     }
 
     /** Finds & returns the (num+1)th valid character for base64, or -1 if none. */
-    private static int binascii_find_valid(PyBuffer b, int offset, int num) {
-        int blen = b.getLen() - offset;
-        int ret = -1;
-
-        while ((blen > 0) && (ret == -1)) {
-            int c = b.intAt(offset);
-            byte b64val = table_a2b_base64[c & 0x7f];
-            if (((c <= 0x7f) && (b64val != -1))) {
-                if (num == 0) {
-                    ret = c;
+    private static int binascii_find_valid(byte[] b, int offset, int num) {
+        for (; offset < b.length; offset++) {
+            int c = b[offset] & 0xff;
+            if (c == BASE64_PAD || base64_value[c] != -1) {
+                if (num-- == 0) {
+                    return c;
                 }
-                num--;
             }
-            offset++;
-            blen--;
         }
-        return ret;
+        return -1;
     }
 
     public static PyString __doc__a2b_base64 =
@@ -380,25 +375,34 @@ public class binascii {
      */
     public static PyString a2b_base64(PyObject text) {
 
-        try (PyBuffer textBuf = getByteBuffer(text)) {
-            int textLen = textBuf.getLen();
+        try {
+            byte[] textBuf = getBytes(text);
+            int textLen = textBuf.length;
 
             // Every 4 characters (rounded up) map to 3 bytes. (Or fewer, if there are extras.)
-            int dataLen = 3 * ((textLen + 3) / 4);
-            // These characters will represent bytes, in the usual Jython 2 way.
-            StringBuilder dataBuf = new StringBuilder(dataLen);
+            byte[] dataBuf = new byte[3 * ((textLen + 3) / 4)];
+            int dataLen = 0;
             int bits = 0;       // store bits not yet emitted (max 12 bits)
             int bitCount = 0;   // how many (valid) bits waiting
             int quad_pos = 0;
 
-            for (int i = 0; textLen > 0; textLen--, i++) {
-                // Skip some punctuation
-                int ch = textBuf.intAt(i);
-                if (ch > 0x7F || ch == '\r' || ch == '\n' || ch == ' ') {
-                    continue;
-
-                } else
+            for (int i = 0; i < textLen; i++) {
+                if (quad_pos == 0 && i + 3 < textLen) {
+                    // Fast path: four base64 digits at the start of a quad make three bytes.
+                    int quad = base64_value[textBuf[i] & 0xff] << 18
+                            | base64_value[textBuf[i + 1] & 0xff] << 12
+                            | base64_value[textBuf[i + 2] & 0xff] << 6
+                            | base64_value[textBuf[i + 3] & 0xff];
+                    if (quad >= 0) {
+                        dataBuf[dataLen++] = (byte) (quad >> 16);
+                        dataBuf[dataLen++] = (byte) (quad >> 8);
+                        dataBuf[dataLen++] = (byte) quad;
+                        i += 3;
+                        continue;
+                    }
+                }
 
+                int ch = textBuf[i] & 0xff;
                 if (ch == BASE64_PAD) {
                     if (quad_pos < 2 || (quad_pos == 2
                             && binascii_find_valid(textBuf, i, 1) != BASE64_PAD)) {
@@ -409,23 +413,23 @@ public class binascii {
                         bitCount = 0;
                         break;
                     }
-                } else {
+                }
 
-                    int sixBits = table_a2b_base64[ch];
-                    if (sixBits == -1) {
-                        continue;
-                    }
+                // Skip anything else that is not a base64 digit (whitespace, for example)
+                int sixBits = base64_value[ch];
+                if (sixBits == -1) {
+                    continue;
+                }
 
-                    // Shift it in on the low end, and see if there's a byte ready for output.
-                    quad_pos = (quad_pos + 1) & 0x03;
-                    bits = (bits << 6) | sixBits;
-                    bitCount += 6;
-                    if (bitCount >= 8) {
-                        bitCount -= 8;
-                        dataBuf.append((char) ((bits >> bitCount) & 0xff)); // byte
-                        // Erase the bits we emitted
-                        bits &= (1 << bitCount) - 1;
-                    }
+                // Shift it in on the low end, and see if there's a byte ready for output.
+                quad_pos = (quad_pos + 1) & 0x03;
+                bits = (bits << 6) | sixBits;
+                bitCount += 6;
+                if (bitCount >= 8) {
+                    bitCount -= 8;
+                    dataBuf[dataLen++] = (byte) (bits >> bitCount);
+                    // Erase the bits we emitted
+                    bits &= (1 << bitCount) - 1;
                 }
             }
             // Check that no bits are left
@@ -433,7 +437,7 @@ public class binascii {
                 throw new PyException(Error, "Incorrect padding");
             }
 
-            return new PyString(dataBuf.toString());
+            return new PyString(StringUtil.fromBytes(dataBuf, 0, dataLen));
 
         } catch (ClassCastException e) {
             throw argMustBeBytes("a2b_base64", text);
@@ -445,44 +449,23 @@ public class binascii {
 
     /**
      * Convert binary data to a line of ASCII characters in base64 coding. The return value is the
-     * converted line, including a newline char.
+     * converted line, including a newline char. The encoding is that of
+     * {@link java.util.Base64#getEncoder()}.
      */
     public static PyString b2a_base64(PyObject data) {
 
-        try (PyBuffer dataBuf = getByteBuffer(data)) {
-            int dataLen = dataBuf.getLen();
+        try {
+            byte[] dataBuf = getBytes(data);
+            int dataLen = dataBuf.length;
             if (dataLen > BASE64_MAXBIN) {
                 throw new PyException(Error, "Too much data for base64 line");
             }
             // Every 3 bytes (rounded up) maps to 4 characters (and there's a newline)
-            StringBuilder ascii_data = new StringBuilder(4 * ((dataLen + 2) / 3) + 1);
-            int bits = 0;       // store bits not yet emitted (max 14 bits)
-            int bitCount = 0;   // how many (valid) bits waiting
+            byte[] ascii_data = new byte[4 * ((dataLen + 2) / 3) + 1];
+            Base64.getEncoder().encode(dataBuf, ascii_data);
+            ascii_data[ascii_data.length - 1] = '\n';  // Append a courtesy newline
 
-            for (int i = 0; i < dataLen; i++) {
-                // Shift the data into our buffer
-                bits = (bits << 8) | dataBuf.intAt(i);
-                bitCount += 8;
-
-                // While there are 6-bit groups available, emit them as characters.
-                while (bitCount >= 6) {
-                    bitCount -= 6;
-                    ascii_data.append(table_b2a_base64[(bits >> bitCount) & 0x3f]);
-                }
-            }
-
-            // Emit the balance of bits and append a newline
-            if (bitCount == 2) {
-                ascii_data.append(table_b2a_base64[(bits & 3) << 4]);
-                ascii_data.append(BASE64_PAD);
-                ascii_data.append(BASE64_PAD);
-            } else if (bitCount == 4) {
-                ascii_data.append(table_b2a_base64[(bits & 0xf) << 2]);
-                ascii_data.append(BASE64_PAD);
-            }
-            ascii_data.append('\n');  // Append a courtesy newline
-
-            return new PyString(ascii_data.toString());
+            return new PyString(StringUtil.fromBytes(ascii_data));
 
         } catch (ClassCastException e) {
             throw argMustBeBytes("b2a_base64", data);
@@ -786,26 +769,69 @@ public class binascii {
         return crc32(bp, 0);
     }
 
+    /**
+     * The CRC-32 of the data, continuing from the given CRC. This is computed by
+     * {@link java.util.zip.CRC32}, which the JVM accelerates, but which cannot be given a CRC to
+     * start from. So for a CRC other than 0, four bytes are first fed to it that bring it to that
+     * CRC (see {@link #crc32Prefix(int)}).
+     */
     public static int crc32(PyObject data, long long_crc) {
 
-        int crc = ~(int) long_crc;
-
-        try (PyBuffer dataBuf = getByteBuffer(data)) {
-            int len = dataBuf.getLen();
-            for (int i = 0; i < len; i++) {
-                int b = dataBuf.intAt(i);
-                crc = crc_32_tab[(crc ^ b) & 0xff] ^ (crc >>> 8);
-                /* Note: (crc >> 8) MUST zero fill on left */
+        try {
+            byte[] dataBuf = getBytes(data);
+            CRC32 crc = new CRC32();
+            if ((int) long_crc != 0) {
+                crc.update(crc32Prefix((int) long_crc));
             }
-            return ~crc;
+            crc.update(dataBuf);
+            return (int) crc.getValue();
 
         } catch (ClassCastException e) {
             throw argMustBeBytes("crc32", data);
         }
+    }
+
+    /** The index in {@link #crc_32_tab} of each possible top byte of its entries (all differ). */
+    private static final int[] crc_32_index = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            crc_32_index[crc_32_tab[i] >>> 24] = i;
+        }
+    }
 
+    /**
+     * The four bytes that take a new <code>CRC32</code> to the given CRC. Each step of the
+     * (table-driven) CRC shifts the register right a byte and exclusive-ors it with the entry for
+     * the byte in, whose top byte identifies it. So we work back from the register wanted to the
+     * entries, then forward from the initial register to the bytes that select them.
+     */
+    private static byte[] crc32Prefix(int crc) {
+        int[] index = new int[4];
+        int reg = ~crc;
+        for (int k = 3; k >= 0; k--) {
+            index[k] = crc_32_index[reg >>> 24];
+            reg = (reg ^ crc_32_tab[index[k]]) << 8;
+        }
+        byte[] prefix = new byte[4];
+        reg = 0xffffffff;
+        for (int k = 0; k < 4; k++) {
+            prefix[k] = (byte) (reg ^ index[k]);
+            reg = (reg >>> 8) ^ crc_32_tab[index[k]];
+        }
+        return prefix;
     }
 
-    private static char[] hexdigit = "0123456789abcdef".toCharArray();
+    private static byte[] hexdigit = StringUtil.toBytes("0123456789abcdef");
+
+    /** The value of each byte as a hexadecimal digit, or -1 if it is not one. */
+    private static final int[] hex_value = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            hex_value[i] = Character.digit(i, 16);
+        }
+    }
 
     public static PyString __doc__b2a_hex =
             new PyString("b2a_hex(data) -> s; Hexadecimal representation of binary data.\n" + "\n"
@@ -813,19 +839,19 @@ public class binascii {
 
     public static PyString b2a_hex(PyObject data) {
 
-        try (PyBuffer dataBuf = getByteBuffer(data)) {
-
-            int dataLen = dataBuf.getLen();
-            StringBuilder retbuf = new StringBuilder(dataLen * 2);
+        try {
+            byte[] dataBuf = getBytes(data);
+            int dataLen = dataBuf.length;
+            byte[] retbuf = new byte[dataLen * 2];
 
             // make hex version of string, taken from shamodule.c
-            for (int i = 0; i < dataLen; i++) {
-                int ch = dataBuf.intAt(i);
-                retbuf.append(hexdigit[(ch >>> 4) & 0xF]);
-                retbuf.append(hexdigit[ch & 0xF]);
+            for (int i = 0, j = 0; i < dataLen; i++) {
+                int ch = dataBuf[i];
+                retbuf[j++] = hexdigit[(ch >>> 4) & 0xF];
+                retbuf[j++] = hexdigit[ch & 0xF];
             }
 
-            return new PyString(retbuf.toString());
+            return new PyString(StringUtil.fromBytes(retbuf));
 
         } catch (ClassCastException e) {
             throw argMustBeBytes("b2a_hex", data);
@@ -844,10 +870,9 @@ public class binascii {
 
     public static PyString a2b_hex(PyObject hexstr) {
 
-        try (PyBuffer buf = getByteBuffer(hexstr)) {
-
-            int bufLen = buf.getLen();
-            StringBuilder retbuf = new StringBuilder(bufLen / 2);
+        try {
+            byte[] buf = getBytes(hexstr);
+            int bufLen = buf.length;
             /*
              * XXX What should we do about strings with an odd length? Should we add an implicit
              * leading zero, or a trailing zero? For now, raise an exception.
@@ -855,17 +880,18 @@ public class binascii {
             if (bufLen % 2 != 0) {
                 throw Py.TypeError("Odd-length string");
             }
+            byte[] retbuf = new byte[bufLen / 2];
 
-            for (int i = 0; i < bufLen; i += 2) {
-                int top = Character.digit(buf.intAt(i), 16);
-                int bot = Character.digit(buf.intAt(i + 1), 16);
-                if (top == -1 || bot == -1) {
+            for (int i = 0, j = 0; i < bufLen; i += 2) {
+                int top = hex_value[buf[i] & 0xff];
+                int bot = hex_value[buf[i + 1] & 0xff];
+                if ((top | bot) < 0) {
                     throw Py.TypeError("Non-hexadecimal digit found");
                 }
-                retbuf.append((char) ((top << 4) + bot));
+                retbuf[j++] = (byte) ((top << 4) + bot);
             }
 
-            return new PyString(retbuf.toString());
+            return new PyString(StringUtil.fromBytes(retbuf));
 
         } catch (ClassCastException e) {
             throw argMustBeBytes("a2b_hex", hexstr);
@@ -1060,6 +1086,26 @@ public class binascii {
         }
     }
 
+    /**
+     * Return the bytes of an object with the buffer protocol (or {@code unicode}, which is encoded
+     * by default), in a new array, so that they may be processed in bulk. The bytes of a
+     * {@code str} are taken directly from its {@code String}.
+     *
+     * @param text an object with the buffer protocol (or {@code unicode})
+     * @return the bytes of the argument
+     * @throws ClassCastException where the text object does not implement the buffer protocol
+     */
+    private static byte[] getBytes(PyObject text) throws ClassCastException {
+        if (text instanceof PyString && !(text instanceof PyUnicode)) {
+            return StringUtil.toBytes(((PyString) text).getString());
+        }
+        try (PyBuffer buf = getByteBuffer(text)) {
+            byte[] bytes = new byte[buf.getLen()];
+            buf.copyTo(bytes, 0);
+            return bytes;
+        }
+    }
+
     /**
      * Convenience method providing the exception when an argument is not the expected type, in the
      * format "<b>f</b>() argument 1 must bytes or unicode, not <code>type(arg)</code>."
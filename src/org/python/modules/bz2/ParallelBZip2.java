@@ -0,0 +1,154 @@
+package org.python.modules.bz2;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+
+/**
+ * Support for the multi-threaded mode of the bz2 module, in the manner of pbzip2. Input is cut
+ * into blocks of the size bzip2 itself would use at the chosen compression level and each block
+ * is compressed as a complete bzip2 stream on a shared {@link ForkJoinPool}. The concatenation of
+ * those streams is a valid bzip2 file, readable by any multi-stream capable decompressor, and
+ * the same structure is what makes decompression parallelisable.
+ */
+final class ParallelBZip2 {
+
+    /** Magic bytes at the start of every bzip2 stream: "BZh". */
+    private static final byte[] STREAM_MAGIC = {'B', 'Z', 'h'};
+
+    /** Magic that follows the stream header when the stream has at least one block. */
+    private static final byte[] BLOCK_MAGIC = {0x31, 0x41, 0x59, 0x26, 0x53, 0x59};
+
+    /** Magic that follows the stream header when the stream is empty. */
+    private static final byte[] EOS_MAGIC = {0x17, 0x72, 0x45, 0x38, 0x50, (byte)0x90};
+
+    /** Length of the byte-aligned header by which a stream start is recognised. */
+    static final int HEADER_LENGTH = 10;
+
+    private static final int IOBUFFER_SIZE = 64 * 1024;
+
+    private ParallelBZip2() {}
+
+    /** Lazily created pool shared by all parallel compressors and decompressors. */
+    private static class PoolHolder {
+
+        static final ForkJoinPool POOL =
+                new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Run a task on the shared pool. (A {@code FutureTask} is used because it reports the
+     * exception thrown by the task itself, where a {@code ForkJoinTask} would wrap it.)
+     */
+    static Future<byte[]> submit(Callable<byte[]> task) {
+        FutureTask<byte[]> future = new FutureTask<byte[]>(task);
+        PoolHolder.POOL.execute(future);
+        return future;
+    }
+
+    /**
+     * Check the number of threads requested through the Python API.
+     *
+     * @param threads requested number of blocks in flight
+     * @return {@code threads}
+     * @throws IllegalArgumentException if fewer than one thread is requested
+     */
+    static int checkThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        return threads;
+    }
+
+    /**
+     * The uncompressed block size used at a given compression level, which is the size bzip2
+     * uses for its own blocks.
+     */
+    static int blockSize(int compresslevel) {
+        return compresslevel * 100000;
+    }
+
+    /** Compress one block of data into a complete, self-contained bzip2 stream. */
+    static byte[] compressBlock(byte[] data, int len, int compresslevel) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(len / 4 + 64);
+        BZip2CompressorOutputStream bz = new BZip2CompressorOutputStream(out, compresslevel);
+        bz.write(data, 0, len);
+        bz.close();
+        return out.toByteArray();
+    }
+
+    /** Decompress a run of one or more complete bzip2 streams. */
+    static byte[] decompressStreams(byte[] data, int len) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(len);
+        BZip2CompressorInputStream bz =
+                new BZip2CompressorInputStream(new ByteArrayInputStream(data, 0, len), true);
+        byte[] buf = new byte[IOBUFFER_SIZE];
+        int n;
+        while ((n = bz.read(buf)) != -1) {
+            out.write(buf, 0, n);
+        }
+        bz.close();
+        return out.toByteArray();
+    }
+
+    /**
+     * Whether a bzip2 stream header starts at {@code pos}. A header is "BZh" and a level digit,
+     * followed by the magic of either the first block or the end of stream. A match inside
+     * compressed data is possible in principle (the pattern is 80 bits long), so callers must
+     * treat a stream found this way as a candidate, and recover if it fails to decompress.
+     *
+     * @param buf data to examine, with at least {@link #HEADER_LENGTH} bytes after {@code pos}
+     * @param pos position to test
+     */
+    static boolean isStreamStart(byte[] buf, int pos) {
+        if (buf[pos] != STREAM_MAGIC[0] || buf[pos + 1] != STREAM_MAGIC[1]
+                || buf[pos + 2] != STREAM_MAGIC[2]) {
+            return false;
+        }
+        byte level = buf[pos + 3];
+        if (level < '1' || level > '9') {
+            return false;
+        }
+        return matches(buf, pos + 4, BLOCK_MAGIC) || matches(buf, pos + 4, EOS_MAGIC);
+    }
+
+    private static boolean matches(byte[] buf, int pos, byte[] magic) {
+        for (int i = 0; i < magic.length; i++) {
+            if (buf[pos + i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Wait for a block task and return its result, translating the ways that may fail into an
+     * {@code IOException}.
+     */
+    static byte[] await(Future<byte[]> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else {
+                throw new IOException(cause);
+            }
+        }
+    }
+}
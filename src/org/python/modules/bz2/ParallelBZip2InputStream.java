@@ -0,0 +1,223 @@
+package org.python.modules.bz2;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+
+/**
+ * An input stream that decompresses bzip2 data using several threads. Compressed input is cut
+ * where each bzip2 stream begins (such as the files written by pbzip2 or by this module's
+ * multi-threaded mode), the streams are decompressed by tasks on a shared pool, and their output
+ * is returned in order.
+ * <p>
+ * Stream starts are recognised by their header, which could in principle also occur inside
+ * compressed data. A segment that fails to decompress is therefore joined to the one after it
+ * and tried again, so a false boundary costs time but not correctness. A single-stream file has
+ * nothing to cut: once the current stream grows beyond a limit without another header being
+ * found, the rest of the input is decompressed serially as it is read.
+ */
+class ParallelBZip2InputStream extends InputStream {
+
+    /** Amount of compressed input requested from the underlying stream at a time. */
+    private static final int READ_SIZE = 256 * 1024;
+
+    /** Size of compressed stream beyond which we stop looking for parallelism. */
+    private static final int MAX_SEGMENT = 16 * 1024 * 1024;
+
+    private final InputStream in;
+    private final int threads;
+
+    /** Decompressions submitted but not yet returned to the reader, oldest first. */
+    private final Deque<Segment> pending = new ArrayDeque<Segment>();
+
+    /** Compressed input not yet cut into segments. Stream data always begins at 0. */
+    private byte[] raw = new byte[2 * READ_SIZE];
+    private int rawLength;
+    /** Position in {@link #raw} from which the search for the next header continues. */
+    private int scanPos = 1;
+    private boolean inputEOF;
+
+    /** Decompressed data being returned to the reader. */
+    private byte[] current;
+    private int currentPos;
+
+    /** Serial decompressor for the remaining input, once we have given up on parallelism. */
+    private InputStream serial;
+
+    /** A run of compressed data and the task decompressing it. */
+    private static class Segment {
+
+        final byte[] data;
+        final int length;
+        Future<byte[]> result;
+
+        Segment(byte[] data, int length) {
+            this.data = data;
+            this.length = length;
+        }
+
+        Segment join(Segment next) {
+            byte[] joined = Arrays.copyOf(data, length + next.length);
+            System.arraycopy(next.data, 0, joined, length, next.length);
+            return new Segment(joined, joined.length);
+        }
+    }
+
+    ParallelBZip2InputStream(InputStream in, int threads) {
+        this.in = in;
+        this.threads = ParallelBZip2.checkThreads(threads);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (current == null || currentPos == current.length) {
+            if (!advance()) {
+                return serial != null ? serial.read(b, off, len) : -1;
+            }
+        }
+        int n = Math.min(len, current.length - currentPos);
+        System.arraycopy(current, currentPos, b, off, n);
+        currentPos += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return current == null ? 0 : current.length - currentPos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Segment segment : pending) {
+            segment.result.cancel(false);
+        }
+        pending.clear();
+        current = null;
+        if (serial != null) {
+            serial.close();
+        } else {
+            in.close();
+        }
+    }
+
+    /**
+     * Make the next decompressed segment current.
+     *
+     * @return false if there are no more segments
+     */
+    private boolean advance() throws IOException {
+        fillPending();
+        if (pending.isEmpty()) {
+            current = null;
+            return false;
+        }
+        current = decode(pending.removeFirst());
+        currentPos = 0;
+        return true;
+    }
+
+    private byte[] decode(Segment segment) throws IOException {
+        try {
+            return ParallelBZip2.await(segment.result);
+        } catch (IOException e) {
+            // Perhaps we cut at a false header: join to what follows and try again.
+            IOException failure = e;
+            for (;;) {
+                fillPending();
+                if (pending.isEmpty()) {
+                    throw failure;
+                }
+                Segment next = pending.removeFirst();
+                next.result.cancel(false);
+                segment = segment.join(next);
+                try {
+                    return ParallelBZip2.decompressStreams(segment.data, segment.length);
+                } catch (IOException e2) {
+                    failure = e2;
+                }
+            }
+        }
+    }
+
+    /** Cut and submit segments until the permitted number are in flight or input runs out. */
+    private void fillPending() throws IOException {
+        while (serial == null && pending.size() < threads) {
+            int cut = findStreamStart();
+            if (cut > 0) {
+                submit(cut);
+            } else if (inputEOF) {
+                if (rawLength == 0) {
+                    break;
+                }
+                submit(rawLength);
+            } else if (rawLength >= MAX_SEGMENT) {
+                startSerial();
+            } else {
+                readInput();
+            }
+        }
+    }
+
+    /** Find the start of the next stream after the one at 0, or return 0 if none is found. */
+    private int findStreamStart() {
+        int limit = rawLength - ParallelBZip2.HEADER_LENGTH;
+        for (int p = scanPos; p <= limit; p++) {
+            if (ParallelBZip2.isStreamStart(raw, p)) {
+                return p;
+            }
+        }
+        scanPos = Math.max(scanPos, limit + 1);
+        return 0;
+    }
+
+    private void submit(int length) {
+        final Segment segment = new Segment(Arrays.copyOf(raw, length), length);
+        segment.result = ParallelBZip2.submit(new Callable<byte[]>() {
+
+            @Override
+            public byte[] call() throws IOException {
+                return ParallelBZip2.decompressStreams(segment.data, segment.length);
+            }
+        });
+        pending.addLast(segment);
+        rawLength -= length;
+        System.arraycopy(raw, length, raw, 0, rawLength);
+        scanPos = 1;
+    }
+
+    private void readInput() throws IOException {
+        if (raw.length - rawLength < READ_SIZE) {
+            raw = Arrays.copyOf(raw, 2 * raw.length);
+        }
+        int n = in.read(raw, rawLength, READ_SIZE);
+        if (n < 0) {
+            inputEOF = true;
+        } else {
+            rawLength += n;
+        }
+    }
+
+    private void startSerial() throws IOException {
+        InputStream rest = new SequenceInputStream(new ByteArrayInputStream(raw, 0, rawLength), in);
+        serial = new BZip2CompressorInputStream(rest, true);
+        raw = null;
+        rawLength = 0;
+    }
+}
@@ -0,0 +1,138 @@
+package org.python.modules.bz2;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * An output stream that compresses to bzip2 format using several threads. Data written is
+ * gathered into blocks, each block is compressed as an independent bzip2 stream by a task on a
+ * shared pool, and the results are written to the underlying stream in the order the data
+ * arrived. At most {@code threads} blocks are in flight at any time, which also bounds the memory
+ * in use.
+ */
+class ParallelBZip2OutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private final int compresslevel;
+    private final int threads;
+
+    /** Compressions submitted but not yet written to {@link #out}, oldest first. */
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<Future<byte[]>>();
+
+    private byte[] block;
+    private int count;
+
+    /** Whether any block has been submitted, since even empty input makes one stream. */
+    private boolean started;
+    private boolean finished;
+
+    ParallelBZip2OutputStream(OutputStream out, int compresslevel, int threads) {
+        if (compresslevel < 1 || compresslevel > 9) {
+            throw new IllegalArgumentException("compresslevel must be between 1 and 9");
+        }
+        this.out = out;
+        this.compresslevel = compresslevel;
+        this.threads = ParallelBZip2.checkThreads(threads);
+        this.block = new byte[ParallelBZip2.blockSize(compresslevel)];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        block[count++] = (byte)b;
+        if (count == block.length) {
+            submitBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int n = Math.min(len, block.length - count);
+            System.arraycopy(b, off, block, count, n);
+            count += n;
+            off += n;
+            len -= n;
+            if (count == block.length) {
+                submitBlock();
+            }
+        }
+    }
+
+    /**
+     * Write out any blocks that have finished compressing. A partly filled block is not
+     * compressed early, since that would make the output larger for no benefit.
+     */
+    @Override
+    public void flush() throws IOException {
+        drain(false);
+        out.flush();
+    }
+
+    /**
+     * Compress whatever data remains and write all the compressed data, without closing the
+     * underlying stream.
+     */
+    public void finish() throws IOException {
+        if (!finished) {
+            if (count > 0 || !started) {
+                submitBlock();
+            }
+            drain(true);
+            finished = true;
+            block = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (finished) {
+            throw new IOException("stream already finished");
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        final byte[] data = block;
+        final int len = count;
+        pending.addLast(ParallelBZip2.submit(new Callable<byte[]>() {
+
+            @Override
+            public byte[] call() throws IOException {
+                return ParallelBZip2.compressBlock(data, len, compresslevel);
+            }
+        }));
+        started = true;
+        // The submitted array now belongs to the task
+        block = new byte[block.length];
+        count = 0;
+        // Keep no more than the permitted number of blocks in flight
+        while (pending.size() > threads) {
+            out.write(ParallelBZip2.await(pending.removeFirst()));
+        }
+        drain(false);
+    }
+
+    /**
+     * Write compressed blocks to the underlying stream, in order, while they are available.
+     *
+     * @param all if true, wait for every pending block
+     */
+    private void drain(boolean all) throws IOException {
+        while (!pending.isEmpty() && (all || pending.peekFirst().isDone())) {
+            out.write(ParallelBZip2.await(pending.removeFirst()));
+        }
+    }
+}
@@ -21,7 +21,7 @@ import org.python.expose.ExposedType;
 public class PyBZ2Compressor extends PyObject {
 
     private CaptureStream captureStream = null;
-    private BZip2CompressorOutputStream compressStream = null;
+    private OutputStream compressStream = null;
 
     public static final PyType TYPE = PyType.fromClass(PyBZ2Compressor.class);
 
@@ -36,14 +36,22 @@ public class PyBZ2Compressor extends PyObject {
     @ExposedNew
     final void BZ2Compressor___init__(PyObject[] args, String[] kwds) {
         ArgParser ap = new ArgParser("bz2compressor", args, kwds,
-                new String[] { "compresslevel" }, 0);
+                new String[] { "compresslevel", "threads" }, 0);
 
         int compresslevel = ap.getInt(0, 9);
+        int threads = ap.getInt(1, 1);
 
         try {
             captureStream = new CaptureStream();
-            compressStream = new BZip2CompressorOutputStream(captureStream,
-                    compresslevel);
+            if (threads == 1) {
+                compressStream = new BZip2CompressorOutputStream(captureStream,
+                        compresslevel);
+            } else {
+                compressStream = new ParallelBZip2OutputStream(captureStream,
+                        compresslevel, threads);
+            }
+        } catch (IllegalArgumentException e) {
+            throw Py.ValueError(e.getMessage());
         } catch (IOException e) {
             throw Py.IOError(e.getMessage());
         }
@@ -82,7 +90,6 @@ public class PyBZ2Compressor extends PyObject {
     public PyString BZ2Compressor_flush(PyObject[] args, String[] kwds) {
         PyString finalData = Py.EmptyString;
         try {
-            compressStream.finish();
             compressStream.close();
 
             finalData = readData();
@@ -104,6 +111,11 @@ public class PyBZ2Compressor extends PyObject {
             capturedData.write(byteData);
         }
 
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            capturedData.write(b, off, len);
+        }
+
         public byte[] readData() {
             return capturedData.toByteArray();
         }
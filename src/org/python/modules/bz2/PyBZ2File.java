@@ -46,6 +46,7 @@ public class PyBZ2File extends PyObject implements FinalizablePyObject, Finaliza
 
     public static final PyType TYPE = PyType.fromClass(PyBZ2File.class);
     private int buffering;
+    private int threads;
 
     @ExposedGet(name = "newlines")
     public PyObject PyBZ2File_newlines() {
@@ -83,7 +84,7 @@ public class PyBZ2File extends PyObject implements FinalizablePyObject, Finaliza
     @ExposedMethod
     final void BZ2File___init__(PyObject[] args, String[] kwds) {
         ArgParser ap = new ArgParser("bz2file", args, kwds, new String[] {
-                "filename", "mode", "buffering", "compresslevel" }, 1);
+                "filename", "mode", "buffering", "compresslevel", "threads" }, 1);
 
         PyObject filename = ap.getPyObject(0);
         if (!(filename instanceof PyString)) {
@@ -94,14 +95,19 @@ public class PyBZ2File extends PyObject implements FinalizablePyObject, Finaliza
         String mode = ap.getString(1, "r");
         int buffering = ap.getInt(2, 0);
         int compresslevel = ap.getInt(3, 9);
-        BZ2File___init__((PyString) filename, mode, buffering, compresslevel);
+        int threads = ap.getInt(4, 1);
+        if (threads < 1) {
+            throw Py.ValueError("threads must be at least 1");
+        }
+        BZ2File___init__((PyString) filename, mode, buffering, compresslevel, threads);
     }
 
     private void BZ2File___init__(PyString inFileName, String mode,
-            int buffering, int compresslevel) {
+            int buffering, int compresslevel, int threads) {
         try {
             fileName = inFileName.asString();
             this.buffering = buffering;
+            this.threads = threads;
 
             // check universal newline mode
             if (mode.contains("U")) {
@@ -115,8 +121,14 @@ public class PyBZ2File extends PyObject implements FinalizablePyObject, Finaliza
                     f.createNewFile();
                 }
 
-                BZip2CompressorOutputStream writeStream = new BZip2CompressorOutputStream(
-                        new FileOutputStream(fileName), compresslevel);
+                OutputStream writeStream;
+                if (threads == 1) {
+                    writeStream = new BZip2CompressorOutputStream(
+                            new FileOutputStream(fileName), compresslevel);
+                } else {
+                    writeStream = new ParallelBZip2OutputStream(
+                            new FileOutputStream(fileName), compresslevel, threads);
+                }
                 buffer = new BinaryIOWrapper(
                             new BufferedWriter(
                                 new SkippableStreamIO(writeStream, true),
@@ -132,6 +144,8 @@ public class PyBZ2File extends PyObject implements FinalizablePyObject, Finaliza
             }
         } catch (IOException e) {
             throw Py.IOError("File " + fileName + " not found,");
+        } catch (IllegalArgumentException e) {
+            throw Py.ValueError(e.getMessage());
         }
     }
 
@@ -139,8 +153,12 @@ public class PyBZ2File extends PyObject implements FinalizablePyObject, Finaliza
         try {
             FileInputStream fin = new FileInputStream(fileName);
             BufferedInputStream bin = new BufferedInputStream(fin);
-            BZip2CompressorInputStream bZin = new BZip2CompressorInputStream(
-                    bin, true);
+            InputStream bZin;
+            if (threads == 1) {
+                bZin = new BZip2CompressorInputStream(bin, true);
+            } else {
+                bZin = new ParallelBZip2InputStream(bin, threads);
+            }
             BufferedReader bufferedReader = new BufferedReader(
                     new SkippableStreamIO(bZin, true), buffering);
 
@@ -6,6 +6,7 @@ import java.io.IOException;
 
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.python.core.ArgParser;
 import org.python.core.ClassDictInit;
 import org.python.core.Py;
 import org.python.core.PyObject;
@@ -27,17 +28,30 @@ public class bz2 implements ClassDictInit {
         dict.__setitem__("classDictInit", null);
     }
 
-    public static PyString compress(PyString data) {
-        return compress(data, 9);
+    public static final PyString __doc__compress = new PyString(
+            "compress(data [, compresslevel=9, threads=1]) -> string\n\n"
+            + "Compress data in one shot. With more than one thread, each block of input is\n"
+            + "compressed as a separate bzip2 stream, in parallel, as pbzip2 does.");
+
+    public static PyString compress(PyObject[] args, String[] kwds) {
+        ArgParser ap = new ArgParser("compress", args, kwds,
+                new String[] {"data", "compresslevel", "threads"}, 1);
+        PyString data = getData(ap);
+        int compresslevel = ap.getInt(1, 9);
+        int threads = ap.getInt(2, 1);
+        if (threads == 1) {
+            return compress(data, compresslevel);
+        }
+        return compress(data, compresslevel, threads);
     }
 
-    public static PyString compress(PyString data, int compresslevel) {
+    private static PyString compress(PyString data, int compresslevel) {
         PyString returnData = null;
 
         try {
             ByteArrayOutputStream compressedArray = new ByteArrayOutputStream();
             BZip2CompressorOutputStream bzbuf = new BZip2CompressorOutputStream(
-                    compressedArray);
+                    compressedArray, compresslevel);
 
             bzbuf.write(data.toBytes());
             bzbuf.finish();
@@ -45,6 +59,8 @@ public class bz2 implements ClassDictInit {
 
             returnData = new PyString(compressedArray.toString("iso-8859-1"));
             compressedArray.close();
+        } catch (IllegalArgumentException e) {
+            throw Py.ValueError("compresslevel must be between 1 and 9");
         } catch (IOException e) {
             throw Py.IOError(e.getMessage());
         }
@@ -52,17 +68,51 @@ public class bz2 implements ClassDictInit {
         return returnData;
     }
 
-    public static PyString decompress(PyString data) {
-        PyString returnString = null;
+    /**
+     * Compress using several threads, each block of input becoming a separate bzip2 stream, as
+     * pbzip2 does. The result is larger by a few bytes per block than single-threaded output.
+     */
+    private static PyString compress(PyString data, int compresslevel, int threads) {
+        try {
+            ByteArrayOutputStream compressedArray = new ByteArrayOutputStream();
+            ParallelBZip2OutputStream bzbuf =
+                    new ParallelBZip2OutputStream(compressedArray, compresslevel, threads);
+            bzbuf.write(data.toBytes());
+            bzbuf.close();
+            return new PyString(compressedArray.toString("iso-8859-1"));
+        } catch (IllegalArgumentException e) {
+            throw Py.ValueError(e.getMessage());
+        } catch (IOException e) {
+            throw Py.IOError(e.getMessage());
+        }
+    }
 
-        if (data.toString().equals("")) {
+    public static final PyString __doc__decompress = new PyString(
+            "decompress(data [, threads=1]) -> string\n\n"
+            + "Decompress data, which may consist of several concatenated bzip2 streams, in\n"
+            + "one shot. With more than one thread, the streams are decompressed in parallel.");
+
+    public static PyString decompress(PyObject[] args, String[] kwds) {
+        ArgParser ap = new ArgParser("decompress", args, kwds,
+                new String[] {"data", "threads"}, 1);
+        PyString data = getData(ap);
+        int threads = ap.getInt(1, 1);
+        if (data.__len__() == 0) {
             return Py.EmptyString;
+        } else if (threads == 1) {
+            return decompress(data);
         }
+        return decompress(data, threads);
+    }
+
+    private static PyString decompress(PyString data) {
+        PyString returnString = null;
+
         try {
             ByteArrayInputStream inputArray = new ByteArrayInputStream(
                     data.toBytes());
             BZip2CompressorInputStream bzbuf = new BZip2CompressorInputStream(
-                    inputArray);
+                    inputArray, true);
 
             ByteArrayOutputStream outputArray = new ByteArrayOutputStream();
 
@@ -83,4 +133,37 @@ public class bz2 implements ClassDictInit {
 
         return returnString;
     }
+
+    /**
+     * Decompress using several threads, which is effective when the data consists of many
+     * bzip2 streams, as written by the multi-threaded mode of this module or by pbzip2. All the
+     * streams are decompressed, not just the first.
+     */
+    private static PyString decompress(PyString data, int threads) {
+        try {
+            ParallelBZip2InputStream bzbuf = new ParallelBZip2InputStream(
+                    new ByteArrayInputStream(data.toBytes()), threads);
+            ByteArrayOutputStream outputArray = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int n = 0;
+            while ((n = bzbuf.read(buffer)) != -1) {
+                outputArray.write(buffer, 0, n);
+            }
+            bzbuf.close();
+            return new PyString(outputArray.toString("iso-8859-1"));
+        } catch (IllegalArgumentException e) {
+            throw Py.ValueError(e.getMessage());
+        } catch (IOException e) {
+            throw Py.ValueError(e.getMessage());
+        }
+    }
+
+    private static PyString getData(ArgParser ap) {
+        PyObject data = ap.getPyObject(0);
+        if (!(data instanceof PyString)) {
+            throw Py.TypeError(String.format("argument 1 must be string, not %s",
+                    data.getType().fastGetName()));
+        }
+        return (PyString) data;
+    }
 }
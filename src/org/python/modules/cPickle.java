@@ -15,6 +15,10 @@
 package org.python.modules;
 
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.Map;
 
 import org.python.core.ClassDictInit;
@@ -31,11 +35,14 @@ import org.python.core.PyInstance;
 import org.python.core.PyInteger;
 import org.python.core.PyList;
 import org.python.core.PyLong;
+import org.python.core.PyFrozenSet;
 import org.python.core.PyModule;
 import org.python.core.PyNone;
 import org.python.core.PyObject;
+import org.python.core.PyObjectDerived;
 import org.python.core.PyReflectedFunction;
 import org.python.core.PySequence;
+import org.python.core.PySet;
 import org.python.core.PyString;
 import org.python.core.PyStringMap;
 import org.python.core.PyTuple;
@@ -45,6 +52,7 @@ import org.python.core.__builtin__;
 import org.python.core.codecs;
 import org.python.core.exceptions;
 import org.python.core.imp;
+import org.python.core.util.StringUtil;
 import org.python.util.Generic;
 
 /**
@@ -473,6 +481,12 @@ public class cPickle implements ClassDictInit {
 
     private static PyType BoolType = PyType.fromClass(PyBoolean.class);
 
+    private static PyType SetType = PyType.fromClass(PySet.class);
+
+    private static PyType FrozenSetType = PyType.fromClass(PyFrozenSet.class);
+
+    private static PyType ObjectType = PyType.fromClass(PyObject.class);
+
 
     private static PyObject dict;
 
@@ -611,9 +625,9 @@ public class cPickle implements ClassDictInit {
      * @return         a string representing the pickled object.
      */
     public static PyString dumps(PyObject object, int protocol) {
-        cStringIO.StringIO file = cStringIO.StringIO();
-        dump(object, file, protocol);
-        return file.getvalue();
+        Pickler pickler = new Pickler((PyIOFile)null, protocol);
+        pickler.dump(object);
+        return pickler.out.getvalue();
     }
 
     /**
@@ -625,8 +639,12 @@ public class cPickle implements ClassDictInit {
      * @return         a new object.
      */
     public static Object load(PyObject file) {
+        return load(new Unpickler(file));
+    }
+
+    private static Object load(Unpickler unpickler) {
         try {
-            return new Unpickler(file).load();
+            return unpickler.load();
         }
         catch (ArrayIndexOutOfBoundsException e) {
             // invalid data, bad stack
@@ -646,21 +664,18 @@ public class cPickle implements ClassDictInit {
      * @return         a new object.
      */
     public static Object loads(PyObject str) {
-        cStringIO.StringIO file = cStringIO.StringIO(str.toString());
-        return load(file);
+        return load(new Unpickler(str.toString()));
     }
 
 
 
-    // Factory for creating PyIOFile representation.
-
     /**
      * The Pickler object
      * @see cPickle#Pickler(PyObject)
      * @see cPickle#Pickler(PyObject,int)
      */
     static public class Pickler {
-        private PyIOFile file;
+        private final PickleOutput out;
         private int protocol;
 
         /**
@@ -672,7 +687,14 @@ public class cPickle implements ClassDictInit {
          */
          public boolean fast = false;
 
-        private PickleMemo memo = new PickleMemo();
+        private final PickleMemo memo = new PickleMemo();
+
+        // Objects pickled but not memoized, which must outlive the pickling.
+        private PyList keepAlive;
+
+        // How to save instances of each type met during a dump.
+        private final Map<PyType, SaveStrategy> strategies =
+                new IdentityHashMap<PyType, SaveStrategy>();
 
         /**
          * To write references to persistent objects, the persistent module
@@ -693,7 +715,12 @@ public class cPickle implements ClassDictInit {
 
 
         public Pickler(PyObject file, int protocol) {
-            this.file = PyIOFileFactory.createIOFile(file);
+            this(PyIOFileFactory.createIOFile(file), protocol);
+        }
+
+        // Without a file, the pickle is kept for getvalue().
+        private Pickler(PyIOFile file, int protocol) {
+            this.out = new PickleOutput(file);
             this.protocol = protocol;
         }
 
@@ -703,18 +730,25 @@ public class cPickle implements ClassDictInit {
          * @param object        The object which will be pickled.
          */
         public void dump(PyObject object) {
+            // Types, copy_reg and the registry may have changed since the last dump
+            strategies.clear();
             if (protocol >= 2) {
-                file.write(PROTO);
-                file.write((char) protocol);
+                out.write(PROTO);
+                out.write((char) protocol);
             }
             save(object);
-            file.write(STOP);
-            file.flush();
+            out.write(STOP);
+            out.flush();
         }
 
-        private static final int get_id(PyObject o) {
-            // we don't pickle Java instances so we don't have to consider that case
-            return System.identityHashCode(o);
+        /**
+         * Clear the memo of objects already pickled, so that they are
+         * pickled again (rather than referred to) by later calls to
+         * <tt>dump</tt>. The memory of the memo is kept for reuse.
+         */
+        public void clear_memo() {
+            memo.clear();
+            keepAlive = null;
         }
 
 
@@ -722,20 +756,20 @@ public class cPickle implements ClassDictInit {
         private void put(int i) {
             if (protocol > 0) {
                 if (i < 256) {
-                    file.write(BINPUT);
-                    file.write((char)i);
+                    out.write(BINPUT);
+                    out.write((char)i);
                     return;
                 }
-                file.write(LONG_BINPUT);
-                file.write((char)( i         & 0xFF));
-                file.write((char)((i >>>  8) & 0xFF));
-                file.write((char)((i >>> 16) & 0xFF));
-                file.write((char)((i >>> 24) & 0xFF));
+                out.write(LONG_BINPUT);
+                out.write((char)( i         & 0xFF));
+                out.write((char)((i >>>  8) & 0xFF));
+                out.write((char)((i >>> 16) & 0xFF));
+                out.write((char)((i >>> 24) & 0xFF));
                 return;
             }
-            file.write(PUT);
-            file.write(String.valueOf(i));
-            file.write("\n");
+            out.write(PUT);
+            out.write(String.valueOf(i));
+            out.write("\n");
         }
 
 
@@ -743,20 +777,20 @@ public class cPickle implements ClassDictInit {
         private void get(int i) {
             if (protocol > 0) {
                 if (i < 256) {
-                    file.write(BINGET);
-                    file.write((char)i);
+                    out.write(BINGET);
+                    out.write((char)i);
                     return;
                 }
-                file.write(LONG_BINGET);
-                file.write((char)( i         & 0xFF));
-                file.write((char)((i >>>  8) & 0xFF));
-                file.write((char)((i >>> 16) & 0xFF));
-                file.write((char)((i >>> 24) & 0xFF));
+                out.write(LONG_BINGET);
+                out.write((char)( i         & 0xFF));
+                out.write((char)((i >>>  8) & 0xFF));
+                out.write((char)((i >>> 16) & 0xFF));
+                out.write((char)((i >>> 24) & 0xFF));
                 return;
             }
-            file.write(GET);
-            file.write(String.valueOf(i));
-            file.write("\n");
+            out.write(GET);
+            out.write(String.valueOf(i));
+            out.write("\n");
         }
 
 
@@ -770,8 +804,6 @@ public class cPickle implements ClassDictInit {
                 return;
             }
 
-            int d = get_id(object);
-
             PyType t = object.getType();
 
             if (t == TupleType && object.__len__() == 0) {
@@ -783,7 +815,7 @@ public class cPickle implements ClassDictInit {
                 return;
             }
 
-            int m = getMemoPosition(d, object);
+            int m = getMemoPosition(object);
             if (m >= 0) {
                 get(m);
                 return;
@@ -802,8 +834,21 @@ public class cPickle implements ClassDictInit {
                 return;
             }
 
+            SaveStrategy strategy = strategies.get(t);
+            if (strategy == null) {
+                strategy = new SaveStrategy(t, object, protocol);
+                strategies.put(t, strategy);
+            }
+            if (strategy.kind == SaveStrategy.NEWOBJ && save_newobj(object, t)) {
+                return;
+            } else if (strategy.kind == SaveStrategy.SET) {
+                save_reduce(t, new PyTuple(new PyList(object)), Py.None, Py.None, Py.None,
+                            object);
+                return;
+            }
+
             PyObject tup = null;
-            PyObject reduce = dispatch_table.__finditem__(t);
+            PyObject reduce = strategy.reduce;
             if (reduce == null) {
                 reduce = object.__findattr__("__reduce_ex__");
                 if (reduce != null) {
@@ -862,12 +907,12 @@ public class cPickle implements ClassDictInit {
                 if (!Py.isInstance(pid, PyString.TYPE)) {
                     throw new PyException(PicklingError, "persistent id must be string");
                 }
-                file.write(PERSID);
-                file.write(pid.toString());
-                file.write("\n");
+                out.write(PERSID);
+                out.write(pid.toString());
+                out.write("\n");
             } else {
                 save(pid, true);
-                file.write(BINPERSID);
+                out.write(BINPERSID);
             }
             return true;
         }
@@ -887,15 +932,15 @@ public class cPickle implements ClassDictInit {
                 // TODO: check class
                 save(cls);
                 save(arg_tup.__getslice__(Py.One, Py.None));
-                file.write(NEWOBJ);
+                out.write(NEWOBJ);
             } else {
                 save(callable);
                 save(arg_tup);
-                file.write(REDUCE);
+                out.write(REDUCE);
             }
 
             // Memoize
-            put(putMemo(get_id(object), object));
+            put(putMemo(object));
 
             if (listitems != Py.None) {
                 batch_appends(listitems);
@@ -905,8 +950,34 @@ public class cPickle implements ClassDictInit {
             }
             if (state != Py.None) {
                 save(state);
-                file.write(BUILD);
+                out.write(BUILD);
+            }
+        }
+
+        /*
+         * Save an instance of a plain class (see SaveStrategy) as
+         * object.__reduce_ex__(2) and save_reduce would, but without making
+         * the reduce tuple, provided nothing in the instance dict overrides
+         * the methods consulted.
+         */
+        final private boolean save_newobj(PyObject object, PyType cls) {
+            PyObject dict = object.fastGetDict();
+            if (dict != null && dict.__len__() > 0) {
+                for (String name : SaveStrategy.OVERRIDES) {
+                    if (dict.__finditem__(name) != null) {
+                        return false;
+                    }
+                }
+            }
+            save(cls);
+            save(Py.EmptyTuple);
+            out.write(NEWOBJ);
+            put(putMemo(object));
+            if (dict != null) {
+                save(dict);
+                out.write(BUILD);
             }
+            return true;
         }
 
 
@@ -954,7 +1025,7 @@ public class cPickle implements ClassDictInit {
 
 
         final private void save_none(PyObject object) {
-            file.write(NONE);
+            out.write(NONE);
         }
 
         final private void save_int(PyObject object) {
@@ -967,35 +1038,35 @@ public class cPickle implements ClassDictInit {
 
                 if (i3 == '\0' && i4 == '\0') {
                     if (i2 == '\0') {
-                        file.write(BININT1);
-                        file.write(i1);
+                        out.write(BININT1);
+                        out.write(i1);
                         return;
                     }
-                    file.write(BININT2);
-                    file.write(i1);
-                    file.write(i2);
+                    out.write(BININT2);
+                    out.write(i1);
+                    out.write(i2);
                     return;
                 }
-                file.write(BININT);
-                file.write(i1);
-                file.write(i2);
-                file.write(i3);
-                file.write(i4);
+                out.write(BININT);
+                out.write(i1);
+                out.write(i2);
+                out.write(i3);
+                out.write(i4);
             } else {
-                file.write(INT);
-                file.write(object.toString());
-                file.write("\n");
+                out.write(INT);
+                out.write(object.toString());
+                out.write("\n");
             }
         }
 
         private void save_bool(PyObject object) {
             int value = ((PyBoolean)object).getValue();
             if(protocol >= 2) {
-                file.write(value != 0 ? NEWTRUE : NEWFALSE);
+                out.write(value != 0 ? NEWTRUE : NEWFALSE);
             } else {
-                file.write(INT);
-                file.write(value != 0 ? "01" : "00");
-                file.write("\n");
+                out.write(INT);
+                out.write(value != 0 ? "01" : "00");
+                out.write("\n");
             }
         }
 
@@ -1005,30 +1076,30 @@ public class cPickle implements ClassDictInit {
 
                 if (integer.compareTo(BigInteger.ZERO) == 0) {
                     // It's 0 -- an empty bytestring.
-                    file.write(LONG1);
-                    file.write((char)0);
+                    out.write(LONG1);
+                    out.write((char)0);
                     return;
                 }
 
                 byte[] bytes = integer.toByteArray();
                 int l = bytes.length;
                 if (l < 256) {
-                    file.write(LONG1);
-                    file.write((char)l);
+                    out.write(LONG1);
+                    out.write((char)l);
                 } else {
-                    file.write(LONG4);
+                    out.write(LONG4);
                     writeInt4(l);
                 }
                 // Write in reverse order: pickle orders by little
                 // endian whereas BigInteger orders by big endian
                 for (int i = l - 1; i >= 0; i--) {
                     int b = bytes[i] & 0xff;
-                    file.write((char)b);
+                    out.write((char)b);
                 }
             } else {
-                file.write(LONG);
-                file.write(object.toString());
-                file.write("\n");
+                out.write(LONG);
+                out.write(object.toString());
+                out.write("\n");
             }
         }
 
@@ -1037,32 +1108,32 @@ public class cPickle implements ClassDictInit {
             char i2 = (char)((l >>> 8 ) & 0xFF);
             char i3 = (char)((l >>> 16) & 0xFF);
             char i4 = (char)((l >>> 24) & 0xFF);
-            file.write(i1);
-            file.write(i2);
-            file.write(i3);
-            file.write(i4);
+            out.write(i1);
+            out.write(i2);
+            out.write(i3);
+            out.write(i4);
         }
 
 
         final private void save_float(PyObject object) {
             if (protocol > 0) {
-                file.write(BINFLOAT);
+                out.write(BINFLOAT);
                 double value= ((PyFloat) object).getValue();
                 // It seems that struct.pack('>d', ..) and doubleToLongBits
                 // are the same. Good for me :-)
                 long bits = Double.doubleToLongBits(value);
-                file.write((char)((bits >>> 56) & 0xFF));
-                file.write((char)((bits >>> 48) & 0xFF));
-                file.write((char)((bits >>> 40) & 0xFF));
-                file.write((char)((bits >>> 32) & 0xFF));
-                file.write((char)((bits >>> 24) & 0xFF));
-                file.write((char)((bits >>> 16) & 0xFF));
-                file.write((char)((bits >>>  8) & 0xFF));
-                file.write((char)((bits >>>  0) & 0xFF));
+                out.write((char)((bits >>> 56) & 0xFF));
+                out.write((char)((bits >>> 48) & 0xFF));
+                out.write((char)((bits >>> 40) & 0xFF));
+                out.write((char)((bits >>> 32) & 0xFF));
+                out.write((char)((bits >>> 24) & 0xFF));
+                out.write((char)((bits >>> 16) & 0xFF));
+                out.write((char)((bits >>>  8) & 0xFF));
+                out.write((char)((bits >>>  0) & 0xFF));
             } else {
-                file.write(FLOAT);
-                file.write(object.__repr__().toString());
-                file.write("\n");
+                out.write(FLOAT);
+                out.write(object.__repr__().toString());
+                out.write("\n");
             }
         }
 
@@ -1073,102 +1144,100 @@ public class cPickle implements ClassDictInit {
             if (protocol > 0) {
                 int l = str.length();
                 if (l < 256) {
-                    file.write(SHORT_BINSTRING);
-                    file.write((char)l);
+                    out.write(SHORT_BINSTRING);
+                    out.write((char)l);
                 } else {
-                    file.write(BINSTRING);
-                    file.write((char)( l         & 0xFF));
-                    file.write((char)((l >>> 8 ) & 0xFF));
-                    file.write((char)((l >>> 16) & 0xFF));
-                    file.write((char)((l >>> 24) & 0xFF));
+                    out.write(BINSTRING);
+                    out.write((char)( l         & 0xFF));
+                    out.write((char)((l >>> 8 ) & 0xFF));
+                    out.write((char)((l >>> 16) & 0xFF));
+                    out.write((char)((l >>> 24) & 0xFF));
                 }
-                file.write(str);
+                out.write(str);
             } else {
-                file.write(STRING);
-                file.write(object.__repr__().toString());
-                file.write("\n");
+                out.write(STRING);
+                out.write(object.__repr__().toString());
+                out.write("\n");
             }
-            put(putMemo(get_id(object), object));
+            put(putMemo(object));
         }
 
         private void save_unicode(PyObject object) {
             if (protocol > 0) {
                 String str = codecs.PyUnicode_EncodeUTF8(object.toString(), "struct");
-                file.write(BINUNICODE);
+                out.write(BINUNICODE);
                 writeInt4(str.length());
-                file.write(str);
+                out.write(str);
             } else {
-                file.write(UNICODE);
-                file.write(codecs.PyUnicode_EncodeRawUnicodeEscape(object.toString(),
+                out.write(UNICODE);
+                out.write(codecs.PyUnicode_EncodeRawUnicodeEscape(object.toString(),
                                                         "strict", true));
-                file.write("\n");
+                out.write("\n");
             }
-            put(putMemo(get_id(object), object));
+            put(putMemo(object));
         }
 
         private void save_tuple(PyObject object) {
-            int d = get_id(object);
-
             int len = object.__len__();
 
             if (len > 0 && len <= 3 && protocol >= 2) {
                 for (int i = 0; i < len; i++) {
                     save(object.__finditem__(i));
                 }
-                int m = getMemoPosition(d, object);
+                int m = getMemoPosition(object);
                 if (m >= 0) {
                     for (int i = 0; i < len; i++) {
-                        file.write(POP);
+                        out.write(POP);
                     }
                     get(m);
                 }
                 else {
                     char opcode = (char) (TUPLE1 + len - 1);
-                    file.write(opcode);
-                    put(putMemo(d, object));
+                    out.write(opcode);
+                    put(putMemo(object));
                 }
                 return;
             }
 
-            file.write(MARK);
+            out.write(MARK);
 
             for (int i = 0; i < len; i++) {
                 save(object.__finditem__(i));
             }
 
             if (len > 0) {
-                int m = getMemoPosition(d, object);
+                int m = getMemoPosition(object);
                 if (m >= 0) {
                     if (protocol > 0) {
-                        file.write(POP_MARK);
+                        out.write(POP_MARK);
                         get(m);
                         return;
                     }
                     for (int i = 0; i < len+1; i++) {
-                        file.write(POP);
+                        out.write(POP);
                     }
                     get(m);
                     return;
                 }
             }
-            file.write(TUPLE);
-            put(putMemo(d, object));
+            out.write(TUPLE);
+            put(putMemo(object));
         }
 
 
         final private void save_empty_tuple(PyObject object) {
-            file.write(EMPTY_TUPLE);
+            out.write(EMPTY_TUPLE);
         }
 
         private void save_list(PyObject object) {
             if (protocol > 0) {
-                file.write(EMPTY_LIST);
+                out.write(EMPTY_LIST);
             } else {
-                file.write(MARK);
-                file.write(LIST);
+                out.write(MARK);
+                out.write(LIST);
             }
 
-            put(putMemo(get_id(object), object));
+            put(putMemo(object));
 
             batch_appends(object);
         }
@@ -1178,36 +1247,69 @@ public class cPickle implements ClassDictInit {
             for (PyObject nextObj : object.asIterable()) {
                 if(protocol == 0) {
                     save(nextObj);
-                    file.write(APPEND);
+                    out.write(APPEND);
                 } else {
                     if(countInBatch == 0) {
-                        file.write(MARK);
+                        out.write(MARK);
                     }
                     countInBatch++;
                     save(nextObj);
                     if(countInBatch == BATCHSIZE) {
-                        file.write(APPENDS);
+                        out.write(APPENDS);
                         countInBatch = 0;
                     }
                 }
             }
             if (countInBatch > 0) {
-                file.write(APPENDS);
+                out.write(APPENDS);
             }
         }
 
 
         private void save_dict(PyObject object) {
             if (protocol > 0) {
-                file.write(EMPTY_DICT);
+                out.write(EMPTY_DICT);
             } else {
-                file.write(MARK);
-                file.write(DICT);
+                out.write(MARK);
+                out.write(DICT);
             }
 
-            put(putMemo(get_id(object), object));
+            put(putMemo(object));
 
-            batch_setitems(object.invoke("iteritems"));
+            if (object.getType() == DictionaryType) {
+                batch_setitems(((PyDictionary)object).getMap().entrySet().iterator());
+            } else if (object.getType() == StringMapType) {
+                batch_setitems(((PyStringMap)object).getMap().entrySet().iterator());
+            } else {
+                batch_setitems(object.invoke("iteritems"));
+            }
+        }
+
+        // As batch_setitems(PyObject), from the entries of a dict, so without
+        // making a tuple of each item.
+        private void batch_setitems(Iterator<? extends Map.Entry<?, PyObject>> entries) {
+            while (entries.hasNext()) {
+                Map.Entry<?, PyObject> entry = entries.next();
+                if (protocol == 0 || !entries.hasNext()) {
+                    save_item(entry);
+                    out.write(SETITEM);
+                    continue;
+                }
+                // proto > 0 and at least two items left: write a batch.
+                out.write(MARK);
+                save_item(entry);
+                for (int n = 1; n < BATCHSIZE && entries.hasNext(); n++) {
+                    save_item(entries.next());
+                }
+                out.write(SETITEMS);
+            }
+        }
+
+        private void save_item(Map.Entry<?, PyObject> entry) {
+            Object key = entry.getKey();
+            // A PyStringMap keeps most keys as String
+            save(key instanceof String ? PyString.fromInterned((String)key) : (PyObject)key);
+            save(entry.getValue());
         }
 
         private void batch_setitems(PyObject object) {
@@ -1219,7 +1321,7 @@ public class cPickle implements ClassDictInit {
                     }
                     save(p.__getitem__(0));
                     save(p.__getitem__(1));
-                    file.write(SETITEM);
+                    out.write(SETITEM);
                 }
             } else {
                 // proto > 0:  write in batches of BATCHSIZE.
@@ -1238,18 +1340,18 @@ public class cPickle implements ClassDictInit {
 
                     if (n > 1) {
                         // Pump out MARK, slice[0:n], APPENDS.
-                        file.write(MARK);
+                        out.write(MARK);
                         for (int i = 0; i < n; i++) {
                             obj = slice[i];
                             save(obj.__getitem__(0));
                             save(obj.__getitem__(1));
                         }
-                        file.write(SETITEMS);
+                        out.write(SETITEMS);
                     } else if (n == 1) {
                         obj = slice[0];
                         save(obj.__getitem__(0));
                         save(obj.__getitem__(1));
-                        file.write(SETITEM);
+                        out.write(SETITEM);
                     }
                 } while (n == BATCHSIZE);
             }
@@ -1267,7 +1369,7 @@ public class cPickle implements ClassDictInit {
                 keep_alive(args);
             }
 
-            file.write(MARK);
+            out.write(MARK);
             if (protocol > 0) {
                 save(cls);
             }
@@ -1279,16 +1381,16 @@ public class cPickle implements ClassDictInit {
                 }
             }
 
-            int mid = putMemo(get_id(object), object);
+            int mid = putMemo(object);
             if (protocol > 0) {
-                file.write(OBJ);
+                out.write(OBJ);
                 put(mid);
             } else {
-                file.write(INST);
-                file.write(cls.__findattr__("__module__").toString());
-                file.write("\n");
-                file.write(cls.__name__);
-                file.write("\n");
+                out.write(INST);
+                out.write(cls.__findattr__("__module__").toString());
+                out.write("\n");
+                out.write(cls.__name__);
+                out.write("\n");
                 put(mid);
             }
 
@@ -1301,7 +1403,7 @@ public class cPickle implements ClassDictInit {
                 keep_alive(stuff);
             }
             save(stuff);
-            file.write(BUILD);
+            out.write(BUILD);
         }
 
 
@@ -1326,58 +1428,52 @@ public class cPickle implements ClassDictInit {
                 if(extCode != Py.None) {
                     int code = ((PyInteger)extCode).getValue();
                     if(code <= 0xFF) {
-                        file.write(EXT1);
-                        file.write((char)code);
+                        out.write(EXT1);
+                        out.write((char)code);
                     } else if(code <= 0xFFFF) {
-                        file.write(EXT2);
-                        file.write((char)(code & 0xFF));
-                        file.write((char)(code >> 8));
+                        out.write(EXT2);
+                        out.write((char)(code & 0xFF));
+                        out.write((char)(code >> 8));
                     } else {
-                        file.write(EXT4);
+                        out.write(EXT4);
                         writeInt4(code);
                     }
                     return;
                 }
             }
 
-            file.write(GLOBAL);
-            file.write(module.toString());
-            file.write("\n");
-            file.write(name.toString());
-            file.write("\n");
-            put(putMemo(get_id(object), object));
+            out.write(GLOBAL);
+            out.write(module.toString());
+            out.write("\n");
+            out.write(name.toString());
+            out.write("\n");
+            put(putMemo(object));
         }
 
 
-        final private int getMemoPosition(int id, Object o) {
-            return memo.findPosition(id, o);
+        final private int getMemoPosition(PyObject object) {
+            return memo.get(object);
         }
 
-        final private int putMemo(int id, PyObject object) {
+        final private int putMemo(PyObject object) {
             int memo_len = memo.size() + 1;
-            memo.put(id, memo_len, object);
+            memo.put(object, memo_len);
             return memo_len;
         }
 
 
         /**
-         * Keeps a reference to the object x in the memo.
+         * Keeps a reference to the object x until the memo is cleared.
          *
-         * Because we remember objects by their id, we have
-         * to assure that possibly temporary objects are kept
-         * alive by referencing them.
-         * We store a reference at the id of the memo, which should
-         * normally not be used unless someone tries to deepcopy
-         * the memo itself...
+         * The memo refers to the objects it remembers, but possibly
+         * temporary objects that are pickled without being memoized
+         * are also kept alive by referencing them, as in pickle.py.
          */
         final private void keep_alive(PyObject obj) {
-            int id = System.identityHashCode(memo);
-            PyList list = (PyList) memo.findValue(id, memo);
-            if (list == null) {
-                list = new PyList();
-                memo.put(id, -1, list);
+            if (keepAlive == null) {
+                keepAlive = new PyList();
             }
-            list.append(obj);
+            keepAlive.append(obj);
         }
 
     }
@@ -1423,151 +1519,342 @@ public class cPickle implements ClassDictInit {
 
 
     /*
-     * A very specialized and simplified version of PyStringMap. It can
-     * only use integers as keys and stores both an integer and an object
-     * as value. It is very private! And should only be used thread-confined.
+     * How a Pickler saves instances of a type that save_type does not
+     * handle, worked out when the type is first met in a dump, so that the
+     * copy_reg dispatch table and the class are not consulted again for
+     * every instance.
      */
-    static private class PickleMemo {
-        //Table of primes to cycle through
-        private final int[] primes = {
-            13, 61, 251, 1021, 4093,
-            5987, 9551, 15683, 19609, 31397,
-            65521, 131071, 262139, 524287, 1048573, 2097143,
-            4194301, 8388593, 16777213, 33554393, 67108859,
-            134217689, 268435399, 536870909, 1073741789,};
-
-        private transient int[] keys;
-        private transient int[] position;
-        private transient Object[] values;
-
-        private int size;
-        private transient int filled;
-        private transient int prime;
+    static private class SaveStrategy {
+        // Use __reduce_ex__ or __reduce__, or the copy_reg reducer if any.
+        static final int REDUCE = 0;
+        // Reduce a set or frozenset as set.__reduce__ would.
+        static final int SET = 1;
+        // Write NEWOBJ and the __dict__ as object.__reduce_ex__(2) would.
+        static final int NEWOBJ = 2;
+
+        // Attributes which, found in an instance dict, change how it pickles.
+        static final String[] OVERRIDES = {
+            "__reduce_ex__", "__reduce__", "__getnewargs__", "__getstate__"};
+
+        final int kind;
+        // The copy_reg reducer for the type, or null.
+        final PyObject reduce;
+
+        SaveStrategy(PyType type, PyObject instance, int protocol) {
+            reduce = dispatch_table.__finditem__(type);
+            if (reduce != null) {
+                kind = REDUCE;
+            } else if (type == SetType || type == FrozenSetType) {
+                kind = SET;
+            } else if (protocol >= 2 && isPlainClass(type, instance)) {
+                kind = NEWOBJ;
+            } else {
+                kind = REDUCE;
+            }
+        }
 
-        public PickleMemo(int capacity) {
-            prime = 0;
-            keys = null;
-            values = null;
-            resize(capacity);
+        /*
+         * A class defined in Python, deriving only from object, with no
+         * __slots__, and not customising pickling or attribute access.
+         */
+        private static boolean isPlainClass(PyType type, PyObject instance) {
+            if (instance.getClass() != PyObjectDerived.class) {
+                return false;
+            }
+            for (String name : new String[] {"__reduce_ex__", "__reduce__", "__class__",
+                                             "__getattribute__"}) {
+                if (type.lookup(name) != ObjectType.lookup(name)) {
+                    return false;
+                }
+            }
+            if (type.lookup("__getnewargs__") != null || type.lookup("__getstate__") != null
+                    || type.lookup("__getattr__") != null) {
+                return false;
+            }
+            PyObject copyreg = importModule("copy_reg");
+            PyObject names = copyreg.invoke("_slotnames", type);
+            return names instanceof PyList && names.__len__() == 0;
         }
+    }
 
-        public PickleMemo() {
-            this(4);
+
+    /*
+     * The memo of a Pickler: an identity hash table from the objects
+     * pickled to their memo positions. It uses open addressing with linear
+     * probing in a power of two sized table, so that remembering an object
+     * creates no entry objects or boxed integers, and clear() keeps the
+     * table for reuse. It is very private! And should only be used
+     * thread-confined.
+     */
+    static private class PickleMemo {
+        private Object[] keys;
+        private int[] positions;
+        private int size;
+
+        PickleMemo() {
+            keys = new Object[16];
+            positions = new int[16];
         }
 
-        public int size() {
+        int size() {
             return size;
         }
 
-        private int findIndex(int key, Object value) {
-            int[] table = keys;
-            int maxindex = table.length;
-            int index = (key & 0x7fffffff) % maxindex;
-
-            // Fairly aribtrary choice for stepsize...
-            int stepsize = maxindex / 5;
+        private static int hash(Object key, int mask) {
+            int h = System.identityHashCode(key) * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
 
-            // Cycle through possible positions for the key;
-            //int collisions = 0;
-            while (true) {
-                int tkey = table[index];
-                if (tkey == key && value == values[index]) {
-                    return index;
-                }
-                if (values[index] == null) {
-                    return -1;
+        // The position of key, or -1 if it is not in the memo.
+        int get(Object key) {
+            Object[] table = keys;
+            int mask = table.length - 1;
+            for (int i = hash(key, mask); table[i] != null; i = (i + 1) & mask) {
+                if (table[i] == key) {
+                    return positions[i];
                 }
-                index = (index+stepsize) % maxindex;
             }
+            return -1;
         }
 
-        public int findPosition(int key, Object value) {
-            int idx = findIndex(key, value);
-            if (idx < 0) {
-                return -1;
+        void put(Object key, int pos) {
+            if (2 * (size + 1) > keys.length) {
+                resize(keys.length * 2);
             }
-            return position[idx];
+            Object[] table = keys;
+            int mask = table.length - 1;
+            int i = hash(key, mask);
+            for (; table[i] != null; i = (i + 1) & mask) {
+                if (table[i] == key) {
+                    positions[i] = pos;
+                    return;
+                }
+            }
+            table[i] = key;
+            positions[i] = pos;
+            size++;
         }
 
+        void clear() {
+            if (size > 0) {
+                Arrays.fill(keys, null);
+                size = 0;
+            }
+        }
 
-        public Object findValue(int key, Object value) {
-            int idx = findIndex(key, value);
-            if (idx < 0) {
-                return null;
+        private void resize(int capacity) {
+            if (capacity <= 0) {
+                throw Py.MemoryError("pickle memo is too large");
+            }
+            Object[] oldKeys = keys;
+            int[] oldPositions = positions;
+            keys = new Object[capacity];
+            positions = new int[capacity];
+            int mask = capacity - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                Object key = oldKeys[j];
+                if (key != null) {
+                    int i = hash(key, mask);
+                    while (keys[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = key;
+                    positions[i] = oldPositions[j];
+                }
             }
-            return values[idx];
         }
+    }
+
 
+    /*
+     * The output of a Pickler, assembled in a byte array and written to the
+     * file in large pieces, rather than one opcode (and one method call on
+     * the file) at a time. Without a file, the array simply grows to hold
+     * the whole pickle, as for dumps(). Thread-confined like the Pickler.
+     */
+    static private class PickleOutput {
+        // Size at which the buffer is written to the file, and above which
+        // strings are written straight through.
+        private static final int FLUSH_SIZE = 64 * 1024;
 
-        private final void insertkey(int key, int pos, Object value) {
-            int[] table = keys;
-            int maxindex = table.length;
-            int index = (key & 0x7fffffff) % maxindex;
+        private final PyIOFile file;
+        private byte[] buf;
+        private int count;
 
-            // Fairly aribtrary choice for stepsize...
-            int stepsize = maxindex / 5;
+        PickleOutput(PyIOFile file) {
+            this.file = file;
+            buf = new byte[file == null ? 256 : FLUSH_SIZE];
+        }
 
-            // Cycle through possible positions for the key;
-            while (true) {
-                int tkey = table[index];
-                if (values[index] == null) {
-                    table[index] = key;
-                    position[index] = pos;
-                    values[index] = value;
-                    filled++;
-                    size++;
-                    break;
-                } else if (tkey == key && values[index] == value) {
-                    position[index] = pos;
-                    break;
-                }
-                index = (index+stepsize) % maxindex;
+        final void write(char ch) {
+            if (count == buf.length) {
+                reserve(1);
             }
+            buf[count++] = (byte)ch;
         }
 
+        @SuppressWarnings("deprecation")
+        final void write(String str) {
+            int n = str.length();
+            if (file != null && n >= FLUSH_SIZE) {
+                flushBuffer();
+                file.write(str);
+                return;
+            }
+            if (count + n > buf.length) {
+                reserve(n);
+            }
+            // Deprecated, but the fastest way to take the low byte of each char
+            str.getBytes(0, n, buf, count);
+            count += n;
+        }
 
-        private final void resize(int capacity) {
-            int p = prime;
-            for(; p<primes.length; p++) {
-                if (primes[p] >= capacity) {
-                    break;
+        // Make room for n more bytes, by writing out the buffer or growing it.
+        private void reserve(int n) {
+            if (file != null) {
+                flushBuffer();
+                if (n <= buf.length) {
+                    return;
                 }
             }
-            if (primes[p] < capacity) {
-                throw Py.ValueError("can't make hashtable of size: " +
-                                    capacity);
+            int size = Math.max(count + n, buf.length * 2);
+            byte[] newBuf = new byte[size];
+            System.arraycopy(buf, 0, newBuf, 0, count);
+            buf = newBuf;
+        }
+
+        private void flushBuffer() {
+            if (count > 0) {
+                file.write(buf, 0, count);
+                count = 0;
             }
-            capacity = primes[p];
-            prime = p;
+        }
 
-            int[] oldKeys = keys;
-            int[] oldPositions = position;
-            Object[] oldValues = values;
+        void flush() {
+            if (file != null) {
+                flushBuffer();
+                file.flush();
+            }
+        }
 
-            keys = new int[capacity];
-            position = new int[capacity];
-            values = new Object[capacity];
-            size = 0;
-            filled = 0;
+        // The bytes written so far, when there is no file.
+        PyString getvalue() {
+            return new PyString(StringUtil.fromBytes(buf, 0, count));
+        }
+    }
 
-            if (oldValues != null) {
-                int n = oldValues.length;
 
-                for(int i=0; i<n; i++) {
-                    Object value = oldValues[i];
-                    if (value == null) {
-                        continue;
-                    }
-                    insertkey(oldKeys[i], oldPositions[i], value);
+    /*
+     * The input of an Unpickler. Where the file is a string, or can be
+     * repositioned, opcodes are parsed from a window of the data read in
+     * large pieces, and at the end of each load() the file is sought back
+     * over any data read beyond the pickle, so that it is left just after
+     * the STOP opcode as before. Otherwise the file is read exactly as
+     * required, one piece at a time.
+     */
+    static private class PickleInput {
+        private static final int CHUNK_SIZE = 8 * 1024;
+
+        private final PyIOFile file;
+        // The object to seek back, or null where no read-ahead is possible.
+        private final PyObject seekable;
+        private String window;
+        private int pos;
+
+        // Read from a string of bytes, as for loads().
+        PickleInput(String data) {
+            file = null;
+            seekable = null;
+            window = data;
+        }
+
+        PickleInput(PyObject file) {
+            this.file = PyIOFileFactory.createIOFile(file);
+            seekable = PyIOFileFactory.isSeekable(file) ? file : null;
+            window = "";
+        }
+
+        // Ensure n bytes are available in the window, if the file has them.
+        private boolean fill(int n) {
+            if (window.length() - pos >= n) {
+                return true;
+            } else if (seekable == null) {
+                return false;
+            }
+            String more = file.read(Math.max(n, CHUNK_SIZE));
+            window = window.substring(pos).concat(more);
+            pos = 0;
+            return window.length() >= n;
+        }
+
+        // The next byte, or -1 at the end of the data.
+        final int read() {
+            if (pos < window.length() || fill(1)) {
+                return window.charAt(pos++);
+            } else if (file != null && seekable == null) {
+                String s = file.read(1);
+                return s.length() < 1 ? -1 : s.charAt(0);
+            }
+            return -1;
+        }
+
+        // The next byte, raising EOFError at the end of the data.
+        final int readByte() {
+            int b = read();
+            if (b < 0) {
+                throw new PyException(Py.EOFError);
+            }
+            return b;
+        }
+
+        // Up to n bytes, fewer only at the end of the data.
+        final String read(int n) {
+            int available = window.length() - pos;
+            if (available >= n) {
+                return window.substring(pos, pos += n);
+            } else if (file == null) {
+                return window.substring(pos, pos = window.length());
+            }
+            // Take what is left of the window, and the rest directly.
+            String head = window.substring(pos);
+            window = "";
+            pos = 0;
+            return head.concat(file.read(n - available));
+        }
+
+        // A line without its newline.
+        final String readlineNoNl() {
+            if (file != null && seekable == null) {
+                return file.readlineNoNl();
+            }
+            int searched = 0;
+            while (true) {
+                int nl = window.indexOf('\n', pos + searched);
+                if (nl >= 0) {
+                    String line = window.substring(pos, nl);
+                    pos = nl + 1;
+                    return line;
+                }
+                searched = window.length() - pos;
+                if (!fill(searched + 1)) {
+                    String line = window.substring(pos);
+                    pos = window.length();
+                    return line;
                 }
             }
         }
 
-        public void put(int key, int pos, Object value) {
-            if (2*filled > keys.length) {
-                resize(keys.length+1);
+        // Give back to the file any data read beyond what was used.
+        void release() {
+            if (seekable == null) {
+                return;
+            }
+            int unread = window.length() - pos;
+            window = "";
+            pos = 0;
+            if (unread > 0) {
+                seekable.invoke("seek", Py.newInteger(-unread), Py.One);
             }
-            insertkey(key, pos, value);
         }
     }
 
@@ -1583,9 +1870,14 @@ public class cPickle implements ClassDictInit {
      */
     static public class Unpickler {
 
-        private PyIOFile file;
+        private final PickleInput in;
 
-        public Map<String,PyObject> memo = Generic.map();
+        // Objects loaded, indexed by memo position. The array grows only
+        // while it is at least half full, so that its size follows what has
+        // been read; positions far beyond it go in sparseMemo.
+        private PyObject[] memo = new PyObject[16];
+        private int memoCount;
+        private final Map<Integer, PyObject> sparseMemo = new HashMap<Integer, PyObject>();
 
         /**
          * For the benefit of persistency modules written using pickle,
@@ -1607,7 +1899,12 @@ public class cPickle implements ClassDictInit {
 
 
         Unpickler(PyObject file) {
-            this.file = PyIOFileFactory.createIOFile(file);
+            this.in = new PickleInput(file);
+        }
+
+        // Unpickle from a string, as for loads().
+        private Unpickler(String data) {
+            this.in = new PickleInput(data);
         }
 
 
@@ -1619,74 +1916,79 @@ public class cPickle implements ClassDictInit {
             stackTop = 0;
             stack = new PyObject[10];
 
-            while (true) {
-                String s = file.read(1);
-//              System.out.println("load:" + s);
+            // Give back the input read ahead, however loading ends
+            try {
+                while (true) {
+                    int b = in.read();
+//              System.out.println("load:" + b);
 //              for (int i = 0; i < stackTop; i++)
 //                  System.out.println("   " + stack[i]);
-                if (s.length() < 1) {
-                    load_eof();
-                }
-                char key = s.charAt(0);
-                switch (key) {
-                case PERSID:          load_persid(); break;
-                case BINPERSID:       load_binpersid(); break;
-                case NONE:            load_none(); break;
-                case INT:             load_int(); break;
-                case BININT:          load_binint(); break;
-                case BININT1:         load_binint1(); break;
-                case BININT2:         load_binint2(); break;
-                case LONG:            load_long(); break;
-                case FLOAT:           load_float(); break;
-                case BINFLOAT:        load_binfloat(); break;
-                case STRING:          load_string(); break;
-                case BINSTRING:       load_binstring(); break;
-                case SHORT_BINSTRING: load_short_binstring(); break;
-                case UNICODE:         load_unicode(); break;
-                case BINUNICODE:      load_binunicode(); break;
-                case TUPLE:           load_tuple(); break;
-                case EMPTY_TUPLE:     load_empty_tuple(); break;
-                case EMPTY_LIST:      load_empty_list(); break;
-                case EMPTY_DICT:      load_empty_dictionary(); break;
-                case LIST:            load_list(); break;
-                case DICT:            load_dict(); break;
-                case INST:            load_inst(); break;
-                case OBJ:             load_obj(); break;
-                case GLOBAL:          load_global(); break;
-                case REDUCE:          load_reduce(); break;
-                case POP:             load_pop(); break;
-                case POP_MARK:        load_pop_mark(); break;
-                case DUP:             load_dup(); break;
-                case GET:             load_get(); break;
-                case BINGET:          load_binget(); break;
-                case LONG_BINGET:     load_long_binget(); break;
-                case PUT:             load_put(); break;
-                case BINPUT:          load_binput(); break;
-                case LONG_BINPUT:     load_long_binput(); break;
-                case APPEND:          load_append(); break;
-                case APPENDS:         load_appends(); break;
-                case SETITEM:         load_setitem(); break;
-                case SETITEMS:        load_setitems(); break;
-                case BUILD:           load_build(); break;
-                case MARK:            load_mark(); break;
-                case PROTO:           load_proto(); break;
-                case NEWOBJ:          load_newobj(); break;
-                case EXT1:            load_ext(1); break;
-                case EXT2:            load_ext(2); break;
-                case EXT4:            load_ext(4); break;
-                case TUPLE1:          load_small_tuple(1); break;
-                case TUPLE2:          load_small_tuple(2); break;
-                case TUPLE3:          load_small_tuple(3); break;
-                case NEWTRUE:         load_boolean(true); break;
-                case NEWFALSE:        load_boolean(false); break;
-                case LONG1:           load_bin_long(1); break;
-                case LONG4:           load_bin_long(4); break;
-                case STOP:
-                    return load_stop();
-                default:
-                    throw new PyException(UnpicklingError,
-                                          String.format("invalid load key, '%s'.", key));
+                    if (b < 0) {
+                        load_eof();
+                    }
+                    char key = (char)b;
+                    switch (key) {
+                    case PERSID:          load_persid(); break;
+                    case BINPERSID:       load_binpersid(); break;
+                    case NONE:            load_none(); break;
+                    case INT:             load_int(); break;
+                    case BININT:          load_binint(); break;
+                    case BININT1:         load_binint1(); break;
+                    case BININT2:         load_binint2(); break;
+                    case LONG:            load_long(); break;
+                    case FLOAT:           load_float(); break;
+                    case BINFLOAT:        load_binfloat(); break;
+                    case STRING:          load_string(); break;
+                    case BINSTRING:       load_binstring(); break;
+                    case SHORT_BINSTRING: load_short_binstring(); break;
+                    case UNICODE:         load_unicode(); break;
+                    case BINUNICODE:      load_binunicode(); break;
+                    case TUPLE:           load_tuple(); break;
+                    case EMPTY_TUPLE:     load_empty_tuple(); break;
+                    case EMPTY_LIST:      load_empty_list(); break;
+                    case EMPTY_DICT:      load_empty_dictionary(); break;
+                    case LIST:            load_list(); break;
+                    case DICT:            load_dict(); break;
+                    case INST:            load_inst(); break;
+                    case OBJ:             load_obj(); break;
+                    case GLOBAL:          load_global(); break;
+                    case REDUCE:          load_reduce(); break;
+                    case POP:             load_pop(); break;
+                    case POP_MARK:        load_pop_mark(); break;
+                    case DUP:             load_dup(); break;
+                    case GET:             load_get(); break;
+                    case BINGET:          load_binget(); break;
+                    case LONG_BINGET:     load_long_binget(); break;
+                    case PUT:             load_put(); break;
+                    case BINPUT:          load_binput(); break;
+                    case LONG_BINPUT:     load_long_binput(); break;
+                    case APPEND:          load_append(); break;
+                    case APPENDS:         load_appends(); break;
+                    case SETITEM:         load_setitem(); break;
+                    case SETITEMS:        load_setitems(); break;
+                    case BUILD:           load_build(); break;
+                    case MARK:            load_mark(); break;
+                    case PROTO:           load_proto(); break;
+                    case NEWOBJ:          load_newobj(); break;
+                    case EXT1:            load_ext(1); break;
+                    case EXT2:            load_ext(2); break;
+                    case EXT4:            load_ext(4); break;
+                    case TUPLE1:          load_small_tuple(1); break;
+                    case TUPLE2:          load_small_tuple(2); break;
+                    case TUPLE3:          load_small_tuple(3); break;
+                    case NEWTRUE:         load_boolean(true); break;
+                    case NEWFALSE:        load_boolean(false); break;
+                    case LONG1:           load_bin_long(1); break;
+                    case LONG4:           load_bin_long(4); break;
+                    case STOP:
+                        return load_stop();
+                    default:
+                        throw new PyException(UnpicklingError,
+                                              String.format("invalid load key, '%s'.", key));
+                    }
                 }
+            } finally {
+                in.release();
             }
         }
 
@@ -1707,7 +2009,7 @@ public class cPickle implements ClassDictInit {
         }
 
         private void load_proto() {
-            int proto = file.read(1).charAt(0);
+            int proto = in.readByte();
             if (proto < 0 || proto > 2) {
                 throw Py.ValueError("unsupported pickle protocol: " + proto);
             }
@@ -1715,7 +2017,7 @@ public class cPickle implements ClassDictInit {
 
 
         final private void load_persid() {
-            load_persid(new PyString(file.readlineNoNl()));
+            load_persid(new PyString(in.readlineNoNl()));
         }
 
 
@@ -1744,7 +2046,7 @@ public class cPickle implements ClassDictInit {
         }
 
         final private void load_int() {
-            String line = file.readlineNoNl();
+            String line = in.readlineNoNl();
             PyObject value;
             // The following could be abstracted into a common string
             // -> int/long method.
@@ -1778,7 +2080,7 @@ public class cPickle implements ClassDictInit {
         }
 
         private int read_binint() {
-            String s = file.read(4);
+            String s = in.read(4);
             return s.charAt(0) |
                    (s.charAt(1)<<8) |
                    (s.charAt(2)<<16) |
@@ -1787,7 +2089,7 @@ public class cPickle implements ClassDictInit {
 
 
         final private void load_binint1() {
-            int val = file.read(1).charAt(0);
+            int val = in.readByte();
             push(new PyInteger(val));
         }
 
@@ -1797,13 +2099,13 @@ public class cPickle implements ClassDictInit {
         }
 
         private int read_binint2() {
-            String s = file.read(2);
+            String s = in.read(2);
             return (s.charAt(1)) << 8 | (s.charAt(0));
         }
 
 
         final private void load_long() {
-            String line = file.readlineNoNl();
+            String line = in.readlineNoNl();
             push(new PyLong(line.substring(0, line.length()-1)));
         }
 
@@ -1813,7 +2115,7 @@ public class cPickle implements ClassDictInit {
                 push(new PyLong(BigInteger.ZERO));
                 return;
             }
-            String s = file.read(longLength);
+            String s = in.read(longLength);
             byte[] bytes = new byte[s.length()];
             // Write to the byte array in reverse order: pickle orders
             // by little endian whereas BigInteger orders by big
@@ -1833,7 +2135,7 @@ public class cPickle implements ClassDictInit {
 
         private int read_binint(int length) {
             if (length == 1) {
-                return file.read(1).charAt(0);
+                return in.readByte();
             } else if (length == 2) {
                 return read_binint2();
             } else {
@@ -1842,12 +2144,12 @@ public class cPickle implements ClassDictInit {
         }
 
         final private void load_float() {
-            String line = file.readlineNoNl();
+            String line = in.readlineNoNl();
             push(new PyFloat(Double.valueOf(line).doubleValue()));
         }
 
         final private void load_binfloat() {
-            String s = file.read(8);
+            String s = in.read(8);
             long bits = s.charAt(7) |
                         ((long)s.charAt(6) << 8) |
                         ((long)s.charAt(5) << 16) |
@@ -1860,7 +2162,7 @@ public class cPickle implements ClassDictInit {
         }
 
         final private void load_string() {
-            String line = file.readlineNoNl();
+            String line = in.readlineNoNl();
 
             String value;
             char quote = line.charAt(0);
@@ -1901,18 +2203,18 @@ public class cPickle implements ClassDictInit {
 
         final private void load_binstring() {
             int len = read_binint();
-            push(new PyString(file.read(len)));
+            push(new PyString(in.read(len)));
         }
 
 
         final private void load_short_binstring() {
-            int len = file.read(1).charAt(0);
-            push(new PyString(file.read(len)));
+            int len = in.readByte();
+            push(new PyString(in.read(len)));
         }
 
 
         final private void load_unicode() {
-            String line = file.readlineNoNl();
+            String line = in.readlineNoNl();
             String value = codecs.PyUnicode_DecodeRawUnicodeEscape(line,
                                                                    "strict");
             push(new PyUnicode(value));
@@ -1920,7 +2222,7 @@ public class cPickle implements ClassDictInit {
 
         final private void load_binunicode() {
             int len = read_binint();
-            String line = file.read(len);
+            String line = in.read(len);
             push(new PyUnicode(codecs.PyUnicode_DecodeUTF8(line, "strict")));
         }
 
@@ -1978,8 +2280,8 @@ public class cPickle implements ClassDictInit {
             pop(args);
             pop();
 
-            String module = file.readlineNoNl();
-            String name = file.readlineNoNl();
+            String module = in.readlineNoNl();
+            String name = in.readlineNoNl();
             PyObject klass = find_class(module, name);
 
             PyObject value = null;
@@ -2010,8 +2312,8 @@ public class cPickle implements ClassDictInit {
         }
 
         final private void load_global() {
-            String module = file.readlineNoNl();
-            String name = file.readlineNoNl();
+            String module = in.readlineNoNl();
+            String name = in.readlineNoNl();
             PyObject klass = find_class(module, name);
             push(klass);
         }
@@ -2101,48 +2403,122 @@ public class cPickle implements ClassDictInit {
         }
 
         final private void load_get() {
-            String py_str = file.readlineNoNl();
-            PyObject value = memo.get(py_str);
-            if (value == null) {
-                throw new PyException(BadPickleGet, py_str);
+            String key = in.readlineNoNl();
+            try {
+                push(memo_get(Integer.parseInt(key)));
+            } catch (NumberFormatException e) {
+                throw new PyException(BadPickleGet, key);
             }
-            push(value);
         }
 
         final private void load_binget() {
-            String py_key = String.valueOf((int)file.read(1).charAt(0));
-            PyObject value = memo.get(py_key);
-            if (value == null) {
-                throw new PyException(BadPickleGet, py_key);
-            }
-            push(value);
+            push(memo_get(in.readByte()));
         }
 
         final private void load_long_binget() {
-            int i = read_binint();
-            String py_key = String.valueOf(i);
-            PyObject value = memo.get(py_key);
-            if (value == null) {
-                throw new PyException(BadPickleGet, py_key);
-            }
-            push(value);
+            push(memo_get(read_binint()));
         }
 
 
         final private void load_put() {
-            memo.put(file.readlineNoNl(), peek());
+            String key = in.readlineNoNl();
+            try {
+                memo_put(Integer.parseInt(key), peek());
+            } catch (NumberFormatException e) {
+                throw new PyException(UnpicklingError, "invalid memo key: " + key);
+            }
         }
 
 
         final private void load_binput() {
-            int i = file.read(1).charAt(0);
-            memo.put(String.valueOf(i), peek());
+            memo_put(in.readByte(), peek());
         }
 
 
         final private void load_long_binput() {
-            int i = read_binint();
-            memo.put(String.valueOf(i), peek());
+            memo_put(read_binint(), peek());
+        }
+
+        /**
+         * The objects loaded so far that the pickle may refer to again, as a
+         * new dictionary keyed by the string of their memo position.
+         * Changes to the dictionary do not affect the unpickler; assign it
+         * back to <tt>memo</tt> for that.
+         */
+        public PyObject getMemo() {
+            PyDictionary dict = new PyDictionary();
+            for (int i = 0; i < memo.length; i++) {
+                if (memo[i] != null) {
+                    dict.__setitem__(new PyString(String.valueOf(i)), memo[i]);
+                }
+            }
+            for (Map.Entry<Integer, PyObject> entry : sparseMemo.entrySet()) {
+                dict.__setitem__(new PyString(entry.getKey().toString()), entry.getValue());
+            }
+            return dict;
+        }
+
+        /**
+         * Replace the memo by the items of a mapping keyed by memo position,
+         * as an integer or its string.
+         */
+        public void setMemo(PyObject mapping) {
+            PyObject[] oldMemo = memo;
+            int oldCount = memoCount;
+            Map<Integer, PyObject> oldSparse = new HashMap<Integer, PyObject>(sparseMemo);
+            memo = new PyObject[16];
+            memoCount = 0;
+            sparseMemo.clear();
+            try {
+                for (PyObject key : mapping.asIterable()) {
+                    memo_put(key.__int__().asInt(), mapping.__getitem__(key));
+                }
+            } catch (PyException e) {
+                memo = oldMemo;
+                memoCount = oldCount;
+                sparseMemo.clear();
+                sparseMemo.putAll(oldSparse);
+                throw e;
+            }
+        }
+
+        private PyObject memo_get(int i) {
+            PyObject value = i >= 0 && i < memo.length ? memo[i] : sparseMemo.get(i);
+            if (value == null) {
+                throw new PyException(BadPickleGet, String.valueOf(i));
+            }
+            return value;
+        }
+
+        private void memo_put(int i, PyObject value) {
+            if (i < 0) {
+                throw new PyException(UnpicklingError, "negative memo key: " + i);
+            } else if (i >= memo.length) {
+                // Double the array to hold i only if that keeps it half full
+                // (the test is written so as not to overflow).
+                if (i - memo.length >= memo.length || memoCount < memo.length / 2
+                        || memo.length > Integer.MAX_VALUE / 2 - 8) {
+                    sparseMemo.put(i, value);
+                    return;
+                }
+                memo = Arrays.copyOf(memo, memo.length * 2);
+                if (!sparseMemo.isEmpty()) {
+                    // Move the positions the array now covers into it
+                    Iterator<Map.Entry<Integer, PyObject>> it = sparseMemo.entrySet().iterator();
+                    while (it.hasNext()) {
+                        Map.Entry<Integer, PyObject> entry = it.next();
+                        if (entry.getKey() < memo.length) {
+                            memo[entry.getKey()] = entry.getValue();
+                            memoCount++;
+                            it.remove();
+                        }
+                    }
+                }
+            }
+            if (memo[i] == null) {
+                memoCount++;
+            }
+            memo[i] = value;
         }
 
         final private void load_append() {
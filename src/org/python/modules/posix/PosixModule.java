@@ -13,6 +13,7 @@ import java.nio.channels.Channel;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.Pipe;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
@@ -854,6 +855,42 @@ public class PosixModule implements ClassDictInit {
         }
     }
 
+    public static PyString __doc__readv = new PyString(
+        "readv(fd, buffers) -> bytesread\n\n" +
+        "Read from a file descriptor into a number of writable buffers (such as\n" +
+        "bytearray or array objects), filling each in turn. Returns the total\n" +
+        "number of bytes read, which may be less than the total capacity.");
+    public static long readv(PyObject fd, PyObject buffers) {
+        PyBuffer[] views = getBuffers(buffers, PyBUF.WRITABLE, "readv");
+        try {
+            ByteBuffer[] bufs = toByteBuffers(views);
+            Object javaobj = fd.__tojava__(RawIOBase.class);
+            if (javaobj != Py.NoConversion) {
+                try {
+                    return ((RawIOBase) javaobj).readinto(bufs);
+                } catch (PyException pye) {
+                    throw badFD();
+                }
+            } else {
+                int intFD = getFD(fd).getIntFD();
+                long count = 0;
+                for (ByteBuffer bb : bufs) {
+                    int wanted = bb.remaining();
+                    int n = posix.read(intFD, bb, wanted);
+                    if (n > 0) {
+                        count += n;
+                    }
+                    if (n < wanted) {
+                        break;
+                    }
+                }
+                return count;
+            }
+        } finally {
+            releaseBuffers(views);
+        }
+    }
+
     public static PyString __doc__readlink = new PyString(
         "readlink(path) -> path\n\n" +
         "Return a string representing the path to which the symbolic link points.");
@@ -905,6 +942,38 @@ public class PosixModule implements ClassDictInit {
         }
     }
 
+    public static PyString __doc__sendfile = new PyString(
+        "sendfile(out, in, offset, count) -> byteswritten\n\n" +
+        "Copy count bytes from file descriptor in, starting at offset, to file\n" +
+        "descriptor out, without changing the position of in. The bytes are not\n" +
+        "copied through the Java heap where the platform can avoid it. out may\n" +
+        "be a file or a socket.");
+    public static long sendfile(PyObject out, PyObject in, long offset, long count) {
+        Object src = in.__tojava__(FileIO.class);
+        if (src == Py.NoConversion) {
+            throw badFD();
+        }
+        if (offset < 0 || count < 0) {
+            throw Py.OSError(Errno.EINVAL);
+        }
+        Object dst = out.__tojava__(RawIOBase.class);
+        if (dst == Py.NoConversion) {
+            // Sockets are implemented in Python, and make the transfer to their own channel
+            PyObject transfer = out.__findattr__("_transfer_from");
+            if (transfer == null) {
+                throw badFD();
+            }
+            return transfer.__call__(in, Py.newLong(offset), Py.newLong(count)).asLong();
+        } else if (dst instanceof FileIO) {
+            return ((FileIO) src).transferTo(offset, count, (FileIO) dst);
+        }
+        Channel channel = ((RawIOBase) dst).getChannel();
+        if (!(channel instanceof WritableByteChannel)) {
+            throw badFD();
+        }
+        return ((FileIO) src).transferTo(offset, count, (WritableByteChannel) channel);
+    }
+
     public static PyString __doc__setpgrp = new PyString(
         "setpgrp()\n\n" +
         "Make this process a session leader.");
@@ -1229,6 +1298,86 @@ public class PosixModule implements ClassDictInit {
         }
     }
 
+    public static PyString __doc__writev = new PyString(
+            "writev(fd, buffers) -> byteswritten\n\n" +
+            "Write the contents of a sequence of buffers to a file descriptor, in\n" +
+            "order, with a single gathering write where possible. Returns the total\n" +
+            "number of bytes written.");
+
+    public static long writev(PyObject fd, PyObject buffers) {
+        PyBuffer[] views = getBuffers(buffers, PyBUF.SIMPLE, "writev");
+        try {
+            ByteBuffer[] bufs = toByteBuffers(views);
+            Object javaobj = fd.__tojava__(RawIOBase.class);
+            if (javaobj != Py.NoConversion) {
+                try {
+                    return ((RawIOBase) javaobj).write(bufs);
+                } catch (PyException pye) {
+                    throw badFD();
+                }
+            } else {
+                int intFD = getFD(fd).getIntFD();
+                long count = 0;
+                for (ByteBuffer bb : bufs) {
+                    int wanted = bb.remaining();
+                    int n = posix.write(intFD, bb, wanted);
+                    if (n > 0) {
+                        count += n;
+                    }
+                    if (n < wanted) {
+                        break;
+                    }
+                }
+                return count;
+            }
+        } finally {
+            releaseBuffers(views);
+        }
+    }
+
+    /**
+     * Get a buffer view on each item of a sequence, as the arguments of readv and writev.
+     * Views already obtained are released if a later item is unsuitable.
+     */
+    private static PyBuffer[] getBuffers(PyObject buffers, int flags, String function) {
+        if (!buffers.isSequenceType()) {
+            throw Py.TypeError(function + "() arg 2 must be a sequence");
+        }
+        PyBuffer[] views = new PyBuffer[buffers.__len__()];
+        int i = 0;
+        try {
+            for (PyObject item : buffers.asIterable()) {
+                if (i == views.length) {
+                    break;
+                } else if (!(item instanceof BufferProtocol)) {
+                    throw Py.TypeError(String.format("%s() arg 2 must be a sequence of %sbuffers",
+                            function, flags == PyBUF.WRITABLE ? "writable " : ""));
+                }
+                views[i++] = ((BufferProtocol) item).getBuffer(flags);
+            }
+        } catch (PyException pye) {
+            releaseBuffers(views);
+            throw pye;
+        }
+        return views;
+    }
+
+    private static ByteBuffer[] toByteBuffers(PyBuffer[] views) {
+        ByteBuffer[] bufs = new ByteBuffer[views.length];
+        for (int i = 0; i < views.length; i++) {
+            bufs[i] = views[i].getNIOByteBuffer();
+        }
+        return bufs;
+    }
+
+    private static void releaseBuffers(PyBuffer[] views) {
+        for (PyBuffer view : views) {
+            if (view != null) {
+                view.release();
+            }
+        }
+    }
+
     public static PyString __doc__unsetenv = new PyString(
         "unsetenv(key)\n\n" +
         "Delete an environment variable.");
@@ -12,14 +12,18 @@ import org.python.core.PyArray;
 import org.python.core.PyByteArray;
 import org.python.core.PyException;
 import org.python.core.PyFloat;
-import org.python.core.PyList;
 import org.python.core.PyLong;
 import org.python.core.PyObject;
 import org.python.core.PyString;
 import org.python.core.PyStringMap;
 import org.python.core.PyTuple;
+import org.python.core.util.StringUtil;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 //@formatter:off
@@ -291,7 +295,7 @@ public class struct implements ClassDictInit {
 
         void pack(ByteStream buf, PyObject value) {}
 
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             return null;
         }
 
@@ -307,10 +311,17 @@ public class struct implements ClassDictInit {
             return cnt;
         }
 
-        void doUnpack(ByteStream buf, int count, PyList list) {
+        /** Unpack <code>count</code> items into <code>values[i:]</code>, returning the next index. */
+        int doUnpack(ByteStream buf, int count, PyObject[] values, int i) {
             while (count-- > 0) {
-                list.append(Py.java2py(unpack(buf)));
+                values[i++] = unpack(buf);
             }
+            return i;
+        }
+
+        /** The number of values for <code>count</code> of this format character. */
+        int values(int count) {
+            return count;
         }
 
         int get_int(PyObject value) {
@@ -380,51 +391,57 @@ public class struct implements ClassDictInit {
         }
     }
 
+    /**
+     * The bytes of a packed struct, in an array that grows as needed, or a view of the contents of
+     * a buffer, shared with it.
+     */
     static class ByteStream {
 
-        char[] data;
-        int len;
+        byte[] data;
+        /** Index in <code>data</code> of the start of the struct. */
+        int start;
+        /** Index in <code>data</code> of the next byte to read or write. */
         int pos;
 
         ByteStream() {
-            data = new char[10];
-            len = 0;
-            pos = 0;
+            this(10);
+        }
+
+        ByteStream(int capacity) {
+            data = new byte[capacity];
         }
 
         ByteStream(String s) {
-            this(s, 0);
+            this(s, 0, s.length());
         }
 
-        ByteStream(String s, int offset) {
-            int size = s.length() - offset;
-            data = new char[size];
-            s.getChars(offset, s.length(), data, 0);
-            len = size;
-            pos = 0;
+        /** A copy of the bytes (as characters) <code>s[offset:offset+len]</code>. */
+        ByteStream(String s, int offset, int len) {
+            data = new byte[len];
+            for (int i = 0; i < len; i++) {
+                data[i] = (byte) s.charAt(offset + i);
+            }
+        }
 
-// System.out.println("s.length()=" + s.length() + ",offset=" + offset + ",size=" + size + ",data="
-// + Arrays.toString(data));
+        /** A view of <code>data</code> starting at <code>start</code> (not a copy). */
+        ByteStream(byte[] data, int start) {
+            this.data = data;
+            this.start = this.pos = start;
         }
 
         int readByte() {
             return data[pos++] & 0xFF;
         }
 
-        void read(char[] buf, int pos, int len) {
-            System.arraycopy(data, this.pos, buf, pos, len);
-            this.pos += len;
-        }
-
         String readString(int l) {
-            char[] data = new char[l];
-            read(data, 0, l);
-            return new String(data);
+            String s = StringUtil.fromBytes(data, pos, l);
+            pos += l;
+            return s;
         }
 
         private void ensureCapacity(int l) {
-            if (pos + l >= data.length) {
-                char[] b = new char[(pos + l) * 2];
+            if (pos + l > data.length) {
+                byte[] b = new byte[(pos + l) * 2];
                 System.arraycopy(data, 0, b, 0, pos);
                 data = b;
             }
@@ -432,19 +449,14 @@ public class struct implements ClassDictInit {
 
         void writeByte(int b) {
             ensureCapacity(1);
-            data[pos++] = (char) (b & 0xFF);
-        }
-
-        void write(char[] buf, int pos, int len) {
-            ensureCapacity(len);
-            System.arraycopy(buf, pos, data, this.pos, len);
-            this.pos += len;
+            data[pos++] = (byte) b;
         }
 
         void writeString(String s, int pos, int len) {
-            char[] data = new char[len];
-            s.getChars(pos, len, data, 0);
-            write(data, 0, len);
+            ensureCapacity(len);
+            for (int i = 0; i < len; i++) {
+                data[this.pos++] = (byte) s.charAt(pos + i);
+            }
         }
 
         int skip(int l) {
@@ -453,12 +465,12 @@ public class struct implements ClassDictInit {
         }
 
         int size() {
-            return pos;
+            return pos - start;
         }
 
         @Override
         public String toString() {
-            return new String(data, 0, pos);
+            return StringUtil.fromBytes(data, start, pos - start);
         }
     }
 
@@ -473,10 +485,14 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        void doUnpack(ByteStream buf, int count, PyList list) {
-            while (count-- > 0) {
-                buf.readByte();
-            }
+        int doUnpack(ByteStream buf, int count, PyObject[] values, int i) {
+            buf.skip(count);
+            return i;
+        }
+
+        @Override
+        int values(int count) {
+            return 0;
         }
     }
 
@@ -484,6 +500,9 @@ public class struct implements ClassDictInit {
 
         @Override
         int doPack(ByteStream buf, int count, int pos, PyObject[] args) {
+            if (pos >= args.length) {
+                throw StructError("insufficient arguments to pack");
+            }
             PyObject value = args[pos];
 
             if (!(value instanceof PyString)) {
@@ -503,8 +522,14 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        void doUnpack(ByteStream buf, int count, PyList list) {
-            list.append(Py.newString(buf.readString(count)));
+        int doUnpack(ByteStream buf, int count, PyObject[] values, int i) {
+            values[i++] = Py.newString(buf.readString(count));
+            return i;
+        }
+
+        @Override
+        int values(int count) {
+            return 1;
         }
     }
 
@@ -512,6 +537,9 @@ public class struct implements ClassDictInit {
 
         @Override
         int doPack(ByteStream buf, int count, int pos, PyObject[] args) {
+            if (pos >= args.length) {
+                throw StructError("insufficient arguments to pack");
+            }
             PyObject value = args[pos];
 
             if (!(value instanceof PyString)) {
@@ -523,13 +551,14 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        void doUnpack(ByteStream buf, int count, PyList list) {
+        int doUnpack(ByteStream buf, int count, PyObject[] values, int i) {
             int n = buf.readByte();
             if (n >= count) {
                 n = count - 1;
             }
-            super.doUnpack(buf, n, list);
+            i = super.doUnpack(buf, n, values, i);
             buf.skip(Math.max(count - n - 1, 0));
+            return i;
         }
     }
 
@@ -544,7 +573,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             return Py.newString((char) buf.readByte());
         }
     }
@@ -557,7 +586,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             int b = buf.readByte();
             if (b > Byte.MAX_VALUE) {
                 b -= 0x100;
@@ -569,7 +598,7 @@ public class struct implements ClassDictInit {
     static class UnsignedByteFormatDef extends ByteFormatDef {
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             return Py.newInteger(buf.readByte());
         }
     }
@@ -592,7 +621,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             throw Py.NotImplementedError("Pointer packing/unpacking not implemented in Jython");
         }
     }
@@ -607,7 +636,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             int v = buf.readByte() | (buf.readByte() << 8);
             if (v > Short.MAX_VALUE) {
                 v -= 0x10000;
@@ -619,7 +648,7 @@ public class struct implements ClassDictInit {
     static class LEUnsignedShortFormatDef extends LEShortFormatDef {
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             int v = buf.readByte() | (buf.readByte() << 8);
             return Py.newInteger(v);
         }
@@ -635,7 +664,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             int v = (buf.readByte() << 8) | buf.readByte();
             if (v > Short.MAX_VALUE) {
                 v -= 0x10000;
@@ -647,7 +676,7 @@ public class struct implements ClassDictInit {
     static class BEUnsignedShortFormatDef extends BEShortFormatDef {
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             int v = (buf.readByte() << 8) | buf.readByte();
             return Py.newInteger(v);
         }
@@ -661,7 +690,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             int v = LEreadInt(buf);
             return Py.newInteger(v);
         }
@@ -675,7 +704,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             long v = LEreadInt(buf);
             if (v < 0) {
                 v += 0x100000000L;
@@ -692,7 +721,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             return Py.newInteger(BEreadInt(buf));
         }
     }
@@ -705,7 +734,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             long v = BEreadInt(buf);
             if (v < 0) {
                 v += 0x100000000L;
@@ -730,7 +759,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             long low = (LEreadInt(buf) & 0X00000000FFFFFFFFL);
             long high = (LEreadInt(buf) & 0X00000000FFFFFFFFL);
             java.math.BigInteger result = java.math.BigInteger.valueOf(high);
@@ -756,7 +785,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             long high = (BEreadInt(buf) & 0X00000000FFFFFFFFL);
             long low = (BEreadInt(buf) & 0X00000000FFFFFFFFL);
             java.math.BigInteger result = java.math.BigInteger.valueOf(high);
@@ -778,7 +807,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             long low = LEreadInt(buf) & 0x00000000FFFFFFFFL;
             long high = ((long) (LEreadInt(buf)) << 32) & 0xFFFFFFFF00000000L;
             long result = (high | low);
@@ -798,7 +827,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             long high = ((long) (BEreadInt(buf)) << 32) & 0xFFFFFFFF00000000L;
             long low = BEreadInt(buf) & 0x00000000FFFFFFFFL;
             long result = (high | low);
@@ -815,7 +844,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             int bits = LEreadInt(buf);
             float v = Float.intBitsToFloat(bits);
             if (PyFloat.float_format == PyFloat.Format.UNKNOWN
@@ -836,7 +865,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             long bits = (LEreadInt(buf) & 0xFFFFFFFFL) + (((long) LEreadInt(buf)) << 32);
             double v = Double.longBitsToDouble(bits);
             if (PyFloat.double_format == PyFloat.Format.UNKNOWN
@@ -856,7 +885,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             int bits = BEreadInt(buf);
             float v = Float.intBitsToFloat(bits);
             if (PyFloat.float_format == PyFloat.Format.UNKNOWN
@@ -877,7 +906,7 @@ public class struct implements ClassDictInit {
         }
 
         @Override
-        Object unpack(ByteStream buf) {
+        PyObject unpack(ByteStream buf) {
             long bits = (((long) BEreadInt(buf)) << 32) + (BEreadInt(buf) & 0xFFFFFFFFL);
             double v = Double.longBitsToDouble(bits);
             if (PyFloat.double_format == PyFloat.Format.UNKNOWN
@@ -949,7 +978,7 @@ public class struct implements ClassDictInit {
     //@formatter:on
 
     static FormatDef[] whichtable(String pfmt) {
-        char c = pfmt.charAt(0);
+        char c = pfmt.isEmpty() ? '@' : pfmt.charAt(0);
         switch (c) {
             case '<':
                 return lilendian_table;
@@ -1021,67 +1050,28 @@ public class struct implements ClassDictInit {
         return size;
     }
 
-    /**
-     * Return the size of the struct (and hence of the string) corresponding to the given format.
-     */
-    static public int calcsize(String format) {
-        FormatDef[] f = whichtable(format);
-        return calcsize(format, f);
-    }
-
-    /**
-     * Return a string containing the values v1, v2, ... packed according to the given format. The
-     * arguments must match the values required by the format exactly.
-     */
-    static public PyString pack(PyObject[] args) {
-        if (args.length < 1) {
-            Py.TypeError("illegal argument type for built-in operation");
-        }
-
-        String format = args[0].toString();
-
-        FormatDef[] f = whichtable(format);
-        int size = calcsize(format, f);
-
-        return new PyString(pack(format, f, size, 1, args).toString());
-    }
-
-    // xxx - may need to consider doing a generic arg parser here
-    static public void pack_into(PyObject[] args) {
-        if (args.length < 3) {
-            Py.TypeError("illegal argument type for built-in operation");
-        }
-        String format = args[0].toString();
-        FormatDef[] f = whichtable(format);
-        int size = calcsize(format, f);
-        pack_into(format, f, size, 1, args);
-    }
+    /** One item of a compiled format: a format character, its repeat count and its offset. */
+    static class FormatCode {
 
-    static void pack_into(String format, FormatDef[] f, int size, int argstart, PyObject[] args) {
-        if (args.length - argstart < 2) {
-            Py.TypeError("illegal argument type for built-in operation");
-        }
-        if (!(args[argstart] instanceof PyArray)) {
-            throw Py.TypeError("pack_into takes an array arg"); // as well as a buffer, what else?
-        }
-        PyArray buffer = (PyArray) args[argstart];
-        int offset = args[argstart + 1].asInt();
+        final FormatDef def;
+        final int count;
+        final int offset;
 
-        ByteStream res = pack(format, f, size, argstart + 2, args);
-        if (res.pos > buffer.__len__()) {
-            throw StructError("pack_into requires a buffer of at least " + res.pos + " bytes, got "
-                    + buffer.__len__());
-        }
-        for (int i = 0; i < res.pos; i++, offset++) {
-            char val = res.data[i];
-            buffer.set(offset, val);
+        FormatCode(FormatDef def, int count, int offset) {
+            this.def = def;
+            this.count = count;
+            this.offset = offset;
         }
     }
 
-    static ByteStream pack(String format, FormatDef[] f, int size, int start, PyObject[] args) {
-        ByteStream res = new ByteStream();
+    /**
+     * Compile a format into its items, each with its offset in the packed data, laid out as by
+     * {@link #calcsize(String, FormatDef[])}.
+     */
+    static FormatCode[] compile(String format, FormatDef[] f) {
+        List<FormatCode> codes = new ArrayList<FormatCode>();
+        int size = 0;
 
-        int i = start;
         int len = format.length();
         for (int j = 0; j < len; j++) {
             char c = format.charAt(j);
@@ -1103,112 +1093,166 @@ public class struct implements ClassDictInit {
             }
 
             FormatDef e = getentry(c, f);
-
-            // Fill pad bytes with zeros
-            int nres = align(res.size(), e) - res.size();
-            while (nres-- > 0) {
-                res.writeByte(0);
-            }
-            i += e.doPack(res, num, i, args);
+            size = align(size, e);
+            codes.add(new FormatCode(e, num, size));
+            size += num * e.size;
         }
+        return codes.toArray(new FormatCode[codes.size()]);
+    }
 
+    /**
+     * Pack <code>args[start:]</code> into <code>buf</code> from its current position, where the
+     * bytes for padding must already be zero.
+     */
+    static void pack(FormatCode[] codes, ByteStream buf, int start, PyObject[] args) {
+        int base = buf.pos;
+        int i = start;
+        for (FormatCode code : codes) {
+            buf.pos = base + code.offset;
+            i += code.def.doPack(buf, code.count, i, args);
+        }
         if (i < args.length) {
             throw StructError("too many arguments for pack format");
         }
+    }
+
+    /** Unpack <code>nvalues</code> values from <code>buf</code>, from its current position. */
+    static PyTuple unpack(FormatCode[] codes, int nvalues, ByteStream buf) {
+        PyObject[] values = new PyObject[nvalues];
+        int base = buf.pos;
+        int i = 0;
+        for (FormatCode code : codes) {
+            buf.pos = base + code.offset;
+            i = code.def.doUnpack(buf, code.count, values, i);
+        }
+        return new PyTuple(values, false);
+    }
 
-        return res;
+    /** Compiled formats used by the module functions, as in CPython. */
+    private static final Map<String, PyStruct> cache = new ConcurrentHashMap<String, PyStruct>();
+    private static final int MAXCACHE = 100;
+
+    /** Return the (possibly cached) compiled form of a format. */
+    static PyStruct getStruct(String format) {
+        PyStruct s = cache.get(format);
+        if (s == null) {
+            s = new PyStruct(format);
+            if (cache.size() >= MAXCACHE) {
+                cache.clear();
+            }
+            cache.put(format, s);
+        }
+        return s;
+    }
+
+    /** Clear the cache of compiled formats. */
+    public static void _clearcache() {
+        cache.clear();
     }
 
     /**
-     * Unpack the string (presumably packed by pack(fmt, ...)) according to the given format. The
-     * result is a tuple even if it contains exactly one item. The string must contain exactly the
-     * amount of data required by the format (i.e. len(string) must equal calcsize(fmt)).
+     * Return the size of the struct (and hence of the string) corresponding to the given format.
      */
+    static public int calcsize(String format) {
+        return getStruct(format).size;
+    }
 
-    public static PyTuple unpack(String format, String string) {
-        FormatDef[] f = whichtable(format);
-        int size = calcsize(format, f);
-        int len = string.length();
-        if (size != len) {
-            throw StructError("unpack str size does not match format");
+    /**
+     * Return a string containing the values v1, v2, ... packed according to the given format. The
+     * arguments must match the values required by the format exactly.
+     */
+    static public PyString pack(PyObject[] args) {
+        if (args.length < 1) {
+            throw Py.TypeError("illegal argument type for built-in operation");
         }
-        return unpack(f, size, format, new ByteStream(string));
+        return getStruct(args[0].toString()).pack(args, 1);
     }
 
-    public static PyTuple unpack(String format, PyArray buffer) {
-        String string = buffer.tostring();
-        FormatDef[] f = whichtable(format);
-        int size = calcsize(format, f);
-        int len = string.length();
-        if (size != len) {
-            throw StructError("unpack str size does not match format");
-        }
-        return unpack(f, size, format, new ByteStream(string));
+    /**
+     * Pack the values v1, v2, ... according to the given format, into the writable buffer given,
+     * starting at the given offset.
+     */
+    static public void pack_into(PyObject[] args) {
+        if (args.length < 1) {
+            throw Py.TypeError("illegal argument type for built-in operation");
+        }
+        getStruct(args[0].toString()).pack_into(args, 1);
     }
 
-    public static PyTuple unpack(String format, Py2kBuffer buffer) {
-        return unpack(format, buffer.toString());
+    /**
+     * Unpack the string or buffer (presumably packed by pack(fmt, ...)) according to the given
+     * format. The result is a tuple even if it contains exactly one item. The string must contain
+     * exactly the amount of data required by the format (i.e. len(string) must equal
+     * calcsize(fmt)).
+     */
+    public static PyTuple unpack(String format, PyObject buffer) {
+        return getStruct(format).unpack(buffer);
     }
 
-    public static PyTuple unpack(String format, PyByteArray bytearray) {
-        /* bytearray is added in 2.7.7 */
-        return unpack(format, bytearray.toString());
+    /**
+     * Unpack a struct from the string or buffer given, starting at the given offset, according to
+     * the given format. The data must contain at least the amount required by the format.
+     */
+    public static PyTuple unpack_from(String format, PyObject buffer) {
+        return getStruct(format).unpack_from(buffer, 0);
     }
 
-    public static PyTuple unpack_from(String format, Py2kBuffer buffer) {
-        return unpack_from(format, buffer.toString(), 0);
+    public static PyTuple unpack_from(String format, PyObject buffer, int offset) {
+        return getStruct(format).unpack_from(buffer, offset);
     }
 
-    public static PyTuple unpack_from(String format, PyByteArray bytearray) {
-        return unpack_from(format, bytearray.toString(), 0);
+    /*
+     * Overloads kept for Java callers from before unpack and unpack_from accepted any object with
+     * the buffer interface. They have the same effect as the general forms.
+     */
+
+    public static PyTuple unpack(String format, String string) {
+        return unpack(format, Py.newStringOrUnicode(string));
     }
 
-    public static PyTuple unpack_from(String format, Py2kBuffer buffer, int offset) {
-        return unpack_from(format, buffer.toString(), offset);
+    public static PyTuple unpack(String format, PyArray buffer) {
+        return unpack(format, (PyObject) buffer);
     }
 
-    public static PyTuple unpack_from(String format, PyByteArray bytearray, int offset) {
-        return unpack_from(format, bytearray.toString(), offset);
+    public static PyTuple unpack(String format, Py2kBuffer buffer) {
+        return unpack(format, (PyObject) buffer);
+    }
+
+    public static PyTuple unpack(String format, PyByteArray bytearray) {
+        return unpack(format, (PyObject) bytearray);
     }
 
     public static PyTuple unpack_from(String format, String string) {
-        return unpack_from(format, string, 0);
+        return unpack_from(format, Py.newStringOrUnicode(string), 0);
     }
 
     public static PyTuple unpack_from(String format, String string, int offset) {
-        FormatDef[] f = whichtable(format);
-        int size = calcsize(format, f);
-        int len = string.length();
-        if (size >= (len - offset + 1)) {
-            throw StructError("unpack_from str size does not match format");
-        }
-        return unpack(f, size, format, new ByteStream(string, offset));
+        return unpack_from(format, Py.newStringOrUnicode(string), offset);
     }
 
-    static PyTuple unpack(FormatDef[] f, int size, String format, ByteStream str) {
-        PyList res = new PyList();
-        int flen = format.length();
-        for (int j = 0; j < flen; j++) {
-            char c = format.charAt(j);
-            if (j == 0 && (c == '@' || c == '<' || c == '>' || c == '=' || c == '!')) {
-                continue;
-            }
-            if (Character.isWhitespace(c)) {
-                continue;
-            }
-            int num = 1;
-            if (Character.isDigit(c)) {
-                num = Character.digit(c, 10);
-                while (++j < flen && Character.isDigit((c = format.charAt(j)))) {
-                    num = num * 10 + Character.digit(c, 10);
-                }
-            }
+    public static PyTuple unpack_from(String format, Py2kBuffer buffer) {
+        return unpack_from(format, (PyObject) buffer, 0);
+    }
 
-            FormatDef e = getentry(c, f);
-            str.skip(align(str.size(), e) - str.size());
-            e.doUnpack(str, num, res);
-        }
-        return PyTuple.fromIterable(res);
+    public static PyTuple unpack_from(String format, Py2kBuffer buffer, int offset) {
+        return unpack_from(format, (PyObject) buffer, offset);
+    }
+
+    public static PyTuple unpack_from(String format, PyByteArray bytearray) {
+        return unpack_from(format, (PyObject) bytearray, 0);
+    }
+
+    public static PyTuple unpack_from(String format, PyByteArray bytearray, int offset) {
+        return unpack_from(format, (PyObject) bytearray, offset);
+    }
+
+    /**
+     * Return an iterator over the structs packed one after another in the string or buffer given,
+     * according to the given format. The length of the data must be a multiple of the size of the
+     * struct.
+     */
+    public static PyObject iter_unpack(String format, PyObject buffer) {
+        return getStruct(format).iter_unpack(buffer);
     }
 
     static PyException StructError(String explanation) {
@@ -30,7 +30,7 @@ public class PyTimeTuple extends PyTuple {
     
     public static final PyType TYPE = PyType.fromClass(PyTimeTuple.class);
 
-    PyTimeTuple(PyObject... vals) {
+    public PyTimeTuple(PyObject... vals) {
         super(TYPE, vals);
         tm_year = vals[0];
         tm_mon =  vals[1];
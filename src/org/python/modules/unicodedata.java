@@ -0,0 +1,451 @@
+/* Copyright (c)2026 Jython Developers */
+package org.python.modules;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.ibm.icu.lang.UCharacter;
+import com.ibm.icu.lang.UCharacter.DecompositionType;
+import com.ibm.icu.lang.UCharacter.EastAsianWidth;
+import com.ibm.icu.lang.UCharacterEnums.ECharacterCategory;
+import com.ibm.icu.lang.UCharacterEnums.ECharacterDirection;
+import com.ibm.icu.lang.UProperty;
+import com.ibm.icu.text.Normalizer2;
+import com.ibm.icu.util.VersionInfo;
+
+import org.python.core.ClassDictInit;
+import org.python.core.Py;
+import org.python.core.PyBuiltinFunctionSet;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PyUnicode;
+import org.python.core.Untraversable;
+
+/**
+ * The Python <code>unicodedata</code> module, over the character database of ICU4J.
+ * <p>
+ * The properties asked for most often (the category, the bidirectional class, the East Asian
+ * width, the mirrored flag and the combining class) are packed into an <code>int</code> per code
+ * point, in tables of 256 code points made the first time a code point in them is looked up, so
+ * that a lookup costs no more than two array reads. The names of the values are made once, as
+ * <code>str</code> constants.
+ */
+public class unicodedata implements ClassDictInit {
+
+    public static final PyString unidata_version = unidataVersion();
+
+    public static final PyString __doc__ = new PyString(
+            "This module provides access to the Unicode Character Database which\n"
+                    + "defines character properties for all Unicode characters. The data in\n"
+                    + "this database is that of ICU4J, based on the UnicodeData.txt file\n"
+                    + "version " + unidata_version + " which is publically available from "
+                    + "ftp://ftp.unicode.org/.\n\n"
+                    + "The module uses the same names and symbols as defined by the\n"
+                    + "UnicodeData File Format " + unidata_version + " (see\n"
+                    + "http://www.unicode.org/reports/tr44/).");
+
+    public static void classDictInit(PyObject dict) {
+        dict.__setitem__("__name__", new PyString("unicodedata"));
+        dict.__setitem__("__doc__", __doc__);
+        dict.__setitem__("name", new UnicodedataFunctions("name", 0, 1, 2,
+                "name(unichr[, default])\n"
+                        + "Returns the name assigned to the Unicode character unichr as a\n"
+                        + "string. If no name is defined, default is returned, or, if not\n"
+                        + "given, ValueError is raised."));
+        dict.__setitem__("lookup", new UnicodedataFunctions("lookup", 1, 1, 1,
+                "lookup(name)\n\n"
+                        + "Look up character by name.  If a character with the\n"
+                        + "given name is found, return the corresponding Unicode\n"
+                        + "character.  If not found, KeyError is raised."));
+        dict.__setitem__("digit", new UnicodedataFunctions("digit", 2, 1, 2,
+                "digit(unichr[, default])\n\n"
+                        + "Returns the digit value assigned to the Unicode character unichr as\n"
+                        + "integer. If no such value is defined, default is returned, or, if\n"
+                        + "not given, ValueError is raised."));
+        dict.__setitem__("decimal", new UnicodedataFunctions("decimal", 3, 1, 2,
+                "decimal(unichr[, default])\n\n"
+                        + "Returns the decimal value assigned to the Unicode character unichr\n"
+                        + "as integer. If no such value is defined, default is returned, or, if\n"
+                        + "not given, ValueError is raised."));
+        dict.__setitem__("numeric", new UnicodedataFunctions("numeric", 4, 1, 2,
+                "numeric(unichr[, default])\n\n"
+                        + "Returns the numeric value assigned to the Unicode character unichr\n"
+                        + "as float. If no such value is defined, default is returned, or, if\n"
+                        + "not given, ValueError is raised."));
+        dict.__setitem__("decomposition", new UnicodedataFunctions("decomposition", 5, 1, 1,
+                "decomposition(unichr)\n\n"
+                        + "Returns the character decomposition mapping assigned to the Unicode\n"
+                        + "character unichr as string. An empty string is returned in case no\n"
+                        + "such mapping is defined."));
+        dict.__setitem__("category", new UnicodedataFunctions("category", 6, 1, 1,
+                "category(unichr)\n\n"
+                        + "Returns the general category assigned to the Unicode character\n"
+                        + "unichr as string."));
+        dict.__setitem__("bidirectional", new UnicodedataFunctions("bidirectional", 7, 1, 1,
+                "bidirectional(unichr)\n\n"
+                        + "Returns the bidirectional class assigned to the Unicode character\n"
+                        + "unichr as string. If no such value is defined, an empty string is\n"
+                        + "returned."));
+        dict.__setitem__("combining", new UnicodedataFunctions("combining", 8, 1, 1,
+                "combining(unichr)\n\n"
+                        + "Returns the canonical combining class assigned to the Unicode\n"
+                        + "character unichr as integer. Returns 0 if no combining class is\n"
+                        + "defined."));
+        dict.__setitem__("mirrored", new UnicodedataFunctions("mirrored", 9, 1, 1,
+                "mirrored(unichr)\n\n"
+                        + "Returns the mirrored property assigned to the Unicode character\n"
+                        + "unichr as integer. Returns 1 if the character has been identified as\n"
+                        + "a \"mirrored\" character in bidirectional text, 0 otherwise."));
+        dict.__setitem__("east_asian_width", new UnicodedataFunctions("east_asian_width", 10,
+                1, 1, "east_asian_width(unichr)\n\n"
+                        + "Returns the east asian width assigned to the Unicode character\n"
+                        + "unichr as string."));
+        dict.__setitem__("normalize", new UnicodedataFunctions("normalize", 11, 2, 2,
+                "normalize(form, unistr)\n\n"
+                        + "Return the normal form 'form' for the Unicode string unistr.  Valid\n"
+                        + "values for form are 'NFC', 'NFKC', 'NFD', and 'NFKD'."));
+
+        // Hide from Python
+        dict.__setitem__("classDictInit", null);
+    }
+
+    @Untraversable
+    private static class UnicodedataFunctions extends PyBuiltinFunctionSet {
+
+        private static final PyObject module = Py.newString("unicodedata");
+
+        UnicodedataFunctions(String name, int index, int minargs, int maxargs, String doc) {
+            super(name, index, minargs, maxargs, doc);
+        }
+
+        @Override
+        public PyObject getModule() {
+            return module;
+        }
+
+        @Override
+        public PyObject __call__(PyObject arg) {
+            switch (index) {
+                case 0:
+                    return name(arg, null);
+                case 1:
+                    return lookup(arg);
+                case 2:
+                    return digit(arg, null);
+                case 3:
+                    return decimal(arg, null);
+                case 4:
+                    return numeric(arg, null);
+                case 5:
+                    return decomposition(arg);
+                case 6:
+                    return CATEGORY[properties(codePoint(arg)) & 0x1f];
+                case 7:
+                    return BIDIRECTIONAL[(properties(codePoint(arg)) >> 5) & 0x1f];
+                case 8:
+                    return Py.newInteger(properties(codePoint(arg)) >>> 14);
+                case 9:
+                    return Py.newInteger((properties(codePoint(arg)) >> 13) & 1);
+                case 10:
+                    return EAST_ASIAN_WIDTH[(properties(codePoint(arg)) >> 10) & 0x7];
+                default:
+                    throw info.unexpectedCall(1, false);
+            }
+        }
+
+        @Override
+        public PyObject __call__(PyObject arg1, PyObject arg2) {
+            switch (index) {
+                case 0:
+                    return name(arg1, arg2);
+                case 2:
+                    return digit(arg1, arg2);
+                case 3:
+                    return decimal(arg1, arg2);
+                case 4:
+                    return numeric(arg1, arg2);
+                case 11:
+                    return normalize(arg1, arg2);
+                default:
+                    throw info.unexpectedCall(2, false);
+            }
+        }
+    }
+
+    /*
+     * The properties of a code point are packed as: the general category in bits 0-4, the
+     * bidirectional class in bits 5-9, the East Asian width in bits 10-12, the mirrored flag in
+     * bit 13 and the canonical combining class in bits 14-21, each as the value of ICU4J.
+     */
+
+    private static final int BLOCK_SHIFT = 8;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    /** The tables of the properties of the code points, by block, made when first needed. */
+    private static final AtomicReferenceArray<int[]> blocks =
+            new AtomicReferenceArray<int[]>((Character.MAX_CODE_POINT + 1) >> BLOCK_SHIFT);
+
+    /** The packed properties of a code point. */
+    private static int properties(int codePoint) {
+        int[] block = blocks.get(codePoint >> BLOCK_SHIFT);
+        if (block == null) {
+            block = makeBlock(codePoint >> BLOCK_SHIFT);
+        }
+        return block[codePoint & (BLOCK_SIZE - 1)];
+    }
+
+    private static int[] makeBlock(int index) {
+        int[] block = new int[BLOCK_SIZE];
+        for (int i = 0, c = index << BLOCK_SHIFT; i < BLOCK_SIZE; i++, c++) {
+            block[i] = UCharacter.getType(c)
+                    | UCharacter.getDirection(c) << 5
+                    | UCharacter.getIntPropertyValue(c, UProperty.EAST_ASIAN_WIDTH) << 10
+                    | (UCharacter.isMirrored(c) ? 1 << 13 : 0)
+                    | UCharacter.getCombiningClass(c) << 14;
+        }
+        // Threads that race to make a block make the same one, so any may be kept
+        blocks.set(index, block);
+        return block;
+    }
+
+    /** The abbreviations of the general categories, by their value in ICU4J. */
+    private static final PyString[] CATEGORY = new PyString[32];
+
+    /** The abbreviations of the bidirectional classes, by their value in ICU4J. */
+    private static final PyString[] BIDIRECTIONAL = new PyString[32];
+
+    /** The abbreviations of the East Asian widths, by their value in ICU4J. */
+    private static final PyString[] EAST_ASIAN_WIDTH = new PyString[8];
+
+    /** The tags of the types of decomposition, by their value in ICU4J. */
+    private static final String[] DECOMPOSITION_TAG =
+            new String[UCharacter.getIntPropertyMaxValue(UProperty.DECOMPOSITION_TYPE) + 1];
+
+    static {
+        CATEGORY[ECharacterCategory.UNASSIGNED] = Py.newString("Cn");
+        CATEGORY[ECharacterCategory.UPPERCASE_LETTER] = Py.newString("Lu");
+        CATEGORY[ECharacterCategory.LOWERCASE_LETTER] = Py.newString("Ll");
+        CATEGORY[ECharacterCategory.TITLECASE_LETTER] = Py.newString("Lt");
+        CATEGORY[ECharacterCategory.MODIFIER_LETTER] = Py.newString("Lm");
+        CATEGORY[ECharacterCategory.OTHER_LETTER] = Py.newString("Lo");
+        CATEGORY[ECharacterCategory.NON_SPACING_MARK] = Py.newString("Mn");
+        CATEGORY[ECharacterCategory.ENCLOSING_MARK] = Py.newString("Me");
+        CATEGORY[ECharacterCategory.COMBINING_SPACING_MARK] = Py.newString("Mc");
+        CATEGORY[ECharacterCategory.DECIMAL_DIGIT_NUMBER] = Py.newString("Nd");
+        CATEGORY[ECharacterCategory.LETTER_NUMBER] = Py.newString("Nl");
+        CATEGORY[ECharacterCategory.OTHER_NUMBER] = Py.newString("No");
+        CATEGORY[ECharacterCategory.SPACE_SEPARATOR] = Py.newString("Zs");
+        CATEGORY[ECharacterCategory.LINE_SEPARATOR] = Py.newString("Zl");
+        CATEGORY[ECharacterCategory.PARAGRAPH_SEPARATOR] = Py.newString("Zp");
+        CATEGORY[ECharacterCategory.CONTROL] = Py.newString("Cc");
+        CATEGORY[ECharacterCategory.FORMAT] = Py.newString("Cf");
+        CATEGORY[ECharacterCategory.PRIVATE_USE] = Py.newString("Co");
+        CATEGORY[ECharacterCategory.SURROGATE] = Py.newString("Cs");
+        CATEGORY[ECharacterCategory.DASH_PUNCTUATION] = Py.newString("Pd");
+        CATEGORY[ECharacterCategory.START_PUNCTUATION] = Py.newString("Ps");
+        CATEGORY[ECharacterCategory.END_PUNCTUATION] = Py.newString("Pe");
+        CATEGORY[ECharacterCategory.CONNECTOR_PUNCTUATION] = Py.newString("Pc");
+        CATEGORY[ECharacterCategory.OTHER_PUNCTUATION] = Py.newString("Po");
+        CATEGORY[ECharacterCategory.MATH_SYMBOL] = Py.newString("Sm");
+        CATEGORY[ECharacterCategory.CURRENCY_SYMBOL] = Py.newString("Sc");
+        CATEGORY[ECharacterCategory.MODIFIER_SYMBOL] = Py.newString("Sk");
+        CATEGORY[ECharacterCategory.OTHER_SYMBOL] = Py.newString("So");
+        CATEGORY[ECharacterCategory.INITIAL_PUNCTUATION] = Py.newString("Pi");
+        CATEGORY[ECharacterCategory.FINAL_PUNCTUATION] = Py.newString("Pf");
+
+        BIDIRECTIONAL[ECharacterDirection.LEFT_TO_RIGHT] = Py.newString("L");
+        BIDIRECTIONAL[ECharacterDirection.RIGHT_TO_LEFT] = Py.newString("R");
+        BIDIRECTIONAL[ECharacterDirection.EUROPEAN_NUMBER] = Py.newString("EN");
+        BIDIRECTIONAL[ECharacterDirection.EUROPEAN_NUMBER_SEPARATOR] = Py.newString("ES");
+        BIDIRECTIONAL[ECharacterDirection.EUROPEAN_NUMBER_TERMINATOR] = Py.newString("ET");
+        BIDIRECTIONAL[ECharacterDirection.ARABIC_NUMBER] = Py.newString("AN");
+        BIDIRECTIONAL[ECharacterDirection.COMMON_NUMBER_SEPARATOR] = Py.newString("CS");
+        BIDIRECTIONAL[ECharacterDirection.BLOCK_SEPARATOR] = Py.newString("B");
+        BIDIRECTIONAL[ECharacterDirection.SEGMENT_SEPARATOR] = Py.newString("S");
+        BIDIRECTIONAL[ECharacterDirection.WHITE_SPACE_NEUTRAL] = Py.newString("WS");
+        BIDIRECTIONAL[ECharacterDirection.OTHER_NEUTRAL] = Py.newString("ON");
+        BIDIRECTIONAL[ECharacterDirection.LEFT_TO_RIGHT_EMBEDDING] = Py.newString("LRE");
+        BIDIRECTIONAL[ECharacterDirection.LEFT_TO_RIGHT_OVERRIDE] = Py.newString("LRO");
+        BIDIRECTIONAL[ECharacterDirection.RIGHT_TO_LEFT_ARABIC] = Py.newString("AL");
+        BIDIRECTIONAL[ECharacterDirection.RIGHT_TO_LEFT_EMBEDDING] = Py.newString("RLE");
+        BIDIRECTIONAL[ECharacterDirection.RIGHT_TO_LEFT_OVERRIDE] = Py.newString("RLO");
+        BIDIRECTIONAL[ECharacterDirection.POP_DIRECTIONAL_FORMAT] = Py.newString("PDF");
+        BIDIRECTIONAL[ECharacterDirection.DIR_NON_SPACING_MARK] = Py.newString("NSM");
+        BIDIRECTIONAL[ECharacterDirection.BOUNDARY_NEUTRAL] = Py.newString("BN");
+        BIDIRECTIONAL[ECharacterDirection.FIRST_STRONG_ISOLATE] = Py.newString("FSI");
+        BIDIRECTIONAL[ECharacterDirection.LEFT_TO_RIGHT_ISOLATE] = Py.newString("LRI");
+        BIDIRECTIONAL[ECharacterDirection.RIGHT_TO_LEFT_ISOLATE] = Py.newString("RLI");
+        BIDIRECTIONAL[ECharacterDirection.POP_DIRECTIONAL_ISOLATE] = Py.newString("PDI");
+
+        // http://www.unicode.org/reports/tr11/
+        EAST_ASIAN_WIDTH[EastAsianWidth.NEUTRAL] = Py.newString("N");
+        EAST_ASIAN_WIDTH[EastAsianWidth.AMBIGUOUS] = Py.newString("A");
+        EAST_ASIAN_WIDTH[EastAsianWidth.HALFWIDTH] = Py.newString("H");
+        EAST_ASIAN_WIDTH[EastAsianWidth.FULLWIDTH] = Py.newString("F");
+        EAST_ASIAN_WIDTH[EastAsianWidth.NARROW] = Py.newString("Na");
+        EAST_ASIAN_WIDTH[EastAsianWidth.WIDE] = Py.newString("W");
+
+        DECOMPOSITION_TAG[DecompositionType.CIRCLE] = "<circle> ";
+        DECOMPOSITION_TAG[DecompositionType.COMPAT] = "<compat> ";
+        DECOMPOSITION_TAG[DecompositionType.FINAL] = "<final> ";
+        DECOMPOSITION_TAG[DecompositionType.FONT] = "<font> ";
+        DECOMPOSITION_TAG[DecompositionType.FRACTION] = "<fraction> ";
+        DECOMPOSITION_TAG[DecompositionType.INITIAL] = "<initial> ";
+        DECOMPOSITION_TAG[DecompositionType.ISOLATED] = "<isolated> ";
+        DECOMPOSITION_TAG[DecompositionType.MEDIAL] = "<medial> ";
+        DECOMPOSITION_TAG[DecompositionType.NARROW] = "<narrow> ";
+        DECOMPOSITION_TAG[DecompositionType.NOBREAK] = "<noBreak> ";
+        DECOMPOSITION_TAG[DecompositionType.SMALL] = "<small> ";
+        DECOMPOSITION_TAG[DecompositionType.SQUARE] = "<square> ";
+        DECOMPOSITION_TAG[DecompositionType.SUB] = "<sub> ";
+        DECOMPOSITION_TAG[DecompositionType.SUPER] = "<super> ";
+        DECOMPOSITION_TAG[DecompositionType.VERTICAL] = "<vertical> ";
+        DECOMPOSITION_TAG[DecompositionType.WIDE] = "<wide> ";
+    }
+
+    /** The code point of a <code>unicode</code> of one character. */
+    private static int codePoint(PyObject unichr) {
+        if (!(unichr instanceof PyUnicode)) {
+            throw Py.TypeError(String.format("must be unicode, not %s",
+                    unichr.getType().fastGetName()));
+        }
+        String s = ((PyUnicode) unichr).getString();
+        if (s.length() == 1) {
+            return s.charAt(0);
+        } else if (s.length() == 2 && Character.isSurrogatePair(s.charAt(0), s.charAt(1))) {
+            return s.codePointAt(0);
+        }
+        throw Py.TypeError("need a single Unicode character as parameter");
+    }
+
+    private static PyObject name(PyObject unichr, PyObject defaultValue) {
+        String name = UCharacter.getName(codePoint(unichr));
+        if (name != null) {
+            return Py.newString(name);
+        } else if (defaultValue != null) {
+            return defaultValue;
+        }
+        throw Py.ValueError("no such name");
+    }
+
+    private static PyObject lookup(PyObject name) {
+        if (!(name instanceof PyString)) {
+            throw Py.TypeError(String.format("lookup() argument must be string, not %s",
+                    name.getType().fastGetName()));
+        }
+        String s = ((PyString) name).getString();
+        int codePoint = UCharacter.getCharFromName(s);
+        if (codePoint == -1) {
+            throw Py.KeyError(String.format("undefined character name '%s'", s));
+        }
+        return new PyUnicode(codePoint);
+    }
+
+    private static PyObject digit(PyObject unichr, PyObject defaultValue) {
+        int d = UCharacter.digit(codePoint(unichr));
+        if (d != -1) {
+            return Py.newInteger(d);
+        } else if (defaultValue != null) {
+            return defaultValue;
+        }
+        throw Py.ValueError("not a digit");
+    }
+
+    private static PyObject decimal(PyObject unichr, PyObject defaultValue) {
+        int d = UCharacter.getNumericValue(codePoint(unichr));
+        if (d >= 0 && d <= 9) {
+            return Py.newInteger(d);
+        } else if (defaultValue != null) {
+            return defaultValue;
+        }
+        throw Py.ValueError("not a decimal");
+    }
+
+    private static PyObject numeric(PyObject unichr, PyObject defaultValue) {
+        double n = UCharacter.getUnicodeNumericValue(codePoint(unichr));
+        if (n != UCharacter.NO_NUMERIC_VALUE) {
+            return Py.newFloat(n);
+        } else if (defaultValue != null) {
+            return defaultValue;
+        }
+        throw Py.ValueError("not a numeric");
+    }
+
+    private static PyObject decomposition(PyObject unichr) {
+        int codePoint = codePoint(unichr);
+        // Hangul syllables decompose by an algorithm, and have no mapping in UnicodeData.txt
+        if (codePoint >= 0xAC00 && codePoint <= 0xD7A3) {
+            return Py.EmptyString;
+        }
+        // For NFKC, the raw mapping is that of UnicodeData.txt, whether canonical or not
+        String mapping = Normalizer2.getNFKCInstance().getRawDecomposition(codePoint);
+        if (mapping == null) {
+            return Py.EmptyString;
+        }
+        StringBuilder buf = new StringBuilder();
+        String tag = DECOMPOSITION_TAG[UCharacter.getIntPropertyValue(codePoint,
+                UProperty.DECOMPOSITION_TYPE)];
+        if (tag != null) {
+            buf.append(tag);
+        }
+        for (int i = 0; i < mapping.length();) {
+            int c = mapping.codePointAt(i);
+            if (i > 0) {
+                buf.append(' ');
+            }
+            buf.append(String.format("%04X", c));
+            i += Character.charCount(c);
+        }
+        return Py.newString(buf.toString());
+    }
+
+    private static PyObject normalize(PyObject form, PyObject unistr) {
+        Normalizer2 normalizer = normalizer(form);
+        if (!(unistr instanceof PyString)) {
+            throw Py.TypeError(String.format("normalize() argument 2 must be unicode, not %s",
+                    unistr.getType().fastGetName()));
+        }
+        String s = ((PyString) unistr).getString();
+        int n = s.length(), i = 0;
+        // ASCII is in every normal form
+        while (i < n && s.charAt(i) < 0x80) {
+            i++;
+        }
+        if (i < n) {
+            int span = normalizer.spanQuickCheckYes(s);
+            if (span < n) {
+                StringBuilder buf = new StringBuilder(n + 16).append(s, 0, span);
+                return new PyUnicode(
+                        normalizer.normalizeSecondAndAppend(buf, s.subSequence(span, n))
+                                .toString());
+            }
+        }
+        // Already in the normal form
+        if (unistr.getType() == PyUnicode.TYPE) {
+            return unistr;
+        }
+        return i == n ? new PyUnicode(s, true) : new PyUnicode(s);
+    }
+
+    private static Normalizer2 normalizer(PyObject form) {
+        String name = form instanceof PyString ? ((PyString) form).getString() : null;
+        if ("NFC".equals(name)) {
+            return Normalizer2.getNFCInstance();
+        } else if ("NFD".equals(name)) {
+            return Normalizer2.getNFDInstance();
+        } else if ("NFKC".equals(name)) {
+            return Normalizer2.getNFKCInstance();
+        } else if ("NFKD".equals(name)) {
+            return Normalizer2.getNFKDInstance();
+        } else if (name == null) {
+            throw Py.TypeError(String.format("normalize() argument 1 must be string, not %s",
+                    form.getType().fastGetName()));
+        }
+        throw Py.ValueError("invalid normalization form");
+    }
+
+    private static PyString unidataVersion() {
+        VersionInfo version = UCharacter.getUnicodeVersion();
+        return Py.newString(String.format("%d.%d.%d", version.getMajor(), version.getMinor(),
+                version.getMilli()));
+    }
+}
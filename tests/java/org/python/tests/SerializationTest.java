@@ -74,6 +74,37 @@ public class SerializationTest extends TestCase {
         assertRoundtrip(new PyTuple(Py.newInteger(2), Py.newInteger(8), Py.newInteger(248), Py.newInteger(113281))); // A012345
     }
 
+    public void testSharedReferences() throws IOException, ClassNotFoundException {
+        PyList inner = new PyList(new PyObject[] {Py.True,
+                Py.newLong(1).__lshift__(Py.newInteger(80))});
+        PyList outer = new PyList(new PyObject[] {inner, inner});
+        outer.append(outer);
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        new ObjectOutputStream(os).writeObject(outer);
+        PyList copy = (PyList) new ObjectInputStream(new ByteArrayInputStream(os.toByteArray()))
+                .readObject();
+        assertEquals(inner, copy.pyget(0));
+        assertSame(copy.pyget(0), copy.pyget(1));
+        assertSame(copy, copy.pyget(2));
+        assertSame(Py.True, copy.pyget(0).__getitem__(0));
+    }
+
+    /** A subclass of PyObject outside the core may have serialization hooks of its own. */
+    private static class Replaced extends PyObject {
+
+        private Object writeReplace() {
+            return Py.newString("replaced");
+        }
+    }
+
+    public void testSubclassWriteReplace() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        new ObjectOutputStream(os).writeObject(new PyList(new PyObject[] {new Replaced()}));
+        PyList copy = (PyList) new ObjectInputStream(new ByteArrayInputStream(os.toByteArray()))
+                .readObject();
+        assertEquals(Py.newString("replaced"), copy.pyget(0));
+    }
+
     private static class CloneOutput extends ObjectOutputStream {
         Queue<Class<?>> classQueue = new LinkedList<Class<?>>();
 